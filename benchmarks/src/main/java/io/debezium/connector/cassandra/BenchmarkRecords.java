@@ -0,0 +1,80 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static io.debezium.connector.cassandra.CellData.ColumnType.CLUSTERING;
+import static io.debezium.connector.cassandra.CellData.ColumnType.PARTITION;
+import static io.debezium.connector.cassandra.CellData.ColumnType.REGULAR;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.datastax.oss.driver.api.core.type.DataType;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+
+import io.debezium.config.Configuration;
+import io.debezium.time.Conversions;
+
+/**
+ * The table and the change records the record-building benchmarks run with: a table with a partition key, a
+ * clustering key and regular columns of the most common types, including a map of text.
+ */
+final class BenchmarkRecords {
+    static final String KEYSPACE = "benchmark_keyspace";
+    static final String TABLE = "benchmark_table";
+
+    private static final List<String> COLUMN_NAMES = Arrays.asList("p1", "c1", "c_bigint", "c_text", "c_timestamp", "c_uuid", "c_map");
+    private static final List<DataType> COLUMN_TYPES = Arrays.asList(DataTypes.INT, DataTypes.TEXT, DataTypes.BIGINT, DataTypes.TEXT,
+            DataTypes.TIMESTAMP, DataTypes.UUID, DataTypes.mapOf(DataTypes.TEXT, DataTypes.TEXT));
+
+    final CassandraConnectorConfig config;
+    final KeyValueSchema keyValueSchema;
+
+    BenchmarkRecords() {
+        config = new CassandraConnectorConfig(Configuration.create()
+                .with(CassandraConnectorConfig.CONNECTOR_NAME, "benchmark")
+                .with(CassandraConnectorConfig.KAFKA_TOPIC_PREFIX, "benchmark")
+                .build());
+        keyValueSchema = new KeyValueSchema.KeyValueSchemaBuilder()
+                .withKeyspace(KEYSPACE)
+                .withTable(TABLE)
+                .withKafkaTopicPrefix(config.kafkaTopicPrefix())
+                .withSourceInfoStructMarker(config.getSourceInfoStructMaker())
+                .withRowSchema(RowData.rowSchema(COLUMN_NAMES, COLUMN_TYPES))
+                .withPrimaryKeyNames(COLUMN_NAMES.subList(0, 2))
+                .withPrimaryKeySchemas(KeyValueSchema.getPrimaryKeySchemas(COLUMN_TYPES.subList(0, 2)))
+                .build();
+    }
+
+    /**
+     * Returns the cells of a row with the given partition key, whose values are already deserialized.
+     */
+    RowData rowData(int partitionKey) {
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            map.put("key" + i, "value of the entry " + i);
+        }
+        RowData rowData = new RowData(keyValueSchema.rowLayout());
+        rowData.addCell(new CellData("p1", partitionKey, null, PARTITION));
+        rowData.addCell(new CellData("c1", "clustering-" + partitionKey, null, CLUSTERING));
+        rowData.addCell(new CellData("c_bigint", 1234567890123L, null, REGULAR));
+        rowData.addCell(new CellData("c_text", "a text value of a regular column", null, REGULAR));
+        rowData.addCell(new CellData("c_timestamp", 1_600_000_000_000L, null, REGULAR));
+        rowData.addCell(new CellData("c_uuid", UUID.randomUUID().toString(), null, REGULAR));
+        rowData.addCell(new CellData("c_map", map, null, REGULAR));
+        return rowData;
+    }
+
+    Record record(int partitionKey) {
+        SourceInfo source = new SourceInfo(config, "benchmark-cluster", new OffsetPosition("CommitLog-7-1.log", partitionKey),
+                new KeyspaceTable(KEYSPACE, TABLE), false, Conversions.toInstantFromMicros(System.currentTimeMillis() * 1000));
+        return new ChangeRecord(source, rowData(partitionKey), keyValueSchema.keySchema(), keyValueSchema.valueSchema(),
+                Record.Operation.INSERT, false);
+    }
+}
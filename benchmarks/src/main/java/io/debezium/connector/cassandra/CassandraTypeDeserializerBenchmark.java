@@ -0,0 +1,237 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.cql3.FieldIdentifier;
+import org.apache.cassandra.db.marshal.AbstractType;
+import org.apache.cassandra.db.marshal.AsciiType;
+import org.apache.cassandra.db.marshal.BooleanType;
+import org.apache.cassandra.db.marshal.ByteType;
+import org.apache.cassandra.db.marshal.BytesType;
+import org.apache.cassandra.db.marshal.CounterColumnType;
+import org.apache.cassandra.db.marshal.DecimalType;
+import org.apache.cassandra.db.marshal.DoubleType;
+import org.apache.cassandra.db.marshal.DurationType;
+import org.apache.cassandra.db.marshal.FloatType;
+import org.apache.cassandra.db.marshal.InetAddressType;
+import org.apache.cassandra.db.marshal.Int32Type;
+import org.apache.cassandra.db.marshal.ListType;
+import org.apache.cassandra.db.marshal.LongType;
+import org.apache.cassandra.db.marshal.MapType;
+import org.apache.cassandra.db.marshal.SetType;
+import org.apache.cassandra.db.marshal.ShortType;
+import org.apache.cassandra.db.marshal.SimpleDateType;
+import org.apache.cassandra.db.marshal.TimeType;
+import org.apache.cassandra.db.marshal.TimeUUIDType;
+import org.apache.cassandra.db.marshal.TimestampType;
+import org.apache.cassandra.db.marshal.TupleType;
+import org.apache.cassandra.db.marshal.UTF8Type;
+import org.apache.cassandra.db.marshal.UUIDType;
+import org.apache.cassandra.db.marshal.UserType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.debezium.connector.cassandra.transforms.CassandraTypeDeserializer;
+
+/**
+ * Measures deserializing a value of each of the types the connector supports, i.e. each type of
+ * {@link io.debezium.connector.cassandra.transforms.CassandraTypeConverter}, as well as collections nested in
+ * collections, user types and collections of user types.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CassandraTypeDeserializerBenchmark {
+
+    @Param({ "ascii", "bigint", "blob", "boolean", "counter", "date", "decimal", "double", "duration", "float", "inet", "int",
+            "list", "map", "set", "smallint", "text", "time", "timestamp", "timeuuid", "tinyint", "tuple", "udt", "uuid",
+            "nested_map", "list_of_udt" })
+    public String type;
+
+    private AbstractType<?> abstractType;
+    private ByteBuffer serializedValue;
+
+    @Setup
+    public void setUp() {
+        DatabaseDescriptor.clientInitialization();
+        CassandraTypeDeserializer.init((abstractType, bb) -> abstractType.getSerializer().deserialize(bb));
+        switch (type) {
+            case "ascii":
+                basic(AsciiType.instance, "an ascii value");
+                break;
+            case "bigint":
+                basic(LongType.instance, "1234567890123");
+                break;
+            case "blob":
+                basic(BytesType.instance, "cafebabecafebabecafebabecafebabe");
+                break;
+            case "boolean":
+                basic(BooleanType.instance, "true");
+                break;
+            case "counter":
+                basic(CounterColumnType.instance, "42");
+                break;
+            case "date":
+                basic(SimpleDateType.instance, "2020-09-13");
+                break;
+            case "decimal":
+                basic(DecimalType.instance, "12345.6789");
+                break;
+            case "double":
+                basic(DoubleType.instance, "1.5");
+                break;
+            case "duration":
+                basic(DurationType.instance, "1mo2d3h4m5s");
+                break;
+            case "float":
+                basic(FloatType.instance, "1.5");
+                break;
+            case "inet":
+                basic(InetAddressType.instance, "192.168.1.1");
+                break;
+            case "int":
+                basic(Int32Type.instance, "42");
+                break;
+            case "smallint":
+                basic(ShortType.instance, "42");
+                break;
+            case "text":
+                basic(UTF8Type.instance, "a text value of a regular column");
+                break;
+            case "time":
+                basic(TimeType.instance, "12:34:56.789");
+                break;
+            case "timestamp":
+                basic(TimestampType.instance, "2020-09-13 12:26:40+0000");
+                break;
+            case "timeuuid":
+                basic(TimeUUIDType.instance, "50554d6e-29bb-11e5-b345-feff819cdc9f");
+                break;
+            case "tinyint":
+                basic(ByteType.instance, "42");
+                break;
+            case "uuid":
+                basic(UUIDType.instance, UUID.randomUUID().toString());
+                break;
+            case "list":
+                ListType<Integer> listType = ListType.getInstance(Int32Type.instance, false);
+                set(listType, listType.decompose(ints(100)));
+                break;
+            case "set":
+                SetType<UUID> setType = SetType.getInstance(UUIDType.instance, false);
+                Set<UUID> uuids = new LinkedHashSet<>();
+                for (int i = 0; i < 100; i++) {
+                    uuids.add(UUID.randomUUID());
+                }
+                set(setType, setType.decompose(uuids));
+                break;
+            case "map":
+                MapType<String, String> mapType = MapType.getInstance(UTF8Type.instance, UTF8Type.instance, false);
+                set(mapType, mapType.decompose(texts(100)));
+                break;
+            case "nested_map":
+                MapType<String, List<Integer>> nestedMapType = MapType.getInstance(UTF8Type.instance, ListType.getInstance(Int32Type.instance, false), false);
+                Map<String, List<Integer>> nestedMap = new HashMap<>();
+                for (int i = 0; i < 10; i++) {
+                    nestedMap.put("key" + i, ints(10));
+                }
+                set(nestedMapType, nestedMapType.decompose(nestedMap));
+                break;
+            case "tuple":
+                TupleType tupleType = new TupleType(Arrays.asList(Int32Type.instance, UTF8Type.instance, TimestampType.instance));
+                set(tupleType, tuple(tupleType));
+                break;
+            case "udt":
+                UserType userType = userType();
+                set(userType, tuple(userType));
+                break;
+            case "list_of_udt":
+                UserType elementType = userType();
+                ListType<ByteBuffer> udtListType = ListType.getInstance(elementType, false);
+                List<ByteBuffer> udts = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    udts.add(tuple(elementType));
+                }
+                set(udtListType, udtListType.decompose(udts));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown type " + type);
+        }
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return CassandraTypeDeserializer.deserialize(abstractType, serializedValue);
+    }
+
+    private void basic(AbstractType<?> abstractType, String value) {
+        set(abstractType, abstractType.fromString(value));
+    }
+
+    private void set(AbstractType<?> abstractType, ByteBuffer serializedValue) {
+        this.abstractType = abstractType;
+        this.serializedValue = serializedValue;
+    }
+
+    private static List<Integer> ints(int size) {
+        List<Integer> ints = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ints.add(i);
+        }
+        return ints;
+    }
+
+    private static Map<String, String> texts(int size) {
+        Map<String, String> texts = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            texts.put("key" + i, "value of the entry " + i);
+        }
+        return texts;
+    }
+
+    private static UserType userType() {
+        List<FieldIdentifier> fieldNames = Arrays.asList(FieldIdentifier.forUnquoted("int_field"), FieldIdentifier.forUnquoted("text_field"),
+                FieldIdentifier.forUnquoted("timestamp_field"));
+        List<AbstractType<?>> fieldTypes = Arrays.asList(Int32Type.instance, UTF8Type.instance, TimestampType.instance);
+        return new UserType("benchmark_keyspace", ByteBuffer.wrap("benchmark_type".getBytes(StandardCharsets.UTF_8)), fieldNames, fieldTypes, false);
+    }
+
+    /**
+     * Serializes a tuple, or a user type, of an int, a text and a timestamp.
+     */
+    private static ByteBuffer tuple(TupleType tupleType) {
+        return TupleType.buildValue(new ByteBuffer[]{
+                tupleType.type(0).fromString("42"),
+                tupleType.type(1).fromString("a text field"),
+                tupleType.type(2).fromString("2020-09-13 12:26:40+0000")
+        });
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static io.debezium.connector.cassandra.CellData.ColumnType.CLUSTERING;
+import static io.debezium.connector.cassandra.CellData.ColumnType.PARTITION;
+import static io.debezium.connector.cassandra.CellData.ColumnType.REGULAR;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import org.apache.cassandra.config.Config;
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.config.ParameterizedClass;
+import org.apache.cassandra.cql3.statements.schema.CreateTableStatement;
+import org.apache.cassandra.db.Mutation;
+import org.apache.cassandra.db.commitlog.CommitLog;
+import org.apache.cassandra.db.partitions.PartitionUpdate;
+import org.apache.cassandra.db.rows.Row;
+import org.apache.cassandra.dht.Murmur3Partitioner;
+import org.apache.cassandra.locator.SimpleSeedProvider;
+import org.apache.cassandra.locator.SimpleSnitch;
+import org.apache.cassandra.schema.KeyspaceMetadata;
+import org.apache.cassandra.schema.KeyspaceParams;
+import org.apache.cassandra.schema.Schema;
+import org.apache.cassandra.schema.Tables;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.metadata.schema.ClusteringOrder;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.type.DataType;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import com.datastax.oss.driver.internal.core.metadata.schema.DefaultColumnMetadata;
+import com.datastax.oss.driver.internal.core.metadata.schema.DefaultTableMetadata;
+
+/**
+ * Writes synthetic mutations of CDC enabled tables with Cassandra's own commit log, which lays them out in
+ * commit log segments and maintains their _cdc.idx files in the cdc_raw directory exactly as a Cassandra node
+ * does. Cassandra is initialized in-process with the given directory as its only storage, without any
+ * sstable ever being written, so a single generator can be created per JVM.
+ */
+final class CommitLogSegmentGenerator implements AutoCloseable {
+    static final String KEYSPACE = "benchmark_keyspace";
+
+    /**
+     * The shapes of the generated tables, each table having an int partition key.
+     */
+    enum TableShape {
+        /**
+         * A single text column, without clustering key.
+         */
+        NARROW {
+            @Override
+            List<Column> regularColumns(String text) {
+                return Collections.singletonList(new Column("v", DataTypes.TEXT, REGULAR, sequence -> text));
+            }
+
+            @Override
+            boolean clustered() {
+                return false;
+            }
+        },
+        /**
+         * An int clustering key and a column of each of the most common primitive types.
+         */
+        PRIMITIVE {
+            @Override
+            List<Column> regularColumns(String text) {
+                return Arrays.asList(
+                        new Column("c_bigint", DataTypes.BIGINT, REGULAR, sequence -> (long) sequence),
+                        new Column("c_boolean", DataTypes.BOOLEAN, REGULAR, sequence -> sequence % 2 == 0),
+                        new Column("c_double", DataTypes.DOUBLE, REGULAR, sequence -> sequence * 0.5),
+                        new Column("c_text", DataTypes.TEXT, REGULAR, sequence -> text),
+                        new Column("c_timestamp", DataTypes.TIMESTAMP, REGULAR, sequence -> new Date(1_600_000_000_000L + sequence)),
+                        new Column("c_uuid", DataTypes.UUID, REGULAR, sequence -> new UUID(sequence, sequence)));
+            }
+        },
+        /**
+         * An int clustering key and twenty text columns.
+         */
+        WIDE {
+            @Override
+            List<Column> regularColumns(String text) {
+                List<Column> columns = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    columns.add(new Column("c_text_" + i, DataTypes.TEXT, REGULAR, sequence -> text));
+                }
+                return columns;
+            }
+        },
+        /**
+         * An int clustering key and a map, a list and a set column.
+         */
+        COLLECTION {
+            @Override
+            List<Column> regularColumns(String text) {
+                Map<String, String> map = new HashMap<>();
+                List<Integer> list = new ArrayList<>();
+                Set<UUID> set = new HashSet<>();
+                for (int i = 0; i < 10; i++) {
+                    map.put("key" + i, text);
+                    list.add(i);
+                    set.add(new UUID(i, i));
+                }
+                return Arrays.asList(
+                        new Column("c_map", DataTypes.mapOf(DataTypes.TEXT, DataTypes.TEXT), REGULAR, sequence -> map),
+                        new Column("c_list", DataTypes.listOf(DataTypes.INT), REGULAR, sequence -> list),
+                        new Column("c_set", DataTypes.setOf(DataTypes.UUID), REGULAR, sequence -> set));
+            }
+        };
+
+        abstract List<Column> regularColumns(String text);
+
+        boolean clustered() {
+            return true;
+        }
+
+        List<Column> columns(String text) {
+            List<Column> columns = new ArrayList<>();
+            columns.add(new Column("p", DataTypes.INT, PARTITION, null));
+            if (clustered()) {
+                columns.add(new Column("c", DataTypes.INT, CLUSTERING, null));
+            }
+            columns.addAll(regularColumns(text));
+            return columns;
+        }
+    }
+
+    /**
+     * A column of a generated table, whose value in each mutation is derived from the sequence number of the mutation.
+     */
+    static final class Column {
+        final String name;
+        final DataType type;
+        final CellData.ColumnType columnType;
+        final IntFunction<Object> value;
+
+        Column(String name, DataType type, CellData.ColumnType columnType, IntFunction<Object> value) {
+            this.name = name;
+            this.type = type;
+            this.columnType = columnType;
+            this.value = value;
+        }
+    }
+
+    /**
+     * A generated table, described both by the Cassandra metadata its mutations are written with and by the driver
+     * metadata the connector derives its schemas from.
+     */
+    static final class Table {
+        final org.apache.cassandra.schema.TableMetadata metadata;
+        final TableMetadata driverMetadata;
+        private final boolean clustered;
+        private final List<Column> regularColumns;
+
+        private Table(String name, TableShape shape, String text) {
+            List<Column> columns = shape.columns(text);
+            this.metadata = CreateTableStatement.parse(createTableStatement(name, columns), KEYSPACE).build();
+            this.driverMetadata = driverMetadata(metadata, columns);
+            this.clustered = shape.clustered();
+            this.regularColumns = columns.stream().filter(column -> column.columnType == REGULAR).collect(Collectors.toList());
+        }
+
+        private Mutation mutation(int sequence, int partitions, long timestampMicros) {
+            PartitionUpdate.SimpleBuilder builder = PartitionUpdate.simpleBuilder(metadata, sequence % partitions)
+                    .timestamp(timestampMicros);
+            Row.SimpleBuilder row = clustered ? builder.row(sequence) : builder.row();
+            for (Column column : regularColumns) {
+                row.add(column.name, column.value.apply(sequence));
+            }
+            return builder.buildAsMutation();
+        }
+
+        private static String createTableStatement(String name, List<Column> columns) {
+            String partitionKey = columns.stream().filter(column -> column.columnType == PARTITION)
+                    .map(column -> column.name).collect(Collectors.joining(", "));
+            String clusteringKey = columns.stream().filter(column -> column.columnType == CLUSTERING)
+                    .map(column -> ", " + column.name).collect(Collectors.joining());
+            return "CREATE TABLE " + KEYSPACE + "." + name + " ("
+                    + columns.stream().map(column -> column.name + " " + column.type.asCql(false, true)).collect(Collectors.joining(", "))
+                    + ", PRIMARY KEY ((" + partitionKey + ")" + clusteringKey + ")) WITH cdc = true";
+        }
+
+        private static TableMetadata driverMetadata(org.apache.cassandra.schema.TableMetadata metadata, List<Column> columns) {
+            CqlIdentifier keyspace = CqlIdentifier.fromInternal(metadata.keyspace);
+            CqlIdentifier table = CqlIdentifier.fromInternal(metadata.name);
+            List<ColumnMetadata> partitionKey = new ArrayList<>();
+            Map<ColumnMetadata, ClusteringOrder> clusteringColumns = new LinkedHashMap<>();
+            Map<CqlIdentifier, ColumnMetadata> allColumns = new LinkedHashMap<>();
+            for (Column column : columns) {
+                ColumnMetadata columnMetadata = new DefaultColumnMetadata(keyspace, table, CqlIdentifier.fromInternal(column.name), column.type, false);
+                if (column.columnType == PARTITION) {
+                    partitionKey.add(columnMetadata);
+                }
+                else if (column.columnType == CLUSTERING) {
+                    clusteringColumns.put(columnMetadata, ClusteringOrder.ASC);
+                }
+                allColumns.put(columnMetadata.getName(), columnMetadata);
+            }
+            return new DefaultTableMetadata(keyspace, table, metadata.id.asUUID(), false, false, partitionKey, clusteringColumns, allColumns,
+                    Collections.singletonMap(CqlIdentifier.fromInternal("cdc"), true), Collections.emptyMap());
+        }
+    }
+
+    private final List<Table> tables = new ArrayList<>();
+    private final int partitions;
+    private int sequence = 0;
+
+    /**
+     * Initializes Cassandra with the given directory as its storage and creates the tables to write mutations of.
+     *
+     * @param directory the directory holding the commit log, cdc_raw and data directories of Cassandra
+     * @param shape the shape of the tables
+     * @param tableCount the number of tables, the mutations being written to each of them in turn
+     * @param partitions the number of distinct partitions written to per table
+     * @param textSize the length of the values of the text columns
+     * @param segmentSizeMb the size of the commit log segments
+     * @param syncPeriodMs the period of the commit log syncs, which update the _cdc.idx files
+     */
+    CommitLogSegmentGenerator(Path directory, TableShape shape, int tableCount, int partitions, int textSize, int segmentSizeMb, int syncPeriodMs)
+            throws IOException {
+        this.partitions = partitions;
+        Config config = config(directory, segmentSizeMb, syncPeriodMs);
+        for (String dir : config.data_file_directories) {
+            Files.createDirectories(Paths.get(dir));
+        }
+        for (String dir : Arrays.asList(config.commitlog_directory, config.cdc_raw_directory, config.saved_caches_directory, config.hints_directory)) {
+            Files.createDirectories(Paths.get(dir));
+        }
+        DatabaseDescriptor.daemonInitialization(() -> config);
+
+        char[] chars = new char[textSize];
+        Arrays.fill(chars, 'x');
+        String text = new String(chars);
+        List<org.apache.cassandra.schema.TableMetadata> metadata = new ArrayList<>();
+        for (int i = 0; i < tableCount; i++) {
+            Table table = new Table(shape.name().toLowerCase() + "_" + i, shape, text);
+            tables.add(table);
+            metadata.add(table.metadata);
+        }
+        Schema.instance.load(KeyspaceMetadata.create(KEYSPACE, KeyspaceParams.simple(1), Tables.of(metadata)));
+        CommitLog.instance.start();
+    }
+
+    private static Config config(Path directory, int segmentSizeMb, int syncPeriodMs) {
+        Config config = new Config();
+        config.cluster_name = "benchmark-cluster";
+        config.partitioner = Murmur3Partitioner.class.getName();
+        config.endpoint_snitch = SimpleSnitch.class.getName();
+        config.seed_provider = new ParameterizedClass(SimpleSeedProvider.class.getName(), Collections.singletonMap("seeds", "127.0.0.1"));
+        config.listen_address = "127.0.0.1";
+        config.data_file_directories = new String[]{ directory.resolve("data").toString() };
+        config.saved_caches_directory = directory.resolve("saved_caches").toString();
+        config.hints_directory = directory.resolve("hints").toString();
+        config.commitlog_directory = directory.resolve("commitlog").toString();
+        config.cdc_raw_directory = directory.resolve("cdc_raw").toString();
+        config.cdc_enabled = true;
+        // the segments are relocated by the connector once processed, the limit only guards against a stalled pipeline
+        config.cdc_total_space_in_mb = 1024 * 1024;
+        config.commitlog_sync = Config.CommitLogSync.periodic;
+        config.commitlog_sync_period_in_ms = syncPeriodMs;
+        config.commitlog_segment_size_in_mb = segmentSizeMb;
+        return config;
+    }
+
+    List<Table> tables() {
+        return tables;
+    }
+
+    /**
+     * Writes mutations to the tables in turn, each of them inserting a single row with the current time as its write
+     * time, so that the delay from writing a mutation to emitting its change event can be measured.
+     *
+     * @param mutations the number of mutations to write
+     * @param mutationsPerSecond the rate to write the mutations at, 0 to write them as fast as possible
+     */
+    void write(int mutations, long mutationsPerSecond) {
+        long start = System.nanoTime();
+        for (int i = 0; i < mutations; i++) {
+            if (mutationsPerSecond > 0) {
+                long delay = start + i * TimeUnit.SECONDS.toNanos(1) / mutationsPerSecond - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+            }
+            Table table = tables.get(sequence % tables.size());
+            CommitLog.instance.add(table.mutation(sequence++, partitions, RecordingEmitter.currentTimeMicros()));
+        }
+    }
+
+    /**
+     * Shuts the commit log down, which marks all of its segments as completed in their _cdc.idx files.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        CommitLog.instance.shutdownBlocking();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.connect.json.JsonConverter;
+import org.apache.kafka.connect.storage.Converter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.confluent.connect.avro.AvroConverter;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+
+/**
+ * Measures converting a change record into the serialized key and value sent to Kafka, with either the JSON
+ * converter or the Avro converter backed by an in-memory schema registry.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class KafkaRecordEmitterBenchmark {
+
+    @Param({ "json", "avro" })
+    public String converter;
+
+    private OffsetWriter offsetWriter;
+    private KafkaRecordEmitter emitter;
+    private Record record;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkRecords records = new BenchmarkRecords();
+        offsetWriter = new FileOffsetWriter(Files.createTempDirectory("offset").toString());
+        emitter = new KafkaRecordEmitter(records.config, new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer()),
+                offsetWriter, Duration.ofHours(1), Long.MAX_VALUE, converter(true), converter(false), new HashSet<>(),
+                records.config.getCommitLogTransfer());
+        record = records.record(42);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        emitter.close();
+        offsetWriter.close();
+    }
+
+    @Benchmark
+    public ProducerRecord<byte[], byte[]> toProducerRecord() {
+        return emitter.toProducerRecord(record);
+    }
+
+    private Converter converter(boolean isKey) {
+        Converter result;
+        Map<String, ?> configs;
+        if ("avro".equals(converter)) {
+            result = new AvroConverter(new MockSchemaRegistryClient());
+            configs = Collections.singletonMap("schema.registry.url", "mock://benchmark");
+        }
+        else {
+            result = new JsonConverter();
+            configs = Collections.emptyMap();
+        }
+        result.configure(configs, isKey);
+        return result;
+    }
+}
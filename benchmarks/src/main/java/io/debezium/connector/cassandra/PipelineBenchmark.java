@@ -0,0 +1,266 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.cassandra.io.util.FileUtils;
+
+import com.sun.management.ThreadMXBean;
+
+import io.debezium.config.Configuration;
+import io.debezium.connector.cassandra.CassandraConnectorTaskTemplate.ProcessorGroup;
+import io.debezium.connector.cassandra.transforms.CassandraTypeDeserializer;
+
+/**
+ * Measures the throughput and latency of the whole commit log pipeline of the connector without any Cassandra
+ * cluster nor Kafka: mutations are written to synthetic commit log segments by a {@link CommitLogSegmentGenerator},
+ * read by the {@link Cassandra4CommitLogProcessor} from the cdc_raw directory, and handed over through the change
+ * event queues to the {@link QueueProcessor}s, which emit them to a {@link RecordingEmitter}.
+ * <p>
+ * The generator writes the mutations while the pipeline is running, either as fast as possible to measure the
+ * throughput the pipeline sustains, or at a given rate to measure the delay from writing a mutation to emitting
+ * its change event at that rate. It reports the mutations per second, the percentiles of the per-event latency,
+ * and the collections and allocations of the pipeline threads during the measurement, e.g.
+ * {@code java -cp benchmarks/target/benchmarks.jar io.debezium.connector.cassandra.PipelineBenchmark --shape wide
+ * --rate 50000 num.of.change.event.queues=4}, where any {@code key=value} argument is a connector property.
+ */
+public final class PipelineBenchmark {
+
+    private PipelineBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        Path directory = Files.createTempDirectory("pipeline-benchmark");
+        int status = 0;
+        try {
+            run(options, directory);
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            status = 1;
+        }
+        finally {
+            FileUtils.deleteRecursive(directory.toFile());
+        }
+        // Cassandra leaves non-daemon threads behind
+        System.exit(status);
+    }
+
+    private static void run(Options options, Path directory) throws Exception {
+        CassandraTypeDeserializer.init((abstractType, bb) -> abstractType.getSerializer().deserialize(bb));
+        CommitLogSegmentGenerator generator = new CommitLogSegmentGenerator(directory.resolve("cassandra"), options.shape, options.tables,
+                options.partitions, options.textSize, options.segmentSizeMb, options.syncPeriodMs);
+
+        Files.createDirectories(directory.resolve("offsets"));
+        Configuration.Builder configuration = Configuration.create()
+                .with(CassandraConnectorConfig.CONNECTOR_NAME, "benchmark")
+                .with(CassandraConnectorConfig.KAFKA_TOPIC_PREFIX, "benchmark")
+                .with(CassandraConnectorConfig.COMMIT_LOG_RELOCATION_DIR, directory.resolve("relocation").toString())
+                .with(CassandraConnectorConfig.OFFSET_BACKING_STORE_DIR, directory.resolve("offsets").toString())
+                // read the mutations as soon as they are synced, otherwise the latency is the time to fill a segment
+                .with(CassandraConnectorConfig.COMMIT_LOG_REAL_TIME_PROCESSING_ENABLED, true)
+                .with(CassandraConnectorConfig.COMMIT_LOG_MARKED_COMPLETE_POLL_INTERVAL_MS, options.syncPeriodMs);
+        options.connectorProperties.forEach(configuration::with);
+        CassandraConnectorConfig config = new CassandraConnectorConfig(configuration.build());
+        BenchmarkContext context = new BenchmarkContext(config);
+        for (CommitLogSegmentGenerator.Table table : generator.tables()) {
+            context.getSchemaHolder().addOrUpdateTableSchema(new KeyspaceTable(table.driverMetadata), new KeyValueSchema.KeyValueSchemaBuilder()
+                    .withTableMetadata(table.driverMetadata)
+                    .withKafkaTopicPrefix(config.kafkaTopicPrefix())
+                    .withSourceInfoStructMarker(config.getSourceInfoStructMaker())
+                    .build());
+        }
+
+        // the generator runs on this thread, whose allocations are left out
+        long generatorThreadId = Thread.currentThread().getId();
+        AtomicReference<GcSnapshot> start = new AtomicReference<>();
+        RecordingEmitter emitter = new RecordingEmitter(options.warmup, options.mutations, () -> start.set(GcSnapshot.take(generatorThreadId)));
+
+        ProcessorGroup processorGroup = new ProcessorGroup();
+        processorGroup.addProcessor(new Cassandra4CommitLogProcessor(context));
+        for (int i = 0; i < config.numOfChangeEventQueues(); i++) {
+            processorGroup.addProcessor(new QueueProcessor(context, i, emitter));
+        }
+        processorGroup.start();
+        try {
+            if (options.warmup == 0) {
+                emitter.startMeasurement();
+            }
+            generator.write(options.warmup + options.mutations, options.rate);
+            generator.close();
+            if (!emitter.awaitCompletion(options.timeoutSeconds, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Only " + emitter.emitted() + " of " + (options.warmup + options.mutations)
+                        + " change events have been emitted within " + options.timeoutSeconds + " seconds");
+            }
+            report(options, emitter, start.get(), GcSnapshot.take(generatorThreadId));
+        }
+        finally {
+            processorGroup.terminate();
+            context.getOffsetWriter().close();
+        }
+    }
+
+    private static void report(Options options, RecordingEmitter emitter, GcSnapshot start, GcSnapshot end) {
+        double seconds = emitter.elapsedNanos() / (double) TimeUnit.SECONDS.toNanos(1);
+        long[] latencies = emitter.latencyPercentiles(50, 99, 99.9, 100);
+        long allocated = end.allocatedBytesSince(start);
+        System.out.printf(Locale.ROOT, "%d mutations of %d %s table(s) in %.2f s: %.0f mutations/s%n",
+                options.mutations, options.tables, options.shape, seconds, options.mutations / seconds);
+        System.out.printf(Locale.ROOT, "write to emit latency: p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+                latencies[0] / 1000.0, latencies[1] / 1000.0, latencies[2] / 1000.0, latencies[3] / 1000.0);
+        System.out.printf(Locale.ROOT, "GC: %d collections taking %d ms, %.1f MB/s allocated, %.0f bytes per mutation%n",
+                end.collections - start.collections, end.collectionMillis - start.collectionMillis,
+                allocated / seconds / (1024 * 1024), allocated / (double) options.mutations);
+    }
+
+    /**
+     * The context of a connector whose tables are known upfront, instead of being read from the cluster.
+     */
+    private static final class BenchmarkContext extends CassandraConnectorContext {
+        private final SchemaHolder schemaHolder = new SchemaHolder();
+        private final OffsetWriter offsetWriter;
+
+        private BenchmarkContext(CassandraConnectorConfig config) throws IOException {
+            super(config);
+            this.offsetWriter = new FileOffsetWriter(config.offsetBackingStoreDir());
+        }
+
+        @Override
+        public SchemaHolder getSchemaHolder() {
+            return schemaHolder;
+        }
+
+        @Override
+        public OffsetWriter getOffsetWriter() {
+            return offsetWriter;
+        }
+    }
+
+    /**
+     * The collections run so far and the bytes allocated so far by each live thread but one.
+     */
+    private static final class GcSnapshot {
+        private final long collections;
+        private final long collectionMillis;
+        private final Map<Long, Long> allocatedBytes;
+
+        private GcSnapshot(long collections, long collectionMillis, Map<Long, Long> allocatedBytes) {
+            this.collections = collections;
+            this.collectionMillis = collectionMillis;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        static GcSnapshot take(long excludedThreadId) {
+            long collections = 0;
+            long collectionMillis = 0;
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                collections += Math.max(0, collector.getCollectionCount());
+                collectionMillis += Math.max(0, collector.getCollectionTime());
+            }
+            ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long[] threadIds = threads.getAllThreadIds();
+            long[] bytes = threads.getThreadAllocatedBytes(threadIds);
+            Map<Long, Long> allocatedBytes = new HashMap<>();
+            for (int i = 0; i < threadIds.length; i++) {
+                if (threadIds[i] != excludedThreadId && bytes[i] >= 0) {
+                    allocatedBytes.put(threadIds[i], bytes[i]);
+                }
+            }
+            return new GcSnapshot(collections, collectionMillis, allocatedBytes);
+        }
+
+        /**
+         * Returns the bytes allocated since the given snapshot by the threads alive at both snapshots or started since.
+         */
+        long allocatedBytesSince(GcSnapshot start) {
+            long allocated = 0;
+            for (Map.Entry<Long, Long> entry : allocatedBytes.entrySet()) {
+                allocated += entry.getValue() - start.allocatedBytes.getOrDefault(entry.getKey(), 0L);
+            }
+            return allocated;
+        }
+    }
+
+    private static final class Options {
+        private CommitLogSegmentGenerator.TableShape shape = CommitLogSegmentGenerator.TableShape.PRIMITIVE;
+        private int tables = 1;
+        private int mutations = 1_000_000;
+        private int warmup = 200_000;
+        private long rate = 0;
+        private int partitions = 10_000;
+        private int textSize = 32;
+        private int segmentSizeMb = 32;
+        private int syncPeriodMs = 10;
+        private long timeoutSeconds = 600;
+        private final Map<String, String> connectorProperties = new HashMap<>();
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (!arg.startsWith("--")) {
+                    int separator = arg.indexOf('=');
+                    if (separator <= 0) {
+                        throw new IllegalArgumentException("Expected an option or a connector property key=value, got " + arg);
+                    }
+                    options.connectorProperties.put(arg.substring(0, separator), arg.substring(separator + 1));
+                    continue;
+                }
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value of " + arg);
+                }
+                String value = args[++i];
+                switch (arg) {
+                    case "--shape":
+                        options.shape = CommitLogSegmentGenerator.TableShape.valueOf(value.toUpperCase(Locale.ROOT));
+                        break;
+                    case "--tables":
+                        options.tables = Integer.parseInt(value);
+                        break;
+                    case "--mutations":
+                        options.mutations = Integer.parseInt(value);
+                        break;
+                    case "--warmup":
+                        options.warmup = Integer.parseInt(value);
+                        break;
+                    case "--rate":
+                        options.rate = Long.parseLong(value);
+                        break;
+                    case "--partitions":
+                        options.partitions = Integer.parseInt(value);
+                        break;
+                    case "--text-size":
+                        options.textSize = Integer.parseInt(value);
+                        break;
+                    case "--segment-size-mb":
+                        options.segmentSizeMb = Integer.parseInt(value);
+                        break;
+                    case "--sync-period-ms":
+                        options.syncPeriodMs = Integer.parseInt(value);
+                        break;
+                    case "--timeout-s":
+                        options.timeoutSeconds = Long.parseLong(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + arg + ", expected one of --shape, --tables, --mutations, "
+                                + "--warmup, --rate, --partitions, --text-size, --segment-size-mb, --sync-period-ms, --timeout-s");
+                }
+            }
+            return options;
+        }
+    }
+}
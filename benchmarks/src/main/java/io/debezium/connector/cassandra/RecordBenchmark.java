@@ -0,0 +1,60 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building the Kafka Connect structs of a change record out of its cells.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RecordBenchmark {
+
+    private Schema rowSchema;
+    private RowData rowData;
+    private Record record;
+
+    @Setup
+    public void setUp() {
+        BenchmarkRecords records = new BenchmarkRecords();
+        rowSchema = records.keyValueSchema.valueSchema().field(Record.AFTER).schema();
+        rowData = records.rowData(42);
+        record = records.record(42);
+    }
+
+    @Benchmark
+    public Struct rowDataRecord() {
+        return rowData.record(rowSchema);
+    }
+
+    @Benchmark
+    public Struct buildKey() {
+        return record.buildKey();
+    }
+
+    @Benchmark
+    public Struct buildValue() {
+        return record.buildValue();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link Emitter} standing in for Kafka, which builds the key and value of each record as the Kafka emitter
+ * does but drops them instead of converting and sending them. It records the delay from the write time of the
+ * mutation of each record to its emission, the records of the warm-up being left out of the measurement.
+ */
+final class RecordingEmitter implements Emitter {
+    private final int warmupRecords;
+    private final int measuredRecords;
+    private final long[] latenciesMicros;
+    private final AtomicInteger emitted = new AtomicInteger();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private final Runnable onMeasurementStart;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    /**
+     * @param warmupRecords the number of records emitted before the measurement starts
+     * @param measuredRecords the number of records to measure
+     * @param onMeasurementStart invoked once the last record of the warm-up has been emitted
+     */
+    RecordingEmitter(int warmupRecords, int measuredRecords, Runnable onMeasurementStart) {
+        this.warmupRecords = warmupRecords;
+        this.measuredRecords = measuredRecords;
+        this.latenciesMicros = new long[measuredRecords];
+        this.onMeasurementStart = onMeasurementStart;
+    }
+
+    /**
+     * Returns the current time in microseconds since the epoch, which is the clock the write times of the generated
+     * mutations are taken from.
+     */
+    static long currentTimeMicros() {
+        Instant now = Instant.now();
+        return TimeUnit.SECONDS.toMicros(now.getEpochSecond()) + TimeUnit.NANOSECONDS.toMicros(now.getNano());
+    }
+
+    /**
+     * Starts the measurement straight away, for runs without warm-up.
+     */
+    void startMeasurement() {
+        startNanos = System.nanoTime();
+        onMeasurementStart.run();
+        started.countDown();
+    }
+
+    @Override
+    public void emit(Record record) {
+        record.buildKey();
+        record.buildValue();
+        Instant writeTime = record.getSource().tsMicro;
+        long latency = currentTimeMicros() - TimeUnit.SECONDS.toMicros(writeTime.getEpochSecond()) - TimeUnit.NANOSECONDS.toMicros(writeTime.getNano());
+
+        int count = emitted.incrementAndGet();
+        if (count <= warmupRecords) {
+            if (count == warmupRecords) {
+                startMeasurement();
+            }
+            return;
+        }
+        int index = count - warmupRecords - 1;
+        if (index < measuredRecords) {
+            latenciesMicros[index] = latency;
+            if (index == measuredRecords - 1) {
+                endNanos = System.nanoTime();
+                completed.countDown();
+            }
+        }
+    }
+
+    /**
+     * Waits until all measured records have been emitted, and the measurement has been started by the emission of
+     * the last record of the warm-up, which may race with the emission of the last measured record.
+     *
+     * @return false if the timeout elapsed before
+     */
+    boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        return completed.await(timeout, unit) && started.await(timeout, unit);
+    }
+
+    int emitted() {
+        return emitted.get();
+    }
+
+    long elapsedNanos() {
+        return endNanos - startNanos;
+    }
+
+    /**
+     * Returns the given percentiles of the latencies of the measured records, in microseconds.
+     */
+    long[] latencyPercentiles(double... percentiles) {
+        long[] sorted = latenciesMicros.clone();
+        Arrays.sort(sorted);
+        long[] values = new long[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            int index = (int) Math.ceil(percentiles[i] / 100 * sorted.length) - 1;
+            values[i] = sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+        return values;
+    }
+
+    @Override
+    public void close() {
+    }
+}
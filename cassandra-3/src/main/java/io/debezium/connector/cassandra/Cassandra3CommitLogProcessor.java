@@ -14,16 +14,16 @@ import java.nio.file.WatchEvent;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.List;
 import java.util.Set;
 
 import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.db.commitlog.CommitLogDescriptor;
+import org.apache.cassandra.db.commitlog.CommitLogPosition;
 import org.apache.cassandra.db.commitlog.CommitLogReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.debezium.DebeziumException;
-import io.debezium.connector.base.ChangeEventQueue;
 import io.debezium.connector.cassandra.exceptions.CassandraConnectorTaskException;
 
 /**
@@ -42,7 +42,8 @@ public class Cassandra3CommitLogProcessor extends AbstractProcessor {
     private final Cassandra3CommitLogReadHandlerImpl commitLogReadHandler;
     private final File cdcDir;
     private AbstractDirectoryWatcher watcher;
-    private final List<ChangeEventQueue<Event>> queues;
+    private final ChangeEventQueueRouter queueRouter;
+    private final CommitLogSegmentTracker segmentTracker;
     private final boolean latestOnly;
     private final CommitLogProcessorMetrics metrics = new CommitLogProcessorMetrics();
     private boolean initial = true;
@@ -53,16 +54,21 @@ public class Cassandra3CommitLogProcessor extends AbstractProcessor {
     public Cassandra3CommitLogProcessor(CassandraConnectorContext context) {
         super(NAME, Duration.ZERO);
         commitLogReader = new CommitLogReader();
-        this.queues = context.getQueues();
+        this.queueRouter = context.getQueueRouter();
         this.context = context;
+        this.segmentTracker = context.getCassandraConnectorConfig().commitLogCompletionTrackingEnabled()
+                ? context.getSegmentTracker()
+                : null;
         commitLogReadHandler = new Cassandra3CommitLogReadHandlerImpl(
                 this.context.getSchemaHolder(),
-                this.context.getQueues(),
+                this.context.getQueueRouter(),
+                segmentTracker != null ? segmentTracker.track(EventDispatcher.DIRECT) : EventDispatcher.DIRECT,
                 this.context.getOffsetWriter(),
                 new RecordMaker(this.context.getCassandraConnectorConfig().tombstonesOnDelete(),
                         new Filters(context.getCassandraConnectorConfig().fieldExcludeList()),
                         this.context.getCassandraConnectorConfig()),
-                metrics);
+                metrics,
+                this.context.getPrimaryTokenRanges());
         cdcDir = new File(DatabaseDescriptor.getCDCLogLocation());
         latestOnly = this.context.getCassandraConnectorConfig().latestCommitLogOnly();
         errorCommitLogReprocessEnabled = this.context.getCassandraConnectorConfig().errorCommitLogReprocessEnabled();
@@ -133,9 +139,9 @@ public class Cassandra3CommitLogProcessor extends AbstractProcessor {
             try {
                 LOGGER.info("Processing commit log {}", file.getName());
                 metrics.setCommitLogFilename(file.getName());
-                commitLogReader.readCommitLogSegment(commitLogReadHandler, file, false);
+                commitLogReader.readCommitLogSegment(commitLogReadHandler, file, resumePosition(file), CommitLogReader.ALL_MUTATIONS, false);
                 if (!latestOnly) {
-                    queues.get(Math.abs(file.getName().hashCode() % queues.size())).enqueue(new EOFEvent(file));
+                    completeCommitLog(file);
                 }
                 LOGGER.info("Successfully processed commit log {}", file.getName());
             }
@@ -146,8 +152,8 @@ public class Cassandra3CommitLogProcessor extends AbstractProcessor {
                 }
                 LOGGER.error("Error occurred while processing commit log " + file.getName(), e);
                 if (!latestOnly) {
-                    queues.get(Math.abs(file.getName().hashCode() % queues.size())).enqueue(new EOFEvent(file));
                     erroneousCommitLogs.add(file.getName());
+                    completeCommitLog(file);
                 }
             }
         }
@@ -157,6 +163,29 @@ public class Cassandra3CommitLogProcessor extends AbstractProcessor {
         }
     }
 
+    /**
+     * Determines the position to start reading the commit log from, skipping the mutations which have
+     * been processed for all CDC enabled tables before a restart.
+     */
+    private CommitLogPosition resumePosition(File file) {
+        CommitLogDescriptor descriptor = CommitLogDescriptor.fromFileName(file.getName());
+        int position = context.getOffsetWriter().resumePosition(file.getName(), context.getSchemaHolder().getCdcEnabledTableNames());
+        if (position > 0) {
+            LOGGER.info("Resuming to read commit log {} from position {}", file.getName(), position);
+        }
+        return new CommitLogPosition(descriptor.id, position);
+    }
+
+    private void completeCommitLog(File file) throws InterruptedException {
+        if (segmentTracker != null) {
+            // the commit log is relocated once all of its records have been acknowledged
+            segmentTracker.segmentRead(file);
+        }
+        else {
+            queueRouter.route(file.getName()).enqueue(new EOFEvent(file));
+        }
+    }
+
     void processLastModifiedCommitLog() {
         LOGGER.warn("CommitLogProcessor will read the last modified commit log from the COMMIT LOG "
                 + "DIRECTORY based on modified timestamp, NOT FROM THE CDC_RAW DIRECTORY. This method "
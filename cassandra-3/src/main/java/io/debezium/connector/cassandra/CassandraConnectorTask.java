@@ -8,6 +8,7 @@ package io.debezium.connector.cassandra;
 import org.apache.cassandra.config.DatabaseDescriptor;
 import org.apache.cassandra.config.Schema;
 
+import io.debezium.connector.cassandra.exceptions.CassandraConnectorConfigException;
 import io.debezium.connector.cassandra.transforms.CassandraTypeDeserializer;
 
 /**
@@ -47,6 +48,12 @@ public class CassandraConnectorTask {
         CassandraConnectorTaskTemplate.main(args, config -> new CassandraConnectorTaskTemplate(config,
                 new Cassandra3SchemaLoader(),
                 new Cassandra3SchemaChangeListenerProvider(),
-                context -> new AbstractProcessor[]{ new Cassandra3CommitLogProcessor(context) }));
+                context -> {
+                    if (context.getCassandraConnectorConfig().snapshotEngine() != CassandraConnectorConfig.SnapshotEngine.CQL) {
+                        throw new CassandraConnectorConfigException("Snapshot engine "
+                                + context.getCassandraConnectorConfig().snapshotEngine() + " is not supported with Cassandra 3");
+                    }
+                    return new AbstractProcessor[]{ new Cassandra3CommitLogProcessor(context) };
+                }));
     }
 }
@@ -18,8 +18,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.cassandra.config.DatabaseDescriptor;
@@ -28,8 +31,6 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
 
-import io.debezium.connector.base.ChangeEventQueue;
-
 public class SnapshotProcessorTest extends EmbeddedCassandra3ConnectorTestBase {
     @Test
     public void testSnapshotTable() throws Exception {
@@ -46,7 +47,7 @@ public class SnapshotProcessorTest extends EmbeddedCassandra3ConnectorTestBase {
             context.getCassandraClient().execute("INSERT INTO " + keyspaceTable("cdc_table2") + "(a, b) VALUES (?, ?)", i + 10, String.valueOf(i + 10));
         }
 
-        ChangeEventQueue<Event> queue = context.getQueues().get(0);
+        EventQueue queue = context.getQueues().get(0);
         assertEquals(queue.totalCapacity(), queue.remainingCapacity());
         snapshotProcessor.process();
         assertEquals(2 * tableSize, queue.totalCapacity() - queue.remainingCapacity());
@@ -86,7 +87,7 @@ public class SnapshotProcessorTest extends EmbeddedCassandra3ConnectorTestBase {
             context.getCassandraClient().execute("INSERT INTO " + keyspaceTable("non_cdc_table") + "(a, b) VALUES (?, ?)", i, String.valueOf(i));
         }
 
-        ChangeEventQueue<Event> queue = context.getQueues().get(0);
+        EventQueue queue = context.getQueues().get(0);
         assertEquals(queue.totalCapacity(), queue.remainingCapacity());
         snapshotProcessor.process();
         assertEquals(queue.totalCapacity(), queue.remainingCapacity());
@@ -105,7 +106,7 @@ public class SnapshotProcessorTest extends EmbeddedCassandra3ConnectorTestBase {
 
         context.getCassandraClient().execute("CREATE TABLE IF NOT EXISTS " + keyspaceTable("cdc_table") + " (a int, b text, PRIMARY KEY(a)) WITH cdc = true;");
 
-        ChangeEventQueue<Event> queue = context.getQueues().get(0);
+        EventQueue queue = context.getQueues().get(0);
         assertEquals(queue.totalCapacity(), queue.remainingCapacity());
         snapshotProcessor.process(); // records empty table to snapshot.offset, so it won't be snapshotted again
         assertEquals(queue.totalCapacity(), queue.remainingCapacity());
@@ -123,6 +124,112 @@ public class SnapshotProcessorTest extends EmbeddedCassandra3ConnectorTestBase {
         context.cleanUp();
     }
 
+    @Test
+    public void testSnapshotTableByTokenRanges() throws Exception {
+        Map<String, Object> configs = TestUtils.propertiesForContext();
+        configs.put(CassandraConnectorConfig.SNAPSHOT_TOKEN_RANGE_SPLITS.name(), "8");
+        configs.put(CassandraConnectorConfig.SNAPSHOT_TOKEN_RANGE_THREADS.name(), "4");
+        CassandraConnectorContext context = generateTaskContext(configs);
+        SnapshotProcessor snapshotProcessor = Mockito.spy(new SnapshotProcessor(context));
+        when(snapshotProcessor.isRunning()).thenReturn(true);
+
+        int tableSize = 50;
+        context.getCassandraClient().execute("CREATE TABLE IF NOT EXISTS " + keyspaceTable("cdc_table") + " (a int, b text, PRIMARY KEY(a)) WITH cdc = true;");
+        for (int i = 0; i < tableSize; i++) {
+            context.getCassandraClient().execute("INSERT INTO " + keyspaceTable("cdc_table") + "(a, b) VALUES (?, ?)", i, String.valueOf(i));
+        }
+
+        EventQueue queue = context.getQueues().get(0);
+        snapshotProcessor.process();
+        assertEquals(tableSize, queue.totalCapacity() - queue.remainingCapacity());
+        Set<Object> keys = new HashSet<>();
+        List<Event> events = queue.poll();
+        for (int i = 0; i < events.size(); i++) {
+            ChangeRecord record = (ChangeRecord) events.get(i);
+            keys.add(record.buildKey().get("a"));
+            // only the last record enqueued marks the snapshot of the table as completed
+            assertEquals(i == events.size() - 1, record.shouldMarkOffset() && record.getOffsetKey().equals(keyspaceTable("cdc_table")));
+        }
+        assertEquals(tableSize, keys.size());
+
+        deleteTestKeyspaceTables();
+        deleteTestOffsets(context);
+        context.cleanUp();
+    }
+
+    @Test
+    public void testSnapshotResumesFromTokenRangeCheckpoints() throws Exception {
+        Map<String, Object> configs = TestUtils.propertiesForContext();
+        configs.put(CassandraConnectorConfig.SNAPSHOT_TOKEN_RANGE_SPLITS.name(), "8");
+        configs.put(CassandraConnectorConfig.SNAPSHOT_TOKEN_RANGE_THREADS.name(), "4");
+        CassandraConnectorContext context = generateTaskContext(configs);
+        SnapshotProcessor snapshotProcessor = Mockito.spy(new SnapshotProcessor(context));
+        when(snapshotProcessor.isRunning()).thenReturn(true);
+
+        int tableSize = 50;
+        context.getCassandraClient().execute("CREATE TABLE IF NOT EXISTS " + keyspaceTable("cdc_table") + " (a int, b text, PRIMARY KEY(a)) WITH cdc = true;");
+        for (int i = 0; i < tableSize; i++) {
+            context.getCassandraClient().execute("INSERT INTO " + keyspaceTable("cdc_table") + "(a, b) VALUES (?, ?)", i, String.valueOf(i));
+        }
+
+        // the first half of the token ring has been snapshotted before the connector stopped
+        long[] boundaries = SnapshotProcessor.splitTokenRing(8);
+        for (int i = 0; i < 4; i++) {
+            context.getOffsetWriter().markOffset(SnapshotProcessor.tokenRangeKey(keyspaceTable("cdc_table"), boundaries[i], boundaries[i + 1]),
+                    OffsetPosition.defaultOffsetPosition().serialize(), true);
+        }
+        long remainingRows = context.getCassandraClient()
+                .execute("SELECT COUNT(*) FROM " + keyspaceTable("cdc_table") + " WHERE token(a) > ?", boundaries[4])
+                .one().getLong(0);
+
+        EventQueue queue = context.getQueues().get(0);
+        snapshotProcessor.process();
+        assertEquals(remainingRows, queue.totalCapacity() - queue.remainingCapacity());
+
+        deleteTestKeyspaceTables();
+        deleteTestOffsets(context);
+        context.cleanUp();
+    }
+
+    @Test
+    public void testSnapshotTablesConcurrently() throws Exception {
+        Map<String, Object> configs = TestUtils.propertiesForContext();
+        configs.put(CassandraConnectorConfig.SNAPSHOT_TABLE_THREADS.name(), "3");
+        CassandraConnectorContext context = generateTaskContext(configs);
+        SnapshotProcessor snapshotProcessor = Mockito.spy(new SnapshotProcessor(context));
+        when(snapshotProcessor.isRunning()).thenReturn(true);
+
+        int tableCount = 5;
+        int tableSize = 10;
+        for (int t = 0; t < tableCount; t++) {
+            context.getCassandraClient().execute("CREATE TABLE IF NOT EXISTS " + keyspaceTable("cdc_table_" + t) + " (a int, b text, PRIMARY KEY(a)) WITH cdc = true;");
+            for (int i = 0; i < tableSize * (t + 1); i++) {
+                context.getCassandraClient().execute("INSERT INTO " + keyspaceTable("cdc_table_" + t) + "(a, b) VALUES (?, ?)", i, String.valueOf(i));
+            }
+        }
+
+        EventQueue queue = context.getQueues().get(0);
+        snapshotProcessor.process();
+        Map<String, Integer> rowsPerTable = new HashMap<>();
+        Set<String> completedTables = new HashSet<>();
+        for (Event event : queue.poll()) {
+            ChangeRecord record = (ChangeRecord) event;
+            String tableName = record.getSource().keyspaceTable.name();
+            rowsPerTable.merge(tableName, 1, Integer::sum);
+            if (record.shouldMarkOffset()) {
+                assertTrue(completedTables.add(tableName));
+            }
+        }
+        for (int t = 0; t < tableCount; t++) {
+            assertEquals(tableSize * (t + 1), (int) rowsPerTable.get(keyspaceTable("cdc_table_" + t)));
+            assertTrue(completedTables.contains(keyspaceTable("cdc_table_" + t)));
+        }
+
+        deleteTestKeyspaceTables();
+        deleteTestOffsets(context);
+        context.cleanUp();
+    }
+
     @Test
     public void testSnapshotModeAlways() throws Exception {
         Map<String, Object> configs = TestUtils.propertiesForContext();
@@ -32,7 +32,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.debezium.DebeziumException;
-import io.debezium.connector.base.ChangeEventQueue;
 import io.debezium.connector.cassandra.exceptions.CassandraConnectorTaskException;
 
 /**
@@ -49,18 +48,29 @@ public class Cassandra4CommitLogProcessor extends AbstractProcessor {
     private final CassandraConnectorContext context;
     private final File cdcDir;
     private AbstractDirectoryWatcher watcher;
-    private final List<ChangeEventQueue<Event>> queues;
     private final CommitLogProcessorMetrics metrics = new CommitLogProcessorMetrics();
     private boolean initial = true;
     private final boolean errorCommitLogReprocessEnabled;
     private final CommitLogTransfer commitLogTransfer;
     private final ExecutorService executorService;
+    private final CommitLogSegmentSequencer sequencer;
+    private final ExecutorService releaseExecutorService;
 
     public Cassandra4CommitLogProcessor(CassandraConnectorContext context) {
         super(NAME, Duration.ZERO);
         this.context = context;
-        executorService = Executors.newSingleThreadExecutor();
-        queues = this.context.getQueues();
+        int processingThreads = this.context.getCassandraConnectorConfig().commitLogProcessingThreads();
+        if (processingThreads > 1) {
+            // segments are read concurrently, their events are released in segment order by a dedicated thread
+            executorService = Executors.newFixedThreadPool(processingThreads);
+            sequencer = new CommitLogSegmentSequencer(this.context.getCassandraConnectorConfig().maxQueueSize());
+            releaseExecutorService = Executors.newSingleThreadExecutor();
+        }
+        else {
+            executorService = Executors.newSingleThreadExecutor();
+            sequencer = null;
+            releaseExecutorService = null;
+        }
         commitLogTransfer = this.context.getCassandraConnectorConfig().getCommitLogTransfer();
         errorCommitLogReprocessEnabled = this.context.getCassandraConnectorConfig().errorCommitLogReprocessEnabled();
         cdcDir = new File(DatabaseDescriptor.getCDCLogLocation());
@@ -69,6 +79,9 @@ public class Cassandra4CommitLogProcessor extends AbstractProcessor {
     @Override
     public void initialize() {
         metrics.registerMetrics();
+        if (releaseExecutorService != null) {
+            releaseExecutorService.submit(this::releaseSegments);
+        }
     }
 
     @Override
@@ -89,6 +102,9 @@ public class Cassandra4CommitLogProcessor extends AbstractProcessor {
                     LOGGER.warn("Waiting for submitted task to finish has failed.");
                 }
             }
+            if (releaseExecutorService != null) {
+                releaseExecutorService.shutdownNow();
+            }
         }
         catch (final Exception ex) {
             throw new RuntimeException("Unable to close executor service in CommitLogProcessor in a timely manner");
@@ -105,9 +121,24 @@ public class Cassandra4CommitLogProcessor extends AbstractProcessor {
 
     final static Set<Pair<CommitLogProcessingCallable, Future<ProcessingResult>>> submittedProcessings = ConcurrentHashMap.newKeySet();
 
+    private void releaseSegments() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                sequencer.releaseNext();
+            }
+        }
+        catch (InterruptedException e) {
+            LOGGER.info("Releasing of commit log segment events has been interrupted");
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private void submit(Path index) {
-        CommitLogProcessingCallable callable = new CommitLogProcessingCallable(new LogicalCommitLog(index.toFile()),
-                queues,
+        LogicalCommitLog commitLog = new LogicalCommitLog(index.toFile());
+        // segments are registered in submission order which is the order their events are released in
+        EventDispatcher dispatcher = sequencer != null ? sequencer.register(commitLog.log.getName()) : EventDispatcher.DIRECT;
+        CommitLogProcessingCallable callable = new CommitLogProcessingCallable(commitLog,
+                dispatcher,
                 metrics,
                 Cassandra4CommitLogProcessor.this.context);
 
@@ -133,8 +164,8 @@ public class Cassandra4CommitLogProcessor extends AbstractProcessor {
                         // react only on _cdc.idx files, run a thread which will basically wait until it is COMPLETED
                         // and then read it all at once.
                         // if another commit log is created in while this just submitted is being processed,
-                        // since executor service is single-threaded, it will block until the previous log is processed,
-                        // basically achieving sequential log processing
+                        // it is either queued behind it (single processing thread) or read concurrently while
+                        // its events are held back until all events of the previous log are released
                         if (path.getFileName().toString().endsWith("_cdc.idx")) {
                             submit(path);
                         }
@@ -204,34 +235,54 @@ public class Cassandra4CommitLogProcessor extends AbstractProcessor {
 
         private final LogicalCommitLog commitLog;
         private CommitLogReader commitLogReader;
-        private final List<ChangeEventQueue<Event>> queues;
+        private final ChangeEventQueueRouter queueRouter;
+        private final EventDispatcher dispatcher;
+        private final CommitLogSegmentTracker segmentTracker;
         private final CommitLogProcessorMetrics metrics;
         private final Cassandra4CommitLogReadHandlerImpl commitLogReadHandler;
+        private final OffsetWriter offsetWriter;
+        private final SchemaHolder schemaHolder;
 
         private final CommitLogTransfer commitLogTransfer;
         private final Set<String> erroneousCommitLogs;
+        private final boolean realTimeProcessingEnabled;
+        private final Duration markedCompletePollInterval;
         private boolean completePrematurely = false;
 
         public CommitLogProcessingCallable(final LogicalCommitLog commitLog,
-                                           final List<ChangeEventQueue<Event>> queues,
+                                           final EventDispatcher dispatcher,
                                            final CommitLogProcessorMetrics metrics,
                                            CassandraConnectorContext context) {
             this.commitLog = commitLog;
             this.commitLogReader = new CommitLogReader();
-            this.queues = queues;
+            this.queueRouter = context.getQueueRouter();
+            if (context.getCassandraConnectorConfig().commitLogCompletionTrackingEnabled()) {
+                this.segmentTracker = context.getSegmentTracker();
+                this.dispatcher = segmentTracker.track(dispatcher);
+            }
+            else {
+                this.segmentTracker = null;
+                this.dispatcher = dispatcher;
+            }
             this.metrics = metrics;
+            this.offsetWriter = context.getOffsetWriter();
+            this.schemaHolder = context.getSchemaHolder();
 
             this.commitLogReadHandler = new Cassandra4CommitLogReadHandlerImpl(
                     context.getSchemaHolder(),
-                    context.getQueues(),
+                    context.getQueueRouter(),
+                    this.dispatcher,
                     context.getOffsetWriter(),
                     new RecordMaker(context.getCassandraConnectorConfig().tombstonesOnDelete(),
                             new Filters(context.getCassandraConnectorConfig().fieldExcludeList()),
                             context.getCassandraConnectorConfig()),
-                    metrics);
+                    metrics,
+                    context.getPrimaryTokenRanges());
 
             commitLogTransfer = context.getCassandraConnectorConfig().getCommitLogTransfer();
             erroneousCommitLogs = context.getErroneousCommitLogs();
+            realTimeProcessingEnabled = context.getCassandraConnectorConfig().commitLogRealTimeProcessingEnabled();
+            markedCompletePollInterval = context.getCassandraConnectorConfig().commitLogMarkedCompletePollInterval();
         }
 
         public void complete() {
@@ -246,10 +297,14 @@ public class Cassandra4CommitLogProcessor extends AbstractProcessor {
 
             LOGGER.info("Processing commit log {}", commitLog.log.toString());
 
-            CommitLogPosition position = new CommitLogPosition(commitLog.commitLogSegmentId, 0);
+            CommitLogPosition position = new CommitLogPosition(commitLog.commitLogSegmentId, resumePosition());
             metrics.setCommitLogFilename(commitLog.log.toString());
             metrics.setCommitLogPosition(position.position);
 
+            if (realTimeProcessingEnabled) {
+                return processCommitLogInRealTime(position.position);
+            }
+
             try {
                 parseIndexFile();
 
@@ -258,8 +313,7 @@ public class Cassandra4CommitLogProcessor extends AbstractProcessor {
                         LOGGER.info("{} completed prematurely", commitLog);
                         return new ProcessingResult(commitLog, ProcessingResult.Result.COMPLETED_PREMATURELY);
                     }
-                    // TODO make this configurable maybe
-                    Thread.sleep(10000);
+                    Thread.sleep(markedCompletePollInterval.toMillis());
                     parseIndexFile();
                 }
 
@@ -272,9 +326,9 @@ public class Cassandra4CommitLogProcessor extends AbstractProcessor {
 
             ProcessingResult result;
 
-            // process commit log from start to the end as it is completed at this point
+            // process commit log from the first unprocessed mutation to the end as it is completed at this point
             try {
-                processCommitLog(commitLog, new CommitLogPosition(commitLog.commitLogSegmentId, 0));
+                processCommitLog(commitLog, position);
                 result = new ProcessingResult(commitLog);
             }
             catch (final Exception ex) {
@@ -288,29 +342,114 @@ public class Cassandra4CommitLogProcessor extends AbstractProcessor {
 
         @Override
         public ProcessingResult call() {
-            ProcessingResult result = callInternal();
+            ProcessingResult result;
+            try {
+                result = callInternal();
+            }
+            finally {
+                sealSegment();
+            }
             Cassandra4CommitLogProcessor.removeProcessing(CommitLogProcessingCallable.this);
             LOGGER.debug("Processing {} callables.", submittedProcessings.size());
             return result;
         }
 
-        private void processCommitLog(LogicalCommitLog logicalCommitLog, CommitLogPosition position) {
+        /**
+         * Reads the mutations of the commit log as soon as they have been synced, as reported by its index file,
+         * each read resuming from the position the previous one ended at, until the commit log is completed.
+         */
+        private ProcessingResult processCommitLogInRealTime(int startPosition) {
+            ProcessingResult result;
+            int lastReadPosition = startPosition;
+
             try {
-                try {
-                    LOGGER.debug("starting to read commit log segments {} on position {}", logicalCommitLog, position);
-                    commitLogReader.readCommitLogSegment(commitLogReadHandler, logicalCommitLog.log, position, false);
-                    LOGGER.debug("finished reading commit log segments {} on position {}", logicalCommitLog, position);
-                    queues.get(Math.abs(logicalCommitLog.log.getName().hashCode() % queues.size())).enqueue(new EOFEvent(logicalCommitLog.log));
-                }
-                catch (Exception e) {
-                    if (commitLogTransfer.getClass().getName().equals(CassandraConnectorConfig.DEFAULT_COMMIT_LOG_TRANSFER_CLASS)) {
-                        throw new DebeziumException(String.format("Error occurred while processing commit log %s",
-                                logicalCommitLog.log), e);
+                parseIndexFile();
+
+                while (true) {
+                    if (completePrematurely) {
+                        LOGGER.info("{} completed prematurely", commitLog);
+                        return new ProcessingResult(commitLog, ProcessingResult.Result.COMPLETED_PREMATURELY);
+                    }
+
+                    boolean completed = commitLog.completed;
+                    int syncedPosition = commitLog.offsetOfEndOfLastWrittenCDCMutation;
+
+                    if (syncedPosition > lastReadPosition) {
+                        if (!readCommitLog(commitLog, new CommitLogPosition(commitLog.commitLogSegmentId, lastReadPosition), syncedPosition)) {
+                            break;
+                        }
+                        lastReadPosition = syncedPosition;
+                    }
+
+                    if (completed) {
+                        break;
                     }
-                    Cassandra4CommitLogProcessor.LOGGER.error("Error occurred while processing commit log " + logicalCommitLog.log, e);
-                    queues.get(Math.abs(logicalCommitLog.log.getName().hashCode() % queues.size())).enqueue(new EOFEvent(logicalCommitLog.log));
-                    erroneousCommitLogs.add(logicalCommitLog.log.getName());
+
+                    Thread.sleep(markedCompletePollInterval.toMillis());
+                    parseIndexFile();
                 }
+
+                dispatchEOFEvent(commitLog);
+                result = new ProcessingResult(commitLog);
+            }
+            catch (final Exception ex) {
+                result = new ProcessingResult(commitLog, ProcessingResult.Result.ERROR, ex);
+            }
+
+            LOGGER.info("{}", result);
+
+            return result;
+        }
+
+        /**
+         * Determines the position to start reading the commit log from, skipping the mutations which have
+         * been processed for all CDC enabled tables before a restart.
+         */
+        private int resumePosition() {
+            int position = offsetWriter.resumePosition(commitLog.log.getName(), schemaHolder.getCdcEnabledTableNames());
+            if (position > 0) {
+                LOGGER.info("Resuming to read commit log {} from position {}", commitLog, position);
+            }
+            return position;
+        }
+
+        private void processCommitLog(LogicalCommitLog logicalCommitLog, CommitLogPosition position) {
+            readCommitLog(logicalCommitLog, position, Integer.MAX_VALUE);
+            dispatchEOFEvent(logicalCommitLog);
+        }
+
+        /**
+         * Reads the mutations of the commit log from the given position up to the given end position.
+         *
+         * @return false if the commit log could not be read and has been marked as erroneous
+         */
+        private boolean readCommitLog(LogicalCommitLog logicalCommitLog, CommitLogPosition position, int endPosition) {
+            try {
+                LOGGER.debug("starting to read commit log segments {} on position {}", logicalCommitLog, position);
+                commitLogReadHandler.setMaxEntryLocation(endPosition);
+                commitLogReader.readCommitLogSegment(commitLogReadHandler, logicalCommitLog.log, position, false);
+                LOGGER.debug("finished reading commit log segments {} on position {}", logicalCommitLog, position);
+                return true;
+            }
+            catch (Exception e) {
+                if (commitLogTransfer.getClass().getName().equals(CassandraConnectorConfig.DEFAULT_COMMIT_LOG_TRANSFER_CLASS)) {
+                    throw new DebeziumException(String.format("Error occurred while processing commit log %s",
+                            logicalCommitLog.log), e);
+                }
+                Cassandra4CommitLogProcessor.LOGGER.error("Error occurred while processing commit log " + logicalCommitLog.log, e);
+                erroneousCommitLogs.add(logicalCommitLog.log.getName());
+                return false;
+            }
+        }
+
+        private void dispatchEOFEvent(LogicalCommitLog logicalCommitLog) {
+            if (segmentTracker != null) {
+                // the segment is relocated once all of its records have been acknowledged
+                segmentTracker.segmentRead(logicalCommitLog.log);
+                return;
+            }
+            try {
+                dispatcher.dispatch(queueRouter.route(logicalCommitLog.log.getName()), new EOFEvent(logicalCommitLog.log));
             }
             catch (InterruptedException e) {
                 throw new CassandraConnectorTaskException(String.format(
@@ -318,6 +457,17 @@ public class Cassandra4CommitLogProcessor extends AbstractProcessor {
             }
         }
 
+        private void sealSegment() {
+            try {
+                dispatcher.seal();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CassandraConnectorTaskException(String.format(
+                        "Sealing has been interrupted for file %s", commitLog.log.getName()), e);
+            }
+        }
+
         private void parseIndexFile() throws DebeziumException {
             try {
                 commitLog.parseCommitLogIndex();
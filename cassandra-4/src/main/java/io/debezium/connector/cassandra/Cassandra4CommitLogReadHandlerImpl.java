@@ -17,6 +17,7 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -25,13 +26,13 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.cassandra.config.DatabaseDescriptor;
-import org.apache.cassandra.cql3.ColumnSpecification;
 import org.apache.cassandra.db.LivenessInfo;
 import org.apache.cassandra.db.Mutation;
 import org.apache.cassandra.db.commitlog.CommitLogDescriptor;
 import org.apache.cassandra.db.commitlog.CommitLogReadHandler;
 import org.apache.cassandra.db.marshal.AbstractType;
 import org.apache.cassandra.db.marshal.CollectionType;
+import org.apache.cassandra.db.marshal.ReversedType;
 import org.apache.cassandra.db.partitions.PartitionUpdate;
 import org.apache.cassandra.db.rows.ComplexColumnData;
 import org.apache.cassandra.db.rows.RangeTombstoneBoundMarker;
@@ -43,15 +44,13 @@ import org.apache.kafka.connect.data.Schema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.datastax.oss.driver.api.core.metadata.schema.ClusteringOrder;
-import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
-import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
-import com.google.common.collect.ImmutableList;
-
 import io.debezium.DebeziumException;
-import io.debezium.connector.base.ChangeEventQueue;
 import io.debezium.connector.cassandra.exceptions.CassandraConnectorSchemaException;
 import io.debezium.connector.cassandra.transforms.CassandraTypeDeserializer;
+import io.debezium.connector.cassandra.transforms.CellCodec;
+import io.debezium.connector.cassandra.transforms.type.deserializer.CollectionTypeDeserializer;
+import io.debezium.connector.cassandra.transforms.type.deserializer.TypeDeserializer;
+import io.debezium.function.BlockingConsumer;
 import io.debezium.time.Conversions;
 
 /**
@@ -59,30 +58,63 @@ import io.debezium.time.Conversions;
  * <p>
  * This handler implementation processes each {@link Mutation} and invokes one of the registered partition handler
  * for each {@link PartitionUpdate} in the {@link Mutation} (a mutation could have multiple partitions if it is a batch update),
- * which in turn makes one or more record via the {@link RecordMaker} and enqueue the record into the {@link ChangeEventQueue}.
+ * which in turn makes one or more record via the {@link RecordMaker} and enqueue the record into the {@link EventQueue}.
  */
 public class Cassandra4CommitLogReadHandlerImpl implements CommitLogReadHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(Cassandra4CommitLogReadHandlerImpl.class);
 
     private static final boolean MARK_OFFSET = true;
 
-    private final List<ChangeEventQueue<Event>> queues;
+    private final ChangeEventQueueRouter queueRouter;
+    private final EventDispatcher dispatcher;
     private final RecordMaker recordMaker;
     private final OffsetWriter offsetWriter;
     private final SchemaHolder schemaHolder;
     private final CommitLogProcessorMetrics metrics;
+    private final PrimaryTokenRanges primaryTokenRanges;
     private final RangeTombstoneContext<org.apache.cassandra.schema.TableMetadata> rangeTombstoneContext = new RangeTombstoneContext<>();
+    private final Map<org.apache.cassandra.schema.TableMetadata, KeyspaceTable> keyspaceTables = new IdentityHashMap<>();
+    private int maxEntryLocation = Integer.MAX_VALUE;
+
+    Cassandra4CommitLogReadHandlerImpl(SchemaHolder schemaHolder,
+                                       List<EventQueue> queues,
+                                       OffsetWriter offsetWriter,
+                                       RecordMaker recordMaker,
+                                       CommitLogProcessorMetrics metrics) {
+        this(schemaHolder, new ChangeEventQueueRouter(queues), EventDispatcher.DIRECT, offsetWriter, recordMaker, metrics);
+    }
 
     Cassandra4CommitLogReadHandlerImpl(SchemaHolder schemaHolder,
-                                       List<ChangeEventQueue<Event>> queues,
+                                       ChangeEventQueueRouter queueRouter,
+                                       EventDispatcher dispatcher,
                                        OffsetWriter offsetWriter,
                                        RecordMaker recordMaker,
                                        CommitLogProcessorMetrics metrics) {
-        this.queues = queues;
+        this(schemaHolder, queueRouter, dispatcher, offsetWriter, recordMaker, metrics, PrimaryTokenRanges.ALL);
+    }
+
+    Cassandra4CommitLogReadHandlerImpl(SchemaHolder schemaHolder,
+                                       ChangeEventQueueRouter queueRouter,
+                                       EventDispatcher dispatcher,
+                                       OffsetWriter offsetWriter,
+                                       RecordMaker recordMaker,
+                                       CommitLogProcessorMetrics metrics,
+                                       PrimaryTokenRanges primaryTokenRanges) {
+        this.queueRouter = queueRouter;
+        this.dispatcher = dispatcher;
         this.offsetWriter = offsetWriter;
         this.recordMaker = recordMaker;
         this.schemaHolder = schemaHolder;
         this.metrics = metrics;
+        this.primaryTokenRanges = primaryTokenRanges;
+    }
+
+    /**
+     * Limits the mutations handled to the ones ending at or before the given position of the segment,
+     * mutations written after it are skipped as they are read again once they have been synced.
+     */
+    void setMaxEntryLocation(int maxEntryLocation) {
+        this.maxEntryLocation = maxEntryLocation;
     }
 
     /**
@@ -239,15 +271,30 @@ public class Cassandra4CommitLogReadHandlerImpl implements CommitLogReadHandler
             return;
         }
 
+        if (entryLocation > maxEntryLocation) {
+            LOGGER.trace("Mutation at {} in {} is beyond the synced position {}, skipping...", entryLocation, descriptor.fileName(), maxEntryLocation);
+            return;
+        }
+
         metrics.setCommitLogPosition(entryLocation);
 
+        OffsetPosition offsetPosition = null;
         for (PartitionUpdate pu : mutation.getPartitionUpdates()) {
-            OffsetPosition offsetPosition = new OffsetPosition(descriptor.fileName(), entryLocation);
-            KeyspaceTable keyspaceTable = new KeyspaceTable(mutation.getKeyspaceName(), pu.metadata().name);
+            KeyspaceTable keyspaceTable = keyspaceTable(pu.metadata());
+
+            if (offsetWriter.isOffsetProcessed(keyspaceTable.name(), descriptor.id, entryLocation)) {
+                // the other tables of the mutation may not have been processed yet
+                LOGGER.info("Mutation at {}:{} for table {} already processed, skipping...", descriptor.fileName(), entryLocation, keyspaceTable);
+                continue;
+            }
 
-            if (offsetWriter.isOffsetProcessed(keyspaceTable.name(), offsetPosition.serialize(), false)) {
-                LOGGER.info("Mutation at {} for table {} already processed, skipping...", offsetPosition, keyspaceTable);
-                return;
+            if (!primaryTokenRanges.contains(pu.partitionKey().getToken().getTokenValue())) {
+                LOGGER.trace("Partition update at {}:{} for table {} is outside the primary token ranges, skipping...", descriptor.fileName(), entryLocation, keyspaceTable);
+                continue;
+            }
+
+            if (offsetPosition == null) {
+                offsetPosition = new OffsetPosition(descriptor.fileName(), entryLocation);
             }
 
             try {
@@ -284,7 +331,7 @@ public class Cassandra4CommitLogReadHandlerImpl implements CommitLogReadHandler
     /**
      * Method which processes a partition update if it's valid (either a single-row partition-level
      * deletion or a row-level modification) or throw an exception if it isn't. The valid partition
-     * update is then converted into a {@link Record} and enqueued to the {@link ChangeEventQueue}.
+     * update is then converted into a {@link Record} and enqueued to the {@link EventQueue}.
      */
     private void process(PartitionUpdate pu, OffsetPosition offsetPosition, KeyspaceTable keyspaceTable) {
         PartitionType partitionType = PartitionType.getPartitionType(pu);
@@ -330,7 +377,7 @@ public class Cassandra4CommitLogReadHandlerImpl implements CommitLogReadHandler
 
     /**
      * Handle a valid deletion event resulted from a partition-level deletion by converting Cassandra representation
-     * of this event into a {@link Record} object and queue the record to {@link ChangeEventQueue}. A valid deletion
+     * of this event into a {@link Record} object and queue the record to {@link EventQueue}. A valid deletion
      * event means a partition only has a single row, this implies there are no clustering keys.
      *
      * The steps are:
@@ -351,48 +398,42 @@ public class Cassandra4CommitLogReadHandlerImpl implements CommitLogReadHandler
 
         Schema keySchema = keyValueSchema.keySchema();
         Schema valueSchema = keyValueSchema.valueSchema();
-        TableMetadata tableMetadata = keyValueSchema.tableMetadata();
+        ColumnPlan columnPlan = columnPlan(keyspaceTable, keyValueSchema, pu.metadata());
 
-        RowData after = new RowData();
+        RowData after = new RowData(keyValueSchema.rowLayout());
 
-        populatePartitionColumns(after, pu);
+        populatePartitionColumns(after, pu, columnPlan);
 
         // For partition deletions, the PartitionUpdate only specifies the partition key, it does not
         // contain any info on regular (non-partition) columns, as if they were not modified. In order
         // to differentiate deleted columns from unmodified columns, we populate the deleted columns
         // with null value and timestamps
 
-        // clustering columns if any
+        long deletionTs = pu.deletionInfo().getPartitionDeletion().markedForDeleteAt();
 
-        List<ColumnMetadata> columns = new ArrayList<>(tableMetadata.getColumns().values());
-        Map<ColumnMetadata, ClusteringOrder> clusteringColumns = tableMetadata.getClusteringColumns();
+        // clustering columns if any
 
-        for (Map.Entry<ColumnMetadata, ClusteringOrder> clustering : clusteringColumns.entrySet()) {
-            ColumnMetadata clusteringKey = clustering.getKey();
-            long deletionTs = pu.deletionInfo().getPartitionDeletion().markedForDeleteAt();
-            after.addCell(new CellData(clusteringKey.getName().toString(), null, deletionTs, CLUSTERING));
+        List<String> clusteringColumnNames = keyValueSchema.clusteringColumnNames();
+        for (int i = 0; i < clusteringColumnNames.size(); i++) {
+            after.setCell(columnPlan.clusteringColumnOrdinals[i], new CellData(clusteringColumnNames.get(i), null, deletionTs, CLUSTERING));
         }
 
-        columns.removeAll(tableMetadata.getPartitionKey());
-        columns.removeAll(tableMetadata.getClusteringColumns().keySet());
-
         // regular columns if any
 
-        for (ColumnMetadata cm : columns) {
-            String name = cm.getName().toString();
-            long deletionTs = pu.deletionInfo().getPartitionDeletion().markedForDeleteAt();
-            CellData cellData = new CellData(name, null, deletionTs, REGULAR);
-            after.addCell(cellData);
+        List<String> regularColumnNames = keyValueSchema.regularColumnNames();
+        for (int i = 0; i < regularColumnNames.size(); i++) {
+            CellData cellData = new CellData(regularColumnNames.get(i), null, deletionTs, REGULAR);
+            after.setCell(columnPlan.regularColumnOrdinals[i], cellData);
         }
 
         recordMaker.delete(DatabaseDescriptor.getClusterName(), offsetPosition, keyspaceTable, false,
                 Conversions.toInstantFromMicros(pu.maxTimestamp()), after, keySchema, valueSchema,
-                MARK_OFFSET, queues.get(Math.abs(offsetPosition.fileName.hashCode() % queues.size()))::enqueue);
+                MARK_OFFSET, queueFor(offsetPosition, pu));
     }
 
     /**
      * Handle a valid event resulted from a row-level modification by converting Cassandra representation of
-     * this event into a {@link Record} object and queue the record to {@link ChangeEventQueue}. A valid event
+     * this event into a {@link Record} object and queue the record to {@link EventQueue}. A valid event
      * implies this must be an insert, update, or delete.
      *
      * The steps are:
@@ -413,11 +454,12 @@ public class Cassandra4CommitLogReadHandlerImpl implements CommitLogReadHandler
         }
         Schema keySchema = keyValueSchema.keySchema();
         Schema valueSchema = keyValueSchema.valueSchema();
+        ColumnPlan columnPlan = columnPlan(keyspaceTable, keyValueSchema, pu.metadata());
 
-        RowData after = new RowData();
-        populatePartitionColumns(after, pu);
-        populateClusteringColumns(after, row, pu);
-        populateRegularColumns(after, row, rowType, keyValueSchema);
+        RowData after = new RowData(keyValueSchema.rowLayout());
+        populatePartitionColumns(after, pu, columnPlan);
+        populateClusteringColumns(after, row, pu, columnPlan);
+        populateRegularColumns(after, row, rowType, keyValueSchema, columnPlan);
 
         long ts = rowType == DELETE ? row.deletion().time().markedForDeleteAt() : pu.maxTimestamp();
 
@@ -425,25 +467,25 @@ public class Cassandra4CommitLogReadHandlerImpl implements CommitLogReadHandler
             case INSERT:
                 recordMaker.insert(DatabaseDescriptor.getClusterName(), offsetPosition, keyspaceTable, false,
                         Conversions.toInstantFromMicros(ts), after, keySchema, valueSchema, MARK_OFFSET,
-                        queues.get(Math.abs(offsetPosition.fileName.hashCode() % queues.size()))::enqueue);
+                        queueFor(offsetPosition, pu));
                 break;
 
             case UPDATE:
                 recordMaker.update(DatabaseDescriptor.getClusterName(), offsetPosition, keyspaceTable, false,
                         Conversions.toInstantFromMicros(ts), after, keySchema, valueSchema, MARK_OFFSET,
-                        queues.get(Math.abs(offsetPosition.fileName.hashCode() % queues.size()))::enqueue);
+                        queueFor(offsetPosition, pu));
                 break;
 
             case DELETE:
                 recordMaker.delete(DatabaseDescriptor.getClusterName(), offsetPosition, keyspaceTable, false,
                         Conversions.toInstantFromMicros(ts), after, keySchema, valueSchema, MARK_OFFSET,
-                        queues.get(Math.abs(offsetPosition.fileName.hashCode() % queues.size()))::enqueue);
+                        queueFor(offsetPosition, pu));
                 break;
 
             case RANGE_TOMBSTONE:
                 recordMaker.rangeTombstone(DatabaseDescriptor.getClusterName(), offsetPosition, keyspaceTable, false,
                         Conversions.toInstantFromMicros(ts), after, keySchema, valueSchema, MARK_OFFSET,
-                        queues.get(Math.abs(offsetPosition.fileName.hashCode() % queues.size()))::enqueue);
+                        queueFor(offsetPosition, pu));
                 break;
 
             default: {
@@ -466,19 +508,19 @@ public class Cassandra4CommitLogReadHandlerImpl implements CommitLogReadHandler
             return;
         }
 
-        RowData after = rangeTombstoneContext.getOrCreate(pu.metadata());
+        RowData after = rangeTombstoneContext.getOrCreate(pu.metadata(), keyValueSchema.rowLayout());
 
         Optional.ofNullable(rangeTombstoneMarker.openBound(false)).ifPresent(cb -> after.addStart(cb.toString(pu.metadata())));
         Optional.ofNullable(rangeTombstoneMarker.closeBound(false)).ifPresent(cb -> after.addEnd(cb.toString(pu.metadata())));
 
         if (RangeTombstoneContext.isComplete(after)) {
             try {
-                populatePartitionColumns(after, pu);
+                populatePartitionColumns(after, pu, columnPlan(keyspaceTable, keyValueSchema, pu.metadata()));
                 long ts = rangeTombstoneMarker.deletionTime().markedForDeleteAt();
 
                 recordMaker.rangeTombstone(DatabaseDescriptor.getClusterName(), offsetPosition, keyspaceTable, false,
                         Conversions.toInstantFromMicros(ts), after, keyValueSchema.keySchema(), keyValueSchema.valueSchema(), MARK_OFFSET,
-                        queues.get(Math.abs(offsetPosition.fileName.hashCode() % queues.size()))::enqueue);
+                        queueFor(offsetPosition, pu));
             }
             finally {
                 rangeTombstoneContext.remove(pu.metadata());
@@ -486,64 +528,87 @@ public class Cassandra4CommitLogReadHandlerImpl implements CommitLogReadHandler
         }
     }
 
-    private void populatePartitionColumns(RowData after, PartitionUpdate pu) {
+    private BlockingConsumer<Record> queueFor(OffsetPosition offsetPosition, PartitionUpdate pu) {
+        EventQueue queue = queueRouter.route(offsetPosition.fileName, pu.partitionKey().getToken().getTokenValue());
+        return record -> dispatcher.dispatch(queue, record);
+    }
+
+    /**
+     * Returns the table of the given metadata, which is resolved once per version of the table metadata so that
+     * checking the offset of a partition update neither allocates the table nor builds and hashes its name.
+     */
+    private KeyspaceTable keyspaceTable(org.apache.cassandra.schema.TableMetadata metadata) {
+        KeyspaceTable keyspaceTable = keyspaceTables.get(metadata);
+        if (keyspaceTable == null) {
+            keyspaceTable = new KeyspaceTable(metadata.keyspace, metadata.name);
+            keyspaceTables.put(metadata, keyspaceTable);
+        }
+        return keyspaceTable;
+    }
+
+    private ColumnPlan columnPlan(KeyspaceTable keyspaceTable, KeyValueSchema keyValueSchema, org.apache.cassandra.schema.TableMetadata metadata) {
+        ColumnPlan columnPlan = schemaHolder.getPlan(keyspaceTable, ColumnPlan.class);
+        if (columnPlan == null || !columnPlan.isValidFor(keyValueSchema, metadata)) {
+            columnPlan = new ColumnPlan(keyValueSchema, metadata);
+            schemaHolder.putPlan(keyspaceTable, columnPlan);
+        }
+        return columnPlan;
+    }
+
+    private void populatePartitionColumns(RowData after, PartitionUpdate pu, ColumnPlan columnPlan) {
         // if it has any cells it was already populated
         if (after.hasAnyCell()) {
             return;
         }
-        List<Object> partitionKeys = getPartitionKeys(pu);
-
-        ImmutableList<org.apache.cassandra.schema.ColumnMetadata> columns = pu.metadata().partitionKeyColumns();
+        List<Object> partitionKeys = getPartitionKeys(pu, columnPlan);
 
-        for (int i = 0; i < columns.size(); i++) {
-            org.apache.cassandra.schema.ColumnMetadata columnMetadata = columns.get(i);
+        for (ColumnDecoder column : columnPlan.partitionKeyColumns) {
             try {
-                String name = columns.get(i).name.toString();
-                Object value = partitionKeys.get(columnMetadata.position());
-                CellData cellData = new CellData(name, value, null, PARTITION);
-                after.addCell(cellData);
+                Object value = partitionKeys.get(column.metadata.position());
+                CellData cellData = new CellData(column.name, value, null, PARTITION);
+                after.setCell(column.ordinal, cellData);
             }
             catch (Exception e) {
                 throw new DebeziumException(String.format("Failed to populate Column %s with Type %s of Table %s in KeySpace %s.",
-                        columnMetadata.name.toString(), columnMetadata.type.toString(), columnMetadata.cfName, pu.metadata().keyspace), e);
+                        column.name, column.metadata.type.toString(), column.metadata.cfName, pu.metadata().keyspace), e);
             }
         }
     }
 
-    private void populateClusteringColumns(RowData after, Row row, PartitionUpdate pu) {
-        for (org.apache.cassandra.schema.ColumnMetadata metadata : pu.metadata().clusteringColumns()) {
+    private void populateClusteringColumns(RowData after, Row row, PartitionUpdate pu, ColumnPlan columnPlan) {
+        for (ColumnDecoder column : columnPlan.clusteringColumns) {
             try {
-                ByteBuffer bufferAtClustering = row.clustering().bufferAt(metadata.position());
-                Object value = CassandraTypeDeserializer.deserialize(metadata.type, bufferAtClustering);
-                CellData cellData = new CellData(metadata.name.toString(), value, null, CLUSTERING);
-                after.addCell(cellData);
+                ByteBuffer bufferAtClustering = row.clustering().bufferAt(column.metadata.position());
+                Object value = column.deserialize(bufferAtClustering);
+                CellData cellData = new CellData(column.name, value, null, CLUSTERING);
+                after.setCell(column.ordinal, cellData);
             }
             catch (Exception e) {
                 throw new DebeziumException(String.format("Failed to populate Column %s with Type %s of Table %s in KeySpace %s.",
-                        metadata.name, metadata.type, metadata.cfName, pu.metadata().keyspace), e);
+                        column.name, column.metadata.type, column.metadata.cfName, pu.metadata().keyspace), e);
             }
         }
     }
 
-    private void populateRegularColumns(RowData after, Row row, RowType rowType, KeyValueSchema schema) {
+    private void populateRegularColumns(RowData after, Row row, RowType rowType, KeyValueSchema schema, ColumnPlan columnPlan) {
         if (rowType == INSERT || rowType == UPDATE) {
             for (org.apache.cassandra.schema.ColumnMetadata cd : row.columns()) {
                 try {
-                    Object value;
-                    Object deletionTs = null;
-                    AbstractType<?> abstractType = cd.type;
-                    if (abstractType.isCollection() && abstractType.isMultiCell()) {
+                    ColumnDecoder column = columnPlan.regularColumn(cd);
+                    CellData cellData;
+                    if (column.multiCellCollection) {
                         ComplexColumnData ccd = row.getComplexColumnData(cd);
-                        value = CassandraTypeDeserializer.deserialize((CollectionType<?>) abstractType, ccd);
+                        cellData = new CellData(column.name, column.deserialize(ccd), null, REGULAR);
                     }
                     else {
                         org.apache.cassandra.db.rows.Cell<?> cell = row.getCell(cd);
-                        value = cell.isTombstone() ? null : CassandraTypeDeserializer.deserialize(abstractType, cell.buffer());
-                        deletionTs = cell.isExpiring() ? TimeUnit.MICROSECONDS.convert(cell.localDeletionTime(), TimeUnit.SECONDS) : null;
+                        Object deletionTs = cell.isExpiring() ? TimeUnit.MICROSECONDS.convert(cell.localDeletionTime(), TimeUnit.SECONDS) : null;
+                        // the value is only deserialized once the record is emitted
+                        cellData = cell.isTombstone()
+                                ? new CellData(column.name, null, deletionTs, REGULAR)
+                                : new LazyCellData(column.name, cell.buffer(), column.type, column.codec, deletionTs, REGULAR);
                     }
-                    String name = cd.name.toString();
-                    CellData cellData = new CellData(name, value, deletionTs, REGULAR);
-                    after.addCell(cellData);
+                    after.setCell(column.ordinal, cellData);
                 }
                 catch (Exception e) {
                     throw new DebeziumException(String.format("Failed to populate Column %s with Type %s of Table %s in KeySpace %s.",
@@ -556,14 +621,11 @@ public class Cassandra4CommitLogReadHandlerImpl implements CommitLogReadHandler
             // For row-level deletions, row.columns() will result in an empty list and does not contain
             // the column definitions for the deleted columns. In order to differentiate deleted columns from
             // unmodified columns, we populate the deleted columns with null value and timestamps.
-            TableMetadata tableMetadata = schema.tableMetadata();
-            List<ColumnMetadata> columns = new ArrayList<>(tableMetadata.getColumns().values());
-            columns.removeAll(tableMetadata.getPrimaryKey());
-            for (ColumnMetadata cm : columns) {
-                String name = cm.getName().toString();
-                long deletionTs = row.deletion().time().markedForDeleteAt();
-                CellData cellData = new CellData(name, null, deletionTs, REGULAR);
-                after.addCell(cellData);
+            long deletionTs = row.deletion().time().markedForDeleteAt();
+            List<String> regularColumnNames = schema.regularColumnNames();
+            for (int i = 0; i < regularColumnNames.size(); i++) {
+                CellData cellData = new CellData(regularColumnNames.get(i), null, deletionTs, REGULAR);
+                after.setCell(columnPlan.regularColumnOrdinals[i], cellData);
             }
         }
     }
@@ -573,23 +635,21 @@ public class Cassandra4CommitLogReadHandlerImpl implements CommitLogReadHandler
      * into a list of partition key values.
      */
     @SuppressWarnings("checkstyle:magicnumber")
-    private List<Object> getPartitionKeys(PartitionUpdate pu) {
-        List<Object> values = new ArrayList<>();
-
-        ImmutableList<org.apache.cassandra.schema.ColumnMetadata> columnDefinitions = pu.metadata().partitionKeyColumns();
+    private List<Object> getPartitionKeys(PartitionUpdate pu, ColumnPlan columnPlan) {
+        ColumnDecoder[] columns = columnPlan.partitionKeyColumns;
+        List<Object> values = new ArrayList<>(columns.length);
 
         // simple partition key
-        if (columnDefinitions.size() == 1) {
+        if (columns.length == 1) {
             ByteBuffer bb = pu.partitionKey().getKey();
-            org.apache.cassandra.schema.ColumnMetadata columnMetadata = columnDefinitions.get(0);
-            AbstractType<?> type = columnMetadata.type;
+            ColumnDecoder column = columns[0];
             try {
-                Object value = CassandraTypeDeserializer.deserialize(type, bb);
+                Object value = column.deserialize(bb);
                 values.add(value);
             }
             catch (Exception e) {
                 throw new DebeziumException(String.format("Failed to deserialize Column %s with Type %s in Table %s and KeySpace %s.",
-                        columnMetadata.name.toString(), type.toString(), pu.metadata().name, pu.metadata().keyspace), e);
+                        column.name, column.metadata.type.toString(), pu.metadata().name, pu.metadata().keyspace), e);
             }
 
             // composite partition key
@@ -613,17 +673,16 @@ public class Cassandra4CommitLogReadHandlerImpl implements CommitLogReadHandler
             // <end-of-component byte> should always be 0 for columns (1 for query bounds)
             // this section reads the bytes for each column and deserialize into objects based on each column type
             int i = 0;
-            while (keyBytes.remaining() > 0 && i < columnDefinitions.size()) {
-                ColumnSpecification cs = columnDefinitions.get(i);
-                AbstractType<?> type = cs.type;
+            while (keyBytes.remaining() > 0 && i < columns.length) {
+                ColumnDecoder column = columns[i];
                 ByteBuffer bb = ByteBufferUtil.readBytesWithShortLength(keyBytes);
                 try {
-                    Object value = CassandraTypeDeserializer.deserialize(type, bb);
+                    Object value = column.deserialize(bb);
                     values.add(value);
                 }
                 catch (Exception e) {
                     throw new DebeziumException(String.format("Failed to deserialize Column %s with Type %s in Table %s and KeySpace %s",
-                            cs.name.toString(), cs.type.toString(), cs.cfName, cs.ksName), e);
+                            column.name, column.metadata.type.toString(), column.metadata.cfName, column.metadata.ksName), e);
                 }
                 byte b = keyBytes.get();
                 if (b != 0) {
@@ -636,4 +695,76 @@ public class Cassandra4CommitLogReadHandlerImpl implements CommitLogReadHandler
         return values;
     }
 
+    /**
+     * The columns of a table resolved once per version of its schema, so that neither the column names nor
+     * the deserializers of their types have to be looked up again for every row. Plans are held by the
+     * {@link SchemaHolder}, shared by the handlers of all segments and dropped by the schema change listener
+     * along with the replaced {@link KeyValueSchema} of the table. A plan is also rebuilt when a mutation
+     * refers to another version of the table metadata.
+     */
+    private static final class ColumnPlan {
+        private final KeyValueSchema keyValueSchema;
+        private final org.apache.cassandra.schema.TableMetadata metadata;
+        private final ColumnDecoder[] partitionKeyColumns;
+        private final ColumnDecoder[] clusteringColumns;
+        private final Map<org.apache.cassandra.schema.ColumnMetadata, ColumnDecoder> regularColumns = new IdentityHashMap<>();
+        // the ordinals of the clustering and regular columns of the key/value schema, which deletions populate
+        private final int[] clusteringColumnOrdinals;
+        private final int[] regularColumnOrdinals;
+
+        private ColumnPlan(KeyValueSchema keyValueSchema, org.apache.cassandra.schema.TableMetadata metadata) {
+            RowData.Layout layout = keyValueSchema.rowLayout();
+            this.keyValueSchema = keyValueSchema;
+            this.metadata = metadata;
+            this.partitionKeyColumns = metadata.partitionKeyColumns().stream().map(column -> new ColumnDecoder(column, layout)).toArray(ColumnDecoder[]::new);
+            this.clusteringColumns = metadata.clusteringColumns().stream().map(column -> new ColumnDecoder(column, layout)).toArray(ColumnDecoder[]::new);
+            for (org.apache.cassandra.schema.ColumnMetadata column : metadata.regularAndStaticColumns()) {
+                regularColumns.put(column, new ColumnDecoder(column, layout));
+            }
+            this.clusteringColumnOrdinals = layout.ordinalsOf(keyValueSchema.clusteringColumnNames());
+            this.regularColumnOrdinals = layout.ordinalsOf(keyValueSchema.regularColumnNames());
+        }
+
+        private boolean isValidFor(KeyValueSchema keyValueSchema, org.apache.cassandra.schema.TableMetadata metadata) {
+            return this.keyValueSchema == keyValueSchema && this.metadata == metadata;
+        }
+
+        private ColumnDecoder regularColumn(org.apache.cassandra.schema.ColumnMetadata column) {
+            ColumnDecoder decoder = regularColumns.get(column);
+            return decoder != null ? decoder : new ColumnDecoder(column, keyValueSchema.rowLayout());
+        }
+    }
+
+    /**
+     * A column with its name, its ordinal within the row schema and the resolved deserializer and codec of its type.
+     */
+    private static final class ColumnDecoder {
+        private final org.apache.cassandra.schema.ColumnMetadata metadata;
+        private final String name;
+        private final int ordinal;
+        private final AbstractType<?> type;
+        private final TypeDeserializer deserializer;
+        private final CellCodec codec;
+        private final boolean multiCellCollection;
+
+        private ColumnDecoder(org.apache.cassandra.schema.ColumnMetadata metadata, RowData.Layout layout) {
+            this.metadata = metadata;
+            this.name = metadata.name.toString();
+            this.ordinal = layout.ordinalOf(name);
+            this.multiCellCollection = metadata.type.isCollection() && metadata.type.isMultiCell();
+            // reversed types are deserialized using their base type
+            this.type = metadata.type.isReversed() ? ((ReversedType<?>) metadata.type).baseType : metadata.type;
+            this.deserializer = CassandraTypeDeserializer.getTypeDeserializer(type);
+            this.codec = CassandraTypeDeserializer.getCodec(type);
+        }
+
+        private Object deserialize(ByteBuffer bb) {
+            return bb == null ? null : codec.decode(bb);
+        }
+
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        private Object deserialize(ComplexColumnData ccd) {
+            return ((CollectionTypeDeserializer) deserializer).deserialize((CollectionType<?>) type, ccd);
+        }
+    }
 }
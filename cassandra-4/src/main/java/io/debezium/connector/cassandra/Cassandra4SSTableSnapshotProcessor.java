@@ -0,0 +1,351 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static io.debezium.connector.cassandra.CellData.ColumnType.CLUSTERING;
+import static io.debezium.connector.cassandra.CellData.ColumnType.PARTITION;
+import static io.debezium.connector.cassandra.CellData.ColumnType.REGULAR;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.db.Directories;
+import org.apache.cassandra.db.marshal.CollectionType;
+import org.apache.cassandra.db.marshal.CompositeType;
+import org.apache.cassandra.db.partitions.PartitionIterator;
+import org.apache.cassandra.db.partitions.UnfilteredPartitionIterator;
+import org.apache.cassandra.db.partitions.UnfilteredPartitionIterators;
+import org.apache.cassandra.db.rows.Cell;
+import org.apache.cassandra.db.rows.ComplexColumnData;
+import org.apache.cassandra.db.rows.Row;
+import org.apache.cassandra.db.rows.RowIterator;
+import org.apache.cassandra.io.sstable.Component;
+import org.apache.cassandra.io.sstable.Descriptor;
+import org.apache.cassandra.io.sstable.format.SSTableReader;
+import org.apache.cassandra.schema.ColumnMetadata;
+import org.apache.cassandra.schema.Schema;
+import org.apache.cassandra.schema.TableMetadata;
+import org.apache.cassandra.schema.TableMetadataRef;
+import org.apache.cassandra.utils.FBUtilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.debezium.DebeziumException;
+import io.debezium.connector.cassandra.transforms.CassandraTypeDeserializer;
+
+/**
+ * An alternative to the {@link SnapshotProcessor} which reads the rows of a table from the SSTables of a snapshot
+ * of the local data directory, taken with {@code nodetool snapshot -t <tag>}, instead of querying them through CQL.
+ * The SSTables are read with the scanners of Cassandra and merged, so that only the live rows are emitted, each of
+ * them being converted into a change event and enqueued to the {@link EventQueue}.
+ * <p>
+ * As with the {@link SnapshotProcessor}, the OffsetWriter records a table once its snapshot is completed, and a
+ * table whose snapshot has been terminated midway is snapshotted again from the start. Partitions outside of the
+ * {@link PrimaryTokenRanges} of the local node are skipped.
+ */
+public class Cassandra4SSTableSnapshotProcessor extends AbstractProcessor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Cassandra4SSTableSnapshotProcessor.class);
+
+    private static final String NAME = "SSTable Snapshot Processor";
+
+    private final ChangeEventQueueRouter queueRouter;
+    private final boolean routeByToken;
+    private final PrimaryTokenRanges primaryTokenRanges;
+    private final OffsetWriter offsetWriter;
+    private final SchemaHolder schemaHolder;
+    private final RecordMaker recordMaker;
+    private final CassandraConnectorConfig.SnapshotMode snapshotMode;
+    private final String snapshotTag;
+    private final Set<String> startedTableNames = ConcurrentHashMap.newKeySet();
+    private final SnapshotProcessorMetrics metrics = new SnapshotProcessorMetrics();
+    private boolean initial = true;
+
+    public Cassandra4SSTableSnapshotProcessor(CassandraConnectorContext context) {
+        super(NAME, context.getCassandraConnectorConfig().snapshotPollInterval());
+        this.queueRouter = context.getQueueRouter();
+        this.routeByToken = context.getCassandraConnectorConfig().changeEventQueueRouting() == CassandraConnectorConfig.ChangeEventQueueRouting.PARTITION_TOKEN;
+        this.primaryTokenRanges = context.getPrimaryTokenRanges();
+        offsetWriter = context.getOffsetWriter();
+        schemaHolder = context.getSchemaHolder();
+        recordMaker = new RecordMaker(context.getCassandraConnectorConfig().tombstonesOnDelete(),
+                new Filters(context.getCassandraConnectorConfig().fieldExcludeList()),
+                context.getCassandraConnectorConfig());
+        snapshotMode = context.getCassandraConnectorConfig().snapshotMode();
+        snapshotTag = context.getCassandraConnectorConfig().snapshotSSTableTag();
+    }
+
+    @Override
+    public void initialize() {
+        if (snapshotMode != CassandraConnectorConfig.SnapshotMode.NEVER && (snapshotTag == null || snapshotTag.isEmpty())) {
+            throw new DebeziumException(CassandraConnectorConfig.SNAPSHOT_SSTABLE_TAG.name() + " is required by the SSTABLE snapshot engine");
+        }
+        metrics.registerMetrics();
+    }
+
+    @Override
+    public void destroy() {
+        metrics.unregisterMetrics();
+    }
+
+    @Override
+    public void process() {
+        if (snapshotMode == CassandraConnectorConfig.SnapshotMode.ALWAYS) {
+            snapshot();
+        }
+        else if (snapshotMode == CassandraConnectorConfig.SnapshotMode.INITIAL && initial) {
+            snapshot();
+            initial = false;
+        }
+        else {
+            LOGGER.debug("Skipping snapshot [mode: {}]", snapshotMode);
+        }
+    }
+
+    /**
+     * Fetch for all new tables that have not yet been snapshotted, and then iterate through the
+     * tables to snapshot each one of them from the SSTables of the local snapshot.
+     */
+    synchronized void snapshot() {
+        Set<com.datastax.oss.driver.api.core.metadata.schema.TableMetadata> tables = getTablesToSnapshot();
+        if (!tables.isEmpty()) {
+            String[] tableArr = tables.stream().map(Cassandra4SSTableSnapshotProcessor::tableName).toArray(String[]::new);
+            LOGGER.debug("Found {} tables to snapshot from SSTables with tag {}: {}", tables.size(), snapshotTag, tableArr);
+            long startTime = System.currentTimeMillis();
+            metrics.setTableCount(tables.size());
+            metrics.startSnapshot();
+            for (com.datastax.oss.driver.api.core.metadata.schema.TableMetadata table : tables) {
+                metrics.addTable(tableName(table), 0L);
+            }
+            for (com.datastax.oss.driver.api.core.metadata.schema.TableMetadata table : tables) {
+                if (isRunning()) {
+                    String tableName = tableName(table);
+                    LOGGER.info("Snapshotting table {} from SSTables ...", tableName);
+                    startedTableNames.add(tableName);
+                    metrics.startTable(tableName);
+                    takeTableSnapshot(new KeyspaceTable(table));
+                    metrics.completeTable(tableName);
+                    LOGGER.info("Snapshot of table {} has been taken", tableName);
+                }
+            }
+            metrics.stopSnapshot();
+            long durationInSeconds = Duration.ofMillis(System.currentTimeMillis() - startTime).getSeconds();
+            LOGGER.debug("Snapshot completely queued in {} seconds for tables: {}", durationInSeconds, tableArr);
+        }
+        else {
+            LOGGER.info("No table to snapshot");
+        }
+    }
+
+    /**
+     * Return a set of {@link com.datastax.oss.driver.api.core.metadata.schema.TableMetadata} for tables that have
+     * not been snapshotted but have CDC enabled.
+     */
+    private Set<com.datastax.oss.driver.api.core.metadata.schema.TableMetadata> getTablesToSnapshot() {
+        return schemaHolder.getCdcEnabledTableMetadataSet().stream()
+                .filter(tm -> !offsetWriter.isOffsetProcessed(tableName(tm), OffsetPosition.defaultOffsetPosition().serialize(), true))
+                .filter(tm -> !startedTableNames.contains(tableName(tm)))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Scans the SSTables of the snapshot of a table, merging them into the live rows of the table. Each row is
+     * converted into a {@link ChangeRecord} and enqueued to the {@link EventQueue}.
+     */
+    private void takeTableSnapshot(KeyspaceTable keyspaceTable) {
+        TableMetadataRef metadataRef = Schema.instance.getTableMetadataRef(keyspaceTable.keyspace, keyspaceTable.table);
+        if (metadataRef == null) {
+            throw new DebeziumException(String.format("Table %s is not present in the schema instance", keyspaceTable.name()));
+        }
+        Directories directories = new Directories(metadataRef.get());
+        if (!directories.snapshotExists(snapshotTag)) {
+            throw new DebeziumException(String.format("No snapshot with tag %s found for table %s, it has to be taken with 'nodetool snapshot -t %s'",
+                    snapshotTag, keyspaceTable.name(), snapshotTag));
+        }
+
+        Map<Descriptor, Set<Component>> sstables = directories.sstableLister(Directories.OnTxnErr.IGNORE)
+                .snapshots(snapshotTag)
+                .skipTemporary(true)
+                .list();
+        LOGGER.info("Reading {} SSTables of snapshot {} for table {}", sstables.size(), snapshotTag, keyspaceTable.name());
+
+        List<SSTableReader> readers = new ArrayList<>(sstables.size());
+        try {
+            List<UnfilteredPartitionIterator> scanners = new ArrayList<>(sstables.size());
+            for (Descriptor descriptor : sstables.keySet()) {
+                SSTableReader reader = SSTableReader.openNoValidation(descriptor, metadataRef);
+                readers.add(reader);
+                scanners.add(reader.getScanner());
+            }
+            TableSnapshot tableSnapshot = new TableSnapshot(keyspaceTable, metadataRef.get());
+            if (scanners.isEmpty()) {
+                tableSnapshot.completed(null);
+                return;
+            }
+            // tombstones and expired cells are purged as of now, shadowed data is dropped by the merge
+            try (PartitionIterator partitions = UnfilteredPartitionIterators.filter(
+                    UnfilteredPartitionIterators.merge(scanners, UnfilteredPartitionIterators.MergeListener.NOOP), FBUtilities.nowInSeconds())) {
+                tableSnapshot.process(partitions);
+            }
+        }
+        catch (DebeziumException e) {
+            throw e;
+        }
+        catch (Exception e) {
+            throw new DebeziumException(String.format("Failed to snapshot table %s from SSTables of snapshot %s", keyspaceTable.name(), snapshotTag), e);
+        }
+        finally {
+            readers.forEach(reader -> reader.selfRef().release());
+        }
+    }
+
+    /**
+     * The state of the snapshot of a single table.
+     */
+    private class TableSnapshot {
+        private final KeyspaceTable keyspaceTable;
+        private final String tableName;
+        private final TableMetadata metadata;
+        private final KeyValueSchema keyValueSchema;
+        private final Instant snapshotTime = Instant.now();
+        private long rowNum;
+        private RowData heldBackRow;
+        private Object heldBackToken;
+
+        private TableSnapshot(KeyspaceTable keyspaceTable, TableMetadata metadata) {
+            this.keyspaceTable = keyspaceTable;
+            this.tableName = keyspaceTable.name();
+            this.metadata = metadata;
+            this.keyValueSchema = schemaHolder.getKeyValueSchema(keyspaceTable);
+        }
+
+        private void process(PartitionIterator partitions) {
+            while (partitions.hasNext()) {
+                try (RowIterator partition = partitions.next()) {
+                    Object tokenValue = partition.partitionKey().getToken().getTokenValue();
+                    if (!primaryTokenRanges.contains(tokenValue)) {
+                        continue;
+                    }
+                    List<CellData> partitionCells = partitionCells(partition);
+                    Object token = routeByToken ? tokenValue : null;
+                    boolean hasRows = false;
+                    while (partition.hasNext()) {
+                        if (!isRunning()) {
+                            LOGGER.warn("Terminated snapshot processing while table {} is in progress", tableName);
+                            metrics.setRowsScanned(tableName, rowNum);
+                            return;
+                        }
+                        hasRows = true;
+                        add(rowData(partitionCells, partition.staticRow(), partition.next()), token);
+                    }
+                    // a partition with static columns only is returned as a single row without clustering values
+                    if (!hasRows && !partition.staticRow().isEmpty()) {
+                        add(rowData(partitionCells, partition.staticRow(), null), token);
+                    }
+                }
+            }
+            completed(heldBackRow);
+        }
+
+        /**
+         * The last row is held back, it has to mark the snapshot of the table as completed.
+         */
+        private void add(RowData rowData, Object token) {
+            if (heldBackRow != null) {
+                enqueue(heldBackRow, heldBackToken, false);
+            }
+            heldBackRow = rowData;
+            heldBackToken = token;
+        }
+
+        private void completed(RowData lastRow) {
+            if (lastRow != null) {
+                enqueue(lastRow, heldBackToken, true);
+            }
+            else {
+                // mark snapshot complete immediately if table is empty
+                offsetWriter.markOffset(tableName, OffsetPosition.defaultOffsetPosition().serialize(), true);
+                offsetWriter.flush();
+            }
+            metrics.setRowsScanned(tableName, rowNum);
+        }
+
+        private void enqueue(RowData rowData, Object token, boolean markOffset) {
+            recordMaker.insert(DatabaseDescriptor.getClusterName(), OffsetPosition.defaultOffsetPosition(), keyspaceTable, true,
+                    snapshotTime, rowData, keyValueSchema.keySchema(), keyValueSchema.valueSchema(), markOffset,
+                    queueRouter.route(tableName, token)::enqueue);
+            if (++rowNum % 10_000 == 0) {
+                LOGGER.debug("Queued {} snapshot records from table {}", rowNum, tableName);
+                metrics.setRowsScanned(tableName, rowNum);
+            }
+        }
+
+        /**
+         * Deserializes the partition key of a partition into the cells of its partition key columns.
+         */
+        private List<CellData> partitionCells(RowIterator partition) {
+            List<ColumnMetadata> columns = metadata.partitionKeyColumns();
+            ByteBuffer key = partition.partitionKey().getKey();
+            ByteBuffer[] components = columns.size() == 1
+                    ? new ByteBuffer[]{ key }
+                    : ((CompositeType) metadata.partitionKeyType).split(key);
+            List<CellData> cells = new ArrayList<>(columns.size());
+            for (ColumnMetadata column : columns) {
+                Object value = CassandraTypeDeserializer.deserialize(column.type, components[column.position()]);
+                cells.add(new CellData(column.name.toString(), value, null, PARTITION));
+            }
+            return cells;
+        }
+
+        private RowData rowData(List<CellData> partitionCells, Row staticRow, Row row) {
+            RowData rowData = new RowData(keyValueSchema.rowLayout());
+            partitionCells.forEach(rowData::addCell);
+            for (ColumnMetadata column : metadata.clusteringColumns()) {
+                Object value = row == null ? null : CassandraTypeDeserializer.deserialize(column.type, row.clustering().bufferAt(column.position()));
+                rowData.addCell(new CellData(column.name.toString(), value, null, CLUSTERING));
+            }
+            for (ColumnMetadata column : metadata.regularAndStaticColumns()) {
+                Row source = column.isStatic() ? staticRow : row;
+                rowData.addCell(regularCell(column, source));
+            }
+            return rowData;
+        }
+
+        /**
+         * Converts the data of a regular or static column of a row into a cell, the deletion timestamp of an expiring
+         * cell being its local deletion time.
+         */
+        private CellData regularCell(ColumnMetadata column, Row row) {
+            String name = column.name.toString();
+            if (row == null) {
+                return new CellData(name, null, null, REGULAR);
+            }
+            if (column.type.isCollection() && column.type.isMultiCell()) {
+                ComplexColumnData ccd = row.getComplexColumnData(column);
+                Object value = ccd == null ? null : CassandraTypeDeserializer.deserialize((CollectionType<?>) column.type, ccd);
+                return new CellData(name, value, null, REGULAR);
+            }
+            Cell<?> cell = row.getCell(column);
+            if (cell == null) {
+                return new CellData(name, null, null, REGULAR);
+            }
+            Object deletionTs = cell.isExpiring() ? TimeUnit.MICROSECONDS.convert(cell.localDeletionTime(), TimeUnit.SECONDS) : null;
+            return new CellData(name, CassandraTypeDeserializer.deserialize(column.type, cell.buffer()), deletionTs, REGULAR);
+        }
+    }
+
+    private static String tableName(com.datastax.oss.driver.api.core.metadata.schema.TableMetadata tm) {
+        return tm.getKeyspace() + "." + tm.getName();
+    }
+}
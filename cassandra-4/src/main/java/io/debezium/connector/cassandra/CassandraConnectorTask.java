@@ -43,6 +43,8 @@ public class CassandraConnectorTask {
         CassandraConnectorTaskTemplate.main(args, config -> new CassandraConnectorTaskTemplate(config,
                 new Cassandra4SchemaLoader(),
                 new Cassandra4SchemaChangeListenerProvider(),
-                context -> new AbstractProcessor[]{ new Cassandra4CommitLogProcessor(context) }));
+                context -> context.getCassandraConnectorConfig().snapshotEngine() == CassandraConnectorConfig.SnapshotEngine.SSTABLE
+                        ? new AbstractProcessor[]{ new Cassandra4CommitLogProcessor(context), new Cassandra4SSTableSnapshotProcessor(context) }
+                        : new AbstractProcessor[]{ new Cassandra4CommitLogProcessor(context) }));
     }
 }
@@ -25,10 +25,8 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
-import io.debezium.connector.base.ChangeEventQueue;
-
 public abstract class AbstractCommitLogProcessorTest extends EmbeddedCassandra4ConnectorTestBase {
-    public ChangeEventQueue<Event> queue;
+    public EventQueue queue;
     public CassandraConnectorContext context;
     public Cassandra4CommitLogProcessor commitLogProcessor;
 
@@ -0,0 +1,186 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static io.debezium.connector.cassandra.TestUtils.TEST_KEYSPACE_NAME;
+import static io.debezium.connector.cassandra.TestUtils.deleteTestKeyspaceTables;
+import static io.debezium.connector.cassandra.TestUtils.deleteTestOffsets;
+import static io.debezium.connector.cassandra.TestUtils.keyspaceTable;
+import static io.debezium.connector.cassandra.TestUtils.propertiesForContext;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.testcontainers.containers.Container;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+
+public class Cassandra4SSTableSnapshotProcessorTest extends EmbeddedCassandra4ConnectorTestBase {
+    private static final String SNAPSHOT_TAG = "sstable_snapshot_test";
+
+    @Test
+    public void testSnapshotTableFromSSTables() throws Exception {
+        CassandraConnectorContext context = generateTaskContext(sstableSnapshotProperties());
+        context.getCassandraClient().execute("CREATE TABLE IF NOT EXISTS " + keyspaceTable("sstable_table")
+                + " (a int, b int, c int, s text static, d text, PRIMARY KEY((a, b), c)) WITH cdc = true;");
+        context.getCassandraClient().execute("CREATE TABLE IF NOT EXISTS " + keyspaceTable("sstable_empty_table")
+                + " (a int, b text, PRIMARY KEY(a)) WITH cdc = true;");
+
+        int partitions = 10;
+        for (int i = 0; i < partitions; i++) {
+            for (int c = 0; c < 2; c++) {
+                context.getCassandraClient().execute("INSERT INTO " + keyspaceTable("sstable_table") + " (a, b, c, d) VALUES (?, ?, ?, ?)",
+                        i, i, c, "v" + i);
+            }
+        }
+        context.getCassandraClient().execute("UPDATE " + keyspaceTable("sstable_table") + " SET s = 's0' WHERE a = 0 AND b = 0");
+        // the deleted row is in another SSTable than the row it shadows
+        nodetool("flush", TEST_KEYSPACE_NAME, "sstable_table");
+        context.getCassandraClient().execute("DELETE FROM " + keyspaceTable("sstable_table") + " WHERE a = 1 AND b = 1 AND c = 1");
+        context.getCassandraClient().execute("INSERT INTO " + keyspaceTable("sstable_table") + " (a, b, c, d) VALUES (2, 2, 2, 'ttl') USING TTL 3600");
+        context.getCassandraClient().execute("INSERT INTO " + keyspaceTable("sstable_table") + " (a, b, c, d) VALUES (3, 3, 2, 'expired') USING TTL 1");
+        context.getCassandraClient().execute("INSERT INTO " + keyspaceTable("sstable_table") + " (a, b, s) VALUES (100, 100, 'static only')");
+        nodetool("snapshot", "-t", SNAPSHOT_TAG, TEST_KEYSPACE_NAME);
+        awaitSchema(context, "sstable_table", "sstable_empty_table");
+        // until the cell with a TTL of one second has expired
+        Thread.sleep(2000);
+
+        Cassandra4SSTableSnapshotProcessor snapshotProcessor = Mockito.spy(new Cassandra4SSTableSnapshotProcessor(context));
+        when(snapshotProcessor.isRunning()).thenReturn(true);
+        EventQueue queue = context.getQueues().get(0);
+        snapshotProcessor.process();
+
+        List<Event> events = queue.poll();
+        Map<String, Struct> rows = new HashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            ChangeRecord record = (ChangeRecord) events.get(i);
+            assertEquals(Record.Operation.INSERT, record.getOp());
+            assertEquals(DatabaseDescriptor.getClusterName(), record.getSource().cluster);
+            assertTrue(record.getSource().snapshot);
+            assertEquals(OffsetPosition.defaultOffsetPosition(), record.getSource().offsetPosition);
+            assertEquals(keyspaceTable("sstable_table"), record.getSource().keyspaceTable.name());
+            // only the last record enqueued marks the snapshot of the table as completed
+            assertEquals(i == events.size() - 1, record.shouldMarkOffset());
+            Struct after = record.buildValue().getStruct(Record.AFTER);
+            rows.put(value(after, "a") + ":" + value(after, "b") + ":" + value(after, "c"), after);
+        }
+
+        // two rows per partition, without the deleted row and the expired row, with the row with a TTL and the static row
+        assertEquals(2 * partitions - 1 + 1 + 1, rows.size());
+        assertFalse(rows.containsKey("1:1:1"));
+        assertFalse(rows.containsKey("3:3:2"));
+        assertEquals("v4", value(rows.get("4:4:1"), "d"));
+        assertNull(rows.get("4:4:1").getStruct("d").get(CellData.CELL_DELETION_TS_KEY));
+        assertEquals("ttl", value(rows.get("2:2:2"), "d"));
+        assertNotNull(rows.get("2:2:2").getStruct("d").get(CellData.CELL_DELETION_TS_KEY));
+        // the static column is part of every row of its partition
+        assertEquals("s0", value(rows.get("0:0:0"), "s"));
+        assertEquals("s0", value(rows.get("0:0:1"), "s"));
+        assertEquals("static only", value(rows.get("100:100:null"), "s"));
+        assertNull(value(rows.get("100:100:null"), "d"));
+
+        // the empty table is marked right away, the other one once its last record has been emitted
+        assertTrue(context.getOffsetWriter().isOffsetProcessed(keyspaceTable("sstable_empty_table"), OffsetPosition.defaultOffsetPosition().serialize(), true));
+        assertFalse(context.getOffsetWriter().isOffsetProcessed(keyspaceTable("sstable_table"), OffsetPosition.defaultOffsetPosition().serialize(), true));
+        // the tables are not snapshotted twice
+        snapshotProcessor.snapshot();
+        assertEquals(queue.totalCapacity(), queue.remainingCapacity());
+
+        nodetool("clearsnapshot", "-t", SNAPSHOT_TAG, "--", TEST_KEYSPACE_NAME);
+        deleteTestKeyspaceTables();
+        deleteTestOffsets(context);
+        context.cleanUp();
+    }
+
+    @Test
+    public void testSnapshotSkipsPartitionsOutsideOfPrimaryTokenRanges() throws Exception {
+        CassandraConnectorContext context = Mockito.spy(generateTaskContext(sstableSnapshotProperties()));
+        // the local node is the primary replica of the lower half of the token ring only
+        PrimaryTokenRanges primaryTokenRanges = mock(PrimaryTokenRanges.class);
+        when(primaryTokenRanges.contains(any())).thenAnswer(invocation -> (Long) invocation.getArgument(0) <= 0);
+        doReturn(primaryTokenRanges).when(context).getPrimaryTokenRanges();
+
+        context.getCassandraClient().execute("CREATE TABLE IF NOT EXISTS " + keyspaceTable("sstable_table") + " (a int, b text, PRIMARY KEY(a)) WITH cdc = true;");
+        for (int i = 0; i < 50; i++) {
+            context.getCassandraClient().execute("INSERT INTO " + keyspaceTable("sstable_table") + " (a, b) VALUES (?, ?)", i, String.valueOf(i));
+        }
+        nodetool("snapshot", "-t", SNAPSHOT_TAG, TEST_KEYSPACE_NAME);
+        awaitSchema(context, "sstable_table");
+
+        Set<Object> expectedKeys = new HashSet<>();
+        for (Row row : context.getCassandraClient().execute("SELECT a FROM " + keyspaceTable("sstable_table") + " WHERE token(a) <= 0")) {
+            expectedKeys.add(row.getInt("a"));
+        }
+
+        Cassandra4SSTableSnapshotProcessor snapshotProcessor = Mockito.spy(new Cassandra4SSTableSnapshotProcessor(context));
+        when(snapshotProcessor.isRunning()).thenReturn(true);
+        EventQueue queue = context.getQueues().get(0);
+        snapshotProcessor.process();
+
+        Set<Object> keys = new HashSet<>();
+        for (Event event : queue.poll()) {
+            keys.add(((ChangeRecord) event).buildKey().get("a"));
+        }
+        assertEquals(expectedKeys, keys);
+
+        nodetool("clearsnapshot", "-t", SNAPSHOT_TAG, "--", TEST_KEYSPACE_NAME);
+        deleteTestKeyspaceTables();
+        deleteTestOffsets(context);
+        context.cleanUp();
+    }
+
+    private static Map<String, Object> sstableSnapshotProperties() throws Exception {
+        Map<String, Object> configs = propertiesForContext();
+        configs.put(CassandraConnectorConfig.SNAPSHOT_ENGINE.name(), CassandraConnectorConfig.SnapshotEngine.SSTABLE.name());
+        configs.put(CassandraConnectorConfig.SNAPSHOT_SSTABLE_TAG.name(), SNAPSHOT_TAG);
+        return configs;
+    }
+
+    /**
+     * Waits until the tables are known to the schema of the connector, which is needed to locate their SSTables.
+     */
+    private static void awaitSchema(CassandraConnectorContext context, String... tables) {
+        await().atMost(1, TimeUnit.MINUTES).until(() -> {
+            for (String table : tables) {
+                if (context.getSchemaHolder().getKeyValueSchema(new KeyspaceTable(TEST_KEYSPACE_NAME, table)) == null) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    private static void nodetool(String... args) throws Exception {
+        String[] command = new String[args.length + 1];
+        command[0] = "nodetool";
+        System.arraycopy(args, 0, command, 1, args.length);
+        Container.ExecResult result = cassandra.execInContainer(command);
+        assertEquals(result.getStderr(), 0, result.getExitCode());
+    }
+
+    private static Object value(Struct after, String column) {
+        Struct cell = after.getStruct(column);
+        return cell == null ? null : cell.get(CellData.CELL_VALUE_KEY);
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static com.datastax.oss.driver.api.querybuilder.QueryBuilder.insertInto;
+import static com.datastax.oss.driver.api.querybuilder.QueryBuilder.literal;
+import static io.debezium.connector.cassandra.TestUtils.TEST_KEYSPACE_NAME;
+import static io.debezium.connector.cassandra.TestUtils.TEST_TABLE_NAME;
+import static io.debezium.connector.cassandra.TestUtils.deleteTestKeyspaceTables;
+import static io.debezium.connector.cassandra.TestUtils.deleteTestOffsets;
+import static io.debezium.connector.cassandra.TestUtils.keyspaceTable;
+import static io.debezium.connector.cassandra.TestUtils.propertiesForContext;
+import static io.debezium.connector.cassandra.TestUtils.runCql;
+import static java.lang.String.format;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.db.Mutation;
+import org.apache.cassandra.db.commitlog.CommitLogDescriptor;
+import org.apache.cassandra.db.commitlog.CommitLogReadHandler;
+import org.apache.cassandra.db.commitlog.CommitLogReader;
+import org.apache.cassandra.db.partitions.PartitionUpdate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.debezium.connector.cassandra.Cassandra4CommitLogProcessor.CommitLogProcessingCallable;
+import io.debezium.connector.cassandra.Cassandra4CommitLogProcessor.LogicalCommitLog;
+import io.debezium.connector.cassandra.Cassandra4CommitLogProcessor.ProcessingResult;
+import io.debezium.util.Testing;
+
+public class CommitLogRealTimeProcessingTest extends EmbeddedCassandra4ConnectorTestBase {
+
+    private static final int MUTATIONS = 10;
+
+    private CassandraConnectorContext context;
+    private File cdcDir;
+
+    @Before
+    public void setUp() throws Exception {
+        Map<String, Object> configs = propertiesForContext();
+        configs.put(CassandraConnectorConfig.COMMIT_LOG_REAL_TIME_PROCESSING_ENABLED.name(), "true");
+        configs.put(CassandraConnectorConfig.COMMIT_LOG_MARKED_COMPLETE_POLL_INTERVAL_MS.name(), "100");
+        context = generateTaskContext(configs);
+
+        runCql(format("CREATE TABLE IF NOT EXISTS %s.%s (a int, b int, PRIMARY KEY(a)) WITH cdc = true;", TEST_KEYSPACE_NAME, TEST_TABLE_NAME));
+        Thread.sleep(5000);
+        await().forever().until(() -> context.getSchemaHolder().getKeyValueSchema(new KeyspaceTable(TEST_KEYSPACE_NAME, TEST_TABLE_NAME)) != null);
+        for (int i = 0; i < MUTATIONS; i++) {
+            runCql(insertInto(TEST_KEYSPACE_NAME, TEST_TABLE_NAME)
+                    .value("a", literal(i))
+                    .value("b", literal(i))
+                    .build());
+        }
+        cdcDir = Files.createTempDirectory("cdc_raw").toFile();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        deleteTestOffsets(context);
+        deleteTestKeyspaceTables();
+        context.cleanUp();
+        Testing.Files.delete(cdcDir);
+    }
+
+    @Test
+    public void testSegmentIsReadInPassesUpToTheGrowingIndexOffset() throws Exception {
+        // the end positions of the test table's mutations in the segment holding most of them, once synced
+        List<Integer> positions = new ArrayList<>();
+        File[] segment = new File[1];
+        await().atMost(1, TimeUnit.MINUTES).pollInterval(1, TimeUnit.SECONDS).until(() -> locateMutations(positions, segment));
+        assertTrue(positions.size() > 1);
+
+        File log = new File(cdcDir, segment[0].getName());
+        Files.copy(segment[0].toPath(), log.toPath());
+        File index = new File(cdcDir, log.getName().replace(".log", "_cdc.idx"));
+
+        // the first pass ends in the middle of a mutation, which has to be read by the second pass only
+        int firstPassCount = positions.size() / 2;
+        int firstPassOffset = (positions.get(firstPassCount - 1) + positions.get(firstPassCount)) / 2;
+        writeIndex(index, firstPassOffset, false);
+
+        EventQueue queue = context.getQueues().get(0);
+        CommitLogProcessingCallable callable = new CommitLogProcessingCallable(new LogicalCommitLog(index),
+                EventDispatcher.DIRECT, new CommitLogProcessorMetrics(), context);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<ProcessingResult> result = executorService.submit(callable);
+
+            List<Event> events = new ArrayList<>();
+            await().atMost(30, TimeUnit.SECONDS).until(() -> {
+                events.addAll(queue.poll());
+                return recordPositions(events).size() >= firstPassCount;
+            });
+            // a few more index polls, nothing beyond the offset is read while the segment is in progress
+            Thread.sleep(500);
+            events.addAll(queue.poll());
+            assertEquals(positions.subList(0, firstPassCount), recordPositions(events));
+            assertTrue(events.stream().noneMatch(event -> event instanceof EOFEvent));
+
+            writeIndex(index, positions.get(positions.size() - 1), true);
+            assertEquals(ProcessingResult.Result.OK, result.get(30, TimeUnit.SECONDS).result);
+
+            while (queue.remainingCapacity() < queue.totalCapacity()) {
+                events.addAll(queue.poll());
+            }
+            // every mutation is emitted exactly once, in segment order
+            assertEquals(positions, recordPositions(events));
+            assertEquals(1, events.stream().filter(event -> event instanceof EOFEvent).count());
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static boolean locateMutations(List<Integer> positions, File[] segment) {
+        positions.clear();
+        File[] commitLogs = CommitLogUtil.getCommitLogs(new File(DatabaseDescriptor.getCommitLogLocation()));
+        int total = 0;
+        for (File commitLog : commitLogs) {
+            List<Integer> segmentPositions = new ArrayList<>();
+            try {
+                new CommitLogReader().readCommitLogSegment(new MutationPositionHandler(segmentPositions), commitLog, true);
+            }
+            catch (Exception e) {
+                return false;
+            }
+            total += segmentPositions.size();
+            if (segmentPositions.size() > positions.size()) {
+                positions.clear();
+                positions.addAll(segmentPositions);
+                segment[0] = commitLog;
+            }
+        }
+        return total == MUTATIONS;
+    }
+
+    private static List<Integer> recordPositions(List<Event> events) {
+        List<Integer> positions = new ArrayList<>();
+        for (Event event : events) {
+            if (event instanceof Record) {
+                Record record = (Record) event;
+                if (record.getSource().keyspaceTable.name().equals(keyspaceTable(TEST_TABLE_NAME))) {
+                    positions.add(record.getSource().offsetPosition.filePosition);
+                }
+            }
+        }
+        return positions;
+    }
+
+    private static void writeIndex(File index, int offset, boolean completed) throws Exception {
+        // written aside and moved, so that the index is never read half written
+        Path written = Files.write(new File(index.getParentFile(), index.getName() + ".tmp").toPath(),
+                (offset + (completed ? "\nCOMPLETED" : "")).getBytes(StandardCharsets.UTF_8));
+        Files.move(written, index.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static class MutationPositionHandler implements CommitLogReadHandler {
+        private final List<Integer> positions;
+
+        private MutationPositionHandler(List<Integer> positions) {
+            this.positions = positions;
+        }
+
+        @Override
+        public boolean shouldSkipSegmentOnError(CommitLogReadException exception) {
+            return false;
+        }
+
+        @Override
+        public void handleUnrecoverableError(CommitLogReadException exception) {
+        }
+
+        @Override
+        public void handleMutation(Mutation mutation, int size, int entryLocation, CommitLogDescriptor descriptor) {
+            for (PartitionUpdate update : mutation.getPartitionUpdates()) {
+                if (update.metadata().keyspace.equals(TEST_KEYSPACE_NAME) && update.metadata().name.equals(TEST_TABLE_NAME)) {
+                    positions.add(entryLocation);
+                    return;
+                }
+            }
+        }
+    }
+}
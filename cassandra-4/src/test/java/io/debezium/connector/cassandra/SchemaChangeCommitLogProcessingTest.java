@@ -0,0 +1,56 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static com.datastax.oss.driver.api.querybuilder.QueryBuilder.insertInto;
+import static com.datastax.oss.driver.api.querybuilder.QueryBuilder.literal;
+import static io.debezium.connector.cassandra.TestUtils.TEST_KEYSPACE_NAME;
+import static io.debezium.connector.cassandra.TestUtils.TEST_TABLE_NAME;
+import static io.debezium.connector.cassandra.TestUtils.keyspaceTable;
+import static io.debezium.connector.cassandra.TestUtils.runCql;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import java.util.concurrent.TimeUnit;
+
+public class SchemaChangeCommitLogProcessingTest extends AbstractCommitLogProcessorTest {
+
+    @Override
+    public void initialiseData() throws Exception {
+        createTable("CREATE TABLE IF NOT EXISTS %s.%s (a int, b int, PRIMARY KEY(a)) WITH cdc = true;");
+        runCql(insertInto(TEST_KEYSPACE_NAME, TEST_TABLE_NAME)
+                .value("a", literal(1))
+                .value("b", literal(1))
+                .build());
+    }
+
+    @Override
+    public void verifyEvents() throws Exception {
+        getEvents();
+        KeyspaceTable table = new KeyspaceTable(TEST_KEYSPACE_NAME, TEST_TABLE_NAME);
+        SchemaHolder schemaHolder = context.getSchemaHolder();
+        Object plan = schemaHolder.getPlan(table, Object.class);
+        assertNotNull(plan);
+
+        KeyValueSchema keyValueSchema = schemaHolder.getKeyValueSchema(table);
+        runCql("ALTER TABLE " + keyspaceTable(TEST_TABLE_NAME) + " ADD c int");
+        await().atMost(1, TimeUnit.MINUTES).until(() -> schemaHolder.getKeyValueSchema(table) != keyValueSchema);
+        // the schema change listener drops the plan built for the previous schema
+        assertNull(schemaHolder.getPlan(table, Object.class));
+
+        runCql(insertInto(TEST_KEYSPACE_NAME, TEST_TABLE_NAME)
+                .value("a", literal(2))
+                .value("b", literal(2))
+                .build());
+        readLogs();
+        getEvents();
+        Object newPlan = schemaHolder.getPlan(table, Object.class);
+        assertNotNull(newPlan);
+        assertNotSame(plan, newPlan);
+    }
+}
@@ -13,14 +13,21 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 
+import com.codahale.metrics.Metric;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.config.DriverConfigLoader;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
 import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
 import com.datastax.oss.driver.api.core.metadata.schema.SchemaChangeListener;
+import com.datastax.oss.driver.api.core.metrics.DefaultSessionMetric;
 import com.datastax.oss.driver.api.core.metrics.Metrics;
 
 /**
@@ -43,6 +50,10 @@ public class CassandraClient implements AutoCloseable {
         return new HashSet<>(session.getMetadata().getNodes().values());
     }
 
+    public Optional<TokenMap> getTokenMap() {
+        return session.getMetadata().getTokenMap();
+    }
+
     public String getClusterName() {
         return session.getMetadata().getClusterName().orElse("unknown-cluster-name");
     }
@@ -55,6 +66,10 @@ public class CassandraClient implements AutoCloseable {
         return session.execute(statement);
     }
 
+    public CompletionStage<AsyncResultSet> executeAsync(SimpleStatement statement) {
+        return session.executeAsync(statement);
+    }
+
     public ResultSet execute(String query) {
         return session.execute(query);
     }
@@ -81,6 +96,22 @@ public class CassandraClient implements AutoCloseable {
         }
     }
 
+    /**
+     * Returns the 99th percentile latency in milliseconds of the CQL requests of the session, as exported by
+     * the {@code cql-requests} session metric, or -1 if that metric is not enabled.
+     */
+    public double cqlRequestsP99LatencyMillis() {
+        Optional<Metrics> metrics = session.getMetrics();
+        if (!metrics.isPresent()) {
+            return -1;
+        }
+        Optional<Metric> cqlRequests = metrics.get().getSessionMetric(DefaultSessionMetric.CQL_REQUESTS);
+        if (!cqlRequests.isPresent() || !(cqlRequests.get() instanceof Timer)) {
+            return -1;
+        }
+        return ((Timer) cqlRequests.get()).getSnapshot().get99thPercentile() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
     @Override
     public void close() {
         shutdown();
@@ -9,6 +9,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -65,6 +66,157 @@ public class CassandraConnectorConfig extends CommonConnectorConfig {
         }
     }
 
+    /**
+     * The set of predefined SnapshotEngine options.
+     */
+    public enum SnapshotEngine {
+
+        /**
+         * Tables are snapshotted by SELECT queries through the Cassandra driver.
+         */
+        CQL,
+
+        /**
+         * Tables are snapshotted by scanning the SSTables of a snapshot of the local data directory, which has to be
+         * taken with {@code nodetool snapshot} beforehand. Only supported with Cassandra 4.
+         */
+        SSTABLE;
+
+        public static Optional<SnapshotEngine> fromText(String text) {
+            return Arrays.stream(values())
+                    .filter(v -> text != null && v.name().toLowerCase().equals(text.toLowerCase()))
+                    .findFirst();
+        }
+    }
+
+    /**
+     * The set of predefined ChangeEventQueueRouting options.
+     */
+    public enum ChangeEventQueueRouting {
+
+        /**
+         * All change events read from the same commit log, or snapshotted from the same table, are enqueued to the
+         * same change event queue.
+         */
+        COMMIT_LOG,
+
+        /**
+         * Change events are enqueued to a change event queue picked by the token of their partition key, so
+         * changes are spread across all queues while changes of the same partition are kept in order. Requires
+         * commit log completion tracking, as the records of a commit log are no longer followed by its EOF event.
+         */
+        PARTITION_TOKEN;
+
+        public static Optional<ChangeEventQueueRouting> fromText(String text) {
+            return Arrays.stream(values())
+                    .filter(v -> text != null && v.name().toLowerCase().equals(text.toLowerCase()))
+                    .findFirst();
+        }
+    }
+
+    /**
+     * The set of predefined ChangeEventQueueType options.
+     */
+    public enum ChangeEventQueueType {
+
+        /**
+         * Debezium's {@link io.debezium.connector.base.ChangeEventQueue}, which is lock-based and whose consumer
+         * checks for new change events once per poll interval when the queue is empty.
+         */
+        DEFAULT,
+
+        /**
+         * A bounded lock-free ring buffer whose consumer drains the change events in batches, and waits for new
+         * ones according to the {@link ChangeEventQueueWaitStrategy}. See {@link RingBufferEventQueue}.
+         */
+        RING_BUFFER;
+
+        public static Optional<ChangeEventQueueType> fromText(String text) {
+            return Arrays.stream(values())
+                    .filter(v -> text != null && v.name().toLowerCase().equals(text.toLowerCase()))
+                    .findFirst();
+        }
+    }
+
+    /**
+     * The set of predefined ChangeEventQueueWaitStrategy options, which only apply to the ring buffer queue.
+     */
+    public enum ChangeEventQueueWaitStrategy {
+
+        /**
+         * Spin on the queue, for the lowest latency at the cost of a busy core per queue processor.
+         */
+        BUSY_SPIN,
+
+        /**
+         * Yield the processor between checks of the queue.
+         */
+        YIELD,
+
+        /**
+         * Park the waiting thread until it is signaled by the other side of the queue.
+         */
+        PARK;
+
+        public static Optional<ChangeEventQueueWaitStrategy> fromText(String text) {
+            return Arrays.stream(values())
+                    .filter(v -> text != null && v.name().toLowerCase().equals(text.toLowerCase()))
+                    .findFirst();
+        }
+    }
+
+    /**
+     * The set of predefined OffsetBackingStore options.
+     */
+    public enum OffsetBackingStore {
+
+        /**
+         * Offsets are kept in snapshot_offset.properties and commitlog_offset.properties, which are rewritten
+         * as a whole on every flush. See {@link FileOffsetWriter}.
+         */
+        FILE,
+
+        /**
+         * Offsets are appended to a memory-mapped journal which is compacted in the background.
+         * See {@link JournalOffsetWriter}.
+         */
+        JOURNAL;
+
+        public static Optional<OffsetBackingStore> fromText(String text) {
+            return Arrays.stream(values())
+                    .filter(v -> text != null && v.name().toLowerCase().equals(text.toLowerCase()))
+                    .findFirst();
+        }
+    }
+
+    /**
+     * The set of predefined OffsetJournalFsyncPolicy options.
+     */
+    public enum OffsetJournalFsyncPolicy {
+
+        /**
+         * The journal is never synced explicitly, offsets survive a crash of the connector but not necessarily
+         * a crash of the operating system.
+         */
+        NEVER,
+
+        /**
+         * The journal is synced to disk whenever offsets are flushed.
+         */
+        FLUSH,
+
+        /**
+         * The journal is synced to disk after every offset appended to it.
+         */
+        ALWAYS;
+
+        public static Optional<OffsetJournalFsyncPolicy> fromText(String text) {
+            return Arrays.stream(values())
+                    .filter(v -> text != null && v.name().toLowerCase().equals(text.toLowerCase()))
+                    .findFirst();
+        }
+    }
+
     /**
      * The prefix prepended to all Kafka producer configurations, including schema registry
      */
@@ -121,6 +273,154 @@ public class CassandraConnectorConfig extends CommonConnectorConfig {
             .withDefault(DEFAULT_SNAPSHOT_CONSISTENCY)
             .withDescription("Specifies the ConsistencyLevel used for the snapshot query.");
 
+    /**
+     * The number of token sub-ranges the token ring of each table is split into for a snapshot. The default value
+     * of 1 implies each table is snapshotted with a single query. Only effective with the Murmur3Partitioner.
+     */
+    public static final int DEFAULT_SNAPSHOT_TOKEN_RANGE_SPLITS = 1;
+    public static final Field SNAPSHOT_TOKEN_RANGE_SPLITS = Field.create("snapshot.token.range.splits")
+            .withType(Type.INT)
+            .withDefault(DEFAULT_SNAPSHOT_TOKEN_RANGE_SPLITS)
+            .withValidation(Field::isPositiveInteger)
+            .withDescription("The number of token sub-ranges each table is split into for a snapshot, each of them being read with "
+                    + "its own query. Defaults to 1, i.e. a table is read with a single query.");
+
+    public static final int DEFAULT_SNAPSHOT_TOKEN_RANGE_THREADS = 1;
+    public static final Field SNAPSHOT_TOKEN_RANGE_THREADS = Field.create("snapshot.token.range.threads")
+            .withType(Type.INT)
+            .withDefault(DEFAULT_SNAPSHOT_TOKEN_RANGE_THREADS)
+            .withValidation(Field::isPositiveInteger)
+            .withDescription("The number of token sub-ranges of a table which are read concurrently during a snapshot. "
+                    + "Only used if snapshot.token.range.splits is greater than 1. Defaults to 1.");
+
+    /**
+     * The number of tables snapshotted concurrently. The default value of 1 implies tables are snapshotted one
+     * after another.
+     */
+    public static final int DEFAULT_SNAPSHOT_TABLE_THREADS = 1;
+    public static final Field SNAPSHOT_TABLE_THREADS = Field.create("snapshot.table.threads")
+            .withType(Type.INT)
+            .withDefault(DEFAULT_SNAPSHOT_TABLE_THREADS)
+            .withValidation(Field::isPositiveInteger)
+            .withDescription("The number of tables which are snapshotted concurrently. If greater than 1, the tables "
+                    + "with the largest estimated size are snapshotted first. Defaults to 1.");
+
+    /**
+     * The number of rows fetched per page by the snapshot queries. The default value of 0 implies the page size
+     * configured for the driver is used.
+     */
+    public static final int DEFAULT_SNAPSHOT_PAGE_SIZE = 0;
+    public static final Field SNAPSHOT_PAGE_SIZE = Field.create("snapshot.page.size")
+            .withType(Type.INT)
+            .withDefault(DEFAULT_SNAPSHOT_PAGE_SIZE)
+            .withValidation(Field::isNonNegativeInteger)
+            .withDescription("The number of rows fetched per page by the snapshot queries. "
+                    + "Defaults to 0, i.e. the page size configured for the driver is used.");
+
+    /**
+     * The number of pages of a snapshot query which are fetched ahead of the page being processed.
+     */
+    public static final int DEFAULT_SNAPSHOT_PAGE_PREFETCH = 1;
+    public static final Field SNAPSHOT_PAGE_PREFETCH = Field.create("snapshot.page.prefetch")
+            .withType(Type.INT)
+            .withDefault(DEFAULT_SNAPSHOT_PAGE_PREFETCH)
+            .withValidation(Field::isNonNegativeInteger)
+            .withDescription("The number of pages of a snapshot query which are fetched while the current page is processed. "
+                    + "0 means the next page is only fetched once the current page has been processed. Defaults to 1.");
+
+    /**
+     * Must be one of 'CQL' or 'SSTABLE'. The default snapshot engine is 'CQL'.
+     * See {@link SnapshotEngine for details}.
+     */
+    public static final String DEFAULT_SNAPSHOT_ENGINE = "CQL";
+    public static final Field SNAPSHOT_ENGINE = Field.create("snapshot.engine")
+            .withType(Type.STRING)
+            .withDefault(DEFAULT_SNAPSHOT_ENGINE)
+            .withDescription("Specifies how tables are snapshotted, either with CQL queries or by scanning the SSTables "
+                    + "of a snapshot of the local data directory.");
+
+    /**
+     * The tag of the snapshot of the local data directory which is read by the SSTABLE snapshot engine.
+     */
+    public static final Field SNAPSHOT_SSTABLE_TAG = Field.create("snapshot.sstable.tag")
+            .withType(Type.STRING)
+            .withDescription("The tag of the snapshot taken with 'nodetool snapshot -t <tag>' whose SSTables are read "
+                    + "when snapshot.engine is SSTABLE.");
+
+    /**
+     * A comma-separated list of fully-qualified names of the columns read by the snapshot queries of a table, in the
+     * form {@code <keyspace_name>.<table_name>.<column_name>}. The columns of tables which are not listed are all read.
+     */
+    public static final Field SNAPSHOT_COLUMN_INCLUDE_LIST = Field.create("snapshot.column.include.list")
+            .withType(Type.STRING)
+            .withWidth(Width.LONG)
+            .withDescription("Fully-qualified names of the columns which are read by the snapshot queries of their tables. "
+                    + "Primary key columns are always read, and the columns of the tables which are not listed are all read "
+                    + "unless excluded by field.exclude.list.");
+
+    /**
+     * A comma-separated list of fully-qualified table names, in the form {@code <keyspace_name>.<table_name>}, whose
+     * snapshot queries do not query the TTL of the columns.
+     */
+    public static final Field SNAPSHOT_TTL_EXCLUDE_LIST = Field.create("snapshot.ttl.exclude.list")
+            .withType(Type.STRING)
+            .withWidth(Width.LONG)
+            .withDescription("Fully-qualified names of the tables whose snapshot queries do not query the TTL of the columns, "
+                    + "the deletion timestamps of the snapshotted cells being unknown.");
+
+    /**
+     * The maximum number of rows read per second by the snapshot across all tables. The default value of 0
+     * implies no limit.
+     */
+    public static final long DEFAULT_SNAPSHOT_MAX_ROWS_PER_SECOND = 0;
+    public static final Field SNAPSHOT_MAX_ROWS_PER_SECOND = Field.create("snapshot.max.rows.per.second")
+            .withType(Type.LONG)
+            .withDefault(DEFAULT_SNAPSHOT_MAX_ROWS_PER_SECOND)
+            .withValidation(Field::isNonNegativeLong)
+            .withDescription("The maximum number of rows read per second by the snapshot across all tables. Defaults to 0, i.e. no limit.");
+
+    /**
+     * The maximum number of bytes read per second by the snapshot across all tables. The default value of 0
+     * implies no limit.
+     */
+    public static final long DEFAULT_SNAPSHOT_MAX_BYTES_PER_SECOND = 0;
+    public static final Field SNAPSHOT_MAX_BYTES_PER_SECOND = Field.create("snapshot.max.bytes.per.second")
+            .withType(Type.LONG)
+            .withDefault(DEFAULT_SNAPSHOT_MAX_BYTES_PER_SECOND)
+            .withValidation(Field::isNonNegativeLong)
+            .withDescription("The maximum number of bytes of column values read per second by the snapshot across all tables. "
+                    + "Defaults to 0, i.e. no limit.");
+
+    /**
+     * A comma-separated list of per-table limits of rows read per second, in the form {@code <keyspace_name>.<table_name>:<limit>}.
+     */
+    public static final Field SNAPSHOT_TABLE_MAX_ROWS_PER_SECOND = Field.create("snapshot.table.max.rows.per.second")
+            .withType(Type.STRING)
+            .withWidth(Width.LONG)
+            .withDescription("Per-table limits of rows read per second by the snapshot, in the form <keyspace_name>.<table_name>:<limit>, "
+                    + "which apply on top of snapshot.max.rows.per.second.");
+
+    /**
+     * A comma-separated list of per-table limits of bytes read per second, in the form {@code <keyspace_name>.<table_name>:<limit>}.
+     */
+    public static final Field SNAPSHOT_TABLE_MAX_BYTES_PER_SECOND = Field.create("snapshot.table.max.bytes.per.second")
+            .withType(Type.STRING)
+            .withWidth(Width.LONG)
+            .withDescription("Per-table limits of bytes read per second by the snapshot, in the form <keyspace_name>.<table_name>:<limit>, "
+                    + "which apply on top of snapshot.max.bytes.per.second.");
+
+    /**
+     * The 99th percentile latency of the CQL requests above which the snapshot slows down. The default value of 0
+     * implies the snapshot does not adapt to the latency.
+     */
+    public static final int DEFAULT_SNAPSHOT_LATENCY_THRESHOLD_MS = 0;
+    public static final Field SNAPSHOT_LATENCY_THRESHOLD_MS = Field.create("snapshot.latency.threshold.ms")
+            .withType(Type.INT)
+            .withDefault(DEFAULT_SNAPSHOT_LATENCY_THRESHOLD_MS)
+            .withValidation(Field::isNonNegativeInteger)
+            .withDescription("The 99th percentile latency of CQL requests, in milliseconds, above which the snapshot reduces its read rates. "
+                    + "Requires the cql-requests session metric to be enabled in the driver configuration. Defaults to 0, i.e. disabled.");
+
     public static final int DEFAULT_HTTP_PORT = 8000;
     public static final Field HTTP_PORT = Field.create("http.port")
             .withType(Type.INT).withDefault(DEFAULT_HTTP_PORT)
@@ -150,6 +450,35 @@ public class CassandraConnectorConfig extends CommonConnectorConfig {
             .withDefault(DEFAULT_COMMIT_LOG_ERROR_REPROCESSING_ENABLED)
             .withDescription("Determines whether or not the CommitLogProcessor should re-process error commitLogFiles.");
 
+    /**
+     * If enabled, mutations of a commit log segment are read as soon as Cassandra syncs them, as reported by
+     * the offset in the segment's _cdc.idx file, instead of reading the segment once it is marked as completed.
+     */
+    public static final boolean DEFAULT_COMMIT_LOG_REAL_TIME_PROCESSING_ENABLED = false;
+    public static final Field COMMIT_LOG_REAL_TIME_PROCESSING_ENABLED = Field.create("commit.log.real.time.processing.enabled")
+            .withType(Type.BOOLEAN)
+            .withDefault(DEFAULT_COMMIT_LOG_REAL_TIME_PROCESSING_ENABLED)
+            .withDescription("Determines whether or not the CommitLogProcessor should read commit logs while they are still being written.");
+
+    /**
+     * If enabled, a commit log is only relocated once all records read from it have been acknowledged by Kafka,
+     * instead of when an EOF event enqueued after its records is processed.
+     */
+    public static final boolean DEFAULT_COMMIT_LOG_COMPLETION_TRACKING_ENABLED = false;
+    public static final Field COMMIT_LOG_COMPLETION_TRACKING_ENABLED = Field.create("commit.log.completion.tracking.enabled")
+            .withType(Type.BOOLEAN)
+            .withDefault(DEFAULT_COMMIT_LOG_COMPLETION_TRACKING_ENABLED)
+            .withDescription("Determines whether or not commit logs are relocated only after all of their records have been acknowledged. "
+                    + "Required when change events are routed by partition token.");
+
+    public static final int DEFAULT_COMMIT_LOG_MARKED_COMPLETE_POLL_INTERVAL_MS = 10_000;
+    public static final Field COMMIT_LOG_MARKED_COMPLETE_POLL_INTERVAL_MS = Field.create("commit.log.marked.complete.poll.interval.ms")
+            .withType(Type.INT)
+            .withDefault(DEFAULT_COMMIT_LOG_MARKED_COMPLETE_POLL_INTERVAL_MS)
+            .withValidation(Field::isPositiveInteger)
+            .withDescription(
+                    "The amount of time to wait before re-reading the _cdc.idx file of a commit log which is not completed yet, given in milliseconds. Defaults to 10 seconds (10,000 ms).");
+
     /**
      * The fully qualified {@link CommitLogTransfer} class used to transfer commit logs.
      * The default option will delete all commit log files after processing (successful or otherwise).
@@ -167,6 +496,36 @@ public class CassandraConnectorConfig extends CommonConnectorConfig {
             .withValidation(Field::isRequired)
             .withDescription("The directory which is used to store offset tracking files.");
 
+    /**
+     * Must be one of 'FILE' or 'JOURNAL'. The default backing store is 'FILE'.
+     * See {@link OffsetBackingStore for details}.
+     */
+    public static final String DEFAULT_OFFSET_BACKING_STORE = "FILE";
+    public static final Field OFFSET_BACKING_STORE = Field.create("offset.backing.store")
+            .withType(Type.STRING)
+            .withDefault(DEFAULT_OFFSET_BACKING_STORE)
+            .withDescription("Specifies how offsets are stored in the offset backing store directory, either in property files "
+                    + "which are rewritten on every flush or in an append-only memory-mapped journal.");
+
+    /**
+     * Must be one of 'NEVER', 'FLUSH' or 'ALWAYS'. The default policy is 'FLUSH'.
+     * See {@link OffsetJournalFsyncPolicy for details}.
+     */
+    public static final String DEFAULT_OFFSET_JOURNAL_FSYNC_POLICY = "FLUSH";
+    public static final Field OFFSET_JOURNAL_FSYNC_POLICY = Field.create("offset.journal.fsync.policy")
+            .withType(Type.STRING)
+            .withDefault(DEFAULT_OFFSET_JOURNAL_FSYNC_POLICY)
+            .withDescription("Specifies when the offset journal is synced to disk, either never, whenever offsets are flushed "
+                    + "or after every offset appended. Only used if offset.backing.store is 'JOURNAL'.");
+
+    public static final int DEFAULT_OFFSET_JOURNAL_SIZE_BYTES = 1024 * 1024;
+    public static final Field OFFSET_JOURNAL_SIZE_BYTES = Field.create("offset.journal.size.bytes")
+            .withType(Type.INT)
+            .withDefault(DEFAULT_OFFSET_JOURNAL_SIZE_BYTES)
+            .withValidation(Field::isPositiveInteger)
+            .withDescription("The minimum size of the memory-mapped offset journal, given in bytes. The journal grows beyond it "
+                    + "if the latest offsets of all tables take up more than half of it. Defaults to 1 MiB.");
+
     /**
      * The default value of 0 implies the offset will be flushed every time.
      */
@@ -221,6 +580,61 @@ public class CassandraConnectorConfig extends CommonConnectorConfig {
             .withDescription(
                     "The number of change event queues and queue processors.");
 
+    /**
+     * Must be one of 'COMMIT_LOG' or 'PARTITION_TOKEN'. The default routing is 'COMMIT_LOG'.
+     * See {@link ChangeEventQueueRouting for details}.
+     */
+    public static final String DEFAULT_CHANGE_EVENT_QUEUE_ROUTING = "COMMIT_LOG";
+    public static final Field CHANGE_EVENT_QUEUE_ROUTING = Field.create("change.event.queue.routing")
+            .withType(Type.STRING)
+            .withDefault(DEFAULT_CHANGE_EVENT_QUEUE_ROUTING)
+            .withValidation(CassandraConnectorConfig::validateChangeEventQueueRouting)
+            .withDescription("Specifies how change events are distributed across the change event queues, "
+                    + "either by commit log (or snapshotted table) or by the token of their partition key. "
+                    + "Routing by partition token requires 'commit.log.completion.tracking.enabled' to be enabled.");
+
+    /**
+     * Must be one of 'DEFAULT' or 'RING_BUFFER'. The default type is 'DEFAULT'.
+     * See {@link ChangeEventQueueType for details}.
+     */
+    public static final String DEFAULT_CHANGE_EVENT_QUEUE_TYPE = "DEFAULT";
+    public static final Field CHANGE_EVENT_QUEUE_TYPE = Field.create("change.event.queue.type")
+            .withType(Type.STRING)
+            .withDefault(DEFAULT_CHANGE_EVENT_QUEUE_TYPE)
+            .withDescription("Specifies the implementation of the change event queues, either Debezium's change event queue "
+                    + "or a lock-free ring buffer whose latency is not bound to the poll interval.");
+
+    /**
+     * Must be one of 'BUSY_SPIN', 'YIELD' or 'PARK'. The default strategy is 'PARK'.
+     * See {@link ChangeEventQueueWaitStrategy for details}.
+     */
+    public static final String DEFAULT_CHANGE_EVENT_QUEUE_WAIT_STRATEGY = "PARK";
+    public static final Field CHANGE_EVENT_QUEUE_WAIT_STRATEGY = Field.create("change.event.queue.wait.strategy")
+            .withType(Type.STRING)
+            .withDefault(DEFAULT_CHANGE_EVENT_QUEUE_WAIT_STRATEGY)
+            .withDescription("Specifies how the producers and the consumer of a ring buffer change event queue wait for it, "
+                    + "either by spinning, by yielding or by parking the thread. Only applies to the 'RING_BUFFER' queue type.");
+
+    /**
+     * Whether the snapshot and the commit log processing are restricted to the token ranges the local node is the
+     * primary replica of. See {@link PrimaryTokenRanges}.
+     */
+    public static final boolean DEFAULT_PRIMARY_RANGES_ONLY = false;
+    public static final Field PRIMARY_RANGES_ONLY = Field.create("primary.ranges.only")
+            .withType(Type.BOOLEAN)
+            .withDefault(DEFAULT_PRIMARY_RANGES_ONLY)
+            .withDescription("Whether only the partitions whose tokens are within the primary token ranges of the local node are "
+                    + "snapshotted and read from commit logs, so that each change is emitted by a single node of the cluster "
+                    + "instead of by every replica. Defaults to false.");
+
+    public static final int DEFAULT_COMMIT_LOG_PROCESSING_THREADS = 1;
+    public static final Field COMMIT_LOG_PROCESSING_THREADS = Field.create("commit.log.processing.threads")
+            .withType(Type.INT)
+            .withDefault(DEFAULT_COMMIT_LOG_PROCESSING_THREADS)
+            .withValidation(Field::isPositiveInteger)
+            .withDescription(
+                    "The number of commit log segments which are read concurrently. Change events are still enqueued in the order of the segments. Defaults to 1.");
+
     /**
      * A comma-separated list of fully-qualified names of fields that should be excluded from change event message values.
      * Fully-qualified names for fields are in the form {@code <keyspace_name>.<field_name>.<nested_field_name>}.
@@ -257,10 +671,26 @@ public class CassandraConnectorConfig extends CommonConnectorConfig {
     protected static final int DEFAULT_SNAPSHOT_FETCH_SIZE = 0;
 
     public static List<Field> validationFieldList = new ArrayList<>(
-            Arrays.asList(OFFSET_BACKING_STORE_DIR, COMMIT_LOG_RELOCATION_DIR, SCHEMA_POLL_INTERVAL_MS, SNAPSHOT_POLL_INTERVAL_MS));
+            Arrays.asList(OFFSET_BACKING_STORE_DIR, COMMIT_LOG_RELOCATION_DIR, SCHEMA_POLL_INTERVAL_MS, SNAPSHOT_POLL_INTERVAL_MS,
+                    CHANGE_EVENT_QUEUE_ROUTING));
 
     public static Field.Set VALIDATION_FIELDS = Field.setOf(validationFieldList);
 
+    /**
+     * The records of a commit log segment are spread over several queues when routed by partition token, so the
+     * segment may only be relocated once all of them have been acknowledged rather than on the EOF event of one queue.
+     */
+    private static int validateChangeEventQueueRouting(Configuration config, Field field, Field.ValidationOutput problems) {
+        String routing = config.getString(field);
+        if (ChangeEventQueueRouting.fromText(routing).orElse(null) == ChangeEventQueueRouting.PARTITION_TOKEN
+                && !config.getBoolean(COMMIT_LOG_COMPLETION_TRACKING_ENABLED)) {
+            problems.accept(field, routing, "Routing change events by partition token requires "
+                    + COMMIT_LOG_COMPLETION_TRACKING_ENABLED.name() + " to be enabled");
+            return 1;
+        }
+        return 0;
+    }
+
     public CassandraConnectorConfig(Configuration config) {
         super(config, config.getString(CONNECTOR_NAME), DEFAULT_SNAPSHOT_FETCH_SIZE);
     }
@@ -318,6 +748,36 @@ public class CassandraConnectorConfig extends CommonConnectorConfig {
         return DefaultConsistencyLevel.valueOf(cl);
     }
 
+    public SnapshotEngine snapshotEngine() {
+        String engine = this.getConfig().getString(SNAPSHOT_ENGINE);
+        Optional<SnapshotEngine> snapshotEngineOpt = SnapshotEngine.fromText(engine);
+        return snapshotEngineOpt.orElseThrow(() -> new CassandraConnectorConfigException(engine + " is not a valid SnapshotEngine"));
+    }
+
+    public String snapshotSSTableTag() {
+        return this.getConfig().getString(SNAPSHOT_SSTABLE_TAG);
+    }
+
+    public int snapshotTokenRangeSplits() {
+        return this.getConfig().getInteger(SNAPSHOT_TOKEN_RANGE_SPLITS);
+    }
+
+    public int snapshotTokenRangeThreads() {
+        return this.getConfig().getInteger(SNAPSHOT_TOKEN_RANGE_THREADS);
+    }
+
+    public int snapshotTableThreads() {
+        return this.getConfig().getInteger(SNAPSHOT_TABLE_THREADS);
+    }
+
+    public int snapshotPageSize() {
+        return this.getConfig().getInteger(SNAPSHOT_PAGE_SIZE);
+    }
+
+    public int snapshotPagePrefetch() {
+        return this.getConfig().getInteger(SNAPSHOT_PAGE_PREFETCH);
+    }
+
     public int httpPort() {
         return this.getConfig().getInteger(HTTP_PORT);
     }
@@ -338,6 +798,19 @@ public class CassandraConnectorConfig extends CommonConnectorConfig {
         return this.getConfig().getBoolean(COMMIT_LOG_ERROR_REPROCESSING_ENABLED);
     }
 
+    public boolean commitLogRealTimeProcessingEnabled() {
+        return this.getConfig().getBoolean(COMMIT_LOG_REAL_TIME_PROCESSING_ENABLED);
+    }
+
+    public boolean commitLogCompletionTrackingEnabled() {
+        return this.getConfig().getBoolean(COMMIT_LOG_COMPLETION_TRACKING_ENABLED);
+    }
+
+    public Duration commitLogMarkedCompletePollInterval() {
+        int ms = this.getConfig().getInteger(COMMIT_LOG_MARKED_COMPLETE_POLL_INTERVAL_MS);
+        return Duration.ofMillis(ms);
+    }
+
     public CommitLogTransfer getCommitLogTransfer() {
         try {
             String clazz = this.getConfig().getString(COMMIT_LOG_TRANSFER_CLASS);
@@ -354,6 +827,22 @@ public class CassandraConnectorConfig extends CommonConnectorConfig {
         return this.getConfig().getString(OFFSET_BACKING_STORE_DIR);
     }
 
+    public OffsetBackingStore offsetBackingStore() {
+        String store = this.getConfig().getString(OFFSET_BACKING_STORE);
+        Optional<OffsetBackingStore> storeOpt = OffsetBackingStore.fromText(store);
+        return storeOpt.orElseThrow(() -> new CassandraConnectorConfigException(store + " is not a valid OffsetBackingStore"));
+    }
+
+    public OffsetJournalFsyncPolicy offsetJournalFsyncPolicy() {
+        String policy = this.getConfig().getString(OFFSET_JOURNAL_FSYNC_POLICY);
+        Optional<OffsetJournalFsyncPolicy> policyOpt = OffsetJournalFsyncPolicy.fromText(policy);
+        return policyOpt.orElseThrow(() -> new CassandraConnectorConfigException(policy + " is not a valid OffsetJournalFsyncPolicy"));
+    }
+
+    public int offsetJournalSizeBytes() {
+        return this.getConfig().getInteger(OFFSET_JOURNAL_SIZE_BYTES);
+    }
+
     public Duration offsetFlushIntervalMs() {
         int ms = this.getConfig().getInteger(OFFSET_FLUSH_INTERVAL_MS);
         return Duration.ofMillis(ms);
@@ -408,6 +897,32 @@ public class CassandraConnectorConfig extends CommonConnectorConfig {
         return this.getConfig().getInteger(NUM_OF_CHANGE_EVENT_QUEUES);
     }
 
+    public ChangeEventQueueRouting changeEventQueueRouting() {
+        String routing = this.getConfig().getString(CHANGE_EVENT_QUEUE_ROUTING);
+        Optional<ChangeEventQueueRouting> routingOpt = ChangeEventQueueRouting.fromText(routing);
+        return routingOpt.orElseThrow(() -> new CassandraConnectorConfigException(routing + " is not a valid ChangeEventQueueRouting"));
+    }
+
+    public ChangeEventQueueType changeEventQueueType() {
+        String type = this.getConfig().getString(CHANGE_EVENT_QUEUE_TYPE);
+        Optional<ChangeEventQueueType> typeOpt = ChangeEventQueueType.fromText(type);
+        return typeOpt.orElseThrow(() -> new CassandraConnectorConfigException(type + " is not a valid ChangeEventQueueType"));
+    }
+
+    public ChangeEventQueueWaitStrategy changeEventQueueWaitStrategy() {
+        String strategy = this.getConfig().getString(CHANGE_EVENT_QUEUE_WAIT_STRATEGY);
+        Optional<ChangeEventQueueWaitStrategy> strategyOpt = ChangeEventQueueWaitStrategy.fromText(strategy);
+        return strategyOpt.orElseThrow(() -> new CassandraConnectorConfigException(strategy + " is not a valid ChangeEventQueueWaitStrategy"));
+    }
+
+    public boolean primaryRangesOnly() {
+        return this.getConfig().getBoolean(PRIMARY_RANGES_ONLY);
+    }
+
+    public int commitLogProcessingThreads() {
+        return this.getConfig().getInteger(COMMIT_LOG_PROCESSING_THREADS);
+    }
+
     public List<String> fieldExcludeList() {
         String fieldExcludeList = this.getConfig().getString(FIELD_EXCLUDE_LIST);
         if (fieldExcludeList == null) {
@@ -416,6 +931,63 @@ public class CassandraConnectorConfig extends CommonConnectorConfig {
         return Arrays.asList(fieldExcludeList.split(","));
     }
 
+    public List<String> snapshotColumnIncludeList() {
+        String snapshotColumnIncludeList = this.getConfig().getString(SNAPSHOT_COLUMN_INCLUDE_LIST);
+        if (snapshotColumnIncludeList == null) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(snapshotColumnIncludeList.split(","));
+    }
+
+    public List<String> snapshotTtlExcludeList() {
+        String snapshotTtlExcludeList = this.getConfig().getString(SNAPSHOT_TTL_EXCLUDE_LIST);
+        if (snapshotTtlExcludeList == null) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(snapshotTtlExcludeList.split(","));
+    }
+
+    public long snapshotMaxRowsPerSecond() {
+        return this.getConfig().getLong(SNAPSHOT_MAX_ROWS_PER_SECOND);
+    }
+
+    public long snapshotMaxBytesPerSecond() {
+        return this.getConfig().getLong(SNAPSHOT_MAX_BYTES_PER_SECOND);
+    }
+
+    public Map<String, Long> snapshotTableMaxRowsPerSecond() {
+        return tableLimits(SNAPSHOT_TABLE_MAX_ROWS_PER_SECOND);
+    }
+
+    public Map<String, Long> snapshotTableMaxBytesPerSecond() {
+        return tableLimits(SNAPSHOT_TABLE_MAX_BYTES_PER_SECOND);
+    }
+
+    public int snapshotLatencyThresholdMs() {
+        return this.getConfig().getInteger(SNAPSHOT_LATENCY_THRESHOLD_MS);
+    }
+
+    private Map<String, Long> tableLimits(Field field) {
+        String tableLimits = this.getConfig().getString(field);
+        if (tableLimits == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, Long> limits = new HashMap<>();
+        for (String tableLimit : tableLimits.split(",")) {
+            int separator = tableLimit.lastIndexOf(':');
+            if (separator < 0) {
+                throw new CassandraConnectorConfigException(tableLimit + " is not a valid limit of " + field.name());
+            }
+            try {
+                limits.put(tableLimit.substring(0, separator).trim(), Long.parseLong(tableLimit.substring(separator + 1).trim()));
+            }
+            catch (NumberFormatException e) {
+                throw new CassandraConnectorConfigException(tableLimit + " is not a valid limit of " + field.name());
+            }
+        }
+        return limits;
+    }
+
     /**
      * Whether deletion events should have a subsequent tombstone event (true) or not (false).
      * It's important to note that in Cassandra, two events with the same key may be updating
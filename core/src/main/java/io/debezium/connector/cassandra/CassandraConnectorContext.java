@@ -13,7 +13,6 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
 
-import io.debezium.connector.base.ChangeEventQueue;
 import io.debezium.connector.cassandra.exceptions.CassandraConnectorTaskException;
 import io.debezium.connector.common.CdcSourceTaskContext;
 
@@ -24,17 +23,22 @@ import io.debezium.connector.common.CdcSourceTaskContext;
 public class CassandraConnectorContext extends CdcSourceTaskContext {
     private final CassandraConnectorConfig config;
     private CassandraClient cassandraClient;
-    private final List<ChangeEventQueue<Event>> queues = new ArrayList<>();
+    private final List<EventQueue> queues = new ArrayList<>();
+    private ChangeEventQueueRouter queueRouter;
+    private PrimaryTokenRanges primaryTokenRanges = PrimaryTokenRanges.ALL;
     private KafkaProducer kafkaProducer;
     private SchemaHolder schemaHolder;
     private OffsetWriter offsetWriter;
     // Create a HashSet to record names of CommitLog Files which are not successfully read or streamed.
     private Set<String> erroneousCommitLogs = ConcurrentHashMap.newKeySet();
+    private final CommitLogSegmentTracker segmentTracker;
+    private final OffsetWatermarks offsetWatermarks = new OffsetWatermarks();
     private AbstractSchemaChangeListener schemaChangeListener;
 
     public CassandraConnectorContext(CassandraConnectorConfig config) {
         super(config.getContextName(), config.getLogicalName(), Collections::emptySet);
         this.config = config;
+        this.segmentTracker = new CommitLogSegmentTracker(config.commitLogRelocationDir(), erroneousCommitLogs);
         prepareQueues();
     }
 
@@ -43,6 +47,7 @@ public class CassandraConnectorContext extends CdcSourceTaskContext {
                                      SchemaChangeListenerProvider schemaChangeListenerProvider) {
         super(config.getContextName(), config.getLogicalName(), Collections::emptySet);
         this.config = config;
+        this.segmentTracker = new CommitLogSegmentTracker(config.commitLogRelocationDir(), erroneousCommitLogs);
 
         try {
             prepareQueues();
@@ -54,6 +59,7 @@ public class CassandraConnectorContext extends CdcSourceTaskContext {
 
             // Setting up Cassandra driver
             this.cassandraClient = new CassandraClient(config.cassandraDriverConfig(), schemaChangeListener);
+            this.primaryTokenRanges = config.primaryRangesOnly() ? new PrimaryTokenRanges(cassandraClient) : PrimaryTokenRanges.ALL;
 
             // Creating Kafka Producer
             this.kafkaProducer = new KafkaProducer(this.config.getKafkaConfigs());
@@ -62,7 +68,13 @@ public class CassandraConnectorContext extends CdcSourceTaskContext {
             this.schemaHolder = schemaChangeListener.getSchemaHolder();
 
             // Setting up a file-based offset manager ...
-            this.offsetWriter = new FileOffsetWriter(this.config.offsetBackingStoreDir());
+            if (this.config.offsetBackingStore() == CassandraConnectorConfig.OffsetBackingStore.JOURNAL) {
+                this.offsetWriter = new JournalOffsetWriter(this.config.offsetBackingStoreDir(), this.config.offsetJournalSizeBytes(),
+                        this.config.offsetJournalFsyncPolicy());
+            }
+            else {
+                this.offsetWriter = new FileOffsetWriter(this.config.offsetBackingStoreDir());
+            }
         }
         catch (Exception e) {
             // Clean up CassandraClient and FileOffsetWrite if connector context fails to be completely initialized.
@@ -74,14 +86,10 @@ public class CassandraConnectorContext extends CdcSourceTaskContext {
     private void prepareQueues() {
         int numOfChangeEventQueues = this.config.numOfChangeEventQueues();
         for (int i = 0; i < numOfChangeEventQueues; i++) {
-            ChangeEventQueue<Event> queue = new ChangeEventQueue.Builder<Event>()
-                    .pollInterval(this.config.pollInterval())
-                    .maxBatchSize(this.config.maxBatchSize())
-                    .maxQueueSize(this.config.maxQueueSize())
-                    .loggingContextSupplier(() -> this.configureLoggingContext(this.config.getContextName()))
-                    .build();
-            queues.add(queue);
+            // records are given their sequence numbers in the order they are enqueued, across all queues
+            queues.add(offsetWatermarks.track(EventQueue.create(this, this.config)));
         }
+        queueRouter = new ChangeEventQueueRouter(queues, this.config.changeEventQueueRouting());
     }
 
     public void cleanUp() {
@@ -101,10 +109,18 @@ public class CassandraConnectorContext extends CdcSourceTaskContext {
         return cassandraClient;
     }
 
-    public List<ChangeEventQueue<Event>> getQueues() {
+    public List<EventQueue> getQueues() {
         return queues;
     }
 
+    public PrimaryTokenRanges getPrimaryTokenRanges() {
+        return primaryTokenRanges;
+    }
+
+    public ChangeEventQueueRouter getQueueRouter() {
+        return queueRouter;
+    }
+
     public KafkaProducer getKafkaProducer() {
         return kafkaProducer;
     }
@@ -120,4 +136,12 @@ public class CassandraConnectorContext extends CdcSourceTaskContext {
     public Set<String> getErroneousCommitLogs() {
         return erroneousCommitLogs;
     }
+
+    public CommitLogSegmentTracker getSegmentTracker() {
+        return segmentTracker;
+    }
+
+    public OffsetWatermarks getOffsetWatermarks() {
+        return offsetWatermarks;
+    }
 }
@@ -32,7 +32,6 @@ import com.codahale.metrics.servlets.MetricsServlet;
 import com.codahale.metrics.servlets.PingServlet;
 
 import io.debezium.config.Configuration;
-import io.debezium.connector.base.ChangeEventQueue;
 import io.debezium.connector.cassandra.exceptions.CassandraConnectorConfigException;
 import io.debezium.connector.cassandra.exceptions.CassandraConnectorTaskException;
 import io.debezium.connector.cassandra.network.BuildInfoServlet;
@@ -138,8 +137,11 @@ public class CassandraConnectorTaskTemplate {
                 processorGroup.addProcessor(processor);
             }
 
-            processorGroup.addProcessor(new SnapshotProcessor(taskContext));
-            List<ChangeEventQueue<Event>> queues = taskContext.getQueues();
+            // the SSTABLE snapshot engine is provided by the Cassandra specific processors
+            if (taskContext.getCassandraConnectorConfig().snapshotEngine() == CassandraConnectorConfig.SnapshotEngine.CQL) {
+                processorGroup.addProcessor(new SnapshotProcessor(taskContext));
+            }
+            List<EventQueue> queues = taskContext.getQueues();
             for (int i = 0; i < queues.size(); i++) {
                 processorGroup.addProcessor(new QueueProcessor(taskContext, i));
             }
@@ -47,7 +47,7 @@ public class CellData implements KafkaRecord {
     public static final String CELL_SET_KEY = "set";
 
     public final String name;
-    public final Object value;
+    private final Object value;
     public final Object deletionTs;
     public final ColumnType columnType;
 
@@ -58,12 +58,20 @@ public class CellData implements KafkaRecord {
         this.columnType = columnType;
     }
 
+    /**
+     * @return the deserialized value of the cell
+     */
+    public Object getValue() {
+        return value;
+    }
+
     public boolean isPrimary() {
         return columnType == ColumnType.PARTITION || columnType == ColumnType.CLUSTERING;
     }
 
     @Override
     public Struct record(Schema schema) {
+        Object value = getValue();
         try {
             return new Struct(schema)
                     .put(CELL_DELETION_TS_KEY, deletionTs)
@@ -95,26 +103,26 @@ public class CellData implements KafkaRecord {
         if (this == o) {
             return true;
         }
-        if (o == null || getClass() != o.getClass()) {
+        if (!(o instanceof CellData)) {
             return false;
         }
         CellData that = (CellData) o;
         return Objects.equals(name, that.name)
-                && Objects.equals(value, that.value)
+                && Objects.equals(getValue(), that.getValue())
                 && deletionTs == that.deletionTs
                 && columnType == that.columnType;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, value, deletionTs, columnType);
+        return Objects.hash(name, getValue(), deletionTs, columnType);
     }
 
     @Override
     public String toString() {
         return "{"
                 + "name=" + name
-                + ", value=" + value
+                + ", value=" + getValue()
                 + ", deletionTs=" + deletionTs
                 + ", type=" + columnType.name()
                 + '}';
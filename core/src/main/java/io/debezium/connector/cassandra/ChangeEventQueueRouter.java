@@ -0,0 +1,58 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import java.util.List;
+
+import io.debezium.connector.cassandra.CassandraConnectorConfig.ChangeEventQueueRouting;
+
+/**
+ * Picks the {@link EventQueue} an {@link Event} is enqueued to, according to the configured
+ * {@link ChangeEventQueueRouting}.
+ */
+public class ChangeEventQueueRouter {
+
+    private final List<EventQueue> queues;
+    private final ChangeEventQueueRouting routing;
+
+    public ChangeEventQueueRouter(List<EventQueue> queues) {
+        this(queues, ChangeEventQueueRouting.COMMIT_LOG);
+    }
+
+    public ChangeEventQueueRouter(List<EventQueue> queues, ChangeEventQueueRouting routing) {
+        this.queues = queues;
+        this.routing = routing;
+    }
+
+    /**
+     * Returns the queue of the given commit log file or table name, all events routed by the same
+     * name are enqueued to the same queue.
+     */
+    public EventQueue route(String name) {
+        return queues.get(Math.abs(name.hashCode() % queues.size()));
+    }
+
+    /**
+     * Returns the queue for a change of the partition with the given token. Changes of the same partition
+     * are always routed to the same queue. Unless the routing is {@link ChangeEventQueueRouting#PARTITION_TOKEN},
+     * or if the token is unknown, the change is routed by the given commit log file or table name instead.
+     *
+     * @param name the commit log file name or table name the change was read from
+     * @param token the token value of the partition key, i.e. a {@link Long} for the Murmur3 partitioner
+     */
+    public EventQueue route(String name, Object token) {
+        if (routing != ChangeEventQueueRouting.PARTITION_TOKEN || token == null) {
+            return route(name);
+        }
+        // Murmur3 tokens are uniformly distributed over the whole long range already
+        long value = token instanceof Long ? (Long) token : token.hashCode();
+        return queues.get((int) Math.floorMod(value, (long) queues.size()));
+    }
+
+    public ChangeEventQueueRouting getRouting() {
+        return routing;
+    }
+}
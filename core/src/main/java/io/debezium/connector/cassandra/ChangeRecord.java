@@ -16,6 +16,10 @@ public class ChangeRecord extends Record {
         super(source, rowData, keySchema, valueSchema, op, markOffset, System.currentTimeMillis());
     }
 
+    public ChangeRecord(SourceInfo source, RowData rowData, Schema keySchema, Schema valueSchema, Operation op, boolean markOffset, String offsetKey) {
+        super(source, rowData, keySchema, valueSchema, op, markOffset, offsetKey, System.currentTimeMillis());
+    }
+
     @Override
     public EventType getEventType() {
         return EventType.CHANGE_EVENT;
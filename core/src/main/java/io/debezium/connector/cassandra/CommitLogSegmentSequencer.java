@@ -0,0 +1,114 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@link CommitLogSegmentSequencer} allows commit log segments to be read concurrently while their
+ * events are still enqueued to the {@link EventQueue}s in segment order.
+ * <p>
+ * Each segment is registered in the order in which it has to be released and gets a bounded buffer the
+ * reading thread dispatches its events into. A single releasing thread calling {@link #releaseNext()}
+ * moves the buffered events of the oldest registered segment to their target queues until that segment
+ * is sealed, and only then moves on to the next segment. Readers of later segments block once their
+ * buffer is full, which bounds the amount of memory used by segments that are read ahead.
+ */
+public class CommitLogSegmentSequencer {
+
+    private final BlockingQueue<Segment> segments = new LinkedBlockingQueue<>();
+    private final AtomicInteger pendingSegments = new AtomicInteger();
+    private final int segmentBufferSize;
+
+    public CommitLogSegmentSequencer(int segmentBufferSize) {
+        this.segmentBufferSize = segmentBufferSize;
+    }
+
+    /**
+     * Registers a segment, its events are released after the events of all previously registered segments.
+     */
+    public Segment register(String segmentName) {
+        Segment segment = new Segment(segmentName, segmentBufferSize);
+        pendingSegments.incrementAndGet();
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * Blocks until a segment is registered and releases all of its events to their target queues,
+     * returning once the segment has been sealed and fully released.
+     */
+    public void releaseNext() throws InterruptedException {
+        Segment segment = segments.take();
+        StagedEvent stagedEvent;
+        while ((stagedEvent = segment.buffer.take()) != StagedEvent.END_OF_SEGMENT) {
+            stagedEvent.queue.enqueue(stagedEvent.event);
+        }
+        pendingSegments.decrementAndGet();
+    }
+
+    /**
+     * @return the number of registered segments which have not been fully released yet, including the segment
+     * currently being released
+     */
+    public int pendingSegments() {
+        return pendingSegments.get();
+    }
+
+    /**
+     * A registered segment, used as the {@link EventDispatcher} of the thread reading the segment.
+     */
+    public static class Segment implements EventDispatcher {
+        private final String name;
+        private final BlockingQueue<StagedEvent> buffer;
+        private boolean sealed = false;
+
+        private Segment(String name, int bufferSize) {
+            this.name = name;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        @Override
+        public void dispatch(EventQueue queue, Event event) throws InterruptedException {
+            if (sealed) {
+                throw new IllegalStateException("Segment " + name + " has already been sealed");
+            }
+            buffer.put(new StagedEvent(queue, event));
+        }
+
+        /**
+         * Marks the end of the events of this segment, needs to be called by the reading thread
+         * regardless of whether the segment has been read successfully.
+         */
+        @Override
+        public void seal() throws InterruptedException {
+            if (!sealed) {
+                sealed = true;
+                buffer.put(StagedEvent.END_OF_SEGMENT);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Segment{name=" + name + ", buffered=" + buffer.size() + ", sealed=" + sealed + '}';
+        }
+    }
+
+    private static class StagedEvent {
+        private static final StagedEvent END_OF_SEGMENT = new StagedEvent(null, null);
+
+        private final EventQueue queue;
+        private final Event event;
+
+        private StagedEvent(EventQueue queue, Event event) {
+            this.queue = queue;
+            this.event = event;
+        }
+    }
+}
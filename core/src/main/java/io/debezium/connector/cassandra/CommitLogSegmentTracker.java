@@ -0,0 +1,125 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link CommitLogSegmentTracker} counts the records dispatched from each commit log segment until they have
+ * been acknowledged by Kafka. A segment is relocated to the archive folder, or to the error folder if it is erroneous,
+ * only once it has been read completely and the last of its records has been acknowledged.
+ * <p>
+ * This replaces the {@link EOFEvent}, which relies on all records of a segment being emitted through the same queue
+ * and does not wait for the records in front of it to be acknowledged.
+ */
+public class CommitLogSegmentTracker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommitLogSegmentTracker.class);
+
+    private final ConcurrentMap<String, Segment> segments = new ConcurrentHashMap<>();
+    private final String commitLogRelocationDir;
+    private final Set<String> erroneousCommitLogs;
+
+    public CommitLogSegmentTracker(String commitLogRelocationDir, Set<String> erroneousCommitLogs) {
+        this.commitLogRelocationDir = commitLogRelocationDir;
+        this.erroneousCommitLogs = erroneousCommitLogs;
+    }
+
+    /**
+     * Wraps the given dispatcher so that each commit log record dispatched through it is counted against its segment.
+     */
+    public EventDispatcher track(EventDispatcher dispatcher) {
+        return new EventDispatcher() {
+            @Override
+            public void dispatch(EventQueue queue, Event event) throws InterruptedException {
+                if (event instanceof Record) {
+                    recordDispatched((Record) event);
+                }
+                dispatcher.dispatch(queue, event);
+            }
+
+            @Override
+            public void seal() throws InterruptedException {
+                dispatcher.seal();
+            }
+        };
+    }
+
+    /**
+     * Counts a record against the segment it has been read from, needs to be called before the record is enqueued.
+     */
+    public void recordDispatched(Record record) {
+        if (!record.getSource().snapshot) {
+            segments.computeIfAbsent(record.getSource().offsetPosition.fileName, Segment::new).pending.incrementAndGet();
+        }
+    }
+
+    /**
+     * Marks a record as acknowledged, or as failed, and relocates its segment if it was the last pending record
+     * of a segment which has been read completely.
+     */
+    public void recordAcknowledged(Record record) {
+        if (record.getSource().snapshot) {
+            return;
+        }
+        Segment segment = segments.get(record.getSource().offsetPosition.fileName);
+        if (segment != null && segment.pending.decrementAndGet() == 0 && segment.file != null) {
+            relocate(segment);
+        }
+    }
+
+    /**
+     * Marks a segment as read completely (successfully or not), relocating it straight away if none of its
+     * records are pending acknowledgement.
+     */
+    public void segmentRead(File file) {
+        Segment segment = segments.computeIfAbsent(file.getName(), Segment::new);
+        segment.file = file;
+        if (segment.pending.get() == 0) {
+            relocate(segment);
+        }
+    }
+
+    /**
+     * @return the number of records which have been dispatched from the given segment but not acknowledged yet
+     */
+    public long pendingRecords(String fileName) {
+        Segment segment = segments.get(fileName);
+        return segment == null ? 0 : segment.pending.get();
+    }
+
+    private void relocate(Segment segment) {
+        // both the reading and the acknowledging thread may get here, only one of them relocates the segment
+        if (!segments.remove(segment.name, segment)) {
+            return;
+        }
+        String folder = erroneousCommitLogs.contains(segment.name) ? QueueProcessor.ERROR_FOLDER : QueueProcessor.ARCHIVE_FOLDER;
+        LOGGER.info("All records of {} have been acknowledged, moving it to {}", segment.name, folder);
+        try {
+            CommitLogUtil.moveCommitLog(segment.file.getAbsoluteFile().toPath(), Paths.get(commitLogRelocationDir, folder));
+        }
+        catch (Exception e) {
+            LOGGER.error("Failed to relocate commit log {}", segment.name, e);
+        }
+    }
+
+    private static class Segment {
+        private final String name;
+        private final AtomicLong pending = new AtomicLong();
+        private volatile File file;
+
+        private Segment(String name) {
+            this.name = name;
+        }
+    }
+}
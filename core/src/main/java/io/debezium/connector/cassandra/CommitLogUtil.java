@@ -156,6 +156,13 @@ public final class CommitLogUtil {
         return Long.compare(ts1, ts2);
     }
 
+    /**
+     * Returns the segment id of a commit log provided its file name.
+     */
+    public static long extractSegmentId(String commitLogFileName) {
+        return extractTimestamp(commitLogFileName, FILENAME_REGEX_PATTERN);
+    }
+
     private static long extractTimestamp(String commitLogFileName, Pattern pattern) {
         Matcher filenameMatcher = pattern.matcher(commitLogFileName);
         if (!filenameMatcher.matches()) {
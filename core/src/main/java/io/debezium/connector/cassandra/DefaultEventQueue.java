@@ -0,0 +1,47 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import java.util.List;
+
+import io.debezium.connector.base.ChangeEventQueue;
+
+/**
+ * An {@link EventQueue} backed by Debezium's {@link ChangeEventQueue}.
+ */
+public class DefaultEventQueue implements EventQueue {
+
+    private final ChangeEventQueue<Event> queue;
+
+    public DefaultEventQueue(CassandraConnectorContext context, CassandraConnectorConfig config) {
+        this.queue = new ChangeEventQueue.Builder<Event>()
+                .pollInterval(config.pollInterval())
+                .maxBatchSize(config.maxBatchSize())
+                .maxQueueSize(config.maxQueueSize())
+                .loggingContextSupplier(() -> context.configureLoggingContext(config.getContextName()))
+                .build();
+    }
+
+    @Override
+    public void enqueue(Event event) throws InterruptedException {
+        queue.enqueue(event);
+    }
+
+    @Override
+    public List<Event> poll() throws InterruptedException {
+        return queue.poll();
+    }
+
+    @Override
+    public int totalCapacity() {
+        return queue.totalCapacity();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+}
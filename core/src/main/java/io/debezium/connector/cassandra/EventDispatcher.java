@@ -0,0 +1,27 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+/**
+ * An EventDispatcher hands an {@link Event} produced by a commit log read handler over to the
+ * {@link EventQueue} it was routed to.
+ */
+@FunctionalInterface
+public interface EventDispatcher {
+
+    /**
+     * Dispatcher which enqueues the event to the target queue straight away.
+     */
+    EventDispatcher DIRECT = EventQueue::enqueue;
+
+    void dispatch(EventQueue queue, Event event) throws InterruptedException;
+
+    /**
+     * Signals that all events of the commit log segment read through this dispatcher have been dispatched.
+     */
+    default void seal() throws InterruptedException {
+    }
+}
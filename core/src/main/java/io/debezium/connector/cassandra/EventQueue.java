@@ -0,0 +1,45 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import java.util.List;
+
+import io.debezium.connector.cassandra.CassandraConnectorConfig.ChangeEventQueueType;
+
+/**
+ * A bounded queue handing the {@link Event}s produced by the commit log and snapshot processors over to a single
+ * {@link QueueProcessor}, implemented according to the configured {@link ChangeEventQueueType}.
+ */
+public interface EventQueue {
+
+    /**
+     * Creates a change event queue of the configured type, capacity and batch size.
+     */
+    static EventQueue create(CassandraConnectorContext context, CassandraConnectorConfig config) {
+        if (config.changeEventQueueType() == ChangeEventQueueType.RING_BUFFER) {
+            return new RingBufferEventQueue(config.maxQueueSize(), config.maxBatchSize(), config.pollInterval(),
+                    config.changeEventQueueWaitStrategy());
+        }
+        return new DefaultEventQueue(context, config);
+    }
+
+    /**
+     * Enqueues an event, blocking while the queue is full.
+     */
+    void enqueue(Event event) throws InterruptedException;
+
+    /**
+     * Removes the next batch of events from the queue, waiting for at most the poll interval while it is empty.
+     * Events are only removed by a single consumer.
+     *
+     * @return the removed events in the order they were enqueued, empty if none was enqueued in time
+     */
+    List<Event> poll() throws InterruptedException;
+
+    int totalCapacity();
+
+    int remainingCapacity();
+}
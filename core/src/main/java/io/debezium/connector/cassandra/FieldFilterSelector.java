@@ -6,7 +6,12 @@
 package io.debezium.connector.cassandra;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * This field filter selector is designed to determine the filter for excluding fields from a table.
@@ -50,6 +55,26 @@ public class FieldFilterSelector {
         }
     }
 
+    /**
+     * Returns the names of the fields excluded from the given table.
+     */
+    public Set<String> selectExcludedFields(KeyspaceTable keyspaceTable) {
+        return fieldsByTable(fieldExcludeList).getOrDefault(keyspaceTable, Collections.emptySet());
+    }
+
+    /**
+     * Groups a list of fully qualified field names, in the form {@code <keyspace_name>.<table_name>.<field_name>},
+     * by their table.
+     */
+    static Map<KeyspaceTable, Set<String>> fieldsByTable(List<String> fullyQualifiedFieldNames) {
+        Map<KeyspaceTable, Set<String>> fieldsByTable = new HashMap<>();
+        for (String fullyQualifiedFieldName : fullyQualifiedFieldNames) {
+            Field field = new Field(fullyQualifiedFieldName);
+            fieldsByTable.computeIfAbsent(field.keyspaceTable, table -> new HashSet<>()).add(field.column);
+        }
+        return fieldsByTable;
+    }
+
     /**
      * Representation of a fully qualified field, which has a {@link KeyspaceTable}
      * and a field name. Nested and repeated fields are not supported right now.
@@ -16,7 +16,11 @@ import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,10 +38,13 @@ import io.debezium.connector.cassandra.exceptions.CassandraConnectorTaskExceptio
  *
  * For snapshots, a table is either fully processed or not processed at all,
  * so offset is given a default value of ":-1" , where the filename is an empty
- * string, and file position is -1.
+ * string, and file position is -1. The offsets of the token ranges of a table
+ * which has been snapshotted in token ranges are removed once the table is.
  *
  * For commit logs, the file_name represents the commit log file name and
- * file position represents bytes read in the commit log.
+ * file position represents bytes read in the commit log. The latest commit log
+ * offset of each table is kept as an in-memory watermark as well, which allows
+ * checking whether an offset has been processed without taking a lock.
  */
 public class FileOffsetWriter implements OffsetWriter {
     private static final Logger LOGGER = LoggerFactory.getLogger(FileOffsetWriter.class);
@@ -47,6 +54,7 @@ public class FileOffsetWriter implements OffsetWriter {
 
     private final Properties snapshotProps = new Properties();
     private final Properties commitLogProps = new Properties();
+    private final ConcurrentMap<String, Watermark> commitLogWatermarks = new ConcurrentHashMap<>();
 
     private final File offsetDir;
 
@@ -70,6 +78,9 @@ public class FileOffsetWriter implements OffsetWriter {
 
         loadOffset(this.snapshotOffsetFile, snapshotProps);
         loadOffset(this.commitLogOffsetFile, commitLogProps);
+        for (String sourceTable : commitLogProps.stringPropertyNames()) {
+            commitLogWatermarks.put(sourceTable, Watermark.parse(commitLogProps.getProperty(sourceTable)));
+        }
     }
 
     @Override
@@ -78,13 +89,16 @@ public class FileOffsetWriter implements OffsetWriter {
             synchronized (snapshotOffsetFileLock) {
                 if (!isOffsetProcessed(sourceTable, sourceOffset, isSnapshot)) {
                     snapshotProps.setProperty(sourceTable, sourceOffset);
+                    snapshotProps.keySet().removeIf(key -> SnapshotProcessor.isTokenRangeKey((String) key, sourceTable));
                 }
             }
         }
         else {
+            Watermark watermark = Watermark.parse(sourceOffset);
             synchronized (commitLogOffsetFileLock) {
-                if (!isOffsetProcessed(sourceTable, sourceOffset, isSnapshot)) {
+                if (!isOffsetProcessed(sourceTable, watermark.segmentId, watermark.position)) {
                     commitLogProps.setProperty(sourceTable, sourceOffset);
+                    commitLogWatermarks.put(sourceTable, watermark);
                 }
             }
         }
@@ -98,14 +112,22 @@ public class FileOffsetWriter implements OffsetWriter {
             }
         }
         else {
-            synchronized (commitLogOffsetFileLock) {
-                OffsetPosition currentOffset = OffsetPosition.parse(sourceOffset);
-                OffsetPosition recordedOffset = commitLogProps.containsKey(sourceTable) ? OffsetPosition.parse((String) commitLogProps.get(sourceTable)) : null;
-                return recordedOffset != null && currentOffset.compareTo(recordedOffset) <= 0;
-            }
+            Watermark currentOffset = Watermark.parse(sourceOffset);
+            return isOffsetProcessed(sourceTable, currentOffset.segmentId, currentOffset.position);
         }
     }
 
+    @Override
+    public boolean isOffsetProcessed(String sourceTable, long segmentId, int position) {
+        Watermark recordedOffset = commitLogWatermarks.get(sourceTable);
+        return recordedOffset != null && recordedOffset.covers(segmentId, position);
+    }
+
+    @Override
+    public int resumePosition(String commitLogFileName, Collection<String> sourceTables) {
+        return resumePosition(commitLogWatermarks, commitLogFileName, sourceTables);
+    }
+
     @Override
     public void flush() {
         try {
@@ -137,6 +159,59 @@ public class FileOffsetWriter implements OffsetWriter {
         }
     }
 
+    /**
+     * Determine the position to resume reading a commit log from, given the commit log watermarks of all tables.
+     * See {@link OffsetWriter#resumePosition(String, Collection)}.
+     */
+    static int resumePosition(Map<String, Watermark> commitLogWatermarks, String commitLogFileName, Collection<String> sourceTables) {
+        if (sourceTables.isEmpty()) {
+            return 0;
+        }
+        long segmentId = CommitLogUtil.extractSegmentId(commitLogFileName);
+        // the records of all tables up to this position have been processed, including the tables which have not
+        // been written to since their own offset, or at all
+        int allTablesPosition = positionIn(commitLogWatermarks.get(ALL_TABLES_OFFSET_KEY), segmentId);
+        int position = Integer.MAX_VALUE;
+        for (String sourceTable : sourceTables) {
+            int tablePosition = positionIn(commitLogWatermarks.get(sourceTable), segmentId);
+            position = Math.min(position, Math.max(tablePosition, allTablesPosition));
+        }
+        return position;
+    }
+
+    /**
+     * @return the position within the given commit log up to which the offset has been processed, which is 0 if the
+     * offset is in an earlier commit log and {@link Integer#MAX_VALUE} if it is in a later one
+     */
+    private static int positionIn(Watermark recordedOffset, long segmentId) {
+        if (recordedOffset == null || recordedOffset.segmentId < segmentId) {
+            return 0;
+        }
+        return recordedOffset.segmentId == segmentId ? recordedOffset.position : Integer.MAX_VALUE;
+    }
+
+    /**
+     * The latest processed commit log offset of a table, replaced as a whole whenever the offset is marked.
+     */
+    static final class Watermark {
+        final long segmentId;
+        final int position;
+
+        private Watermark(long segmentId, int position) {
+            this.segmentId = segmentId;
+            this.position = position;
+        }
+
+        static Watermark parse(String offset) {
+            OffsetPosition offsetPosition = OffsetPosition.parse(offset);
+            return new Watermark(CommitLogUtil.extractSegmentId(offsetPosition.fileName), offsetPosition.filePosition);
+        }
+
+        boolean covers(long segmentId, int position) {
+            return segmentId < this.segmentId || (segmentId == this.segmentId && position <= this.position);
+        }
+    }
+
     private static void saveOffset(File offsetFile, Properties props) throws IOException {
         try (FileOutputStream fos = new FileOutputStream(offsetFile)) {
             props.store(fos, null);
@@ -6,6 +6,7 @@
 package io.debezium.connector.cassandra;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * A utility class that contains various kinds of filters.
@@ -25,4 +26,11 @@ public class Filters {
     public FieldFilterSelector.FieldFilter getFieldFilter(KeyspaceTable table) {
         return fieldFilterSelector.selectFieldFilter(table);
     }
+
+    /**
+     * Get the names of the fields excluded from a given table.
+     */
+    public Set<String> getExcludedFields(KeyspaceTable table) {
+        return fieldFilterSelector.selectExcludedFields(table);
+    }
 }
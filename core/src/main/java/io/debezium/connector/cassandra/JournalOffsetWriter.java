@@ -0,0 +1,528 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.debezium.connector.cassandra.CassandraConnectorConfig.OffsetJournalFsyncPolicy;
+import io.debezium.connector.cassandra.exceptions.CassandraConnectorConfigException;
+import io.debezium.connector.cassandra.exceptions.CassandraConnectorTaskException;
+
+/**
+ * An implementation of {@link OffsetWriter} which appends every offset marked to a memory-mapped journal file,
+ * offset.journal, instead of rewriting the property files of the {@link FileOffsetWriter} on each flush.
+ *
+ * Each journal entry has a fixed size of {@value #ENTRY_SIZE} bytes and consists of a CRC32 checksum, the kind
+ * of the offset (snapshot or commit log), the lengths of the table and file names, the file position, the file
+ * name and the table name, the latter two padded with zeros. On startup every valid entry of the journal is
+ * replayed. Entries which are empty or whose checksum does not match, i.e. entries torn by a crash, are skipped, and
+ * everything after the last valid entry is cleared. When no journal exists yet, the offsets of
+ * snapshot_offset.properties and commitlog_offset.properties are taken over.
+ *
+ * Whenever the journal is three quarters full, it is compacted in the background by writing the latest offset of
+ * each table to a new journal file, which atomically replaces the current one. The new journal is written without
+ * holding the lock of the writer; the entries appended in the meantime are appended to the new journal as well before
+ * it replaces the current one. When the journal fills up before the compaction has run, it is compacted by the thread
+ * appending to it, or that thread waits for the compaction in progress.
+ *
+ * How often the journal is synced to disk is determined by the {@link OffsetJournalFsyncPolicy}.
+ */
+public class JournalOffsetWriter implements OffsetWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournalOffsetWriter.class);
+
+    public static final String JOURNAL_FILE = "offset.journal";
+    public static final String JOURNAL_LOCK_FILE = "offset.journal.lock";
+    private static final String COMPACTED_JOURNAL_FILE = "offset.journal.compacted";
+
+    static final int ENTRY_SIZE = 256;
+    private static final int MAX_FILE_NAME_LENGTH = 48;
+    private static final int MAX_TABLE_NAME_LENGTH = 196;
+    private static final int FILE_NAME_OFFSET = 12;
+    private static final int TABLE_NAME_OFFSET = FILE_NAME_OFFSET + MAX_FILE_NAME_LENGTH;
+    private static final byte SNAPSHOT = 1;
+    private static final byte COMMIT_LOG = 2;
+
+    private final Map<String, String> snapshotOffsets = new ConcurrentHashMap<>();
+    private final Map<String, String> commitLogOffsets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, FileOffsetWriter.Watermark> commitLogWatermarks = new ConcurrentHashMap<>();
+
+    private final Path offsetDir;
+    private final Path journalFile;
+    private final int minJournalSize;
+    private final OffsetJournalFsyncPolicy fsyncPolicy;
+    private final FileLock journalLock;
+    private final ExecutorService compactionExecutor = Executors.newSingleThreadExecutor();
+    private final ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+    private final CRC32 crc = new CRC32();
+    private final ByteBuffer compactionEntry = ByteBuffer.allocate(ENTRY_SIZE);
+    private final CRC32 compactionCrc = new CRC32();
+
+    private FileChannel journalChannel;
+    private MappedByteBuffer journal;
+    private boolean compactionScheduled = false;
+    // the offsets appended while the journal is compacted in the background, null if no compaction is in progress
+    private List<JournalEntry> appendedDuringCompaction;
+    private boolean unsynced = false;
+
+    public JournalOffsetWriter(String offsetDir, int journalSize, OffsetJournalFsyncPolicy fsyncPolicy) throws IOException {
+        if (offsetDir == null) {
+            throw new CassandraConnectorConfigException("Offset file directory must be configured at the start");
+        }
+        this.offsetDir = new File(offsetDir).getAbsoluteFile().toPath();
+        this.journalFile = this.offsetDir.resolve(JOURNAL_FILE);
+        this.minJournalSize = Math.max(ENTRY_SIZE, journalSize / ENTRY_SIZE * ENTRY_SIZE);
+        this.fsyncPolicy = fsyncPolicy;
+
+        Files.createDirectories(this.offsetDir);
+        this.journalLock = lock(this.offsetDir.resolve(JOURNAL_LOCK_FILE));
+
+        if (Files.exists(journalFile)) {
+            open();
+        }
+        else {
+            loadOffsetFiles();
+            compact();
+        }
+    }
+
+    @Override
+    public void markOffset(String sourceTable, String sourceOffset, boolean isSnapshot) {
+        synchronized (this) {
+            if (apply(sourceTable, sourceOffset, isSnapshot)) {
+                append(sourceTable, OffsetPosition.parse(sourceOffset), isSnapshot);
+            }
+        }
+    }
+
+    @Override
+    public boolean isOffsetProcessed(String sourceTable, String sourceOffset, boolean isSnapshot) {
+        if (isSnapshot) {
+            return snapshotOffsets.containsKey(sourceTable);
+        }
+        FileOffsetWriter.Watermark currentOffset = FileOffsetWriter.Watermark.parse(sourceOffset);
+        return isOffsetProcessed(sourceTable, currentOffset.segmentId, currentOffset.position);
+    }
+
+    @Override
+    public boolean isOffsetProcessed(String sourceTable, long segmentId, int position) {
+        FileOffsetWriter.Watermark recordedOffset = commitLogWatermarks.get(sourceTable);
+        return recordedOffset != null && recordedOffset.covers(segmentId, position);
+    }
+
+    @Override
+    public int resumePosition(String commitLogFileName, Collection<String> sourceTables) {
+        return FileOffsetWriter.resumePosition(commitLogWatermarks, commitLogFileName, sourceTables);
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (fsyncPolicy == OffsetJournalFsyncPolicy.FLUSH && unsynced) {
+            journal.force();
+            unsynced = false;
+        }
+    }
+
+    @Override
+    public void close() {
+        compactionExecutor.shutdown();
+        try {
+            compactionExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (fsyncPolicy != OffsetJournalFsyncPolicy.NEVER) {
+                journal.force();
+            }
+            try {
+                journalChannel.close();
+            }
+            catch (IOException e) {
+                LOGGER.warn("Failed to close offset journal");
+            }
+        }
+        try {
+            journalLock.release();
+            journalLock.channel().close();
+        }
+        catch (IOException e) {
+            LOGGER.warn("Failed to release offset journal lock");
+        }
+    }
+
+    /**
+     * Applies an offset to the in-memory state.
+     *
+     * @return true if the offset changed the state, i.e. it has to be appended to the journal
+     */
+    private boolean apply(String sourceTable, String sourceOffset, boolean isSnapshot) {
+        if (isSnapshot) {
+            if (snapshotOffsets.putIfAbsent(sourceTable, sourceOffset) != null) {
+                return false;
+            }
+            // superseded by the offset of the table, the entries are left out of the journal on its next compaction
+            snapshotOffsets.keySet().removeIf(key -> SnapshotProcessor.isTokenRangeKey(key, sourceTable));
+            return true;
+        }
+        FileOffsetWriter.Watermark watermark = FileOffsetWriter.Watermark.parse(sourceOffset);
+        if (isOffsetProcessed(sourceTable, watermark.segmentId, watermark.position)) {
+            return false;
+        }
+        commitLogOffsets.put(sourceTable, sourceOffset);
+        commitLogWatermarks.put(sourceTable, watermark);
+        return true;
+    }
+
+    private void append(String sourceTable, OffsetPosition offsetPosition, boolean isSnapshot) {
+        while (journal.remaining() < ENTRY_SIZE) {
+            if (appendedDuringCompaction != null) {
+                awaitCompaction();
+            }
+            else {
+                compactOrFail();
+            }
+        }
+        encode(entry, crc, sourceTable, offsetPosition, isSnapshot);
+        journal.put(entry);
+        if (appendedDuringCompaction != null) {
+            appendedDuringCompaction.add(new JournalEntry(sourceTable, offsetPosition, isSnapshot));
+        }
+        if (fsyncPolicy == OffsetJournalFsyncPolicy.ALWAYS) {
+            journal.force();
+        }
+        else {
+            unsynced = true;
+        }
+        if (!compactionScheduled && journal.position() >= journal.capacity() / 4 * 3) {
+            compactionScheduled = true;
+            compactionExecutor.execute(this::compactInBackground);
+        }
+    }
+
+    /**
+     * Writes the compacted journal out of a copy of the offsets taken under the lock, but without holding it. The
+     * entries appended to the current journal in the meantime are appended to the compacted journal before it
+     * replaces the current one.
+     */
+    private void compactInBackground() {
+        Map<String, String> snapshot;
+        Map<String, String> commitLog;
+        synchronized (this) {
+            compactionScheduled = false;
+            // the journal may have been compacted by an appending thread in the meantime
+            if (journal.position() < journal.capacity() / 4 * 3) {
+                return;
+            }
+            snapshot = new HashMap<>(snapshotOffsets);
+            commitLog = new HashMap<>(commitLogOffsets);
+            appendedDuringCompaction = new ArrayList<>();
+        }
+        CompactedJournal compacted = null;
+        try {
+            compacted = writeCompactedJournal(snapshot, commitLog, compactionEntry, compactionCrc);
+            // only the entries appended meanwhile are left to be synced once the lock is held
+            compacted.journal.force();
+        }
+        catch (IOException e) {
+            LOGGER.warn("Failed to compact offset journal {} in the background", journalFile, e);
+        }
+        synchronized (this) {
+            List<JournalEntry> appended = appendedDuringCompaction;
+            appendedDuringCompaction = null;
+            try {
+                if (compacted != null) {
+                    installInBackground(compacted, appended);
+                }
+            }
+            finally {
+                notifyAll();
+            }
+        }
+    }
+
+    private void installInBackground(CompactedJournal compacted, List<JournalEntry> appended) {
+        try {
+            if (compacted.journal.remaining() < appended.size() * ENTRY_SIZE) {
+                // too many offsets have been appended meanwhile, the journal is compacted again once it is full
+                compacted.channel.close();
+                Files.deleteIfExists(offsetDir.resolve(COMPACTED_JOURNAL_FILE));
+                return;
+            }
+            for (JournalEntry appendedEntry : appended) {
+                encode(entry, crc, appendedEntry.sourceTable, appendedEntry.offsetPosition, appendedEntry.isSnapshot);
+                compacted.journal.put(entry);
+            }
+            install(compacted);
+        }
+        catch (IOException e) {
+            LOGGER.warn("Failed to compact offset journal {} in the background", journalFile, e);
+        }
+    }
+
+    /**
+     * Waits for the compaction in progress in the background, releasing the lock meanwhile.
+     */
+    private void awaitCompaction() {
+        try {
+            while (appendedDuringCompaction != null) {
+                wait();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CassandraConnectorTaskException("Interrupted while waiting for the compaction of offset journal " + journalFile, e);
+        }
+    }
+
+    private void compactOrFail() {
+        try {
+            compact();
+        }
+        catch (IOException e) {
+            throw new CassandraConnectorTaskException("Failed to compact offset journal " + journalFile, e);
+        }
+    }
+
+    /**
+     * Writes the latest offset of each table to a new journal, which is synced to disk and then moved over
+     * the current journal. The new journal is at most half full.
+     */
+    private synchronized void compact() throws IOException {
+        install(writeCompactedJournal(snapshotOffsets, commitLogOffsets, entry, crc));
+    }
+
+    /**
+     * Writes the given offsets to a new journal, which is at most half full.
+     */
+    private CompactedJournal writeCompactedJournal(Map<String, String> snapshot, Map<String, String> commitLog, ByteBuffer buffer, CRC32 checksum)
+            throws IOException {
+        int entries = snapshot.size() + commitLog.size();
+        int size = minJournalSize;
+        while (size / 2 < entries * ENTRY_SIZE) {
+            size *= 2;
+        }
+        Path compactedFile = offsetDir.resolve(COMPACTED_JOURNAL_FILE);
+        Files.deleteIfExists(compactedFile);
+        FileChannel channel = FileChannel.open(compactedFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer compacted = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        for (Map.Entry<String, String> offset : snapshot.entrySet()) {
+            encode(buffer, checksum, offset.getKey(), OffsetPosition.parse(offset.getValue()), true);
+            compacted.put(buffer);
+        }
+        for (Map.Entry<String, String> offset : commitLog.entrySet()) {
+            encode(buffer, checksum, offset.getKey(), OffsetPosition.parse(offset.getValue()), false);
+            compacted.put(buffer);
+        }
+        return new CompactedJournal(compactedFile, channel, compacted);
+    }
+
+    /**
+     * Syncs the compacted journal to disk and moves it over the current journal, needs to be called with the lock held.
+     */
+    private void install(CompactedJournal compacted) throws IOException {
+        compacted.journal.force();
+        // the mapping stays valid after the move, so the compacted journal can be appended to straight away
+        Files.move(compacted.file, journalFile, ATOMIC_MOVE, REPLACE_EXISTING);
+        if (journalChannel != null) {
+            journalChannel.close();
+        }
+        journalChannel = compacted.channel;
+        journal = compacted.journal;
+        unsynced = false;
+        LOGGER.debug("Compacted offset journal to {} entries of {} bytes", journal.position() / ENTRY_SIZE, journal.capacity());
+    }
+
+    /**
+     * Replays the existing journal and clears everything after its last valid entry.
+     */
+    private void open() throws IOException {
+        journalChannel = FileChannel.open(journalFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(minJournalSize, (journalChannel.size() + ENTRY_SIZE - 1) / ENTRY_SIZE * ENTRY_SIZE);
+        journal = journalChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        int entries = 0;
+        int skipped = 0;
+        int end = 0;
+        for (int position = 0; position + ENTRY_SIZE <= journal.capacity(); position += ENTRY_SIZE) {
+            if (replay(position)) {
+                // the entries torn before this one are skipped, the later ones are still valid offsets
+                skipped += (position - end) / ENTRY_SIZE;
+                end = position + ENTRY_SIZE;
+                entries++;
+            }
+        }
+        journal.position(end);
+        boolean cleared = false;
+        for (int i = end; i < journal.capacity(); i++) {
+            if (journal.get(i) != 0) {
+                journal.put(i, (byte) 0);
+                cleared = true;
+            }
+        }
+        if (cleared) {
+            LOGGER.warn("Discarded incomplete entries after position {} of offset journal {}", end, journalFile);
+            journal.force();
+        }
+        LOGGER.info("Replayed {} entries of offset journal {}", entries, journalFile);
+        if (skipped > 0) {
+            LOGGER.warn("Skipped {} torn entries of offset journal {}", skipped, journalFile);
+            compact();
+        }
+    }
+
+    private boolean replay(int position) {
+        ByteBuffer buffer = journal.duplicate();
+        buffer.position(position).limit(position + ENTRY_SIZE);
+        ByteBuffer slice = buffer.slice();
+        byte kind = slice.get(4);
+        if (kind != SNAPSHOT && kind != COMMIT_LOG) {
+            return false;
+        }
+        crc.reset();
+        slice.position(4);
+        crc.update(slice);
+        if ((int) crc.getValue() != slice.getInt(0)) {
+            return false;
+        }
+        int tableNameLength = slice.get(5) & 0xFF;
+        int fileNameLength = slice.get(6) & 0xFF;
+        int filePosition = slice.getInt(8);
+        String fileName = readString(slice, FILE_NAME_OFFSET, fileNameLength);
+        String sourceTable = readString(slice, TABLE_NAME_OFFSET, tableNameLength);
+        apply(sourceTable, new OffsetPosition(fileName, filePosition).serialize(), kind == SNAPSHOT);
+        return true;
+    }
+
+    private static void encode(ByteBuffer entry, CRC32 crc, String sourceTable, OffsetPosition offsetPosition, boolean isSnapshot) {
+        byte[] tableName = sourceTable.getBytes(UTF_8);
+        byte[] fileName = offsetPosition.fileName.getBytes(UTF_8);
+        if (tableName.length > MAX_TABLE_NAME_LENGTH || fileName.length > MAX_FILE_NAME_LENGTH) {
+            throw new CassandraConnectorTaskException("Offset " + offsetPosition + " of table " + sourceTable + " exceeds the offset journal entry size");
+        }
+        entry.clear();
+        Arrays.fill(entry.array(), (byte) 0);
+        entry.put(4, isSnapshot ? SNAPSHOT : COMMIT_LOG);
+        entry.put(5, (byte) tableName.length);
+        entry.put(6, (byte) fileName.length);
+        entry.putInt(8, offsetPosition.filePosition);
+        entry.position(FILE_NAME_OFFSET);
+        entry.put(fileName);
+        entry.position(TABLE_NAME_OFFSET);
+        entry.put(tableName);
+        crc.reset();
+        entry.position(4);
+        crc.update(entry);
+        entry.putInt(0, (int) crc.getValue());
+        entry.clear();
+    }
+
+    private static String readString(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer source = buffer.duplicate();
+        source.position(offset);
+        source.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private void loadOffsetFiles() throws IOException {
+        loadOffsetFile(offsetDir.resolve(FileOffsetWriter.SNAPSHOT_OFFSET_FILE).toFile(), true);
+        loadOffsetFile(offsetDir.resolve(FileOffsetWriter.COMMITLOG_OFFSET_FILE).toFile(), false);
+    }
+
+    private void loadOffsetFile(File offsetFile, boolean isSnapshot) throws IOException {
+        if (!offsetFile.exists()) {
+            return;
+        }
+        Properties props = new Properties();
+        try (FileInputStream fis = new FileInputStream(offsetFile)) {
+            props.load(fis);
+        }
+        catch (IOException e) {
+            throw new IOException("Failed to load offset for file " + offsetFile.getName());
+        }
+        for (String sourceTable : props.stringPropertyNames()) {
+            apply(sourceTable, props.getProperty(sourceTable), isSnapshot);
+        }
+        LOGGER.info("Took over {} offsets from {}", props.size(), offsetFile.getName());
+    }
+
+    private static FileLock lock(Path lockFile) throws IOException {
+        FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                channel.close();
+                throw new CassandraConnectorTaskException(
+                        "Failed to acquire file lock on " + lockFile.getFileName() + ". There might be another Cassandra Connector Task running");
+            }
+            return lock;
+        }
+        catch (OverlappingFileLockException e) {
+            channel.close();
+            throw new CassandraConnectorTaskException("Failed to acquire file lock on " + lockFile.getFileName() + ". There might be another thread running", e);
+        }
+    }
+
+    /**
+     * An offset appended to the journal while it is compacted in the background.
+     */
+    private static final class JournalEntry {
+        private final String sourceTable;
+        private final OffsetPosition offsetPosition;
+        private final boolean isSnapshot;
+
+        private JournalEntry(String sourceTable, OffsetPosition offsetPosition, boolean isSnapshot) {
+            this.sourceTable = sourceTable;
+            this.offsetPosition = offsetPosition;
+            this.isSnapshot = isSnapshot;
+        }
+    }
+
+    /**
+     * A compacted journal which has been written but does not replace the current one yet.
+     */
+    private static final class CompactedJournal {
+        private final Path file;
+        private final FileChannel channel;
+        private final MappedByteBuffer journal;
+
+        private CompactedJournal(Path file, FileChannel channel, MappedByteBuffer journal) {
+            this.file = file;
+            this.channel = channel;
+            this.journal = journal;
+        }
+    }
+}
@@ -6,15 +6,15 @@
 package io.debezium.connector.cassandra;
 
 import java.time.Duration;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
-import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
-import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.connect.storage.Converter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,49 +25,91 @@ import io.debezium.spi.topic.TopicNamingStrategy;
 
 /**
  * This emitter is responsible for emitting records to Kafka broker and managing offsets post send.
+ * <p>
+ * Records are sent without waiting for their acknowledgement. The producer callbacks complete the records in the
+ * {@link OffsetWatermarks} shared by the emitters of all queues, which advance a per-table watermark up to the last
+ * record below which all records of the table have completed. The offset of the latest record below the watermark
+ * is written to the {@link OffsetWriter} asynchronously, according to the {@link OffsetFlushPolicy} applied to the
+ * acknowledged records. With a periodic policy, the offsets are written at every interval as well, so that the offsets
+ * of the records acknowledged last are written even if no further record is acknowledged.
  */
 public class KafkaRecordEmitter implements Emitter {
     private static final Logger LOGGER = LoggerFactory.getLogger(KafkaRecordEmitter.class);
 
-    private final KafkaProducer<byte[], byte[]> producer;
+    private final Producer<byte[], byte[]> producer;
     private final TopicNamingStrategy<KeyspaceTable> topicNamingStrategy;
     private final OffsetWriter offsetWriter;
     private final OffsetFlushPolicy offsetFlushPolicy;
     private final Set<String> erroneousCommitLogs;
     private final CommitLogTransfer commitLogTransfer;
-    private final Map<Record, Future<RecordMetadata>> futures = new LinkedHashMap<>();
-    private final Object lock = new Object();
+    private final CommitLogSegmentTracker segmentTracker;
+    private final OffsetWatermarks offsetWatermarks;
+    private final ScheduledExecutorService offsetCommitExecutor = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicBoolean offsetCommitScheduled = new AtomicBoolean();
+    private final AtomicLong emitCount = new AtomicLong();
+    private final AtomicLong recordsSinceLastFlush = new AtomicLong();
     private final Converter keyConverter;
     private final Converter valueConverter;
-    private long timeOfLastFlush;
-    private long emitCount = 0;
+    private volatile long timeOfLastFlush;
 
-    public KafkaRecordEmitter(CassandraConnectorConfig connectorConfig, KafkaProducer kafkaProducer,
+    public KafkaRecordEmitter(CassandraConnectorConfig connectorConfig, Producer<byte[], byte[]> kafkaProducer,
                               OffsetWriter offsetWriter, Duration offsetFlushIntervalMs, long maxOffsetFlushSize,
                               Converter keyConverter, Converter valueConverter, Set<String> erroneousCommitLogs,
                               CommitLogTransfer commitLogTransfer) {
+        this(connectorConfig, kafkaProducer, offsetWriter, offsetFlushIntervalMs, maxOffsetFlushSize, keyConverter, valueConverter,
+                erroneousCommitLogs, commitLogTransfer, null);
+    }
+
+    public KafkaRecordEmitter(CassandraConnectorConfig connectorConfig, Producer<byte[], byte[]> kafkaProducer,
+                              OffsetWriter offsetWriter, Duration offsetFlushIntervalMs, long maxOffsetFlushSize,
+                              Converter keyConverter, Converter valueConverter, Set<String> erroneousCommitLogs,
+                              CommitLogTransfer commitLogTransfer, CommitLogSegmentTracker segmentTracker) {
+        this(connectorConfig, kafkaProducer, offsetWriter, offsetFlushIntervalMs, maxOffsetFlushSize, keyConverter, valueConverter,
+                erroneousCommitLogs, commitLogTransfer, segmentTracker, new OffsetWatermarks());
+    }
+
+    public KafkaRecordEmitter(CassandraConnectorConfig connectorConfig, Producer<byte[], byte[]> kafkaProducer,
+                              OffsetWriter offsetWriter, Duration offsetFlushIntervalMs, long maxOffsetFlushSize,
+                              Converter keyConverter, Converter valueConverter, Set<String> erroneousCommitLogs,
+                              CommitLogTransfer commitLogTransfer, CommitLogSegmentTracker segmentTracker,
+                              OffsetWatermarks offsetWatermarks) {
         this.producer = kafkaProducer;
         this.topicNamingStrategy = connectorConfig.getTopicNamingStrategy(CommonConnectorConfig.TOPIC_NAMING_STRATEGY);
         this.offsetWriter = offsetWriter;
         this.offsetFlushPolicy = offsetFlushIntervalMs.isZero() ? OffsetFlushPolicy.always() : OffsetFlushPolicy.periodic(offsetFlushIntervalMs, maxOffsetFlushSize);
         this.erroneousCommitLogs = erroneousCommitLogs;
         this.commitLogTransfer = commitLogTransfer;
+        this.segmentTracker = segmentTracker;
+        this.offsetWatermarks = offsetWatermarks;
         this.keyConverter = keyConverter;
         this.valueConverter = valueConverter;
+        this.timeOfLastFlush = System.currentTimeMillis();
+        if (!offsetFlushIntervalMs.isZero()) {
+            offsetCommitExecutor.scheduleWithFixedDelay(() -> {
+                if (recordsSinceLastFlush.get() > 0) {
+                    flushAndMarkOffset();
+                }
+            }, offsetFlushIntervalMs.toMillis(), offsetFlushIntervalMs.toMillis(), TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
     public void emit(Record record) {
+        // records which have not been enqueued through a tracked queue get their sequence number now
+        offsetWatermarks.recordEnqueued(record);
+        boolean sent = false;
         try {
-            synchronized (lock) {
-                ProducerRecord<byte[], byte[]> producerRecord = toProducerRecord(record);
-                Future<RecordMetadata> future = producer.send(producerRecord);
-                LOGGER.trace("Sent to topic {}: {}", producerRecord.topic(), record);
-                futures.put(record, future);
-                maybeFlushAndMarkOffset();
-            }
+            ProducerRecord<byte[], byte[]> producerRecord = toProducerRecord(record);
+            producer.send(producerRecord, (metadata, exception) -> onCompletion(record, exception));
+            LOGGER.trace("Sent to topic {}: {}", producerRecord.topic(), record);
+            sent = true;
         }
         catch (Exception e) {
+            if (!sent) {
+                // the callback will never be invoked, release the sequence number so the watermark can move past it
+                offsetWatermarks.recordCompleted(record, null);
+                acknowledge(record);
+            }
             if (record.getSource().snapshot || commitLogTransfer.getClass().getName().equals(CassandraConnectorConfig.DEFAULT_COMMIT_LOG_TRANSFER_CLASS)) {
                 throw new DebeziumException(String.format("Failed to send record %s", record), e);
             }
@@ -83,56 +125,81 @@ public class KafkaRecordEmitter implements Emitter {
         return new ProducerRecord<>(topic, serializedKey, serializedValue);
     }
 
-    private void maybeFlushAndMarkOffset() {
-        long now = System.currentTimeMillis();
-        long timeSinceLastFlush = now - timeOfLastFlush;
-        if (offsetFlushPolicy.shouldFlush(Duration.ofMillis(timeSinceLastFlush), futures.size())) {
-            flushAndMarkOffset();
-            timeOfLastFlush = now;
+    /**
+     * Invoked by the producer once a record has been acknowledged or has failed.
+     */
+    private void onCompletion(Record record, Exception exception) {
+        try {
+            if (exception != null) {
+                LOGGER.error("Failed to emit record {}", record, exception);
+                offsetWatermarks.recordCompleted(record, null);
+                maybeFlushAndMarkOffset();
+                return;
+            }
+            long count = emitCount.incrementAndGet();
+            if (count % 10_000 == 0) {
+                LOGGER.debug("Emitted {} records to Kafka Broker", count);
+                emitCount.set(0);
+            }
+            offsetWatermarks.recordCompleted(record, hasOffset(record) ? record.getSource().offsetPosition.serialize() : null);
+            maybeFlushAndMarkOffset();
+        }
+        finally {
+            acknowledge(record);
         }
     }
 
-    private void flushAndMarkOffset() {
-        futures.entrySet().stream().filter(this::flush).filter(this::hasOffset).forEach(this::markOffset);
-        offsetWriter.flush();
-        futures.clear();
+    /**
+     * Schedules an offset commit if the flush policy is due, needs to be called once a record has completed.
+     */
+    private void maybeFlushAndMarkOffset() {
+        long timeSinceLastFlush = System.currentTimeMillis() - timeOfLastFlush;
+        if (offsetFlushPolicy.shouldFlush(Duration.ofMillis(timeSinceLastFlush), recordsSinceLastFlush.incrementAndGet())) {
+            // a commit which is still pending picks up the latest watermarks as well
+            if (offsetCommitScheduled.compareAndSet(false, true)) {
+                offsetCommitExecutor.execute(() -> {
+                    offsetCommitScheduled.set(false);
+                    flushAndMarkOffset();
+                });
+            }
+        }
     }
 
-    private boolean flush(Map.Entry<Record, Future<RecordMetadata>> recordEntry) {
+    /**
+     * Writes the offset of the latest record below the watermark of each table which has advanced since the
+     * last call, including the records acknowledged through the emitters of the other queues.
+     */
+    void flushAndMarkOffset() {
+        // reset before the watermarks are read, a record completing in between is counted towards the next flush
+        timeOfLastFlush = System.currentTimeMillis();
+        recordsSinceLastFlush.set(0);
         try {
-            recordEntry.getValue().get(); // wait
-            if (++emitCount % 10_000 == 0) {
-                LOGGER.debug("Emitted {} records to Kafka Broker", emitCount);
-                emitCount = 0;
-            }
-            return true;
+            offsetWatermarks.markOffsets(offsetWriter);
+            offsetWriter.flush();
         }
-        catch (ExecutionException | InterruptedException e) {
-            LOGGER.error("Failed to emit record {}", recordEntry.getKey(), e);
-            return false;
+        catch (Exception e) {
+            LOGGER.error("Failed to mark offsets", e);
         }
     }
 
-    private boolean hasOffset(Map.Entry<Record, Future<RecordMetadata>> recordEntry) {
-        Record record = recordEntry.getKey();
-        if (record.getSource().snapshot || commitLogTransfer.getClass().getName().equals(CassandraConnectorConfig.DEFAULT_COMMIT_LOG_TRANSFER_CLASS)) {
-            return record.shouldMarkOffset();
+    private void acknowledge(Record record) {
+        if (segmentTracker != null) {
+            segmentTracker.recordAcknowledged(record);
         }
-        return record.shouldMarkOffset() && !erroneousCommitLogs.contains(record.getSource().offsetPosition.fileName);
     }
 
-    private void markOffset(Map.Entry<Record, Future<RecordMetadata>> recordEntry) {
-        SourceInfo source = recordEntry.getKey().getSource();
-        String sourceTable = source.keyspaceTable.name();
-        String sourceOffset = source.offsetPosition.serialize();
-        boolean isSnapshot = source.snapshot;
-        offsetWriter.markOffset(sourceTable, sourceOffset, isSnapshot);
-        if (isSnapshot) {
-            LOGGER.debug("Mark snapshot offset for table '{}'", sourceTable);
+    private boolean hasOffset(Record record) {
+        if (record.getSource().snapshot || commitLogTransfer.getClass().getName().equals(CassandraConnectorConfig.DEFAULT_COMMIT_LOG_TRANSFER_CLASS)) {
+            return record.shouldMarkOffset();
         }
+        return record.shouldMarkOffset() && !erroneousCommitLogs.contains(record.getSource().offsetPosition.fileName);
     }
 
     public void close() throws Exception {
+        // closing the producer waits for all pending callbacks, so the final watermarks can be written
         producer.close();
+        offsetCommitExecutor.shutdown();
+        offsetCommitExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        flushAndMarkOffset();
     }
 }
@@ -5,9 +5,13 @@
  */
 package io.debezium.connector.cassandra;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.apache.kafka.connect.data.Field;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaBuilder;
 
@@ -28,11 +32,18 @@ public class KeyValueSchema {
     private final TableMetadata tableMetadata;
     private final Schema keySchema;
     private final Schema valueSchema;
+    private final List<String> clusteringColumnNames;
+    private final List<String> regularColumnNames;
+    private final RowData.Layout rowLayout;
 
     KeyValueSchema(TableMetadata tableMetadata, Schema keySchema, Schema valueSchema) {
         this.tableMetadata = tableMetadata;
         this.keySchema = keySchema;
         this.valueSchema = valueSchema;
+        this.clusteringColumnNames = tableMetadata == null ? Collections.emptyList() : getClusteringColumnNames(tableMetadata);
+        this.regularColumnNames = tableMetadata == null ? Collections.emptyList() : getRegularColumnNames(tableMetadata);
+        this.rowLayout = new RowData.Layout(valueSchema.field(Record.AFTER).schema(),
+                keySchema.fields().stream().map(Field::name).collect(Collectors.toList()));
     }
 
     public static class KeyValueSchemaBuilder {
@@ -167,17 +178,34 @@ public class KeyValueSchema {
         return tm.getPrimaryKey().stream().map(md -> md.getName().toString()).collect(Collectors.toList());
     }
 
+    public static List<String> getClusteringColumnNames(TableMetadata tm) {
+        return Collections.unmodifiableList(tm.getClusteringColumns().keySet().stream()
+                .map(md -> md.getName().toString())
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Returns the names of all columns which are not part of the primary key, in the order of the table metadata.
+     */
+    public static List<String> getRegularColumnNames(TableMetadata tm) {
+        Set<ColumnMetadata> primaryKey = new HashSet<>(tm.getPrimaryKey());
+        return Collections.unmodifiableList(tm.getColumns().values().stream()
+                .filter(md -> !primaryKey.contains(md))
+                .map(md -> md.getName().toString())
+                .collect(Collectors.toList()));
+    }
+
     public static List<Schema> getPrimaryKeySchemas(TableMetadata tm) {
         return tm.getPrimaryKey().stream()
                 .map(ColumnMetadata::getType)
                 .map(CassandraTypeConverter::convert)
-                .map(type -> CassandraTypeDeserializer.getSchemaBuilder(type).build())
+                .map(CassandraTypeDeserializer::getSchema)
                 .collect(Collectors.toList());
     }
 
     public static List<Schema> getPrimaryKeySchemas(List<DataType> dataTypes) {
         return dataTypes.stream().map(CassandraTypeConverter::convert)
-                .map(type -> CassandraTypeDeserializer.getSchemaBuilder(type).build())
+                .map(CassandraTypeDeserializer::getSchema)
                 .collect(Collectors.toList());
     }
 
@@ -193,6 +221,27 @@ public class KeyValueSchema {
         return valueSchema;
     }
 
+    /**
+     * @return the names of the clustering columns, computed once per table schema
+     */
+    public List<String> clusteringColumnNames() {
+        return clusteringColumnNames;
+    }
+
+    /**
+     * @return the names of the columns which are not part of the primary key, computed once per table schema
+     */
+    public List<String> regularColumnNames() {
+        return regularColumnNames;
+    }
+
+    /**
+     * @return the layout of the rows of the table, computed once per table schema
+     */
+    public RowData.Layout rowLayout() {
+        return rowLayout;
+    }
+
     /**
      * Get the schema of an inner field based on the field name
      * @param fieldName the name of the field in the schema
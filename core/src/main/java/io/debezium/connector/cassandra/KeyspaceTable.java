@@ -20,6 +20,7 @@ import io.debezium.util.Collect;
 public class KeyspaceTable implements DataCollectionId {
     public final String keyspace;
     public final String table;
+    private String name;
 
     public KeyspaceTable(String keyspace, String table) {
         this.keyspace = keyspace;
@@ -32,7 +33,11 @@ public class KeyspaceTable implements DataCollectionId {
     }
 
     public String name() {
-        return keyspace + "." + table;
+        // computed lazily, a benign race at most builds the same string twice
+        if (name == null) {
+            name = keyspace + "." + table;
+        }
+        return name;
     }
 
     public List<String> parts() {
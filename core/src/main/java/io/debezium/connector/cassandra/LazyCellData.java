@@ -0,0 +1,67 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import java.nio.ByteBuffer;
+
+import org.apache.cassandra.db.marshal.AbstractType;
+
+import io.debezium.DebeziumException;
+import io.debezium.connector.cassandra.transforms.CellCodec;
+import io.debezium.connector.cassandra.transforms.type.deserializer.TypeDeserializer;
+
+/**
+ * A {@link CellData} read from a commit log which keeps the serialized value of the cell and deserializes it
+ * only once its value is needed, i.e. when the record is emitted. Cells of columns which are excluded by the
+ * field filter, or of records which are never emitted, are never deserialized.
+ * <p>
+ * The value is deserialized by the thread emitting the record, which has received it through a queue from
+ * the thread that has read the commit log, so no further synchronization is needed.
+ */
+public class LazyCellData extends CellData {
+
+    private ByteBuffer serializedValue;
+    private final AbstractType<?> type;
+    private final CellCodec codec;
+    private Object value;
+
+    /**
+     * @param serializedValue the serialized value of the cell, or null for a cell without value
+     * @param type the type of the column, reversed types have to be unwrapped already
+     * @param codec the codec of the given type
+     */
+    public LazyCellData(String name, ByteBuffer serializedValue, AbstractType<?> type, CellCodec codec,
+                        Object deletionTs, ColumnType columnType) {
+        super(name, null, deletionTs, columnType);
+        this.serializedValue = serializedValue;
+        this.type = type;
+        this.codec = codec;
+    }
+
+    /**
+     * @param serializedValue the serialized value of the cell, or null for a cell without value
+     * @param type the type of the column, reversed types have to be unwrapped already
+     * @param deserializer the deserializer of the given type
+     */
+    public LazyCellData(String name, ByteBuffer serializedValue, AbstractType<?> type, TypeDeserializer deserializer,
+                        Object deletionTs, ColumnType columnType) {
+        this(name, serializedValue, type, bb -> deserializer.deserialize(type, bb), deletionTs, columnType);
+    }
+
+    @Override
+    public Object getValue() {
+        if (serializedValue != null) {
+            try {
+                value = codec.decode(serializedValue);
+            }
+            catch (Exception e) {
+                throw new DebeziumException(String.format("Failed to deserialize Column %s with Type %s.", name, type), e);
+            }
+            serializedValue = null;
+        }
+        return value;
+    }
+}
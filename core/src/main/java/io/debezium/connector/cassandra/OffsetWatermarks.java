@@ -0,0 +1,218 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link OffsetWatermarks} track the records of each source table across all change event queues, so that the
+ * offset of a record is only written once the record and all records enqueued before it from the same table have
+ * completed, regardless of the queue and the {@link KafkaRecordEmitter} each of them has been emitted through.
+ * <p>
+ * Each record is given a sequence number within its source table when it is enqueued to a queue wrapped by
+ * {@link #track(EventQueue)}. The producer callbacks complete the sequence numbers and advance the watermark of the
+ * table up to the last sequence number below which all records have completed. Commit log records are tracked across
+ * all tables as well, and the offset up to which the records of all tables have completed is marked under
+ * {@link OffsetWriter#ALL_TABLES_OFFSET_KEY}. As a mutation of several tables results in several records at the same
+ * position, the offset marked for a record across all tables is the position of the mutation read before it, which
+ * is only known to be completed for all tables once the watermark has moved past the record.
+ */
+public class OffsetWatermarks {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OffsetWatermarks.class);
+
+    private final ConcurrentMap<String, OffsetWatermark> commitLogWatermarks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, OffsetWatermark> snapshotWatermarks = new ConcurrentHashMap<>();
+    private final OffsetWatermark allTablesWatermark = new OffsetWatermark(OffsetWriter.ALL_TABLES_OFFSET_KEY, false);
+    // the positions of the last two distinct commit log mutations enqueued, guarded by the all-tables watermark
+    private OffsetPosition lastPosition;
+    private OffsetPosition precedingPosition;
+
+    /**
+     * Wraps the given queue so that each record enqueued to it is given its sequence number.
+     */
+    public EventQueue track(EventQueue queue) {
+        return new EventQueue() {
+            @Override
+            public void enqueue(Event event) throws InterruptedException {
+                if (!(event instanceof Record)) {
+                    queue.enqueue(event);
+                    return;
+                }
+                Record record = (Record) event;
+                recordEnqueued(record);
+                boolean enqueued = false;
+                try {
+                    queue.enqueue(record);
+                    enqueued = true;
+                }
+                finally {
+                    if (!enqueued) {
+                        // the record will never be emitted, release its sequence number so the watermark can move past it
+                        recordCompleted(record, null);
+                    }
+                }
+            }
+
+            @Override
+            public List<Event> poll() throws InterruptedException {
+                return queue.poll();
+            }
+
+            @Override
+            public int totalCapacity() {
+                return queue.totalCapacity();
+            }
+
+            @Override
+            public int remainingCapacity() {
+                return queue.remainingCapacity();
+            }
+        };
+    }
+
+    /**
+     * Gives a record the next sequence number of its source table unless it has one already, needs to be called
+     * in the order the records have been read and before the record is emitted.
+     */
+    public void recordEnqueued(Record record) {
+        if (record.getWatermarkSequence() < 0) {
+            record.setWatermarkSequence(watermarkOf(record.getSource()).next());
+            if (!record.getSource().snapshot) {
+                allTablesEnqueued(record);
+            }
+        }
+    }
+
+    private void allTablesEnqueued(Record record) {
+        synchronized (allTablesWatermark) {
+            record.setAllTablesWatermarkSequence(allTablesWatermark.next());
+            OffsetPosition position = record.getSource().offsetPosition;
+            if (!position.equals(lastPosition)) {
+                precedingPosition = lastPosition;
+                lastPosition = position;
+            }
+            record.setAllTablesOffset(precedingPosition == null ? null : precedingPosition.serialize());
+        }
+    }
+
+    /**
+     * Completes the sequence number of a record once it has been acknowledged, or once it has failed.
+     *
+     * @param sourceOffset the offset to mark for the record, or null if there is none, e.g. if the record failed
+     */
+    public void recordCompleted(Record record, String sourceOffset) {
+        watermarkOf(record.getSource()).complete(record.getWatermarkSequence(), record.getOffsetKey(), sourceOffset);
+        if (!record.getSource().snapshot) {
+            // the other records of the same mutation may still be in flight, so only the mutation before it is marked
+            allTablesWatermark.complete(record.getAllTablesWatermarkSequence(), OffsetWriter.ALL_TABLES_OFFSET_KEY,
+                    sourceOffset == null ? null : record.getAllTablesOffset());
+        }
+    }
+
+    /**
+     * Writes the offset of the latest record below the watermark of each table which has advanced since the
+     * last call. Offsets are written by one emitter at a time, so that a newer offset of a table is never
+     * overwritten by an older one.
+     */
+    public synchronized void markOffsets(OffsetWriter offsetWriter) {
+        commitLogWatermarks.values().forEach(watermark -> markOffsets(offsetWriter, watermark));
+        snapshotWatermarks.values().forEach(watermark -> markOffsets(offsetWriter, watermark));
+        markOffsets(offsetWriter, allTablesWatermark);
+    }
+
+    private void markOffsets(OffsetWriter offsetWriter, OffsetWatermark watermark) {
+        for (Map.Entry<String, String> offset : watermark.takeOffsets().entrySet()) {
+            offsetWriter.markOffset(offset.getKey(), offset.getValue(), watermark.snapshot);
+            if (watermark.snapshot) {
+                LOGGER.debug("Mark snapshot offset '{}' for table '{}'", offset.getKey(), watermark.sourceTable);
+            }
+        }
+    }
+
+    private OffsetWatermark watermarkOf(SourceInfo source) {
+        ConcurrentMap<String, OffsetWatermark> watermarks = source.snapshot ? snapshotWatermarks : commitLogWatermarks;
+        return watermarks.computeIfAbsent(source.keyspaceTable.name(), sourceTable -> new OffsetWatermark(sourceTable, source.snapshot));
+    }
+
+    /**
+     * Tracks the records of a single source table by their sequence numbers. The watermark is the highest
+     * sequence number for which the record and all records before it have completed; the offsets of the latest of
+     * these records which have an offset to mark are the ones to be written, usually a single one under the name
+     * of the table.
+     */
+    private static final class OffsetWatermark {
+        private static final MarkedOffset NO_OFFSET = new MarkedOffset(null, null);
+
+        private final String sourceTable;
+        private final boolean snapshot;
+        // sequence numbers which completed while a record before them was still in flight
+        private final Map<Long, MarkedOffset> completedAhead = new HashMap<>();
+        private final Map<String, String> offsets = new LinkedHashMap<>();
+        private long nextSequence = 0;
+        private long watermark = -1;
+
+        private OffsetWatermark(String sourceTable, boolean snapshot) {
+            this.sourceTable = sourceTable;
+            this.snapshot = snapshot;
+        }
+
+        private synchronized long next() {
+            return nextSequence++;
+        }
+
+        private synchronized void complete(long sequence, String offsetKey, String sourceOffset) {
+            MarkedOffset markedOffset = sourceOffset == null ? NO_OFFSET : new MarkedOffset(offsetKey, sourceOffset);
+            if (sequence != watermark + 1) {
+                completedAhead.put(sequence, markedOffset);
+                return;
+            }
+            advance(markedOffset);
+            MarkedOffset next;
+            while ((next = completedAhead.remove(watermark + 1)) != null) {
+                advance(next);
+            }
+        }
+
+        private void advance(MarkedOffset markedOffset) {
+            watermark++;
+            if (markedOffset != NO_OFFSET) {
+                offsets.put(markedOffset.key, markedOffset.offset);
+            }
+        }
+
+        /**
+         * @return the offsets to write by their keys if the watermark moved past new ones since the last call,
+         * otherwise an empty map
+         */
+        private synchronized Map<String, String> takeOffsets() {
+            if (offsets.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            Map<String, String> taken = new LinkedHashMap<>(offsets);
+            offsets.clear();
+            return taken;
+        }
+    }
+
+    private static final class MarkedOffset {
+        private final String key;
+        private final String offset;
+
+        private MarkedOffset(String key, String offset) {
+            this.key = key;
+            this.offset = offset;
+        }
+    }
+}
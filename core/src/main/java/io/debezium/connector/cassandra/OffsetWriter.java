@@ -5,11 +5,19 @@
  */
 package io.debezium.connector.cassandra;
 
+import java.util.Collection;
+
 /**
  * Interface for recording offset.
  */
 public interface OffsetWriter {
 
+    /**
+     * The key of the commit log offset up to which the records of all tables have been processed, which lets
+     * {@link #resumePosition(String, Collection)} skip the mutations of tables that have not been written to lately.
+     */
+    String ALL_TABLES_OFFSET_KEY = "*";
+
     /**
      * Update the offset in memory if the provided offset is greater than the existing offset.
      * @param sourceTable string in the format of <keyspace>.<table>.
@@ -28,6 +36,29 @@ public interface OffsetWriter {
      */
     boolean isOffsetProcessed(String sourceTable, String sourceOffset, boolean isSnapshot);
 
+    /**
+     * Determine if a commit log offset has been processed for a table. Unlike {@link #isOffsetProcessed(String, String, boolean)},
+     * the offset is neither serialized nor parsed, which makes it suitable to be called for every mutation read.
+     * @param sourceTable string in the format of <keyspace>.<table>.
+     * @param segmentId id of the commit log segment
+     * @param position position in the commit log segment
+     * @return true if the offset has been processed, false otherwise.
+     */
+    boolean isOffsetProcessed(String sourceTable, long segmentId, int position);
+
+    /**
+     * Determine the position in a commit log from which on it has to be read again, every mutation before
+     * this position has been processed for each of the given tables already, either according to the offset of
+     * the table or to the {@link #ALL_TABLES_OFFSET_KEY} offset.
+     * @param commitLogFileName name of the commit log file
+     * @param sourceTables strings in the format of <keyspace>.<table>
+     * @return the position to resume reading the commit log from, which is {@link Integer#MAX_VALUE}
+     * if the commit log has been processed completely for all given tables.
+     */
+    default int resumePosition(String commitLogFileName, Collection<String> sourceTables) {
+        return 0;
+    }
+
     /**
      * Flush latest offsets to disk.
      */
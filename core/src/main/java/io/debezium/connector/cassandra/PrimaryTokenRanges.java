@@ -0,0 +1,223 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+
+import io.debezium.connector.cassandra.exceptions.CassandraConnectorTaskException;
+
+/**
+ * The token ranges the local node is the primary replica of, i.e. for each token of the local node, the range
+ * from the preceding token of the ring (exclusive) to that token (inclusive). Since every node of a cluster runs
+ * its own connector, each change is only emitted once across the cluster if every connector restricts itself to
+ * its primary ranges, instead of once per replica.
+ * <p>
+ * The ranges are computed from the {@link TokenMap} of the driver, and computed again whenever the driver replaces
+ * its token map, e.g. after a change of the topology. Only the Murmur3 partitioner is supported, with any other
+ * partitioner the whole token ring is considered as owned.
+ */
+public class PrimaryTokenRanges {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrimaryTokenRanges.class);
+
+    private static final String MURMUR3_PARTITIONER = "org.apache.cassandra.dht.Murmur3Partitioner";
+
+    /**
+     * The whole token ring, for connectors which emit the changes of all the ranges the local node is a replica of.
+     */
+    public static final PrimaryTokenRanges ALL = new PrimaryTokenRanges(null);
+
+    private final CassandraClient cassandraClient;
+    private volatile Ranges ranges;
+
+    public PrimaryTokenRanges(CassandraClient cassandraClient) {
+        this.cassandraClient = cassandraClient;
+    }
+
+    /**
+     * Returns whether the given partition token is within the primary ranges of the local node.
+     *
+     * @param token the token value of the partition key, i.e. a {@link Long} for the Murmur3 partitioner
+     */
+    public boolean contains(Object token) {
+        if (!(token instanceof Long)) {
+            return true;
+        }
+        Ranges current = current();
+        return current == null || current.contains((Long) token);
+    }
+
+    /**
+     * Returns the primary ranges of the local node, sorted and without any range wrapping around the ring, each of
+     * them as an array of its start (exclusive) and end (inclusive) token. Returns null if the whole ring is owned.
+     */
+    public List<long[]> ranges() {
+        Ranges current = current();
+        if (current == null) {
+            return null;
+        }
+        List<long[]> result = new ArrayList<>(current.starts.length);
+        for (int i = 0; i < current.starts.length; i++) {
+            result.add(new long[]{ current.starts[i], current.ends[i] });
+        }
+        return result;
+    }
+
+    private Ranges current() {
+        if (cassandraClient == null) {
+            return null;
+        }
+        Optional<TokenMap> tokenMap = cassandraClient.getTokenMap();
+        if (!tokenMap.isPresent()) {
+            throw new CassandraConnectorTaskException("The token map of the cluster is not available, "
+                    + "the primary token ranges of the local node cannot be determined");
+        }
+        Ranges current = ranges;
+        if (current == null || current.tokenMap != tokenMap.get()) {
+            current = new Ranges(tokenMap.get(), cassandraClient.getHosts());
+            ranges = current;
+        }
+        return current.starts == null ? null : current;
+    }
+
+    /**
+     * Computes the primary ranges of the local node out of the tokens of all nodes, the given tokens being the
+     * Murmur3 token values.
+     *
+     * @return the sorted start and end tokens of the ranges, adjacent ranges being merged
+     */
+    static long[][] primaryRanges(Collection<Long> localTokens, Collection<Long> allTokens) {
+        TreeSet<Long> ring = new TreeSet<>(allTokens);
+        List<long[]> ranges = new ArrayList<>();
+        for (long token : localTokens) {
+            Long previous = ring.lower(token);
+            if (previous != null) {
+                ranges.add(new long[]{ previous, token });
+            }
+            else {
+                // the range of the lowest token wraps around the ring
+                long last = ring.last();
+                if (last != Long.MAX_VALUE) {
+                    ranges.add(new long[]{ last, Long.MAX_VALUE });
+                }
+                if (token != Long.MIN_VALUE) {
+                    ranges.add(new long[]{ Long.MIN_VALUE, token });
+                }
+            }
+        }
+        ranges.sort(Comparator.comparingLong(range -> range[0]));
+        List<long[]> merged = new ArrayList<>();
+        for (long[] range : ranges) {
+            long[] lastMerged = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (lastMerged != null && lastMerged[1] == range[0]) {
+                lastMerged[1] = range[1];
+            }
+            else {
+                merged.add(range.clone());
+            }
+        }
+        long[] starts = new long[merged.size()];
+        long[] ends = new long[merged.size()];
+        for (int i = 0; i < merged.size(); i++) {
+            starts[i] = merged.get(i)[0];
+            ends[i] = merged.get(i)[1];
+        }
+        return new long[][]{ starts, ends };
+    }
+
+    /**
+     * Returns whether the token is within one of the given sorted ranges.
+     */
+    static boolean contains(long[] starts, long[] ends, long token) {
+        int index = Arrays.binarySearch(ends, token);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index < ends.length && token > starts[index];
+    }
+
+    /**
+     * The primary ranges computed from a given token map, starts and ends being null if the whole ring is owned.
+     */
+    private static final class Ranges {
+        private final TokenMap tokenMap;
+        private final long[] starts;
+        private final long[] ends;
+
+        private Ranges(TokenMap tokenMap, Set<Node> nodes) {
+            this.tokenMap = tokenMap;
+            if (!MURMUR3_PARTITIONER.equals(tokenMap.getPartitionerName())) {
+                LOGGER.warn("Primary token ranges are only supported with the Murmur3Partitioner, the whole token ring is owned with {}",
+                        tokenMap.getPartitionerName());
+                this.starts = null;
+                this.ends = null;
+                return;
+            }
+            Node localNode = nodes.stream()
+                    .filter(PrimaryTokenRanges::isLocal)
+                    .findFirst()
+                    .orElseThrow(() -> new CassandraConnectorTaskException("None of the nodes " + nodes + " is the local node"));
+            List<Long> allTokens = new ArrayList<>();
+            for (Node node : nodes) {
+                allTokens.addAll(tokenValues(tokenMap, tokenMap.getTokens(node)));
+            }
+            long[][] ranges = primaryRanges(tokenValues(tokenMap, tokenMap.getTokens(localNode)), allTokens);
+            this.starts = ranges[0];
+            this.ends = ranges[1];
+            LOGGER.info("The local node {} is the primary replica of {} token ranges", localNode, starts.length);
+        }
+
+        private boolean contains(long token) {
+            return PrimaryTokenRanges.contains(starts, ends, token);
+        }
+    }
+
+    private static List<Long> tokenValues(TokenMap tokenMap, Set<Token> tokens) {
+        if (tokens == null) {
+            return Collections.emptyList();
+        }
+        List<Long> values = new ArrayList<>(tokens.size());
+        for (Token token : tokens) {
+            values.add(Long.parseLong(tokenMap.format(token)));
+        }
+        return values;
+    }
+
+    /**
+     * Returns whether the broadcast address of a node, or its listen address if unknown, is an address of this host.
+     */
+    private static boolean isLocal(Node node) {
+        Optional<InetSocketAddress> address = node.getBroadcastAddress().isPresent() ? node.getBroadcastAddress() : node.getListenAddress();
+        if (!address.isPresent() || address.get().getAddress() == null) {
+            return false;
+        }
+        InetAddress inetAddress = address.get().getAddress();
+        try {
+            return inetAddress.isAnyLocalAddress() || inetAddress.isLoopbackAddress() || NetworkInterface.getByInetAddress(inetAddress) != null;
+        }
+        catch (SocketException e) {
+            return false;
+        }
+    }
+}
@@ -18,8 +18,6 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
 
-import io.debezium.connector.base.ChangeEventQueue;
-
 /**
  * A thread that constantly polls records from the queue and emit them to Kafka via the KafkaRecordEmitter.
  * The processor is also responsible for marking the offset to file and deleting the commit log files.
@@ -28,7 +26,7 @@ public class QueueProcessor extends AbstractProcessor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(QueueProcessor.class);
 
-    private final ChangeEventQueue<Event> queue;
+    private final EventQueue queue;
     private final Emitter kafkaRecordEmitter;
     private final String commitLogRelocationDir;
     private final Set<String> erroneousCommitLogs;
@@ -51,7 +49,9 @@ public class QueueProcessor extends AbstractProcessor {
                 context.getCassandraConnectorConfig().getKeyConverter(),
                 context.getCassandraConnectorConfig().getValueConverter(),
                 context.getErroneousCommitLogs(),
-                context.getCassandraConnectorConfig().getCommitLogTransfer());
+                context.getCassandraConnectorConfig().getCommitLogTransfer(),
+                context.getSegmentTracker(),
+                context.getOffsetWatermarks());
     }
 
     @VisibleForTesting
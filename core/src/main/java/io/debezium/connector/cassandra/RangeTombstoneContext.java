@@ -23,9 +23,13 @@ public class RangeTombstoneContext<T> {
     }
 
     public RowData getOrCreate(T metadata) {
+        return getOrCreate(metadata, null);
+    }
+
+    public RowData getOrCreate(T metadata, RowData.Layout layout) {
         RowData rowData = map.get(metadata);
         if (rowData == null) {
-            rowData = new RowData();
+            rowData = layout == null ? new RowData() : new RowData(layout);
             map.put(metadata, rowData);
         }
         return rowData;
@@ -5,7 +5,6 @@
  */
 package io.debezium.connector.cassandra;
 
-import java.util.List;
 import java.util.Objects;
 
 import org.apache.kafka.connect.data.Schema;
@@ -28,6 +27,11 @@ public abstract class Record implements Event {
     private final Schema keySchema;
     private final Schema valueSchema;
     private final boolean shouldMarkOffset;
+    private final String offsetKey;
+    // given once the record is enqueued, only used to track its completion, see OffsetWatermarks
+    private long watermarkSequence = -1;
+    private long allTablesWatermarkSequence = -1;
+    private String allTablesOffset;
 
     public enum Operation {
         INSERT("i"),
@@ -52,12 +56,17 @@ public abstract class Record implements Event {
     }
 
     Record(SourceInfo source, RowData rowData, Schema keySchema, Schema valueSchema, Operation op, boolean shouldMarkOffset, long ts) {
+        this(source, rowData, keySchema, valueSchema, op, shouldMarkOffset, null, ts);
+    }
+
+    Record(SourceInfo source, RowData rowData, Schema keySchema, Schema valueSchema, Operation op, boolean shouldMarkOffset, String offsetKey, long ts) {
         this.source = source;
         this.rowData = rowData;
         this.op = op;
         this.keySchema = keySchema;
         this.valueSchema = valueSchema;
         this.shouldMarkOffset = shouldMarkOffset;
+        this.offsetKey = offsetKey;
         this.ts = ts;
     }
 
@@ -66,11 +75,8 @@ public abstract class Record implements Event {
             return null;
         }
 
-        List<CellData> primary = rowData.getPrimary();
         Struct struct = new Struct(keySchema);
-        for (CellData cellData : primary) {
-            struct.put(cellData.name, cellData.value);
-        }
+        rowData.putPrimary(struct);
         return struct;
     }
 
@@ -147,4 +153,36 @@ public abstract class Record implements Event {
     public boolean shouldMarkOffset() {
         return shouldMarkOffset;
     }
+
+    /**
+     * @return the key the offset of this record is marked under, which is the name of the source table
+     * unless the record completes a token range of a snapshot
+     */
+    public String getOffsetKey() {
+        return offsetKey != null ? offsetKey : source.keyspaceTable.name();
+    }
+
+    long getWatermarkSequence() {
+        return watermarkSequence;
+    }
+
+    void setWatermarkSequence(long watermarkSequence) {
+        this.watermarkSequence = watermarkSequence;
+    }
+
+    long getAllTablesWatermarkSequence() {
+        return allTablesWatermarkSequence;
+    }
+
+    void setAllTablesWatermarkSequence(long allTablesWatermarkSequence) {
+        this.allTablesWatermarkSequence = allTablesWatermarkSequence;
+    }
+
+    String getAllTablesOffset() {
+        return allTablesOffset;
+    }
+
+    void setAllTablesOffset(String allTablesOffset) {
+        this.allTablesOffset = allTablesOffset;
+    }
 }
@@ -30,33 +30,43 @@ public class RecordMaker {
                        Instant tsMicro, RowData data, Schema keySchema, Schema valueSchema,
                        boolean markOffset, BlockingConsumer<Record> consumer) {
         createRecord(cluster, offsetPosition, keyspaceTable, snapshot, tsMicro,
-                data, keySchema, valueSchema, markOffset, consumer, Record.Operation.INSERT);
+                data, keySchema, valueSchema, markOffset, null, consumer, Record.Operation.INSERT);
+    }
+
+    /**
+     * Creates an insert record whose offset is marked under the given key instead of the name of the table.
+     */
+    public void insert(String cluster, OffsetPosition offsetPosition, KeyspaceTable keyspaceTable, boolean snapshot,
+                       Instant tsMicro, RowData data, Schema keySchema, Schema valueSchema,
+                       boolean markOffset, String offsetKey, BlockingConsumer<Record> consumer) {
+        createRecord(cluster, offsetPosition, keyspaceTable, snapshot, tsMicro,
+                data, keySchema, valueSchema, markOffset, offsetKey, consumer, Record.Operation.INSERT);
     }
 
     public void update(String cluster, OffsetPosition offsetPosition, KeyspaceTable keyspaceTable, boolean snapshot,
                        Instant tsMicro, RowData data, Schema keySchema, Schema valueSchema,
                        boolean markOffset, BlockingConsumer<Record> consumer) {
         createRecord(cluster, offsetPosition, keyspaceTable, snapshot, tsMicro,
-                data, keySchema, valueSchema, markOffset, consumer, Record.Operation.UPDATE);
+                data, keySchema, valueSchema, markOffset, null, consumer, Record.Operation.UPDATE);
     }
 
     public void delete(String cluster, OffsetPosition offsetPosition, KeyspaceTable keyspaceTable, boolean snapshot,
                        Instant tsMicro, RowData data, Schema keySchema, Schema valueSchema,
                        boolean markOffset, BlockingConsumer<Record> consumer) {
         createRecord(cluster, offsetPosition, keyspaceTable, snapshot, tsMicro,
-                data, keySchema, valueSchema, markOffset, consumer, Record.Operation.DELETE);
+                data, keySchema, valueSchema, markOffset, null, consumer, Record.Operation.DELETE);
     }
 
     public void rangeTombstone(String cluster, OffsetPosition offsetPosition, KeyspaceTable keyspaceTable, boolean snapshot,
                                Instant tsMicro, RowData data, Schema keySchema, Schema valueSchema,
                                boolean markOffset, BlockingConsumer<Record> consumer) {
         createRecord(cluster, offsetPosition, keyspaceTable, snapshot, tsMicro,
-                data, keySchema, valueSchema, markOffset, consumer, Record.Operation.RANGE_TOMBSTONE);
+                data, keySchema, valueSchema, markOffset, null, consumer, Record.Operation.RANGE_TOMBSTONE);
     }
 
     private void createRecord(String cluster, OffsetPosition offsetPosition, KeyspaceTable keyspaceTable, boolean snapshot,
                               Instant tsMicro, RowData data, Schema keySchema, Schema valueSchema,
-                              boolean markOffset, BlockingConsumer<Record> consumer, Record.Operation operation) {
+                              boolean markOffset, String offsetKey, BlockingConsumer<Record> consumer, Record.Operation operation) {
         FieldFilterSelector.FieldFilter fieldFilter = filters.getFieldFilter(keyspaceTable);
         RowData filteredData;
         switch (operation) {
@@ -71,7 +81,7 @@ public class RecordMaker {
         }
 
         SourceInfo source = new SourceInfo(config, cluster, offsetPosition, keyspaceTable, snapshot, tsMicro);
-        ChangeRecord record = new ChangeRecord(source, filteredData, keySchema, valueSchema, operation, markOffset);
+        ChangeRecord record = new ChangeRecord(source, filteredData, keySchema, valueSchema, operation, markOffset, offsetKey);
         try {
             consumer.accept(record);
         }
@@ -0,0 +1,183 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import io.debezium.connector.cassandra.CassandraConnectorConfig.ChangeEventQueueWaitStrategy;
+
+/**
+ * A bounded lock-free {@link EventQueue} for multiple producers and a single consumer, the commit log processing
+ * threads and snapshot threads enqueueing to the same queue processor. Producers claim a slot of the ring buffer
+ * with a single compare-and-set and then store their event in it. The consumer drains all consecutive stored
+ * events up to the max batch size at once, and releases their slots to the producers with a single write.
+ * <p>
+ * Whenever the queue is empty, the consumer waits according to the {@link ChangeEventQueueWaitStrategy}, i.e. it
+ * spins, yields or parks until it is signaled by the next enqueued event, so the delay of an event is not bound to
+ * the poll interval, which only bounds how long {@link #poll()} waits before returning an empty batch. Producers
+ * wait while the queue is full in the same way, parking for short periods instead of being signaled.
+ */
+public class RingBufferEventQueue implements EventQueue {
+
+    private static final long PRODUCER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AtomicReferenceArray<Event> buffer;
+    private final int mask;
+    private final int capacity;
+    private final int maxBatchSize;
+    private final long pollIntervalNanos;
+    private final ChangeEventQueueWaitStrategy waitStrategy;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+    private volatile Thread waitingConsumer;
+
+    public RingBufferEventQueue(int capacity, int maxBatchSize, Duration pollInterval, ChangeEventQueueWaitStrategy waitStrategy) {
+        if (capacity <= 0 || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("The capacity " + capacity + " and the max batch size " + maxBatchSize + " must be positive");
+        }
+        int slots = Integer.highestOneBit(capacity);
+        if (slots < capacity) {
+            slots <<= 1;
+        }
+        this.buffer = new AtomicReferenceArray<>(slots);
+        this.mask = slots - 1;
+        this.capacity = capacity;
+        this.maxBatchSize = maxBatchSize;
+        this.pollIntervalNanos = pollInterval.toNanos();
+        this.waitStrategy = waitStrategy;
+    }
+
+    @Override
+    public void enqueue(Event event) throws InterruptedException {
+        Objects.requireNonNull(event);
+        long index;
+        while (true) {
+            index = producerIndex.get();
+            if (index - consumerIndex.get() < capacity) {
+                if (producerIndex.compareAndSet(index, index + 1)) {
+                    break;
+                }
+            }
+            else {
+                idleProducer();
+            }
+        }
+        int slot = (int) index & mask;
+        if (waitStrategy == ChangeEventQueueWaitStrategy.PARK) {
+            // a volatile write, so that either the consumer sees the event before parking or the event's producer sees
+            // the parked consumer
+            buffer.set(slot, event);
+            Thread consumer = waitingConsumer;
+            if (consumer != null) {
+                LockSupport.unpark(consumer);
+            }
+        }
+        else {
+            buffer.lazySet(slot, event);
+        }
+    }
+
+    @Override
+    public List<Event> poll() throws InterruptedException {
+        List<Event> events = drain();
+        if (!events.isEmpty()) {
+            return events;
+        }
+        long deadline = System.nanoTime() + pollIntervalNanos;
+        while (true) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return events;
+            }
+            idleConsumer(remaining);
+            events = drain();
+            if (!events.isEmpty()) {
+                return events;
+            }
+        }
+    }
+
+    /**
+     * Removes the events stored in consecutive slots from the head of the queue, up to the max batch size. Stops at
+     * the first slot claimed by a producer which has not stored its event yet, to keep the events in order.
+     */
+    private List<Event> drain() {
+        long consumer = consumerIndex.get();
+        int available = (int) Math.min(maxBatchSize, producerIndex.get() - consumer);
+        if (available <= 0) {
+            return Collections.emptyList();
+        }
+        List<Event> events = new ArrayList<>(available);
+        for (int i = 0; i < available; i++) {
+            int slot = (int) consumer & mask;
+            Event event = buffer.get(slot);
+            if (event == null) {
+                break;
+            }
+            buffer.lazySet(slot, null);
+            events.add(event);
+            consumer++;
+        }
+        // the cleared slots are released to the producers all at once
+        consumerIndex.lazySet(consumer);
+        return events;
+    }
+
+    private void idleConsumer(long maxNanos) {
+        switch (waitStrategy) {
+            case BUSY_SPIN:
+                Thread.onSpinWait();
+                break;
+            case YIELD:
+                Thread.yield();
+                break;
+            default:
+                waitingConsumer = Thread.currentThread();
+                // checked again once registered, as a producer storing an event before did not signal this consumer
+                if (buffer.get((int) consumerIndex.get() & mask) == null) {
+                    LockSupport.parkNanos(this, maxNanos);
+                }
+                waitingConsumer = null;
+        }
+    }
+
+    private void idleProducer() throws InterruptedException {
+        switch (waitStrategy) {
+            case BUSY_SPIN:
+                Thread.onSpinWait();
+                break;
+            case YIELD:
+                Thread.yield();
+                break;
+            default:
+                LockSupport.parkNanos(this, PRODUCER_PARK_NANOS);
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    @Override
+    public int totalCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - (int) (producerIndex.get() - consumerIndex.get()));
+    }
+}
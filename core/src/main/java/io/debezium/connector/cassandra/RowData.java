@@ -6,11 +6,12 @@
 package io.debezium.connector.cassandra;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import org.apache.kafka.connect.data.Field;
 import org.apache.kafka.connect.data.Schema;
@@ -25,15 +26,42 @@ import io.debezium.connector.cassandra.transforms.CassandraTypeConverter;
 import io.debezium.connector.cassandra.transforms.CassandraTypeDeserializer;
 
 /**
- * Row-level data about the source event. Contains a map where the key is the table column
- * name and the value is the {@link CellData}.
+ * Row-level data about the source event. Contains the {@link CellData} of each table column.
+ * <p>
+ * A row created for a table {@link Layout} stores its cells in an array indexed by the ordinal of their
+ * column in the row schema, so recording the row neither hashes column names nor looks up field schemas.
+ * A row created without a layout stores its cells in the order they have been added.
  */
 public class RowData implements KafkaRecord {
-    private final Map<String, CellData> cellMap = new LinkedHashMap<>();
+    private static final String RANGE_START = ".range_start";
+    private static final String RANGE_END = ".range_end";
+
+    private final Layout layout;
+    private CellData[] cells;
+    private int size = 0;
+    private int cellCount = 0;
 
     private Object start = null;
     private Object end = null;
 
+    public RowData() {
+        this.layout = null;
+        this.cells = new CellData[8];
+    }
+
+    public RowData(Layout layout) {
+        this.layout = layout;
+        this.cells = new CellData[layout.fields.size()];
+        this.size = cells.length;
+    }
+
+    private RowData(Layout layout, CellData[] cells, int size, int cellCount) {
+        this.layout = layout;
+        this.cells = cells;
+        this.size = size;
+        this.cellCount = cellCount;
+    }
+
     public void addStart(Object start) {
         this.start = start;
     }
@@ -51,38 +79,104 @@ public class RowData implements KafkaRecord {
     }
 
     public void addCell(CellData cellData) {
-        this.cellMap.put(cellData.name, cellData);
+        int index = indexOf(cellData.name);
+        if (index < 0) {
+            if (layout != null) {
+                // not a column of the row schema, it would never be recorded
+                return;
+            }
+            if (size == cells.length) {
+                cells = Arrays.copyOf(cells, size * 2);
+            }
+            index = size++;
+        }
+        if (cells[index] == null) {
+            cellCount++;
+        }
+        cells[index] = cellData;
+    }
+
+    /**
+     * Sets the cell of the column with the given ordinal, as resolved once per table schema by
+     * {@link Layout#ordinalOf(String)}, so that the name of the column is not looked up for every cell.
+     * A negative ordinal denotes a column which is not part of the row schema, its cell is never recorded.
+     */
+    public void setCell(int ordinal, CellData cellData) {
+        if (layout == null) {
+            throw new IllegalStateException("Cells can only be set by ordinal in a row created for a layout");
+        }
+        if (ordinal < 0) {
+            return;
+        }
+        if (cells[ordinal] == null) {
+            cellCount++;
+        }
+        cells[ordinal] = cellData;
     }
 
     public void removeCell(String columnName) {
-        if (hasCell(columnName)) {
-            cellMap.remove(columnName);
+        int index = indexOf(columnName);
+        if (index >= 0 && cells[index] != null) {
+            cells[index] = null;
+            cellCount--;
         }
     }
 
     public boolean hasCell(String columnName) {
-        return cellMap.containsKey(columnName);
+        int index = indexOf(columnName);
+        return index >= 0 && cells[index] != null;
     }
 
     public boolean hasAnyCell() {
-        return !cellMap.isEmpty();
+        return cellCount > 0;
+    }
+
+    private int indexOf(String columnName) {
+        if (layout != null) {
+            return layout.ordinalOf(columnName);
+        }
+        for (int i = 0; i < size; i++) {
+            if (cells[i] != null && cells[i].name.equals(columnName)) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     @Override
     public Struct record(Schema schema) {
         Struct struct = new Struct(schema);
+        if (layout != null && layout.rowSchema == schema) {
+            List<Field> fields = layout.fields;
+            for (int i = 0; i < fields.size(); i++) {
+                if (i == layout.rangeStartOrdinal) {
+                    if (start != null) {
+                        struct.put(fields.get(i), start);
+                    }
+                }
+                else if (i == layout.rangeEndOrdinal) {
+                    if (end != null) {
+                        struct.put(fields.get(i), end);
+                    }
+                }
+                else if (cells[i] != null) {
+                    struct.put(fields.get(i), cells[i].record(layout.cellSchemas[i]));
+                }
+            }
+            return struct;
+        }
         for (Field field : schema.fields()) {
             Schema cellSchema = KeyValueSchema.getFieldSchema(field.name(), schema);
-            if (field.name().equals(".range_start") && start != null) {
+            if (field.name().equals(RANGE_START) && start != null) {
                 struct.put(field.name(), start);
             }
-            else if (field.name().equals(".range_end") && end != null) {
+            else if (field.name().equals(RANGE_END) && end != null) {
                 struct.put(field.name(), end);
             }
             else {
-                CellData cellData = cellMap.get(field.name());
-                if (cellData != null) {
-                    struct.put(field.name(), cellData.record(cellSchema));
+                int index = indexOf(field.name());
+                if (index >= 0 && cells[index] != null) {
+                    struct.put(field.name(), cells[index].record(cellSchema));
                 }
             }
         }
@@ -90,11 +184,7 @@ public class RowData implements KafkaRecord {
     }
 
     public RowData copy() {
-        RowData copy = new RowData();
-        for (CellData cellData : cellMap.values()) {
-            copy.addCell(cellData);
-        }
-        return copy;
+        return new RowData(layout, Arrays.copyOf(cells, cells.length), size, cellCount);
     }
 
     /**
@@ -120,7 +210,7 @@ public class RowData implements KafkaRecord {
         SchemaBuilder schemaBuilder = SchemaBuilder.struct().name(Record.AFTER);
 
         for (int i = 0; i < columnNames.size(); i++) {
-            Schema valueSchema = CassandraTypeDeserializer.getSchemaBuilder(CassandraTypeConverter.convert(columnsTypes.get(i))).build();
+            Schema valueSchema = CassandraTypeDeserializer.getSchema(CassandraTypeConverter.convert(columnsTypes.get(i)));
             String columnName = columnNames.get(i);
             Schema optionalCellSchema = CellData.cellSchema(columnName, valueSchema, true);
             if (optionalCellSchema != null) {
@@ -128,19 +218,46 @@ public class RowData implements KafkaRecord {
             }
         }
 
-        schemaBuilder.field(".range_start", Schema.OPTIONAL_STRING_SCHEMA);
-        schemaBuilder.field(".range_end", Schema.OPTIONAL_STRING_SCHEMA);
+        schemaBuilder.field(RANGE_START, Schema.OPTIONAL_STRING_SCHEMA);
+        schemaBuilder.field(RANGE_END, Schema.OPTIONAL_STRING_SCHEMA);
 
         return schemaBuilder.build();
     }
 
-    List<CellData> getPrimary() {
-        return this.cellMap.values().stream().filter(CellData::isPrimary).collect(Collectors.toList());
+    /**
+     * Puts the values of the primary key cells of the row into the given key struct.
+     */
+    void putPrimary(Struct key) {
+        if (layout != null) {
+            for (int ordinal : layout.primaryKeyOrdinals) {
+                putPrimary(key, cells[ordinal]);
+            }
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            putPrimary(key, cells[i]);
+        }
+    }
+
+    private static void putPrimary(Struct key, CellData cellData) {
+        if (cellData != null && cellData.isPrimary()) {
+            key.put(cellData.name, cellData.getValue());
+        }
+    }
+
+    private Map<String, CellData> cellMap() {
+        Map<String, CellData> cellMap = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            if (cells[i] != null) {
+                cellMap.put(cells[i].name, cells[i]);
+            }
+        }
+        return cellMap;
     }
 
     @Override
     public String toString() {
-        return this.cellMap.toString();
+        return cellMap().toString();
     }
 
     @Override
@@ -152,11 +269,70 @@ public class RowData implements KafkaRecord {
             return false;
         }
         RowData rowData = (RowData) o;
-        return Objects.equals(cellMap, rowData.cellMap);
+        return Objects.equals(cellMap(), rowData.cellMap());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(cellMap);
+        return Objects.hash(cellMap());
+    }
+
+    /**
+     * The ordinals of the columns of a table within its row schema along with their cell schemas, computed
+     * once per table schema and shared by all rows of the table.
+     */
+    public static final class Layout {
+        private final Schema rowSchema;
+        private final List<Field> fields;
+        private final Schema[] cellSchemas;
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final int[] primaryKeyOrdinals;
+        private final int rangeStartOrdinal;
+        private final int rangeEndOrdinal;
+
+        /**
+         * @param rowSchema the schema of the "after" field of the change events of the table
+         * @param primaryKeyNames the names of the primary key columns of the table
+         */
+        public Layout(Schema rowSchema, List<String> primaryKeyNames) {
+            this.rowSchema = rowSchema;
+            this.fields = rowSchema.fields();
+            this.cellSchemas = new Schema[fields.size()];
+            int rangeStart = -1;
+            int rangeEnd = -1;
+            for (Field field : fields) {
+                cellSchemas[field.index()] = field.schema();
+                if (field.name().equals(RANGE_START)) {
+                    rangeStart = field.index();
+                }
+                else if (field.name().equals(RANGE_END)) {
+                    rangeEnd = field.index();
+                }
+                else {
+                    ordinals.put(field.name(), field.index());
+                }
+            }
+            this.rangeStartOrdinal = rangeStart;
+            this.rangeEndOrdinal = rangeEnd;
+            this.primaryKeyOrdinals = primaryKeyNames.stream()
+                    .filter(ordinals::containsKey)
+                    .mapToInt(ordinals::get)
+                    .toArray();
+        }
+
+        /**
+         * @return the ordinal of the given column within the row schema, or -1 if it is not part of it
+         */
+        public int ordinalOf(String columnName) {
+            Integer ordinal = ordinals.get(columnName);
+            return ordinal == null ? -1 : ordinal;
+        }
+
+        /**
+         * @return the ordinals of the given columns within the row schema, see {@link #ordinalOf(String)}
+         */
+        public int[] ordinalsOf(List<String> columnNames) {
+            return columnNames.stream().mapToInt(this::ordinalOf).toArray();
+        }
     }
 }
@@ -19,9 +19,11 @@ public class SchemaHolder {
     private static final Logger LOGGER = LoggerFactory.getLogger(SchemaHolder.class);
 
     private final ConcurrentMap<KeyspaceTable, KeyValueSchema> tableToKVSchemaMap;
+    private final ConcurrentMap<KeyspaceTable, Object> tableToPlanMap;
 
     public SchemaHolder() {
         this.tableToKVSchemaMap = new ConcurrentHashMap<>();
+        this.tableToPlanMap = new ConcurrentHashMap<>();
     }
 
     public KeyValueSchema getKeyValueSchema(KeyspaceTable kst) {
@@ -34,14 +36,42 @@ public class SchemaHolder {
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * @return the names of the CDC enabled tables, in the format of <keyspace>.<table>
+     */
+    public Set<String> getCdcEnabledTableNames() {
+        return tableToKVSchemaMap.keySet().stream()
+                .map(KeyspaceTable::name)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * @return the plan cached for the table by {@link #putPlan(KeyspaceTable, Object)}, or null if there is none of
+     * the given type or if the schema of the table has changed since
+     */
+    public <T> T getPlan(KeyspaceTable kst, Class<T> planType) {
+        Object plan = tableToPlanMap.get(kst);
+        return planType.isInstance(plan) ? planType.cast(plan) : null;
+    }
+
+    /**
+     * Caches a plan derived from the current schema of the table, such as the resolved columns of the commit log
+     * read handlers, so that it is shared by all readers of the table until its schema is updated or removed.
+     */
+    public void putPlan(KeyspaceTable kst, Object plan) {
+        tableToPlanMap.put(kst, plan);
+    }
+
     protected void removeTableSchema(KeyspaceTable kst) {
         tableToKVSchemaMap.remove(kst);
+        tableToPlanMap.remove(kst);
         LOGGER.info("Removed the schema for {}.{} from table schema cache.", kst.keyspace, kst.table);
     }
 
     protected void addOrUpdateTableSchema(KeyspaceTable kst, KeyValueSchema kvs) {
         boolean isUpdate = tableToKVSchemaMap.containsKey(kst);
         tableToKVSchemaMap.put(kst, kvs);
+        tableToPlanMap.remove(kst);
         if (isUpdate) {
             LOGGER.info("Updated the schema for {}.{} in table schema cache.", kst.keyspace, kst.table);
         }
@@ -0,0 +1,105 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+
+import io.debezium.DebeziumException;
+
+/**
+ * Iterates over the rows of an asynchronously executed query, requesting the following pages of the
+ * result set ahead of time, so that the rows of a page are processed while the next pages are in flight
+ * rather than the processing thread waiting for a round trip at the end of every page.
+ * <p>
+ * At most {@code prefetch} pages are requested ahead of the page being iterated over, each of them
+ * being buffered by the driver once it has arrived.
+ */
+public class SnapshotPageIterator implements Iterator<Row> {
+    private final int prefetch;
+    private final Deque<CompletableFuture<AsyncResultSet>> requestedPages = new ArrayDeque<>();
+    private CompletableFuture<AsyncResultSet> lastRequestedPage;
+    private Iterator<Row> currentRows = Collections.emptyIterator();
+    private boolean exhausted = false;
+
+    public SnapshotPageIterator(CompletionStage<AsyncResultSet> firstPage, int prefetch) {
+        this.prefetch = prefetch;
+        this.lastRequestedPage = firstPage.toCompletableFuture();
+        this.requestedPages.add(lastRequestedPage);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!currentRows.hasNext()) {
+            if (exhausted) {
+                return false;
+            }
+            if (requestedPages.isEmpty()) {
+                requestNextPage();
+            }
+            AsyncResultSet page = await(requestedPages.poll());
+            if (page == null) {
+                exhausted = true;
+                return false;
+            }
+            if (!page.hasMorePages()) {
+                // pages requested beyond the last one complete with null, there is no need to wait for them
+                exhausted = true;
+                requestedPages.clear();
+            }
+            else {
+                while (requestedPages.size() < prefetch) {
+                    requestNextPage();
+                }
+            }
+            currentRows = page.currentPage().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return currentRows.next();
+    }
+
+    /**
+     * Requests the page following the last requested one as soon as the latter has arrived.
+     */
+    private void requestNextPage() {
+        lastRequestedPage = lastRequestedPage.thenCompose(page -> page != null && page.hasMorePages()
+                ? page.fetchNextPage()
+                : CompletableFuture.<AsyncResultSet> completedFuture(null));
+        requestedPages.add(lastRequestedPage);
+    }
+
+    private static AsyncResultSet await(CompletableFuture<AsyncResultSet> page) {
+        try {
+            return page.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DebeziumException("Interrupted while waiting for a page of the snapshot query", e);
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new DebeziumException("Failed to fetch a page of the snapshot query", e.getCause());
+        }
+    }
+}
@@ -6,26 +6,36 @@
 package io.debezium.connector.cassandra;
 
 import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.time.Duration;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.apache.cassandra.config.DatabaseDescriptor;
 import org.apache.cassandra.db.marshal.CounterColumnType;
 import org.apache.cassandra.db.marshal.LongType;
-import org.apache.kafka.connect.data.Schema;
+import org.apache.cassandra.dht.Murmur3Partitioner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.oss.driver.api.core.ConsistencyLevel;
 import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.DefaultConsistencyLevel;
-import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
@@ -33,23 +43,37 @@ import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
 import com.datastax.oss.driver.api.querybuilder.QueryBuilder;
 import com.datastax.oss.driver.api.querybuilder.select.Select;
 import com.datastax.oss.driver.api.querybuilder.select.SelectFrom;
+import com.datastax.oss.driver.api.querybuilder.select.Selector;
 import com.datastax.oss.protocol.internal.ProtocolConstants;
 
 import io.debezium.DebeziumException;
-import io.debezium.connector.base.ChangeEventQueue;
+import io.debezium.connector.cassandra.transforms.CassandraTypeConverter;
 import io.debezium.connector.cassandra.transforms.CassandraTypeDeserializer;
+import io.debezium.connector.cassandra.transforms.CellCodec;
 import io.debezium.time.Conversions;
 import io.debezium.util.Collect;
 
 /**
  * This reader is responsible for initial bootstrapping of a table,
  * which entails converting each row into a change event and enqueueing
- * that event to the {@link ChangeEventQueue}.
+ * that event to the {@link EventQueue}.
  * <p>
  * IMPORTANT: Currently, only when a snapshot is completed will the OffsetWriter
  * record the table in the offset.properties file (with filename "" and position
  * -1). This means if the SnapshotProcessor is terminated midway, upon restart
  * it will skip all the tables that are already recorded in offset.properties
+ * <p>
+ * If the token ring of a table is split into sub-ranges, each sub-range is recorded
+ * as well once all of its rows have been emitted, under the name of the table followed by
+ * the token range, e.g. {@code keyspace.table(-9223372036854775808,-4611686018427387904]}.
+ * A snapshot of the table which has been terminated midway then resumes with the
+ * sub-ranges which have not been recorded, provided the number of splits is unchanged.
+ * <p>
+ * If only the primary token ranges of the local node are to be snapshotted, the sub-ranges are restricted
+ * to the primary ranges, see {@link PrimaryTokenRanges}.
+ * <p>
+ * The rate at which rows are read may be limited, globally and per table, and adapted to the latency
+ * of the CQL requests, see {@link SnapshotRateLimiter}.
  */
 public class SnapshotProcessor extends AbstractProcessor {
     private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotProcessor.class);
@@ -57,32 +81,69 @@ public class SnapshotProcessor extends AbstractProcessor {
     private static final String NAME = "Snapshot Processor";
     private static final String CASSANDRA_NOW_UNIXTIMESTAMP = "TOUNIXTIMESTAMP(NOW())";
     private static final String EXECUTION_TIME_ALIAS = "execution_time";
+    private static final String PARTITION_TOKEN_ALIAS = "partition_token";
+    private static final String SIZE_ESTIMATES_QUERY = "SELECT mean_partition_size, partitions_count FROM system.size_estimates "
+            + "WHERE keyspace_name = ? AND table_name = ?";
     private static final Set<Integer> collectionTypes = Collect.unmodifiableSet(ProtocolConstants.DataType.LIST,
             ProtocolConstants.DataType.SET,
             ProtocolConstants.DataType.MAP);
 
     private final CassandraClient cassandraClient;
-    private final List<ChangeEventQueue<Event>> queues;
+    private final ChangeEventQueueRouter queueRouter;
+    private final boolean routeByToken;
+    private final PrimaryTokenRanges primaryTokenRanges;
     private final OffsetWriter offsetWriter;
     private final SchemaHolder schemaHolder;
     private final RecordMaker recordMaker;
+    private final Filters filters;
+    private final Map<KeyspaceTable, Set<String>> includedColumns;
+    private final Set<String> ttlExcludedTables;
     private final CassandraConnectorConfig.SnapshotMode snapshotMode;
     private final ConsistencyLevel consistencyLevel;
-    private final Set<String> startedTableNames = new HashSet<>();
+    private final int tokenRangeSplits;
+    private final ExecutorService tokenRangeExecutor;
+    private final ExecutorService tableExecutor;
+    private final int pageSize;
+    private final int pagePrefetch;
+    private final SnapshotRateLimiter rateLimiter;
+    private final Set<String> startedTableNames = ConcurrentHashMap.newKeySet();
     private final SnapshotProcessorMetrics metrics = new SnapshotProcessorMetrics();
     private boolean initial = true;
 
     public SnapshotProcessor(CassandraConnectorContext context) {
         super(NAME, context.getCassandraConnectorConfig().snapshotPollInterval());
-        this.queues = context.getQueues();
+        this.queueRouter = context.getQueueRouter();
+        this.routeByToken = context.getCassandraConnectorConfig().changeEventQueueRouting() == CassandraConnectorConfig.ChangeEventQueueRouting.PARTITION_TOKEN;
+        this.primaryTokenRanges = context.getPrimaryTokenRanges();
         cassandraClient = context.getCassandraClient();
         offsetWriter = context.getOffsetWriter();
         schemaHolder = context.getSchemaHolder();
+        filters = new Filters(context.getCassandraConnectorConfig().fieldExcludeList());
         recordMaker = new RecordMaker(context.getCassandraConnectorConfig().tombstonesOnDelete(),
-                new Filters(context.getCassandraConnectorConfig().fieldExcludeList()),
+                filters,
                 context.getCassandraConnectorConfig());
+        includedColumns = FieldFilterSelector.fieldsByTable(context.getCassandraConnectorConfig().snapshotColumnIncludeList());
+        ttlExcludedTables = new HashSet<>(context.getCassandraConnectorConfig().snapshotTtlExcludeList());
         snapshotMode = context.getCassandraConnectorConfig().snapshotMode();
         consistencyLevel = context.getCassandraConnectorConfig().snapshotConsistencyLevel();
+        tokenRangeSplits = context.getCassandraConnectorConfig().snapshotTokenRangeSplits();
+        tokenRangeExecutor = tokenRangeSplits > 1 ? Executors.newFixedThreadPool(context.getCassandraConnectorConfig().snapshotTokenRangeThreads()) : null;
+        int tableThreads = context.getCassandraConnectorConfig().snapshotTableThreads();
+        tableExecutor = tableThreads > 1 ? Executors.newFixedThreadPool(tableThreads) : null;
+        pageSize = context.getCassandraConnectorConfig().snapshotPageSize();
+        pagePrefetch = context.getCassandraConnectorConfig().snapshotPagePrefetch();
+        rateLimiter = rateLimiter(context.getCassandraConnectorConfig(), cassandraClient);
+    }
+
+    private static SnapshotRateLimiter rateLimiter(CassandraConnectorConfig config, CassandraClient cassandraClient) {
+        Map<String, Long> tableRowsPerSecond = config.snapshotTableMaxRowsPerSecond();
+        Map<String, Long> tableBytesPerSecond = config.snapshotTableMaxBytesPerSecond();
+        if (config.snapshotMaxRowsPerSecond() == 0 && config.snapshotMaxBytesPerSecond() == 0
+                && tableRowsPerSecond.isEmpty() && tableBytesPerSecond.isEmpty() && config.snapshotLatencyThresholdMs() == 0) {
+            return SnapshotRateLimiter.UNLIMITED;
+        }
+        return new SnapshotRateLimiter(config.snapshotMaxRowsPerSecond(), config.snapshotMaxBytesPerSecond(),
+                tableRowsPerSecond, tableBytesPerSecond, cassandraClient::cqlRequestsP99LatencyMillis, config.snapshotLatencyThresholdMs());
     }
 
     @Override
@@ -92,6 +153,12 @@ public class SnapshotProcessor extends AbstractProcessor {
 
     @Override
     public void destroy() {
+        if (tokenRangeExecutor != null) {
+            tokenRangeExecutor.shutdownNow();
+        }
+        if (tableExecutor != null) {
+            tableExecutor.shutdownNow();
+        }
         metrics.unregisterMetrics();
     }
 
@@ -111,7 +178,8 @@ public class SnapshotProcessor extends AbstractProcessor {
 
     /**
      * Fetch for all new tables that have not yet been snapshotted, and then iterate through the
-     * tables to snapshot each one of them.
+     * tables to snapshot each one of them, the tables with the largest estimated size first.
+     * If several tables are to be snapshotted concurrently, they are submitted to a bounded pool.
      */
     synchronized void snapshot() throws IOException {
         Set<TableMetadata> tables = getTablesToSnapshot();
@@ -121,14 +189,29 @@ public class SnapshotProcessor extends AbstractProcessor {
             long startTime = System.currentTimeMillis();
             metrics.setTableCount(tables.size());
             metrics.startSnapshot();
-            for (TableMetadata table : tables) {
-                if (isRunning()) {
-                    String tableName = tableName(table);
-                    LOGGER.info("Snapshotting table {} ...", tableName);
-                    startedTableNames.add(tableName);
-                    takeTableSnapshot(table);
-                    metrics.completeTable();
-                    LOGGER.info("Snapshot of table {} has been taken", tableName);
+            List<TableMetadata> orderedTables = orderByEstimatedSize(tables);
+            if (tableExecutor == null) {
+                for (TableMetadata table : orderedTables) {
+                    if (isRunning()) {
+                        snapshotTable(table);
+                    }
+                }
+            }
+            else {
+                List<Future<?>> futures = new ArrayList<>();
+                for (TableMetadata table : orderedTables) {
+                    futures.add(tableExecutor.submit(() -> {
+                        if (isRunning()) {
+                            snapshotTable(table);
+                        }
+                    }));
+                }
+                try {
+                    awaitAll(futures);
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new DebeziumException("Interrupted while waiting for the table snapshots to complete", e);
                 }
             }
             metrics.stopSnapshot();
@@ -141,6 +224,51 @@ public class SnapshotProcessor extends AbstractProcessor {
         }
     }
 
+    private void snapshotTable(TableMetadata table) {
+        String tableName = tableName(table);
+        LOGGER.info("Snapshotting table {} ...", tableName);
+        startedTableNames.add(tableName);
+        metrics.startTable(tableName);
+        takeTableSnapshot(table);
+        metrics.completeTable(tableName);
+        LOGGER.info("Snapshot of table {} has been taken", tableName);
+    }
+
+    /**
+     * Orders the given tables by their estimated size in descending order, so that the largest tables
+     * do not start last and hold up the completion of the snapshot.
+     */
+    private List<TableMetadata> orderByEstimatedSize(Set<TableMetadata> tables) {
+        Map<TableMetadata, Long> estimatedSizes = new HashMap<>();
+        for (TableMetadata table : tables) {
+            long estimatedSize = estimateTableSize(table);
+            estimatedSizes.put(table, estimatedSize);
+            metrics.addTable(tableName(table), estimatedSize);
+        }
+        List<TableMetadata> orderedTables = new ArrayList<>(tables);
+        orderedTables.sort(Comparator.comparing(estimatedSizes::get, Comparator.reverseOrder()));
+        return orderedTables;
+    }
+
+    /**
+     * Returns the size of a table in bytes as estimated by Cassandra in {@code system.size_estimates}, or 0 if
+     * no estimates are available. The estimates only cover the token ranges the queried node is a replica of,
+     * which is sufficient to compare tables with each other.
+     */
+    private long estimateTableSize(TableMetadata tableMetadata) {
+        try {
+            long estimatedSize = 0;
+            for (Row row : cassandraClient.execute(SIZE_ESTIMATES_QUERY, tableMetadata.getKeyspace().asInternal(), tableMetadata.getName().asInternal())) {
+                estimatedSize += row.getLong("mean_partition_size") * row.getLong("partitions_count");
+            }
+            return estimatedSize;
+        }
+        catch (Exception e) {
+            LOGGER.debug("Failed to estimate the size of table {}", tableName(tableMetadata), e);
+            return 0;
+        }
+    }
+
     /**
      * Return a set of {@link TableMetadata} for tables that have not been snapshotted but have CDC enabled.
      */
@@ -155,27 +283,163 @@ public class SnapshotProcessor extends AbstractProcessor {
 
     /**
      * Runs a SELECT query on a given table and process each row in the result set
-     * by converting the row into a record and enqueue it to {@link ChangeRecord}
+     * by converting the row into a record and enqueue it to {@link ChangeRecord}.
+     * If the token ring is split into sub-ranges, a query is run for each sub-range and
+     * the sub-ranges are processed concurrently.
      */
-    private void takeTableSnapshot(TableMetadata tableMetadata) throws IOException {
+    private void takeTableSnapshot(TableMetadata tableMetadata) {
         try {
-            SimpleStatement statement = generateSnapshotStatement(tableMetadata).setConsistencyLevel(DefaultConsistencyLevel.valueOf(consistencyLevel.name()));
-            LOGGER.info("Executing snapshot query '{}' with consistency level {}", statement.getQuery(), statement.getConsistencyLevel());
-            ResultSet resultSet = cassandraClient.execute(statement);
-            LOGGER.info("Executed snapshot query for table {}", tableName(tableMetadata));
-            processResultSet(tableMetadata, resultSet);
+            List<ColumnMetadata> columns = snapshotColumns(tableMetadata);
+            List<long[]> tokenRanges = tokenRanges();
+            if (tokenRanges == null) {
+                TableSnapshot tableSnapshot = new TableSnapshot(tableMetadata, columns, 1);
+                processTokenRange(tableSnapshot, generateSnapshotStatement(tableMetadata, columns, routeByToken, null, null), null);
+                return;
+            }
+            String tableName = tableName(tableMetadata);
+            List<long[]> pendingRanges = new ArrayList<>();
+            for (long[] range : tokenRanges) {
+                if (!offsetWriter.isOffsetProcessed(tokenRangeKey(tableName, range[0], range[1]), OffsetPosition.defaultOffsetPosition().serialize(), true)) {
+                    pendingRanges.add(range);
+                }
+            }
+            if (pendingRanges.isEmpty()) {
+                LOGGER.info("All token ranges of table {} have been snapshotted already", tableName);
+                offsetWriter.markOffset(tableName, OffsetPosition.defaultOffsetPosition().serialize(), true);
+                offsetWriter.flush();
+                return;
+            }
+            if (pendingRanges.size() < tokenRanges.size()) {
+                LOGGER.info("Resuming snapshot of table {} with {} of {} token ranges", tableName, pendingRanges.size(), tokenRanges.size());
+            }
+            TableSnapshot tableSnapshot = new TableSnapshot(tableMetadata, columns, pendingRanges.size());
+            List<Future<?>> futures = new ArrayList<>();
+            for (long[] range : pendingRanges) {
+                SimpleStatement statement = generateSnapshotStatement(tableMetadata, columns, routeByToken, range[0], range[1]);
+                String rangeKey = tokenRangeKey(tableName, range[0], range[1]);
+                if (tokenRangeExecutor != null) {
+                    futures.add(tokenRangeExecutor.submit(() -> processTokenRange(tableSnapshot, statement, rangeKey)));
+                }
+                else {
+                    processTokenRange(tableSnapshot, statement, rangeKey);
+                }
+            }
+            awaitAll(futures);
         }
-        catch (IOException e) {
-            throw e;
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DebeziumException(String.format("Interrupted while snapshotting table %s in keyspace %s", tableMetadata.getName(), tableMetadata.getKeyspace()), e);
         }
         catch (Exception e) {
             throw new DebeziumException(String.format("Failed to snapshot table %s in keyspace %s", tableMetadata.getName(), tableMetadata.getKeyspace()), e);
         }
     }
 
+    /**
+     * Waits for all the given tasks to complete. If any of them fails, its failure is rethrown and
+     * the remaining tasks are cancelled.
+     */
+    private static void awaitAll(List<Future<?>> futures) throws InterruptedException {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new DebeziumException(e.getCause());
+        }
+        finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Returns the token ranges to snapshot a table by, each of them as an array of its start (exclusive) and end
+     * (inclusive) token. If only the primary ranges of the local node are snapshotted, the sub-ranges of the token ring
+     * are restricted to them. Returns null if the whole table is to be read with a single query.
+     */
+    private List<long[]> tokenRanges() {
+        if (tokenRangeSplits <= 1 && primaryTokenRanges == PrimaryTokenRanges.ALL) {
+            return null;
+        }
+        if (!(DatabaseDescriptor.getPartitioner() instanceof Murmur3Partitioner)) {
+            LOGGER.warn("Token ranges can only be split with the Murmur3Partitioner, snapshotting tables with a single query instead");
+            return null;
+        }
+        long[] boundaries = splitTokenRing(Math.max(tokenRangeSplits, 1));
+        List<long[]> primaryRanges = primaryTokenRanges.ranges();
+        List<long[]> tokenRanges = new ArrayList<>();
+        for (int i = 0; i < boundaries.length - 1; i++) {
+            if (primaryRanges == null) {
+                tokenRanges.add(new long[]{ boundaries[i], boundaries[i + 1] });
+                continue;
+            }
+            for (long[] primaryRange : primaryRanges) {
+                long start = Math.max(boundaries[i], primaryRange[0]);
+                long end = Math.min(boundaries[i + 1], primaryRange[1]);
+                if (start < end) {
+                    tokenRanges.add(new long[]{ start, end });
+                }
+            }
+        }
+        return tokenRanges;
+    }
+
+    /**
+     * Returns the key the snapshot offset of a completed token range of a table is recorded under.
+     */
+    static String tokenRangeKey(String tableName, long rangeStart, long rangeEnd) {
+        return tableName + "(" + rangeStart + "," + rangeEnd + "]";
+    }
+
+    /**
+     * Returns whether the given snapshot offset key is the key of a token range of the given table. These offsets
+     * are superseded once the snapshot of the table has been completed.
+     */
+    static boolean isTokenRangeKey(String offsetKey, String tableName) {
+        return offsetKey.length() > tableName.length() && offsetKey.startsWith(tableName) && offsetKey.charAt(tableName.length()) == '(';
+    }
+
+    /**
+     * Splits the Murmur3 token ring into the given number of sub-ranges of equal size. The minimum token is never
+     * assigned to a partition, so the first sub-range starts right after it.
+     */
+    static long[] splitTokenRing(int splits) {
+        BigInteger min = BigInteger.valueOf(Long.MIN_VALUE);
+        BigInteger span = BigInteger.valueOf(Long.MAX_VALUE).subtract(min);
+        long[] boundaries = new long[splits + 1];
+        for (int i = 0; i <= splits; i++) {
+            boundaries[i] = min.add(span.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(splits))).longValueExact();
+        }
+        return boundaries;
+    }
+
+    /**
+     * Returns the columns of a table which are read by its snapshot queries: the primary key columns, and the other
+     * columns which are listed for the table in snapshot.column.include.list, all of them if the table is not listed,
+     * unless they are excluded by field.exclude.list. Columns which are not read are missing from the snapshot records.
+     */
+    private List<ColumnMetadata> snapshotColumns(TableMetadata tableMetadata) {
+        KeyspaceTable keyspaceTable = new KeyspaceTable(tableMetadata);
+        Set<String> included = includedColumns.get(keyspaceTable);
+        Set<String> excluded = filters.getExcludedFields(keyspaceTable);
+        Set<ColumnMetadata> primaryKey = new HashSet<>(tableMetadata.getPrimaryKey());
+        return tableMetadata.getColumns().values().stream()
+                .filter(cm -> primaryKey.contains(cm)
+                        || ((included == null || included.contains(cm.getName().asInternal())) && !excluded.contains(cm.getName().asInternal())))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Build the SELECT query statement for execution. For every non-primary-key column, the TTL, WRITETIME, and execution
-     * time are also queried.
+     * time are also queried, unless the table is listed in snapshot.ttl.exclude.list. If change events are routed by partition token, the token of the partition key is queried too.
+     * If a token range is given, only the partitions whose tokens are within it are selected.
      * <p>
      * For example, a table t with columns a, b, and c, where A is the partition key, B is the clustering key, and C is a
      * regular column, looks like the following:
@@ -183,18 +447,18 @@ public class SnapshotProcessor extends AbstractProcessor {
      *     {@code SELECT now() as execution_time, a, b, c, TTL(c) as c_ttl, WRITETIME(c) as c_writetime FROM t;}
      * </pre>
      */
-    private static SimpleStatement generateSnapshotStatement(TableMetadata tableMetadata) {
-        List<String> allCols = tableMetadata.getColumns().values().stream().map(cmd -> cmd.getName().asInternal()).collect(Collectors.toList());
+    private SimpleStatement generateSnapshotStatement(TableMetadata tableMetadata, List<ColumnMetadata> columns, boolean withPartitionToken,
+                                                      Long rangeStart, Long rangeEnd) {
+        List<String> allCols = columns.stream().map(cmd -> cmd.getName().asInternal()).collect(Collectors.toList());
         Set<String> primaryCols = tableMetadata.getPrimaryKey().stream().map(cmd -> cmd.getName().asInternal()).collect(Collectors.toSet());
-        List<String> collectionCols = tableMetadata.getColumns()
-                .values()
-                .stream()
+        List<String> collectionCols = columns.stream()
                 .filter(cm -> collectionTypes.contains(cm.getType().getProtocolCode()))
                 .map(cmd -> cmd.getName().asInternal()).collect(Collectors.toList());
 
         SelectFrom selection = QueryBuilder.selectFrom(tableMetadata.getKeyspace(), tableMetadata.getName());
         assert !allCols.isEmpty();
         Select select = null;
+        boolean withTtl = !ttlExcludedTables.contains(tableName(tableMetadata));
 
         for (String col : allCols) {
             if (select == null) {
@@ -204,74 +468,183 @@ public class SnapshotProcessor extends AbstractProcessor {
                 select = select.column(col);
             }
 
-            if (!primaryCols.contains(col) && !collectionCols.contains(col)) {
+            if (withTtl && !primaryCols.contains(col) && !collectionCols.contains(col)) {
                 select = select.ttl(withQuotes(col)).as(ttlAlias(col));
             }
         }
 
-        return select.raw(CASSANDRA_NOW_UNIXTIMESTAMP).as(EXECUTION_TIME_ALIAS).build();
-    }
-
-    /**
-     * Process the result set from the query. Each row is converted into a {@link ChangeRecord}
-     * and enqueued to the {@link ChangeEventQueue}.
-     */
-    private void processResultSet(TableMetadata tableMetadata, ResultSet resultSet) throws IOException {
-        String tableName = tableName(tableMetadata);
-        KeyspaceTable keyspaceTable = new KeyspaceTable(tableMetadata);
-        KeyValueSchema keyValueSchema = schemaHolder.getKeyValueSchema(keyspaceTable);
-        Schema keySchema = keyValueSchema.keySchema();
-        Schema valueSchema = keyValueSchema.valueSchema();
+        if (withPartitionToken) {
+            Selector[] partitionKeySelectors = tableMetadata.getPartitionKey().stream()
+                    .map(cmd -> Selector.column(cmd.getName()))
+                    .toArray(Selector[]::new);
+            select = select.function("token", partitionKeySelectors).as(PARTITION_TOKEN_ALIAS);
+        }
 
-        Set<String> partitionKeyNames = tableMetadata.getPartitionKey().stream().map(cmd -> cmd.getName().toString()).collect(Collectors.toSet());
-        Set<String> clusteringKeyNames = tableMetadata.getClusteringColumns().keySet().stream().map(cc -> cc.getName().toString()).collect(Collectors.toSet());
+        select = select.raw(CASSANDRA_NOW_UNIXTIMESTAMP).as(EXECUTION_TIME_ALIAS);
 
-        Iterator<Row> rowIter = resultSet.iterator();
-        long rowNum = 0L;
-        // mark snapshot complete immediately if table is empty
-        if (!rowIter.hasNext()) {
-            offsetWriter.markOffset(tableName, OffsetPosition.defaultOffsetPosition().serialize(), true);
-            offsetWriter.flush();
+        if (rangeStart != null && rangeEnd != null) {
+            List<CqlIdentifier> partitionKey = tableMetadata.getPartitionKey().stream().map(ColumnMetadata::getName).collect(Collectors.toList());
+            select = select.whereTokenFromIds(partitionKey).isGreaterThan(QueryBuilder.literal(rangeStart))
+                    .whereTokenFromIds(partitionKey).isLessThanOrEqualTo(QueryBuilder.literal(rangeEnd));
         }
 
+        SimpleStatement statement = select.build().setConsistencyLevel(DefaultConsistencyLevel.valueOf(consistencyLevel.name()));
+        return pageSize > 0 ? statement.setPageSize(pageSize) : statement;
+    }
+
+    /**
+     * Executes the query of a token range and process the result set. Each row is converted into a {@link ChangeRecord}
+     * and enqueued to the {@link EventQueue}. The query is executed asynchronously, the following pages of the
+     * result set being fetched while the rows of the current page are converted.
+     *
+     * @param rangeKey the key the completion of the token range is recorded under, null if the table is not split
+     */
+    private void processTokenRange(TableSnapshot tableSnapshot, SimpleStatement statement, String rangeKey) {
+        LOGGER.info("Executing snapshot query '{}' with consistency level {}", statement.getQuery(), statement.getConsistencyLevel());
+        Iterator<Row> rowIter = new SnapshotPageIterator(cassandraClient.executeAsync(statement), pagePrefetch);
+        Row lastRow = null;
         while (rowIter.hasNext()) {
             if (isRunning()) {
                 Row row = rowIter.next();
-                Object executionTime = readExecutionTime(row);
-                RowData after = extractRowData(row, tableMetadata.getColumns().values(), partitionKeyNames, clusteringKeyNames, executionTime);
-                // only mark offset if there are no more rows left
-                boolean markOffset = !rowIter.hasNext();
-                recordMaker.insert(DatabaseDescriptor.getClusterName(), OffsetPosition.defaultOffsetPosition(),
-                        keyspaceTable, true, Conversions.toInstantFromMicros(TimeUnit.MICROSECONDS.convert((long) executionTime, TimeUnit.MILLISECONDS)),
-                        after, keySchema, valueSchema, markOffset, queues.get(Math.abs(tableName.hashCode() % queues.size()))::enqueue);
-                rowNum++;
-                if (rowNum % 10_000 == 0) {
-                    LOGGER.debug("Queued {} snapshot records from table {}", rowNum, tableName);
-                    metrics.setRowsScanned(tableName, rowNum);
+                acquire(tableSnapshot, row);
+                // the last row is held back, it may have to mark the snapshot of the table as completed
+                if (rowIter.hasNext()) {
+                    tableSnapshot.enqueue(row, false, null);
+                }
+                else {
+                    lastRow = row;
                 }
             }
             else {
-                LOGGER.warn("Terminated snapshot processing while table {} is in progress", tableName);
-                metrics.setRowsScanned(tableName, rowNum);
+                LOGGER.warn("Terminated snapshot processing while table {} is in progress", tableSnapshot.tableName);
+                metrics.setRowsScanned(tableSnapshot.tableName, tableSnapshot.rowNum.get());
+                return;
+            }
+        }
+        tableSnapshot.tokenRangeCompleted(lastRow, rangeKey);
+    }
+
+    /**
+     * Blocks until the row may be read according to the rate limits of the table.
+     */
+    private void acquire(TableSnapshot tableSnapshot, Row row) {
+        SnapshotRateLimiter.TableLimiter limiter = tableSnapshot.rateLimiter;
+        try {
+            limiter.acquire(limiter.limitsBytes() ? rowSize(row) : 0);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DebeziumException("Interrupted while waiting for the rate limit of table " + tableSnapshot.tableName, e);
+        }
+    }
+
+    /**
+     * Returns the size of the serialized values of the row.
+     */
+    private static long rowSize(Row row) {
+        long size = 0;
+        for (int i = 0; i < row.getColumnDefinitions().size(); i++) {
+            ByteBuffer bytes = row.getBytesUnsafe(i);
+            if (bytes != null) {
+                size += bytes.remaining();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * The state of the snapshot of a single table, shared by the threads processing its token ranges.
+     */
+    private class TableSnapshot {
+        private final List<ColumnMetadata> columns;
+        private final CellCodec[] codecs;
+        private final String tableName;
+        private final KeyspaceTable keyspaceTable;
+        private final KeyValueSchema keyValueSchema;
+        private final Set<String> partitionKeyNames;
+        private final Set<String> clusteringKeyNames;
+        private final SnapshotRateLimiter.TableLimiter rateLimiter;
+        private final AtomicLong rowNum = new AtomicLong();
+        private int remainingTokenRanges;
+        private Row heldBackRow;
+        private String heldBackRangeKey;
+
+        private TableSnapshot(TableMetadata tableMetadata, List<ColumnMetadata> columns, int tokenRanges) {
+            this.columns = columns;
+            this.codecs = columns.stream()
+                    .map(cm -> CassandraTypeDeserializer.getCodec(CassandraTypeConverter.convert(cm.getType())))
+                    .toArray(CellCodec[]::new);
+            this.tableName = tableName(tableMetadata);
+            this.keyspaceTable = new KeyspaceTable(tableMetadata);
+            this.keyValueSchema = schemaHolder.getKeyValueSchema(keyspaceTable);
+            this.partitionKeyNames = tableMetadata.getPartitionKey().stream().map(cmd -> cmd.getName().toString()).collect(Collectors.toSet());
+            this.clusteringKeyNames = tableMetadata.getClusteringColumns().keySet().stream().map(cc -> cc.getName().toString()).collect(Collectors.toSet());
+            this.rateLimiter = SnapshotProcessor.this.rateLimiter.forTable(tableName);
+            this.remainingTokenRanges = tokenRanges;
+        }
+
+        private void enqueue(Row row, boolean markOffset, String offsetKey) {
+            Object executionTime = readExecutionTime(row);
+            Object partitionToken = routeByToken ? row.getObject(PARTITION_TOKEN_ALIAS) : null;
+            RowData after = extractRowData(row, keyValueSchema.rowLayout(), columns, codecs, partitionKeyNames, clusteringKeyNames, executionTime);
+            recordMaker.insert(DatabaseDescriptor.getClusterName(), OffsetPosition.defaultOffsetPosition(),
+                    keyspaceTable, true, Conversions.toInstantFromMicros(TimeUnit.MICROSECONDS.convert((long) executionTime, TimeUnit.MILLISECONDS)),
+                    after, keyValueSchema.keySchema(), keyValueSchema.valueSchema(), markOffset, offsetKey, queueRouter.route(tableName, partitionToken)::enqueue);
+            long rows = rowNum.incrementAndGet();
+            if (rows % 10_000 == 0) {
+                LOGGER.debug("Queued {} snapshot records from table {}", rows, tableName);
+                metrics.setRowsScanned(tableName, rows);
+            }
+        }
+
+        /**
+         * Called once all rows of a token range but the last one have been enqueued. The last row of the token
+         * range completed last is the last row enqueued for the table, and only it marks the offset of the table.
+         * The last rows of the other token ranges mark the offsets of their token ranges.
+         */
+        private synchronized void tokenRangeCompleted(Row lastRow, String rangeKey) {
+            if (lastRow != null) {
+                if (heldBackRow != null) {
+                    enqueue(heldBackRow, true, heldBackRangeKey);
+                }
+                heldBackRow = lastRow;
+                heldBackRangeKey = rangeKey;
+            }
+            else if (rangeKey != null) {
+                // no rows of an empty token range can be pending, so it is marked straight away
+                offsetWriter.markOffset(rangeKey, OffsetPosition.defaultOffsetPosition().serialize(), true);
+            }
+            if (--remainingTokenRanges > 0) {
                 return;
             }
+            if (heldBackRow != null) {
+                enqueue(heldBackRow, true, null);
+            }
+            else {
+                // mark snapshot complete immediately if table is empty
+                offsetWriter.markOffset(tableName, OffsetPosition.defaultOffsetPosition().serialize(), true);
+                offsetWriter.flush();
+            }
+            metrics.setRowsScanned(tableName, rowNum.get());
         }
-        metrics.setRowsScanned(tableName, rowNum);
     }
 
     /**
      * This function extracts the relevant row data from {@link Row} and updates the maximum writetime for each row.
      */
     private static RowData extractRowData(Row row,
-                                          Collection<ColumnMetadata> columns,
+                                          RowData.Layout layout,
+                                          List<ColumnMetadata> columns,
+                                          CellCodec[] codecs,
                                           Set<String> partitionKeyNames,
                                           Set<String> clusteringKeyNames,
                                           Object executionTime) {
-        RowData rowData = new RowData();
+        RowData rowData = new RowData(layout);
 
-        for (ColumnMetadata columnMetadata : columns) {
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnMetadata columnMetadata = columns.get(i);
             String name = columnMetadata.getName().asInternal();
-            Object value = readCol(row, name, columnMetadata);
+            Object value = readCol(row, name, codecs[i]);
             Object deletionTs = null;
             CellData.ColumnType type = getType(name, partitionKeyNames, clusteringKeyNames);
 
@@ -307,8 +680,9 @@ public class SnapshotProcessor extends AbstractProcessor {
         return CassandraTypeDeserializer.deserialize(LongType.instance, row.getBytesUnsafe(EXECUTION_TIME_ALIAS));
     }
 
-    private static Object readCol(Row row, String col, ColumnMetadata cm) {
-        return CassandraTypeDeserializer.deserialize(cm.getType(), row.getBytesUnsafe(col));
+    private static Object readCol(Row row, String col, CellCodec codec) {
+        ByteBuffer bb = row.getBytesUnsafe(col);
+        return bb == null ? null : codec.decode(bb);
     }
 
     private static Object readColTtl(Row row, String col) {
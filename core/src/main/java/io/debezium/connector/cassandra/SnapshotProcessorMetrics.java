@@ -7,6 +7,7 @@ package io.debezium.connector.cassandra;
 
 import static io.debezium.connector.cassandra.CassandraConnectorTaskTemplate.METRIC_REGISTRY_INSTANCE;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -17,6 +18,10 @@ import java.util.concurrent.atomic.AtomicLong;
 import com.codahale.metrics.Gauge;
 
 public class SnapshotProcessorMetrics {
+    static final String TABLE_PENDING = "pending";
+    static final String TABLE_RUNNING = "running";
+    static final String TABLE_COMPLETED = "completed";
+
     private final AtomicInteger tableCount = new AtomicInteger();
     private final AtomicInteger remainingTableCount = new AtomicInteger();
     private final AtomicBoolean snapshotRunning = new AtomicBoolean();
@@ -25,6 +30,10 @@ public class SnapshotProcessorMetrics {
     private final AtomicLong startTime = new AtomicLong();
     private final AtomicLong stopTime = new AtomicLong();
     private final ConcurrentMap<String, Long> rowsScanned = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> tableStates = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> tableEstimatedSizes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> tableStartTimes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> tableStopTimes = new ConcurrentHashMap<>();
 
     public void registerMetrics() {
         METRIC_REGISTRY_INSTANCE.register("total-table-count", (Gauge<Integer>) this::getTotalTableCount);
@@ -34,6 +43,9 @@ public class SnapshotProcessorMetrics {
         METRIC_REGISTRY_INSTANCE.register("snapshot-aborted", (Gauge<Boolean>) this::snapshotAborted);
         METRIC_REGISTRY_INSTANCE.register("row-scanned", (Gauge<Map<String, Long>>) this::rowsScanned);
         METRIC_REGISTRY_INSTANCE.register("snapshot-duration-in-seconds", (Gauge<Long>) this::snapshotDurationInSeconds);
+        METRIC_REGISTRY_INSTANCE.register("table-states", (Gauge<Map<String, String>>) this::tableStates);
+        METRIC_REGISTRY_INSTANCE.register("table-estimated-size-in-bytes", (Gauge<Map<String, Long>>) this::tableEstimatedSizes);
+        METRIC_REGISTRY_INSTANCE.register("table-duration-in-seconds", (Gauge<Map<String, Long>>) this::tableDurationsInSeconds);
     }
 
     public void unregisterMetrics() {
@@ -44,6 +56,9 @@ public class SnapshotProcessorMetrics {
         METRIC_REGISTRY_INSTANCE.remove("snapshot-aborted");
         METRIC_REGISTRY_INSTANCE.remove("row-scanned");
         METRIC_REGISTRY_INSTANCE.remove("snapshot-duration-in-seconds");
+        METRIC_REGISTRY_INSTANCE.remove("table-states");
+        METRIC_REGISTRY_INSTANCE.remove("table-estimated-size-in-bytes");
+        METRIC_REGISTRY_INSTANCE.remove("table-duration-in-seconds");
     }
 
     public void setTableCount(int value) {
@@ -51,11 +66,27 @@ public class SnapshotProcessorMetrics {
         remainingTableCount.set(value);
     }
 
-    public void completeTable() {
+    public void addTable(String table, long estimatedSize) {
+        tableStates.put(table, TABLE_PENDING);
+        tableEstimatedSizes.put(table, estimatedSize);
+    }
+
+    public void startTable(String table) {
+        tableStates.put(table, TABLE_RUNNING);
+        tableStartTimes.put(table, System.currentTimeMillis());
+    }
+
+    public void completeTable(String table) {
+        tableStates.put(table, TABLE_COMPLETED);
+        tableStopTimes.put(table, System.currentTimeMillis());
         remainingTableCount.decrementAndGet();
     }
 
     public void startSnapshot() {
+        tableStates.clear();
+        tableEstimatedSizes.clear();
+        tableStartTimes.clear();
+        tableStopTimes.clear();
         snapshotRunning.set(true);
         snapshotCompleted.set(false);
         snapshotAborted.set(false);
@@ -105,6 +136,21 @@ public class SnapshotProcessorMetrics {
         return rowsScanned;
     }
 
+    private Map<String, String> tableStates() {
+        return tableStates;
+    }
+
+    private Map<String, Long> tableEstimatedSizes() {
+        return tableEstimatedSizes;
+    }
+
+    private Map<String, Long> tableDurationsInSeconds() {
+        Map<String, Long> durations = new HashMap<>();
+        long now = System.currentTimeMillis();
+        tableStartTimes.forEach((table, startMillis) -> durations.put(table, (tableStopTimes.getOrDefault(table, now) - startMillis) / 1000L));
+        return durations;
+    }
+
     private long snapshotDurationInSeconds() {
         long startMillis = startTime.get();
         if (startMillis == 0L) {
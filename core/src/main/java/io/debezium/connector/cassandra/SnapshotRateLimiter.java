@@ -0,0 +1,189 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Limits the rate at which the rows of a snapshot are read, to cap the impact of the snapshot on the latency
+ * of the live traffic of the cluster. Rows and bytes are limited by token buckets, both globally across all
+ * tables and per table, each row read having to be acquired from all the buckets which apply to its table.
+ * <p>
+ * If a latency threshold is set, the rates are also adapted to the latency of the CQL requests: whenever the
+ * 99th percentile latency exceeds the threshold, the rates are halved, down to a sixteenth of the configured
+ * rates, and they are increased again gradually once the latency is back under the threshold. Without any
+ * configured rate, reading is paused while the latency exceeds the threshold.
+ */
+public class SnapshotRateLimiter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotRateLimiter.class);
+
+    private static final long LATENCY_CHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final double MIN_RATE_FACTOR = 1.0 / 16;
+    private static final double RATE_FACTOR_INCREMENT = 0.1;
+
+    /**
+     * A limiter which never limits the snapshot.
+     */
+    public static final SnapshotRateLimiter UNLIMITED = new SnapshotRateLimiter(0, 0, Collections.emptyMap(), Collections.emptyMap(), () -> -1, 0);
+
+    private final TokenBucket rows;
+    private final TokenBucket bytes;
+    private final Map<String, Long> tableRowsPerSecond;
+    private final Map<String, Long> tableBytesPerSecond;
+    private final DoubleSupplier p99LatencyMillis;
+    private final long latencyThresholdMillis;
+    private volatile double rateFactor = 1.0;
+    private volatile boolean latencyExceeded = false;
+    private long lastLatencyCheckNanos = System.nanoTime();
+
+    /**
+     * @param rowsPerSecond the global limit of rows read per second, 0 for no limit
+     * @param bytesPerSecond the global limit of bytes read per second, 0 for no limit
+     * @param tableRowsPerSecond the limits of rows read per second by fully-qualified table name
+     * @param tableBytesPerSecond the limits of bytes read per second by fully-qualified table name
+     * @param p99LatencyMillis supplies the 99th percentile latency of the CQL requests, negative if unknown
+     * @param latencyThresholdMillis the latency above which the rates are reduced, 0 to disable the adaptation
+     */
+    public SnapshotRateLimiter(long rowsPerSecond, long bytesPerSecond, Map<String, Long> tableRowsPerSecond, Map<String, Long> tableBytesPerSecond,
+                               DoubleSupplier p99LatencyMillis, long latencyThresholdMillis) {
+        this.rows = TokenBucket.of(rowsPerSecond);
+        this.bytes = TokenBucket.of(bytesPerSecond);
+        this.tableRowsPerSecond = tableRowsPerSecond;
+        this.tableBytesPerSecond = tableBytesPerSecond;
+        this.p99LatencyMillis = p99LatencyMillis;
+        this.latencyThresholdMillis = latencyThresholdMillis;
+    }
+
+    /**
+     * Returns the limiter of the rows read from the given table.
+     */
+    public TableLimiter forTable(String tableName) {
+        return new TableLimiter(TokenBucket.of(tableRowsPerSecond.getOrDefault(tableName, 0L)),
+                TokenBucket.of(tableBytesPerSecond.getOrDefault(tableName, 0L)));
+    }
+
+    double rateFactor() {
+        return rateFactor;
+    }
+
+    /**
+     * Checks the latency of the CQL requests at most once per interval, and adapts the rates to it.
+     */
+    void adaptToLatency(long nowNanos) {
+        if (latencyThresholdMillis <= 0) {
+            return;
+        }
+        synchronized (this) {
+            if (nowNanos - lastLatencyCheckNanos < LATENCY_CHECK_INTERVAL_NANOS) {
+                return;
+            }
+            lastLatencyCheckNanos = nowNanos;
+            double latency = p99LatencyMillis.getAsDouble();
+            if (latency > latencyThresholdMillis) {
+                if (!latencyExceeded) {
+                    LOGGER.info("The p99 latency of CQL requests {} ms exceeds {} ms, slowing down the snapshot", latency, latencyThresholdMillis);
+                }
+                latencyExceeded = true;
+                rateFactor = Math.max(MIN_RATE_FACTOR, rateFactor / 2);
+            }
+            else {
+                if (latencyExceeded) {
+                    LOGGER.info("The p99 latency of CQL requests {} ms is back under {} ms", latency, latencyThresholdMillis);
+                }
+                latencyExceeded = false;
+                rateFactor = Math.min(1.0, rateFactor + RATE_FACTOR_INCREMENT);
+            }
+        }
+    }
+
+    /**
+     * The limiter of the rows of a single table, which acquires them from the buckets of the table and the global ones.
+     */
+    public class TableLimiter {
+        private final TokenBucket tableRows;
+        private final TokenBucket tableBytes;
+
+        private TableLimiter(TokenBucket tableRows, TokenBucket tableBytes) {
+            this.tableRows = tableRows;
+            this.tableBytes = tableBytes;
+        }
+
+        /**
+         * Returns whether the size of the rows has to be passed to {@link #acquire(long)}.
+         */
+        public boolean limitsBytes() {
+            return bytes != null || tableBytes != null;
+        }
+
+        /**
+         * Blocks until a row of the given size may be read.
+         */
+        public void acquire(long rowBytes) throws InterruptedException {
+            long now = System.nanoTime();
+            adaptToLatency(now);
+            double factor = rateFactor;
+            long waitNanos = Math.max(
+                    Math.max(TokenBucket.reserve(rows, 1, factor, now), TokenBucket.reserve(tableRows, 1, factor, now)),
+                    Math.max(TokenBucket.reserve(bytes, rowBytes, factor, now), TokenBucket.reserve(tableBytes, rowBytes, factor, now)));
+            if (waitNanos == 0 && latencyExceeded && rows == null && bytes == null && tableRows == null && tableBytes == null) {
+                // there is no rate to reduce, so reading is paused until the latency is checked again
+                waitNanos = LATENCY_CHECK_INTERVAL_NANOS;
+            }
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+    }
+
+    /**
+     * A token bucket holding up to a second worth of permits. Permits may be reserved beyond the available ones,
+     * the caller then having to wait until the bucket has been refilled.
+     */
+    static final class TokenBucket {
+        private final double permitsPerSecond;
+        private double available;
+        private long lastRefillNanos;
+
+        private TokenBucket(double permitsPerSecond, long nowNanos) {
+            this.permitsPerSecond = permitsPerSecond;
+            this.available = permitsPerSecond;
+            this.lastRefillNanos = nowNanos;
+        }
+
+        static TokenBucket of(long permitsPerSecond) {
+            return permitsPerSecond > 0 ? new TokenBucket(permitsPerSecond, System.nanoTime()) : null;
+        }
+
+        static TokenBucket of(long permitsPerSecond, long nowNanos) {
+            return new TokenBucket(permitsPerSecond, nowNanos);
+        }
+
+        /**
+         * Reserves permits from the bucket, if any, at the given fraction of its rate.
+         *
+         * @return the nanoseconds to wait for until the reserved permits are available
+         */
+        static long reserve(TokenBucket bucket, long permits, double rateFactor, long nowNanos) {
+            return bucket == null ? 0 : bucket.reserve(permits, rateFactor, nowNanos);
+        }
+
+        synchronized long reserve(long permits, double rateFactor, long nowNanos) {
+            double rate = permitsPerSecond * rateFactor;
+            if (nowNanos > lastRefillNanos) {
+                available = Math.min(permitsPerSecond, available + (nowNanos - lastRefillNanos) * rate / TimeUnit.SECONDS.toNanos(1));
+                lastRefillNanos = nowNanos;
+            }
+            available -= permits;
+            return available >= 0 ? 0 : (long) (-available / rate * TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+}
@@ -20,6 +20,8 @@ import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.cassandra.db.marshal.AbstractType;
 import org.apache.cassandra.db.marshal.AsciiType;
@@ -49,6 +51,7 @@ import org.apache.cassandra.db.marshal.UTF8Type;
 import org.apache.cassandra.db.marshal.UUIDType;
 import org.apache.cassandra.db.marshal.UserType;
 import org.apache.cassandra.db.rows.ComplexColumnData;
+import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaBuilder;
 
 import com.datastax.oss.driver.api.core.type.DataType;
@@ -75,20 +78,19 @@ public final class CassandraTypeDeserializer {
 
     private Map<Class<? extends AbstractType>, TypeDeserializer> TYPE_MAP;
 
-    private static CassandraTypeDeserializer instance;
+    /**
+     * The deserializers and Kafka Connect schemas resolved by type. Cassandra types are either singletons or
+     * compare by value, so the number of entries is bounded by the number of distinct types of the columns.
+     */
+    private final ConcurrentMap<AbstractType<?>, ResolvedType> resolvedTypes = new ConcurrentHashMap<>();
+
+    private static final CassandraTypeDeserializer INSTANCE = new CassandraTypeDeserializer();
 
     private CassandraTypeDeserializer() {
     }
 
     public static CassandraTypeDeserializer getInstance() {
-        if (CassandraTypeDeserializer.instance == null) {
-            synchronized (CassandraTypeDeserializer.class) {
-                if (CassandraTypeDeserializer.instance == null) {
-                    CassandraTypeDeserializer.instance = new CassandraTypeDeserializer();
-                }
-            }
-        }
-        return CassandraTypeDeserializer.instance;
+        return INSTANCE;
     }
 
     public static void init(DebeziumTypeDeserializer typeDeserializer) {
@@ -125,9 +127,9 @@ public final class CassandraTypeDeserializer {
         tmp.put(UUIDType.class, new UUIDTypeDeserializer(deserializer));
         tmp.put(TimeUUIDType.class, new TimeUUIDTypeDeserializer(deserializer));
         // Collection Types
-        tmp.put(ListType.class, new ListTypeDeserializer(deserializer));
-        tmp.put(SetType.class, new SetTypeDeserializer(deserializer));
-        tmp.put(MapType.class, new MapTypeDeserializer(deserializer));
+        tmp.put(ListType.class, new ListTypeDeserializer());
+        tmp.put(SetType.class, new SetTypeDeserializer());
+        tmp.put(MapType.class, new MapTypeDeserializer());
         // Struct Types
         tmp.put(TupleType.class, new TupleTypeDeserializer());
         tmp.put(UserType.class, new UserDefinedTypeDeserializer());
@@ -164,8 +166,7 @@ public final class CassandraTypeDeserializer {
             abstractType = ((ReversedType) abstractType).baseType;
         }
 
-        TypeDeserializer typeDeserializer = getTypeDeserializer(abstractType);
-        return typeDeserializer.deserialize(abstractType, bb);
+        return resolve(abstractType).codec.decode(bb);
     }
 
     /**
@@ -191,6 +192,29 @@ public final class CassandraTypeDeserializer {
         return typeDeserializer.getSchemaBuilder(abstractType);
     }
 
+    /**
+     * Get the kafka connect Schema of a Cassandra data type, which is only built once per type.
+     *
+     * @param abstractType implementation of Cassandra's AbstractType
+     * @return the kafka connect Schema
+     */
+    public static Schema getSchema(AbstractType<?> abstractType) {
+        return resolve(abstractType).schema;
+    }
+
+    /**
+     * Get the CellCodec of AbstractType, which is only resolved once per type.
+     *
+     * @param abstractType the {@link AbstractType} of a column in cassandra, reversed types being decoded by their base type
+     * @return the CellCodec of the AbstractType.
+     */
+    public static CellCodec getCodec(AbstractType<?> abstractType) {
+        if (abstractType.isReversed()) {
+            abstractType = ((ReversedType<?>) abstractType).baseType;
+        }
+        return resolve(abstractType).codec;
+    }
+
     /**
      * Get TypeDeserializer of AbstractType
      *
@@ -198,6 +222,32 @@ public final class CassandraTypeDeserializer {
      * @return the TypeDeserializer of the AbstractType.
      */
     public static TypeDeserializer getTypeDeserializer(AbstractType<?> abstractType) {
-        return CassandraTypeDeserializer.getInstance().TYPE_MAP.get(abstractType.getClass());
+        return resolve(abstractType).typeDeserializer;
+    }
+
+    private static ResolvedType resolve(AbstractType<?> abstractType) {
+        CassandraTypeDeserializer instance = INSTANCE;
+        ResolvedType resolvedType = instance.resolvedTypes.get(abstractType);
+        if (resolvedType == null) {
+            // not computeIfAbsent, resolving a collection or struct type resolves its inner types
+            resolvedType = new ResolvedType(abstractType, instance.TYPE_MAP.get(abstractType.getClass()));
+            ResolvedType existing = instance.resolvedTypes.putIfAbsent(abstractType, resolvedType);
+            if (existing != null) {
+                resolvedType = existing;
+            }
+        }
+        return resolvedType;
+    }
+
+    private static final class ResolvedType {
+        private final TypeDeserializer typeDeserializer;
+        private final Schema schema;
+        private final CellCodec codec;
+
+        private ResolvedType(AbstractType<?> abstractType, TypeDeserializer typeDeserializer) {
+            this.typeDeserializer = typeDeserializer;
+            this.schema = typeDeserializer != null ? typeDeserializer.getSchemaBuilder(abstractType).build() : null;
+            this.codec = typeDeserializer != null ? CellCodecs.codecFor(abstractType, typeDeserializer) : null;
+        }
     }
 }
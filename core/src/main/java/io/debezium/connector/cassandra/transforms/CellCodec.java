@@ -0,0 +1,22 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra.transforms;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes the serialized value of a cell of a given column type into the value of its Kafka Connect schema.
+ * A codec is resolved once per column type, see {@link CassandraTypeDeserializer#getCodec}, so that decoding
+ * a cell involves no further lookup.
+ */
+public interface CellCodec {
+
+    /**
+     * @param bb the serialized value, not null, whose position is left unchanged
+     * @return the decoded value
+     */
+    Object decode(ByteBuffer bb);
+}
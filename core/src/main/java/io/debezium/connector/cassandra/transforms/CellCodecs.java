@@ -0,0 +1,163 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra.transforms;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.cassandra.db.marshal.AbstractType;
+import org.apache.cassandra.db.marshal.AsciiType;
+import org.apache.cassandra.db.marshal.BooleanType;
+import org.apache.cassandra.db.marshal.CounterColumnType;
+import org.apache.cassandra.db.marshal.Int32Type;
+import org.apache.cassandra.db.marshal.LongType;
+import org.apache.cassandra.db.marshal.TimestampType;
+import org.apache.cassandra.db.marshal.UTF8Type;
+import org.apache.cassandra.db.marshal.UUIDType;
+
+import io.debezium.connector.cassandra.transforms.type.deserializer.TypeDeserializer;
+
+/**
+ * The {@link CellCodec}s of the column types. The most common primitive types are decoded straight from their
+ * serialized value, as their {@link TypeDeserializer} would, but without going through the Cassandra serializers
+ * nor any intermediate object such as a {@link java.util.Date} or a {@link java.util.UUID}. The codecs are small
+ * final classes so that they can be inlined wherever a call site only sees a few of them. Any other type is
+ * decoded by its {@link TypeDeserializer}.
+ */
+public final class CellCodecs {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private CellCodecs() {
+    }
+
+    /**
+     * Returns the codec of the given type.
+     *
+     * @param abstractType the type of the column, reversed types have to be unwrapped already
+     * @param typeDeserializer the deserializer of the type, used by the types without a specialized codec
+     */
+    public static CellCodec codecFor(AbstractType<?> abstractType, TypeDeserializer typeDeserializer) {
+        Class<?> typeClass = abstractType.getClass();
+        if (typeClass == Int32Type.class) {
+            return IntCodec.INSTANCE;
+        }
+        if (typeClass == LongType.class || typeClass == CounterColumnType.class || typeClass == TimestampType.class) {
+            // timestamps are emitted as milliseconds since the epoch, which is their serialized value
+            return LongCodec.INSTANCE;
+        }
+        if (typeClass == BooleanType.class) {
+            return BooleanCodec.INSTANCE;
+        }
+        if (typeClass == UUIDType.class) {
+            return UuidCodec.INSTANCE;
+        }
+        if (typeClass == UTF8Type.class) {
+            return StringCodec.UTF8;
+        }
+        if (typeClass == AsciiType.class) {
+            return StringCodec.ASCII;
+        }
+        return new DeserializerCodec(abstractType, typeDeserializer);
+    }
+
+    static final class IntCodec implements CellCodec {
+        static final IntCodec INSTANCE = new IntCodec();
+
+        @Override
+        public Object decode(ByteBuffer bb) {
+            return bb.remaining() == 0 ? null : bb.getInt(bb.position());
+        }
+    }
+
+    static final class LongCodec implements CellCodec {
+        static final LongCodec INSTANCE = new LongCodec();
+
+        @Override
+        public Object decode(ByteBuffer bb) {
+            return bb.remaining() == 0 ? null : bb.getLong(bb.position());
+        }
+    }
+
+    static final class BooleanCodec implements CellCodec {
+        static final BooleanCodec INSTANCE = new BooleanCodec();
+
+        @Override
+        public Object decode(ByteBuffer bb) {
+            return bb.remaining() == 0 ? null : bb.get(bb.position()) != 0;
+        }
+    }
+
+    static final class UuidCodec implements CellCodec {
+        static final UuidCodec INSTANCE = new UuidCodec();
+
+        @Override
+        public Object decode(ByteBuffer bb) {
+            return bb.remaining() == 0 ? null : uuidString(bb.getLong(bb.position()), bb.getLong(bb.position() + 8));
+        }
+    }
+
+    static final class StringCodec implements CellCodec {
+        static final StringCodec UTF8 = new StringCodec(StandardCharsets.UTF_8);
+        static final StringCodec ASCII = new StringCodec(StandardCharsets.US_ASCII);
+
+        private final Charset charset;
+
+        private StringCodec(Charset charset) {
+            this.charset = charset;
+        }
+
+        @Override
+        public Object decode(ByteBuffer bb) {
+            if (bb.hasArray()) {
+                return new String(bb.array(), bb.arrayOffset() + bb.position(), bb.remaining(), charset);
+            }
+            byte[] bytes = new byte[bb.remaining()];
+            bb.duplicate().get(bytes);
+            return new String(bytes, charset);
+        }
+    }
+
+    static final class DeserializerCodec implements CellCodec {
+        private final AbstractType<?> abstractType;
+        private final TypeDeserializer typeDeserializer;
+
+        private DeserializerCodec(AbstractType<?> abstractType, TypeDeserializer typeDeserializer) {
+            this.abstractType = abstractType;
+            this.typeDeserializer = typeDeserializer;
+        }
+
+        @Override
+        public Object decode(ByteBuffer bb) {
+            return typeDeserializer.deserialize(abstractType, bb);
+        }
+    }
+
+    /**
+     * Formats a UUID out of its most and least significant bits, as {@link java.util.UUID#toString()} does.
+     */
+    static String uuidString(long mostSigBits, long leastSigBits) {
+        char[] chars = new char[36];
+        hexDigits(chars, 0, mostSigBits >>> 32, 8);
+        chars[8] = '-';
+        hexDigits(chars, 9, mostSigBits >>> 16, 4);
+        chars[13] = '-';
+        hexDigits(chars, 14, mostSigBits, 4);
+        chars[18] = '-';
+        hexDigits(chars, 19, leastSigBits >>> 48, 4);
+        chars[23] = '-';
+        hexDigits(chars, 24, leastSigBits, 12);
+        return new String(chars);
+    }
+
+    private static void hexDigits(char[] chars, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
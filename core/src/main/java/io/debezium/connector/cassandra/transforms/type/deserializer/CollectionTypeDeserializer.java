@@ -5,9 +5,98 @@
  */
 package io.debezium.connector.cassandra.transforms.type.deserializer;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.cassandra.db.marshal.CollectionType;
 import org.apache.cassandra.db.rows.ComplexColumnData;
 
+import io.debezium.connector.cassandra.transforms.CellCodec;
+
+/**
+ * Collections are decoded in a single pass into the {@link List} or {@link Map} of their Kafka Connect schema,
+ * presized from their number of elements, each element being decoded by the {@link CellCodec} of its type.
+ * Serialized collections are read in the format Cassandra stores them with, i.e. the number of elements followed
+ * by each element prefixed by its size, all of them as 32-bit integers.
+ */
 public abstract class CollectionTypeDeserializer<T extends CollectionType<?>> implements TypeDeserializer {
     public abstract Object deserialize(T collectionType, ComplexColumnData ccd);
+
+    /**
+     * Decodes the elements of a serialized list or set.
+     */
+    protected static List<Object> decodeElements(CellCodec elementsCodec, ByteBuffer bb) {
+        if (bb.remaining() == 0) {
+            return Collections.emptyList();
+        }
+        ByteBuffer input = bb.duplicate();
+        int size = input.getInt();
+        List<Object> elements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            elements.add(decode(elementsCodec, readValue(input)));
+        }
+        return elements;
+    }
+
+    /**
+     * Decodes the values of the cells of a multi-cell list or set.
+     */
+    protected static List<Object> decodeElements(CellCodec elementsCodec, List<ByteBuffer> values) {
+        List<Object> elements = new ArrayList<>(values.size());
+        for (ByteBuffer value : values) {
+            elements.add(decode(elementsCodec, value));
+        }
+        return elements;
+    }
+
+    /**
+     * Decodes the entries of a serialized map.
+     */
+    protected static Map<Object, Object> decodeEntries(CellCodec keysCodec, CellCodec valuesCodec, ByteBuffer bb) {
+        if (bb.remaining() == 0) {
+            return Collections.emptyMap();
+        }
+        ByteBuffer input = bb.duplicate();
+        int size = input.getInt();
+        Map<Object, Object> entries = new HashMap<>(capacity(size));
+        for (int i = 0; i < size; i++) {
+            Object key = decode(keysCodec, readValue(input));
+            entries.put(key, decode(valuesCodec, readValue(input)));
+        }
+        return entries;
+    }
+
+    /**
+     * Decodes the keys and values of the cells of a multi-cell map, given one after the other.
+     */
+    protected static Map<Object, Object> decodeEntries(CellCodec keysCodec, CellCodec valuesCodec, List<ByteBuffer> keysAndValues) {
+        Map<Object, Object> entries = new HashMap<>(capacity(keysAndValues.size() / 2));
+        for (int i = 0; i + 1 < keysAndValues.size(); i += 2) {
+            entries.put(decode(keysCodec, keysAndValues.get(i)), decode(valuesCodec, keysAndValues.get(i + 1)));
+        }
+        return entries;
+    }
+
+    private static ByteBuffer readValue(ByteBuffer input) {
+        int size = input.getInt();
+        if (size < 0) {
+            return null;
+        }
+        ByteBuffer value = input.slice();
+        value.limit(size);
+        input.position(input.position() + size);
+        return value;
+    }
+
+    private static Object decode(CellCodec codec, ByteBuffer bb) {
+        return bb == null ? null : codec.decode(bb);
+    }
+
+    private static int capacity(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
 }
@@ -27,7 +27,7 @@ public class TupleTypeDeserializer implements TypeDeserializer {
         List<AbstractType<?>> innerTypes = tupleType.allTypes();
         ByteBuffer[] innerValueByteBuffers = tupleType.split(bb);
 
-        Struct struct = new Struct(getSchemaBuilder(abstractType).build());
+        Struct struct = new Struct(CassandraTypeDeserializer.getSchema(abstractType));
 
         for (int i = 0; i < innerTypes.size(); i++) {
             AbstractType<?> currentInnerType = innerTypes.get(i);
@@ -50,7 +50,7 @@ public class TupleTypeDeserializer implements TypeDeserializer {
 
         for (int i = 0; i < tupleInnerTypes.size(); i++) {
             AbstractType<?> innerType = tupleInnerTypes.get(i);
-            schemaBuilder.field(createFieldNameForIndex(i), CassandraTypeDeserializer.getSchemaBuilder(innerType).build());
+            schemaBuilder.field(createFieldNameForIndex(i), CassandraTypeDeserializer.getSchema(innerType));
         }
 
         return schemaBuilder.optional();
@@ -24,7 +24,7 @@ public class UserDefinedTypeDeserializer implements TypeDeserializer {
         UserTypes.Value value = UserTypes.Value.fromSerialized(bb, userType);
         List<ByteBuffer> elements = value.getElements();
 
-        Struct struct = new Struct(getSchemaBuilder(abstractType).build());
+        Struct struct = new Struct(CassandraTypeDeserializer.getSchema(abstractType));
 
         for (int i = 0; i < userType.fieldNames().size(); i++) {
             String fieldName = userType.fieldNameAsString(i);
@@ -42,7 +42,7 @@ public class UserDefinedTypeDeserializer implements TypeDeserializer {
         List<org.apache.cassandra.cql3.FieldIdentifier> fieldIdentifiers = userType.fieldNames();
         List<AbstractType<?>> fieldTypes = userType.fieldTypes();
         for (int i = 0; i < fieldIdentifiers.size(); i++) {
-            Schema fieldSchema = CassandraTypeDeserializer.getSchemaBuilder(fieldTypes.get(i)).build();
+            Schema fieldSchema = CassandraTypeDeserializer.getSchema(fieldTypes.get(i));
             schemaBuilder.field(fieldIdentifiers.get(i).toString(), fieldSchema);
         }
         return schemaBuilder.optional();
@@ -25,7 +25,6 @@ import org.junit.Before;
 import org.junit.Test;
 
 import io.debezium.config.Configuration;
-import io.debezium.connector.base.ChangeEventQueue;
 import io.debezium.time.Conversions;
 
 public abstract class AbstractQueueProcessorTest {
@@ -83,7 +82,7 @@ public abstract class AbstractQueueProcessorTest {
 
     @Test
     public void testInsertChangeRecordProcessing() throws Exception {
-        ChangeEventQueue<Event> queue = context.getQueues().get(0);
+        EventQueue queue = context.getQueues().get(0);
         Record record = new ChangeRecord(sourceInfo, rowData, keyValueSchema.keySchema(),
                 keyValueSchema.valueSchema(), INSERT, false);
 
@@ -99,7 +98,7 @@ public abstract class AbstractQueueProcessorTest {
 
     @Test
     public void testRangeTombstoneChangeRecordProcessing() throws Exception {
-        ChangeEventQueue<Event> queue = context.getQueues().get(0);
+        EventQueue queue = context.getQueues().get(0);
 
         rowData.addStart("1");
         rowData.addEnd("2");
@@ -119,7 +118,7 @@ public abstract class AbstractQueueProcessorTest {
 
     @Test
     public void testProcessTombstoneRecords() throws Exception {
-        ChangeEventQueue<Event> queue = context.getQueues().get(0);
+        EventQueue queue = context.getQueues().get(0);
         Record record = new TombstoneRecord(sourceInfo, rowData, keyValueSchema.keySchema());
 
         queue.enqueue(record);
@@ -134,7 +133,7 @@ public abstract class AbstractQueueProcessorTest {
 
     @Test
     public void testProcessEofEvent() throws Exception {
-        ChangeEventQueue<Event> queue = context.getQueues().get(0);
+        EventQueue queue = context.getQueues().get(0);
         File commitLogFile = new File("non-existing-log-file-path");
         queue.enqueue(new EOFEvent(commitLogFile));
 
@@ -10,8 +10,10 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Test;
 
@@ -62,6 +64,42 @@ public class CassandraConnectorConfigTest {
         config = buildTaskConfig(CassandraConnectorConfig.MAX_OFFSET_FLUSH_SIZE.name(), String.valueOf(offsetMaxFlushSize));
         assertEquals(offsetMaxFlushSize, config.maxOffsetFlushSize());
 
+        config = buildTaskConfig(CassandraConnectorConfig.OFFSET_BACKING_STORE.name(), "journal");
+        assertEquals(CassandraConnectorConfig.OffsetBackingStore.JOURNAL, config.offsetBackingStore());
+
+        config = buildTaskConfig(CassandraConnectorConfig.OFFSET_JOURNAL_FSYNC_POLICY.name(), "always");
+        assertEquals(CassandraConnectorConfig.OffsetJournalFsyncPolicy.ALWAYS, config.offsetJournalFsyncPolicy());
+
+        int offsetJournalSize = 4096;
+        config = buildTaskConfig(CassandraConnectorConfig.OFFSET_JOURNAL_SIZE_BYTES.name(), String.valueOf(offsetJournalSize));
+        assertEquals(offsetJournalSize, config.offsetJournalSizeBytes());
+
+        config = buildTaskConfig(CassandraConnectorConfig.CHANGE_EVENT_QUEUE_TYPE.name(), "ring_buffer");
+        assertEquals(CassandraConnectorConfig.ChangeEventQueueType.RING_BUFFER, config.changeEventQueueType());
+
+        config = buildTaskConfig(CassandraConnectorConfig.CHANGE_EVENT_QUEUE_WAIT_STRATEGY.name(), "yield");
+        assertEquals(CassandraConnectorConfig.ChangeEventQueueWaitStrategy.YIELD, config.changeEventQueueWaitStrategy());
+
+        int snapshotTokenRangeSplits = 16;
+        config = buildTaskConfig(CassandraConnectorConfig.SNAPSHOT_TOKEN_RANGE_SPLITS.name(), String.valueOf(snapshotTokenRangeSplits));
+        assertEquals(snapshotTokenRangeSplits, config.snapshotTokenRangeSplits());
+
+        int snapshotTokenRangeThreads = 4;
+        config = buildTaskConfig(CassandraConnectorConfig.SNAPSHOT_TOKEN_RANGE_THREADS.name(), String.valueOf(snapshotTokenRangeThreads));
+        assertEquals(snapshotTokenRangeThreads, config.snapshotTokenRangeThreads());
+
+        int snapshotTableThreads = 4;
+        config = buildTaskConfig(CassandraConnectorConfig.SNAPSHOT_TABLE_THREADS.name(), String.valueOf(snapshotTableThreads));
+        assertEquals(snapshotTableThreads, config.snapshotTableThreads());
+
+        int snapshotPageSize = 1000;
+        config = buildTaskConfig(CassandraConnectorConfig.SNAPSHOT_PAGE_SIZE.name(), String.valueOf(snapshotPageSize));
+        assertEquals(snapshotPageSize, config.snapshotPageSize());
+
+        int snapshotPagePrefetch = 3;
+        config = buildTaskConfig(CassandraConnectorConfig.SNAPSHOT_PAGE_PREFETCH.name(), String.valueOf(snapshotPagePrefetch));
+        assertEquals(snapshotPagePrefetch, config.snapshotPagePrefetch());
+
         int maxQueueSize = 500;
         config = buildTaskConfig(CassandraConnectorConfig.MAX_QUEUE_SIZE.name(), String.valueOf(maxQueueSize));
         assertEquals(maxQueueSize, config.maxQueueSize());
@@ -91,6 +129,35 @@ public class CassandraConnectorConfigTest {
         config = buildTaskConfig(CassandraConnectorConfig.FIELD_EXCLUDE_LIST.name(), fieldExcludeList);
         assertEquals(fieldExcludeListExpected, config.fieldExcludeList());
 
+        String snapshotColumnIncludeList = "keyspace.table.column,keyspace.table.column2";
+        config = buildTaskConfig(CassandraConnectorConfig.SNAPSHOT_COLUMN_INCLUDE_LIST.name(), snapshotColumnIncludeList);
+        assertEquals(Arrays.asList(snapshotColumnIncludeList.split(",")), config.snapshotColumnIncludeList());
+
+        String snapshotTtlExcludeList = "keyspace.table,keyspace.table2";
+        config = buildTaskConfig(CassandraConnectorConfig.SNAPSHOT_TTL_EXCLUDE_LIST.name(), snapshotTtlExcludeList);
+        assertEquals(Arrays.asList(snapshotTtlExcludeList.split(",")), config.snapshotTtlExcludeList());
+
+        long snapshotMaxRowsPerSecond = 1000;
+        config = buildTaskConfig(CassandraConnectorConfig.SNAPSHOT_MAX_ROWS_PER_SECOND.name(), String.valueOf(snapshotMaxRowsPerSecond));
+        assertEquals(snapshotMaxRowsPerSecond, config.snapshotMaxRowsPerSecond());
+
+        long snapshotMaxBytesPerSecond = 1_000_000;
+        config = buildTaskConfig(CassandraConnectorConfig.SNAPSHOT_MAX_BYTES_PER_SECOND.name(), String.valueOf(snapshotMaxBytesPerSecond));
+        assertEquals(snapshotMaxBytesPerSecond, config.snapshotMaxBytesPerSecond());
+
+        Map<String, Long> snapshotTableMaxRowsPerSecond = new HashMap<>();
+        snapshotTableMaxRowsPerSecond.put("keyspace.table", 100L);
+        snapshotTableMaxRowsPerSecond.put("keyspace.table2", 200L);
+        config = buildTaskConfig(CassandraConnectorConfig.SNAPSHOT_TABLE_MAX_ROWS_PER_SECOND.name(), "keyspace.table:100, keyspace.table2:200");
+        assertEquals(snapshotTableMaxRowsPerSecond, config.snapshotTableMaxRowsPerSecond());
+
+        config = buildTaskConfig(CassandraConnectorConfig.SNAPSHOT_TABLE_MAX_BYTES_PER_SECOND.name(), "keyspace.table:1000");
+        assertEquals(Collections.singletonMap("keyspace.table", 1000L), config.snapshotTableMaxBytesPerSecond());
+
+        int snapshotLatencyThresholdMs = 50;
+        config = buildTaskConfig(CassandraConnectorConfig.SNAPSHOT_LATENCY_THRESHOLD_MS.name(), String.valueOf(snapshotLatencyThresholdMs));
+        assertEquals(snapshotLatencyThresholdMs, config.snapshotLatencyThresholdMs());
+
         config = buildTaskConfig(CassandraConnectorConfig.TOMBSTONES_ON_DELETE.name(), "true");
         assertTrue(config.tombstonesOnDelete());
 
@@ -98,6 +165,16 @@ public class CassandraConnectorConfigTest {
         config = buildTaskConfig(CassandraConnectorConfig.SNAPSHOT_MODE.name(), snapshotMode);
         assertEquals(CassandraConnectorConfig.SnapshotMode.ALWAYS, config.snapshotMode());
 
+        config = buildTaskConfig(CassandraConnectorConfig.PRIMARY_RANGES_ONLY.name(), "true");
+        assertTrue(config.primaryRangesOnly());
+
+        config = buildTaskConfig(CassandraConnectorConfig.SNAPSHOT_ENGINE.name(), "sstable");
+        assertEquals(CassandraConnectorConfig.SnapshotEngine.SSTABLE, config.snapshotEngine());
+
+        String snapshotSSTableTag = "debezium";
+        config = buildTaskConfig(CassandraConnectorConfig.SNAPSHOT_SSTABLE_TAG.name(), snapshotSSTableTag);
+        assertEquals(snapshotSSTableTag, config.snapshotSSTableTag());
+
         String commitLogDir = "/foo/bar";
         config = buildTaskConfig(CassandraConnectorConfig.COMMIT_LOG_RELOCATION_DIR.name(), commitLogDir);
         assertEquals(commitLogDir, config.commitLogRelocationDir());
@@ -156,8 +233,13 @@ public class CassandraConnectorConfigTest {
         assertEquals(CassandraConnectorConfig.DEFAULT_MAX_QUEUE_SIZE, config.maxQueueSize());
         assertEquals(CassandraConnectorConfig.DEFAULT_MAX_BATCH_SIZE, config.maxBatchSize());
         assertEquals(CassandraConnectorConfig.DEFAULT_POLL_INTERVAL_MS, config.pollInterval().toMillis());
+        assertEquals(CassandraConnectorConfig.ChangeEventQueueType.DEFAULT, config.changeEventQueueType());
+        assertEquals(CassandraConnectorConfig.ChangeEventQueueWaitStrategy.PARK, config.changeEventQueueWaitStrategy());
         assertEquals(CassandraConnectorConfig.DEFAULT_MAX_OFFSET_FLUSH_SIZE, config.maxOffsetFlushSize());
         assertEquals(CassandraConnectorConfig.DEFAULT_OFFSET_FLUSH_INTERVAL_MS, config.offsetFlushIntervalMs().toMillis());
+        assertEquals(CassandraConnectorConfig.OffsetBackingStore.FILE, config.offsetBackingStore());
+        assertEquals(CassandraConnectorConfig.OffsetJournalFsyncPolicy.FLUSH, config.offsetJournalFsyncPolicy());
+        assertEquals(CassandraConnectorConfig.DEFAULT_OFFSET_JOURNAL_SIZE_BYTES, config.offsetJournalSizeBytes());
         assertEquals(CassandraConnectorConfig.DEFAULT_SCHEMA_POLL_INTERVAL_MS, config.schemaPollInterval().toMillis());
         assertEquals(CassandraConnectorConfig.DEFAULT_CDC_DIR_POLL_INTERVAL_MS, config.cdcDirPollInterval().toMillis());
         assertEquals(CassandraConnectorConfig.DEFAULT_SNAPSHOT_POLL_INTERVAL_MS, config.snapshotPollInterval().toMillis());
@@ -166,6 +248,20 @@ public class CassandraConnectorConfigTest {
         assertEquals(CassandraConnectorConfig.DEFAULT_COMMIT_LOG_TRANSFER_CLASS, config.getCommitLogTransfer().getClass().getName());
         assertFalse(config.tombstonesOnDelete());
         assertEquals(CassandraConnectorConfig.SnapshotMode.INITIAL, config.snapshotMode());
+        assertEquals(CassandraConnectorConfig.SnapshotEngine.CQL, config.snapshotEngine());
+        assertEquals(CassandraConnectorConfig.DEFAULT_PRIMARY_RANGES_ONLY, config.primaryRangesOnly());
+        assertTrue(config.snapshotColumnIncludeList().isEmpty());
+        assertTrue(config.snapshotTtlExcludeList().isEmpty());
+        assertEquals(CassandraConnectorConfig.DEFAULT_SNAPSHOT_MAX_ROWS_PER_SECOND, config.snapshotMaxRowsPerSecond());
+        assertEquals(CassandraConnectorConfig.DEFAULT_SNAPSHOT_MAX_BYTES_PER_SECOND, config.snapshotMaxBytesPerSecond());
+        assertTrue(config.snapshotTableMaxRowsPerSecond().isEmpty());
+        assertTrue(config.snapshotTableMaxBytesPerSecond().isEmpty());
+        assertEquals(CassandraConnectorConfig.DEFAULT_SNAPSHOT_LATENCY_THRESHOLD_MS, config.snapshotLatencyThresholdMs());
+        assertEquals(CassandraConnectorConfig.DEFAULT_SNAPSHOT_TOKEN_RANGE_SPLITS, config.snapshotTokenRangeSplits());
+        assertEquals(CassandraConnectorConfig.DEFAULT_SNAPSHOT_TOKEN_RANGE_THREADS, config.snapshotTokenRangeThreads());
+        assertEquals(CassandraConnectorConfig.DEFAULT_SNAPSHOT_TABLE_THREADS, config.snapshotTableThreads());
+        assertEquals(CassandraConnectorConfig.DEFAULT_SNAPSHOT_PAGE_SIZE, config.snapshotPageSize());
+        assertEquals(CassandraConnectorConfig.DEFAULT_SNAPSHOT_PAGE_PREFETCH, config.snapshotPagePrefetch());
         assertEquals(CassandraConnectorConfig.DEFAULT_LATEST_COMMIT_LOG_ONLY, config.latestCommitLogOnly());
     }
 
@@ -188,4 +284,27 @@ public class CassandraConnectorConfigTest {
         mode = "invalid";
         assertFalse(CassandraConnectorConfig.SnapshotMode.fromText(mode).isPresent());
     }
+
+    @Test
+    public void testPartitionTokenRoutingRequiresCompletionTracking() {
+        Configuration config = Configuration.empty()
+                .edit()
+                .with(CassandraConnectorConfig.CHANGE_EVENT_QUEUE_ROUTING, "partition_token")
+                .build();
+        assertFalse(config.validateAndRecord(Collections.singletonList(CassandraConnectorConfig.CHANGE_EVENT_QUEUE_ROUTING), problem -> {
+        }));
+
+        config = config.edit()
+                .with(CassandraConnectorConfig.COMMIT_LOG_COMPLETION_TRACKING_ENABLED, true)
+                .build();
+        assertTrue(config.validateAndRecord(Collections.singletonList(CassandraConnectorConfig.CHANGE_EVENT_QUEUE_ROUTING), problem -> {
+        }));
+
+        config = Configuration.empty()
+                .edit()
+                .with(CassandraConnectorConfig.CHANGE_EVENT_QUEUE_ROUTING, "commit_log")
+                .build();
+        assertTrue(config.validateAndRecord(Collections.singletonList(CassandraConnectorConfig.CHANGE_EVENT_QUEUE_ROUTING), problem -> {
+        }));
+    }
 }
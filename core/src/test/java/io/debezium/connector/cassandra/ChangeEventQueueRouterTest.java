@@ -0,0 +1,61 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static io.debezium.connector.cassandra.TestUtils.generateDefaultConfigMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.Test;
+
+import io.debezium.config.Configuration;
+
+public class ChangeEventQueueRouterTest {
+
+    @Test
+    public void testCommitLogRouting() throws Exception {
+        List<EventQueue> queues = createQueues("COMMIT_LOG");
+        ChangeEventQueueRouter router = new ChangeEventQueueRouter(queues, CassandraConnectorConfig.ChangeEventQueueRouting.COMMIT_LOG);
+
+        String fileName = "CommitLog-6-123.log";
+        EventQueue queue = queues.get(Math.abs(fileName.hashCode() % queues.size()));
+        for (long token = -100; token < 100; token++) {
+            assertSame(queue, router.route(fileName, token));
+        }
+    }
+
+    @Test
+    public void testPartitionTokenRouting() throws Exception {
+        List<EventQueue> queues = createQueues("PARTITION_TOKEN");
+        ChangeEventQueueRouter router = new ChangeEventQueueRouter(queues, CassandraConnectorConfig.ChangeEventQueueRouting.PARTITION_TOKEN);
+
+        String fileName = "CommitLog-6-123.log";
+        Set<EventQueue> used = new HashSet<>();
+        for (long token = Long.MIN_VALUE; token < Long.MAX_VALUE - Long.MAX_VALUE / 8; token += Long.MAX_VALUE / 8) {
+            EventQueue queue = router.route(fileName, token);
+            assertSame(queue, router.route("CommitLog-6-124.log", token));
+            used.add(queue);
+        }
+        assertEquals(queues.size(), used.size());
+
+        // without a token the change is routed by name
+        assertSame(router.route(fileName), router.route(fileName, null));
+    }
+
+    private static List<EventQueue> createQueues(String routing) throws Exception {
+        Properties configs = generateDefaultConfigMap();
+        configs.put(CassandraConnectorConfig.NUM_OF_CHANGE_EVENT_QUEUES.name(), "4");
+        configs.put(CassandraConnectorConfig.CHANGE_EVENT_QUEUE_ROUTING.name(), routing);
+        CassandraConnectorContext context = new CassandraConnectorContext(new CassandraConnectorConfig(Configuration.from(configs)));
+        assertEquals(routing, context.getQueueRouter().getRouting().name());
+        return context.getQueues();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static io.debezium.connector.cassandra.TestUtils.generateDefaultConfigMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.debezium.config.Configuration;
+
+public class CommitLogSegmentSequencerTest {
+
+    @Test
+    public void testEventsAreReleasedInSegmentOrder() throws Exception {
+        CassandraConnectorContext context = new CassandraConnectorContext(new CassandraConnectorConfig(
+                Configuration.from(generateDefaultConfigMap())));
+        EventQueue queue = context.getQueues().get(0);
+        CommitLogSegmentSequencer sequencer = new CommitLogSegmentSequencer(2);
+
+        CommitLogSegmentSequencer.Segment first = sequencer.register("CommitLog-7-1.log");
+        CommitLogSegmentSequencer.Segment second = sequencer.register("CommitLog-7-2.log");
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            // the later segment is read completely before the earlier one has dispatched anything
+            executorService.submit(() -> {
+                second.dispatch(queue, new EOFEvent(new File("second-1")));
+                second.seal();
+                return null;
+            }).get();
+            executorService.submit(() -> {
+                for (int i = 1; i <= 3; i++) {
+                    first.dispatch(queue, new EOFEvent(new File("first-" + i)));
+                }
+                first.seal();
+                return null;
+            });
+            executorService.submit(() -> {
+                sequencer.releaseNext();
+                sequencer.releaseNext();
+                return null;
+            }).get(10, TimeUnit.SECONDS);
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+
+        List<String> released = new ArrayList<>();
+        for (Event event : queue.poll()) {
+            released.add(((EOFEvent) event).file.getName());
+        }
+        assertEquals(4, released.size());
+        assertEquals("first-1", released.get(0));
+        assertEquals("first-2", released.get(1));
+        assertEquals("first-3", released.get(2));
+        assertEquals("second-1", released.get(3));
+        assertEquals(0, sequencer.pendingSegments());
+    }
+
+    @Test
+    public void testSegmentBeingReleasedIsPending() throws Exception {
+        CassandraConnectorContext context = new CassandraConnectorContext(new CassandraConnectorConfig(
+                Configuration.from(generateDefaultConfigMap())));
+        EventQueue queue = context.getQueues().get(0);
+        CommitLogSegmentSequencer sequencer = new CommitLogSegmentSequencer(1);
+        CommitLogSegmentSequencer.Segment segment = sequencer.register("CommitLog-7-1.log");
+        assertEquals(1, sequencer.pendingSegments());
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> released = executorService.submit(() -> {
+                sequencer.releaseNext();
+                return null;
+            });
+            segment.dispatch(queue, new EOFEvent(new File("first-1")));
+            // taken by the releasing thread, but not sealed yet
+            segment.dispatch(queue, new EOFEvent(new File("first-2")));
+            assertEquals(1, sequencer.pendingSegments());
+
+            segment.seal();
+            released.get(10, TimeUnit.SECONDS);
+            assertEquals(0, sequencer.pendingSegments());
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSealIsIdempotent() throws Exception {
+        CommitLogSegmentSequencer sequencer = new CommitLogSegmentSequencer(1);
+        CommitLogSegmentSequencer.Segment segment = sequencer.register("CommitLog-7-1.log");
+        segment.seal();
+        segment.seal();
+        sequencer.releaseNext();
+        assertTrue(segment.toString().contains("sealed=true"));
+        assertEquals(0, sequencer.pendingSegments());
+    }
+}
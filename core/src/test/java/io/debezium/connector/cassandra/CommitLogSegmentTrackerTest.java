@@ -0,0 +1,87 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static io.debezium.connector.cassandra.TestUtils.TEST_KEYSPACE_NAME;
+import static io.debezium.connector.cassandra.TestUtils.generateDefaultConfigMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.debezium.config.Configuration;
+import io.debezium.time.Conversions;
+
+public class CommitLogSegmentTrackerTest {
+    private CassandraConnectorConfig config;
+    private Path cdcDir;
+    private Path relocationDir;
+    private Set<String> erroneousCommitLogs;
+    private CommitLogSegmentTracker tracker;
+
+    @Before
+    public void setUp() throws Exception {
+        config = new CassandraConnectorConfig(Configuration.from(generateDefaultConfigMap()));
+        cdcDir = Files.createTempDirectory("cdc_raw");
+        relocationDir = Files.createTempDirectory("cdc_raw_relocation");
+        Files.createDirectory(relocationDir.resolve(QueueProcessor.ARCHIVE_FOLDER));
+        Files.createDirectory(relocationDir.resolve(QueueProcessor.ERROR_FOLDER));
+        erroneousCommitLogs = new HashSet<>();
+        tracker = new CommitLogSegmentTracker(relocationDir.toString(), erroneousCommitLogs);
+    }
+
+    @Test
+    public void testSegmentIsRelocatedAfterLastAcknowledgement() throws Exception {
+        File commitLog = Files.createFile(cdcDir.resolve("CommitLog-6-123.log")).toFile();
+        Record first = record(commitLog.getName(), false);
+        Record second = record(commitLog.getName(), false);
+
+        EventDispatcher dispatcher = tracker.track(EventDispatcher.DIRECT);
+        EventQueue queue = new CassandraConnectorContext(config).getQueues().get(0);
+        dispatcher.dispatch(queue, first);
+        dispatcher.dispatch(queue, second);
+        assertEquals(2, tracker.pendingRecords(commitLog.getName()));
+
+        tracker.segmentRead(commitLog);
+        tracker.recordAcknowledged(first);
+        assertTrue(commitLog.exists());
+
+        tracker.recordAcknowledged(second);
+        assertFalse(commitLog.exists());
+        assertTrue(relocationDir.resolve(QueueProcessor.ARCHIVE_FOLDER).resolve(commitLog.getName()).toFile().exists());
+        assertEquals(0, tracker.pendingRecords(commitLog.getName()));
+    }
+
+    @Test
+    public void testSegmentWithoutPendingRecordsIsRelocatedWhenRead() throws Exception {
+        File commitLog = Files.createFile(cdcDir.resolve("CommitLog-6-124.log")).toFile();
+        erroneousCommitLogs.add(commitLog.getName());
+
+        // snapshot records are not tracked
+        Record snapshotRecord = record(commitLog.getName(), true);
+        tracker.recordDispatched(snapshotRecord);
+        assertEquals(0, tracker.pendingRecords(commitLog.getName()));
+
+        tracker.segmentRead(commitLog);
+        assertFalse(commitLog.exists());
+        assertTrue(relocationDir.resolve(QueueProcessor.ERROR_FOLDER).resolve(commitLog.getName()).toFile().exists());
+    }
+
+    private Record record(String fileName, boolean snapshot) {
+        SourceInfo sourceInfo = new SourceInfo(config, "cluster1", new OffsetPosition(fileName, 0),
+                new KeyspaceTable(TEST_KEYSPACE_NAME, "cdc_table"), snapshot,
+                Conversions.toInstantFromMicros(System.currentTimeMillis() * 1000));
+        return new ChangeRecord(sourceInfo, new RowData(), null, null, Record.Operation.INSERT, false);
+    }
+}
@@ -13,6 +13,9 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 
 import org.apache.kafka.connect.data.Schema;
@@ -122,6 +125,98 @@ public class FileOffsetWriterTest {
                 commitLogProps.getProperty(new KeyspaceTable("test_keyspace", "test_another_table").name()));
     }
 
+    @Test
+    public void testIsOffsetProcessedBySegmentIdAndPosition() throws IOException {
+        String table = new KeyspaceTable("test_keyspace", "test_table").name();
+        assertFalse(offsetWriter.isOffsetProcessed(table, 12345L, 100));
+
+        offsetWriter.markOffset(table, new OffsetPosition("CommitLog-6-12345.log", 100).serialize(), false);
+        assertTrue(offsetWriter.isOffsetProcessed(table, 12345L, 100));
+        assertTrue(offsetWriter.isOffsetProcessed(table, 12345L, 99));
+        assertTrue(offsetWriter.isOffsetProcessed(table, 12344L, 101));
+        assertFalse(offsetWriter.isOffsetProcessed(table, 12345L, 101));
+        assertFalse(offsetWriter.isOffsetProcessed(table, 12346L, 0));
+        assertFalse(offsetWriter.isOffsetProcessed(new KeyspaceTable("test_keyspace", "test_another_table").name(), 12345L, 100));
+
+        // an older offset does not move the watermark back
+        offsetWriter.markOffset(table, new OffsetPosition("CommitLog-6-12344.log", 200).serialize(), false);
+        assertTrue(offsetWriter.isOffsetProcessed(table, 12345L, 100));
+
+        // the watermark is restored from the offset file
+        offsetWriter.flush();
+        offsetWriter.close();
+        OffsetWriter reloadedOffsetWriter = new FileOffsetWriter(offsetDir.toAbsolutePath().toString());
+        assertTrue(reloadedOffsetWriter.isOffsetProcessed(table, 12345L, 100));
+        assertFalse(reloadedOffsetWriter.isOffsetProcessed(table, 12345L, 101));
+        reloadedOffsetWriter.close();
+    }
+
+    @Test
+    public void testResumePosition() {
+        String table = new KeyspaceTable("test_keyspace", "test_table").name();
+        String anotherTable = new KeyspaceTable("test_keyspace", "test_another_table").name();
+        List<String> tables = Arrays.asList(table, anotherTable);
+
+        // nothing has been processed for any table yet
+        assertEquals(0, offsetWriter.resumePosition("CommitLog-6-12345.log", tables));
+        assertEquals(0, offsetWriter.resumePosition("CommitLog-6-12345.log", Collections.emptyList()));
+
+        offsetWriter.markOffset(table, new OffsetPosition("CommitLog-6-12345.log", 200).serialize(), false);
+        // one of the tables has not been processed yet
+        assertEquals(0, offsetWriter.resumePosition("CommitLog-6-12345.log", tables));
+
+        offsetWriter.markOffset(anotherTable, new OffsetPosition("CommitLog-6-12345.log", 100).serialize(), false);
+        assertEquals(100, offsetWriter.resumePosition("CommitLog-6-12345.log", tables));
+        assertEquals(200, offsetWriter.resumePosition("CommitLog-6-12345.log", Collections.singletonList(table)));
+        assertEquals(Integer.MAX_VALUE, offsetWriter.resumePosition("CommitLog-6-12344.log", tables));
+        assertEquals(0, offsetWriter.resumePosition("CommitLog-6-12346.log", tables));
+
+        offsetWriter.markOffset(anotherTable, new OffsetPosition("CommitLog-6-12346.log", 100).serialize(), false);
+        assertEquals(200, offsetWriter.resumePosition("CommitLog-6-12345.log", tables));
+    }
+
+    @Test
+    public void testResumePositionWithIdleTable() {
+        String table = new KeyspaceTable("test_keyspace", "test_table").name();
+        String idleTable = new KeyspaceTable("test_keyspace", "test_idle_table").name();
+        List<String> tables = Arrays.asList(table, idleTable);
+
+        offsetWriter.markOffset(table, new OffsetPosition("CommitLog-6-12345.log", 200).serialize(), false);
+        // the idle table might have unprocessed mutations in the commit log as far as its own offset is concerned
+        assertEquals(0, offsetWriter.resumePosition("CommitLog-6-12345.log", tables));
+
+        // the records of all tables have been processed up to 150
+        offsetWriter.markOffset(OffsetWriter.ALL_TABLES_OFFSET_KEY, new OffsetPosition("CommitLog-6-12345.log", 150).serialize(), false);
+        assertEquals(150, offsetWriter.resumePosition("CommitLog-6-12345.log", tables));
+
+        offsetWriter.markOffset(idleTable, new OffsetPosition("CommitLog-6-12340.log", 10).serialize(), false);
+        assertEquals(150, offsetWriter.resumePosition("CommitLog-6-12345.log", tables));
+
+        offsetWriter.markOffset(OffsetWriter.ALL_TABLES_OFFSET_KEY, new OffsetPosition("CommitLog-6-12345.log", 200).serialize(), false);
+        assertEquals(200, offsetWriter.resumePosition("CommitLog-6-12345.log", tables));
+        // a later commit log has not been processed for either table
+        assertEquals(0, offsetWriter.resumePosition("CommitLog-6-12346.log", tables));
+    }
+
+    @Test
+    public void testTokenRangeOffsetsAreRemovedOnceTableIsMarked() throws IOException {
+        String table = new KeyspaceTable("test_keyspace", "test_table").name();
+        String otherTable = new KeyspaceTable("test_keyspace", "test_table_2").name();
+        String snapshotOffset = OffsetPosition.defaultOffsetPosition().serialize();
+        offsetWriter.markOffset(SnapshotProcessor.tokenRangeKey(table, Long.MIN_VALUE, 0), snapshotOffset, true);
+        offsetWriter.markOffset(SnapshotProcessor.tokenRangeKey(otherTable, Long.MIN_VALUE, 0), snapshotOffset, true);
+
+        offsetWriter.markOffset(table, snapshotOffset, true);
+        offsetWriter.flush();
+        try (FileInputStream fis = new FileInputStream(offsetDir.toString() + "/" + FileOffsetWriter.SNAPSHOT_OFFSET_FILE)) {
+            snapshotProps.load(fis);
+        }
+        // the token ranges of a table whose name starts with the name of the completed table are kept
+        assertEquals(2, snapshotProps.size());
+        assertTrue(snapshotProps.containsKey(table));
+        assertTrue(snapshotProps.containsKey(SnapshotProcessor.tokenRangeKey(otherTable, Long.MIN_VALUE, 0)));
+    }
+
     @Test(expected = CassandraConnectorTaskException.class)
     public void testTwoFileWriterCannotCoexist() throws IOException {
         new FileOffsetWriter(offsetDir.toAbsolutePath().toString());
@@ -0,0 +1,198 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.debezium.connector.cassandra.CassandraConnectorConfig.OffsetJournalFsyncPolicy;
+import io.debezium.connector.cassandra.exceptions.CassandraConnectorTaskException;
+
+public class JournalOffsetWriterTest {
+    private static final String TABLE = "test_keyspace.test_table";
+
+    private Path offsetDir;
+
+    @Before
+    public void setUp() throws IOException {
+        offsetDir = Files.createTempDirectory("offset");
+    }
+
+    @Test
+    public void testOffsetsAreRecoveredFromJournal() throws IOException {
+        JournalOffsetWriter offsetWriter = open();
+        offsetWriter.markOffset(TABLE, OffsetPosition.defaultOffsetPosition().serialize(), true);
+        offsetWriter.markOffset(TABLE, "CommitLog-6-123.log:100", false);
+        offsetWriter.markOffset(TABLE, "CommitLog-6-124.log:50", false);
+        // older offsets are not appended
+        offsetWriter.markOffset(TABLE, "CommitLog-6-123.log:200", false);
+        offsetWriter.flush();
+        offsetWriter.close();
+
+        offsetWriter = open();
+        assertTrue(offsetWriter.isOffsetProcessed(TABLE, OffsetPosition.defaultOffsetPosition().serialize(), true));
+        assertTrue(offsetWriter.isOffsetProcessed(TABLE, "CommitLog-6-124.log:50", false));
+        assertFalse(offsetWriter.isOffsetProcessed(TABLE, "CommitLog-6-124.log:51", false));
+        assertEquals(50, offsetWriter.resumePosition("CommitLog-6-124.log", Arrays.asList(TABLE)));
+        offsetWriter.close();
+    }
+
+    @Test
+    public void testTornEntryIsDiscarded() throws IOException {
+        JournalOffsetWriter offsetWriter = open();
+        offsetWriter.markOffset(TABLE, "CommitLog-6-123.log:100", false);
+        offsetWriter.markOffset(TABLE, "CommitLog-6-123.log:200", false);
+        offsetWriter.close();
+
+        // corrupt the second entry as if the connector crashed while writing it
+        try (RandomAccessFile journal = new RandomAccessFile(offsetDir.resolve(JournalOffsetWriter.JOURNAL_FILE).toFile(), "rw")) {
+            journal.seek(JournalOffsetWriter.ENTRY_SIZE + 100);
+            journal.write(0xFF);
+        }
+
+        offsetWriter = open();
+        assertTrue(offsetWriter.isOffsetProcessed(TABLE, "CommitLog-6-123.log:100", false));
+        assertFalse(offsetWriter.isOffsetProcessed(TABLE, "CommitLog-6-123.log:101", false));
+
+        offsetWriter.markOffset(TABLE, "CommitLog-6-123.log:300", false);
+        offsetWriter.close();
+        offsetWriter = open();
+        assertTrue(offsetWriter.isOffsetProcessed(TABLE, "CommitLog-6-123.log:300", false));
+        offsetWriter.close();
+    }
+
+    @Test
+    public void testEntriesAfterTornEntryAreReplayed() throws IOException {
+        JournalOffsetWriter offsetWriter = open();
+        offsetWriter.markOffset(TABLE, "CommitLog-6-123.log:100", false);
+        offsetWriter.markOffset("test_keyspace.table_2", "CommitLog-6-123.log:150", false);
+        offsetWriter.markOffset(TABLE, "CommitLog-6-123.log:200", false);
+        offsetWriter.close();
+
+        // the second entry has not reached the disk, while the third one has
+        try (RandomAccessFile journal = new RandomAccessFile(offsetDir.resolve(JournalOffsetWriter.JOURNAL_FILE).toFile(), "rw")) {
+            journal.seek(JournalOffsetWriter.ENTRY_SIZE);
+            journal.write(new byte[JournalOffsetWriter.ENTRY_SIZE]);
+        }
+
+        offsetWriter = open();
+        assertTrue(offsetWriter.isOffsetProcessed(TABLE, "CommitLog-6-123.log:200", false));
+        assertFalse(offsetWriter.isOffsetProcessed("test_keyspace.table_2", "CommitLog-6-123.log:150", false));
+        offsetWriter.close();
+    }
+
+    @Test
+    public void testJournalIsCompactedWhileOffsetsAreMarked() throws Exception {
+        JournalOffsetWriter offsetWriter = open();
+        int threads = 4;
+        int positions = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String table = "test_keyspace.table_" + t;
+                futures.add(executor.submit(() -> {
+                    for (int position = 1; position <= positions; position++) {
+                        offsetWriter.markOffset(table, "CommitLog-6-123.log:" + position, false);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        offsetWriter.close();
+
+        JournalOffsetWriter reopened = open();
+        for (int t = 0; t < threads; t++) {
+            assertTrue(reopened.isOffsetProcessed("test_keyspace.table_" + t, "CommitLog-6-123.log:" + positions, false));
+        }
+        reopened.close();
+    }
+
+    @Test
+    public void testJournalIsCompactedWhenFull() throws IOException {
+        JournalOffsetWriter offsetWriter = open();
+        for (int position = 0; position < 100; position++) {
+            offsetWriter.markOffset(TABLE, "CommitLog-6-123.log:" + position, false);
+            offsetWriter.markOffset("test_keyspace.table_" + (position % 3), "CommitLog-6-123.log:" + position, false);
+        }
+        offsetWriter.close();
+
+        assertTrue(Files.size(offsetDir.resolve(JournalOffsetWriter.JOURNAL_FILE)) < 100 * JournalOffsetWriter.ENTRY_SIZE);
+        offsetWriter = open();
+        assertTrue(offsetWriter.isOffsetProcessed(TABLE, "CommitLog-6-123.log:99", false));
+        assertFalse(offsetWriter.isOffsetProcessed(TABLE, "CommitLog-6-123.log:100", false));
+        assertTrue(offsetWriter.isOffsetProcessed("test_keyspace.table_2", "CommitLog-6-123.log:98", false));
+        offsetWriter.close();
+    }
+
+    @Test
+    public void testOffsetFilesAreTakenOver() throws IOException {
+        Properties props = new Properties();
+        props.setProperty(TABLE, "CommitLog-6-123.log:100");
+        try (FileOutputStream fos = new FileOutputStream(offsetDir.resolve(FileOffsetWriter.COMMITLOG_OFFSET_FILE).toFile())) {
+            props.store(fos, null);
+        }
+
+        JournalOffsetWriter offsetWriter = open();
+        assertTrue(offsetWriter.isOffsetProcessed(TABLE, "CommitLog-6-123.log:100", false));
+        assertFalse(offsetWriter.isOffsetProcessed(TABLE, OffsetPosition.defaultOffsetPosition().serialize(), true));
+        offsetWriter.close();
+    }
+
+    @Test
+    public void testTokenRangeOffsetsAreRemovedOnceTableIsMarked() throws IOException {
+        String rangeKey = SnapshotProcessor.tokenRangeKey(TABLE, Long.MIN_VALUE, 0);
+        JournalOffsetWriter offsetWriter = open();
+        offsetWriter.markOffset(rangeKey, OffsetPosition.defaultOffsetPosition().serialize(), true);
+        offsetWriter.markOffset(TABLE, OffsetPosition.defaultOffsetPosition().serialize(), true);
+        assertFalse(offsetWriter.isOffsetProcessed(rangeKey, OffsetPosition.defaultOffsetPosition().serialize(), true));
+        offsetWriter.close();
+
+        // the entry of the token range is still in the journal, but superseded on replay
+        offsetWriter = open();
+        assertTrue(offsetWriter.isOffsetProcessed(TABLE, OffsetPosition.defaultOffsetPosition().serialize(), true));
+        assertFalse(offsetWriter.isOffsetProcessed(rangeKey, OffsetPosition.defaultOffsetPosition().serialize(), true));
+        offsetWriter.close();
+    }
+
+    @Test(expected = CassandraConnectorTaskException.class)
+    public void testJournalIsLocked() throws IOException {
+        JournalOffsetWriter offsetWriter = open();
+        try {
+            open();
+        }
+        finally {
+            offsetWriter.close();
+        }
+    }
+
+    private JournalOffsetWriter open() throws IOException {
+        return new JournalOffsetWriter(offsetDir.toString(), 16 * JournalOffsetWriter.ENTRY_SIZE, OffsetJournalFsyncPolicy.FLUSH);
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static io.debezium.connector.cassandra.CellData.ColumnType.PARTITION;
+import static io.debezium.connector.cassandra.KeyValueSchema.getPrimaryKeySchemas;
+import static io.debezium.connector.cassandra.RowData.rowSchema;
+import static io.debezium.connector.cassandra.TestUtils.TEST_KEYSPACE_NAME;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.datastax.oss.driver.api.core.type.DataTypes;
+
+import io.debezium.config.Configuration;
+import io.debezium.connector.cassandra.CassandraConnectorConfig.ChangeEventQueueWaitStrategy;
+import io.debezium.time.Conversions;
+
+public class KafkaRecordEmitterTest {
+    private CassandraConnectorConfig config;
+    private KeyValueSchema keyValueSchema;
+    private OffsetWriter offsetWriter;
+    private MockProducer<byte[], byte[]> producer;
+    private KafkaRecordEmitter emitter;
+
+    @Before
+    public void setUp() throws Exception {
+        config = new CassandraConnectorConfig(Configuration.from(TestUtils.generateDefaultConfigMap()));
+        keyValueSchema = new KeyValueSchema.KeyValueSchemaBuilder()
+                .withKeyspace(TEST_KEYSPACE_NAME)
+                .withTable("cdc_table")
+                .withKafkaTopicPrefix(config.kafkaTopicPrefix())
+                .withSourceInfoStructMarker(config.getSourceInfoStructMaker())
+                .withRowSchema(rowSchema(singletonList("p1"), singletonList(DataTypes.INT)))
+                .withPrimaryKeyNames(singletonList("p1"))
+                .withPrimaryKeySchemas(getPrimaryKeySchemas(asList(DataTypes.INT)))
+                .build();
+        offsetWriter = new FileOffsetWriter(Files.createTempDirectory("offset").toString());
+        producer = new MockProducer<>(false, new ByteArraySerializer(), new ByteArraySerializer());
+        emitter = new KafkaRecordEmitter(config, producer, offsetWriter, Duration.ofHours(1), Long.MAX_VALUE,
+                config.getKeyConverter(), config.getValueConverter(), new HashSet<>(), config.getCommitLogTransfer());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        emitter.close();
+        offsetWriter.close();
+    }
+
+    @Test
+    public void testOffsetIsMarkedOnlyBelowWatermark() {
+        Record first = record(100);
+        Record second = record(200);
+        Record third = record(300);
+        emitter.emit(first);
+        emitter.emit(second);
+        emitter.emit(third);
+
+        emitter.flushAndMarkOffset();
+        assertFalse(isProcessed(first));
+
+        // a failed record does not hold back the offsets of the records after it
+        producer.errorNext(new RuntimeException("failed"));
+        producer.completeNext();
+        emitter.flushAndMarkOffset();
+        assertTrue(isProcessed(second));
+        assertFalse(isProcessed(third));
+
+        producer.completeNext();
+        emitter.flushAndMarkOffset();
+        assertTrue(isProcessed(third));
+    }
+
+    @Test
+    public void testPendingOffsetsAreMarkedOnClose() throws Exception {
+        Record record = record(100);
+        emitter.emit(record);
+        assertEquals(1, producer.history().size());
+
+        producer.completeNext();
+        emitter.close();
+        assertTrue(isProcessed(record));
+    }
+
+    @Test
+    public void testOffsetOfAllTablesIsMarked() {
+        String idleTable = new KeyspaceTable(TEST_KEYSPACE_NAME, "idle_table").name();
+        List<String> tables = asList(new KeyspaceTable(TEST_KEYSPACE_NAME, "cdc_table").name(), idleTable);
+        emitter.emit(record(100));
+        emitter.emit(record(200));
+        emitter.emit(record(300));
+
+        producer.completeNext();
+        emitter.flushAndMarkOffset();
+        assertEquals(0, offsetWriter.resumePosition("CommitLog-6-123.log", tables));
+
+        // the mutations up to the one before the last acknowledged record are processed for all tables
+        producer.completeNext();
+        emitter.flushAndMarkOffset();
+        assertEquals(100, offsetWriter.resumePosition("CommitLog-6-123.log", tables));
+
+        producer.completeNext();
+        emitter.flushAndMarkOffset();
+        assertEquals(200, offsetWriter.resumePosition("CommitLog-6-123.log", tables));
+    }
+
+    @Test
+    public void testOffsetOfAllTablesIsNotMarkedUntilMutationOfSeveralTablesIsAcknowledged() throws Exception {
+        String table = new KeyspaceTable(TEST_KEYSPACE_NAME, "cdc_table").name();
+        String otherTable = new KeyspaceTable(TEST_KEYSPACE_NAME, "other_table").name();
+        String idleTable = new KeyspaceTable(TEST_KEYSPACE_NAME, "idle_table").name();
+        OffsetWatermarks offsetWatermarks = new OffsetWatermarks();
+        MockProducer<byte[], byte[]> firstProducer = new MockProducer<>(false, new ByteArraySerializer(), new ByteArraySerializer());
+        MockProducer<byte[], byte[]> otherProducer = new MockProducer<>(false, new ByteArraySerializer(), new ByteArraySerializer());
+        KafkaRecordEmitter firstEmitter = emitter(firstProducer, offsetWatermarks);
+        KafkaRecordEmitter otherEmitter = emitter(otherProducer, offsetWatermarks);
+
+        // a mutation of two tables at position 100, e.g. a batch, whose records are emitted through different
+        // queues, then a mutation of a single table
+        firstEmitter.emit(record(100));
+        otherEmitter.emit(record(100, "other_table"));
+        firstEmitter.emit(record(200));
+
+        firstProducer.completeNext();
+        firstProducer.completeNext();
+        firstEmitter.flushAndMarkOffset();
+        assertTrue(offsetWriter.isOffsetProcessed(table, "CommitLog-6-123.log:200", false));
+        // the record of the other table at 100 is still in flight, so the mutation has to be read again
+        assertEquals(0, offsetWriter.resumePosition("CommitLog-6-123.log", asList(table, otherTable)));
+        assertEquals(0, offsetWriter.resumePosition("CommitLog-6-123.log", asList(table, idleTable)));
+
+        otherProducer.completeNext();
+        otherEmitter.flushAndMarkOffset();
+        assertEquals(100, offsetWriter.resumePosition("CommitLog-6-123.log", asList(table, otherTable, idleTable)));
+
+        firstEmitter.close();
+        otherEmitter.close();
+    }
+
+    @Test
+    public void testOffsetIsMarkedUnderOffsetKey() {
+        String rangeKey = SnapshotProcessor.tokenRangeKey(TEST_KEYSPACE_NAME + ".cdc_table", Long.MIN_VALUE, 0);
+        Record first = record(100);
+        Record second = new ChangeRecord(first.getSource(), first.getRowData(), keyValueSchema.keySchema(), keyValueSchema.valueSchema(),
+                Record.Operation.INSERT, true, rangeKey);
+        emitter.emit(first);
+        emitter.emit(second);
+
+        producer.completeNext();
+        producer.completeNext();
+        emitter.flushAndMarkOffset();
+        assertTrue(isProcessed(first));
+        assertTrue(offsetWriter.isOffsetProcessed(rangeKey, first.getSource().offsetPosition.serialize(), false));
+    }
+
+    @Test
+    public void testOffsetIsMarkedOnlyOnceAllQueuesAcknowledged() throws Exception {
+        OffsetWatermarks offsetWatermarks = new OffsetWatermarks();
+        EventQueue firstQueue = offsetWatermarks.track(new RingBufferEventQueue(8, 8, Duration.ofMillis(10), ChangeEventQueueWaitStrategy.PARK));
+        EventQueue secondQueue = offsetWatermarks.track(new RingBufferEventQueue(8, 8, Duration.ofMillis(10), ChangeEventQueueWaitStrategy.PARK));
+        MockProducer<byte[], byte[]> firstProducer = new MockProducer<>(false, new ByteArraySerializer(), new ByteArraySerializer());
+        MockProducer<byte[], byte[]> secondProducer = new MockProducer<>(false, new ByteArraySerializer(), new ByteArraySerializer());
+        KafkaRecordEmitter firstEmitter = emitter(firstProducer, offsetWatermarks);
+        KafkaRecordEmitter secondEmitter = emitter(secondProducer, offsetWatermarks);
+
+        // records of the same table routed to different queues, e.g. by their partition tokens
+        Record first = record(100);
+        Record second = record(200);
+        firstQueue.enqueue(first);
+        secondQueue.enqueue(second);
+
+        secondEmitter.emit((Record) secondQueue.poll().get(0));
+        secondProducer.completeNext();
+        secondEmitter.flushAndMarkOffset();
+        assertFalse(isProcessed(second));
+
+        firstEmitter.emit((Record) firstQueue.poll().get(0));
+        firstProducer.completeNext();
+        firstEmitter.flushAndMarkOffset();
+        assertTrue(isProcessed(second));
+
+        firstEmitter.close();
+        secondEmitter.close();
+    }
+
+    @Test
+    public void testTokenRangeOffsetIsMarkedOnlyOnceAllQueuesAcknowledged() throws Exception {
+        OffsetWatermarks offsetWatermarks = new OffsetWatermarks();
+        EventQueue firstQueue = offsetWatermarks.track(new RingBufferEventQueue(8, 8, Duration.ofMillis(10), ChangeEventQueueWaitStrategy.PARK));
+        EventQueue secondQueue = offsetWatermarks.track(new RingBufferEventQueue(8, 8, Duration.ofMillis(10), ChangeEventQueueWaitStrategy.PARK));
+        MockProducer<byte[], byte[]> firstProducer = new MockProducer<>(false, new ByteArraySerializer(), new ByteArraySerializer());
+        MockProducer<byte[], byte[]> secondProducer = new MockProducer<>(false, new ByteArraySerializer(), new ByteArraySerializer());
+        KafkaRecordEmitter firstEmitter = emitter(firstProducer, offsetWatermarks);
+        KafkaRecordEmitter secondEmitter = emitter(secondProducer, offsetWatermarks);
+
+        // the held back last row of a token range marks the range, while another row of it is routed to another queue
+        String rangeKey = SnapshotProcessor.tokenRangeKey(TEST_KEYSPACE_NAME + ".cdc_table", Long.MIN_VALUE, 0);
+        Record row = snapshotRecord(false, null);
+        Record lastRow = snapshotRecord(true, rangeKey);
+        firstQueue.enqueue(row);
+        secondQueue.enqueue(lastRow);
+
+        secondEmitter.emit((Record) secondQueue.poll().get(0));
+        secondProducer.completeNext();
+        secondEmitter.flushAndMarkOffset();
+        assertFalse(offsetWriter.isOffsetProcessed(rangeKey, OffsetPosition.defaultOffsetPosition().serialize(), true));
+
+        firstEmitter.emit((Record) firstQueue.poll().get(0));
+        firstProducer.completeNext();
+        firstEmitter.flushAndMarkOffset();
+        assertTrue(offsetWriter.isOffsetProcessed(rangeKey, OffsetPosition.defaultOffsetPosition().serialize(), true));
+
+        firstEmitter.close();
+        secondEmitter.close();
+    }
+
+    @Test
+    public void testOffsetIsMarkedWhenAcknowledgedAfterLastEmit() throws Exception {
+        // committed by the acknowledgement itself
+        assertOffsetIsMarkedWhenAcknowledgedAfterLastEmit(Duration.ZERO);
+        // committed by the flush interval, as the acknowledgement comes before the interval has elapsed
+        assertOffsetIsMarkedWhenAcknowledgedAfterLastEmit(Duration.ofMillis(100));
+    }
+
+    private void assertOffsetIsMarkedWhenAcknowledgedAfterLastEmit(Duration offsetFlushInterval) throws Exception {
+        MockProducer<byte[], byte[]> producer = new MockProducer<>(false, new ByteArraySerializer(), new ByteArraySerializer());
+        KafkaRecordEmitter emitter = new KafkaRecordEmitter(config, producer, offsetWriter, offsetFlushInterval, Long.MAX_VALUE,
+                config.getKeyConverter(), config.getValueConverter(), new HashSet<>(), config.getCommitLogTransfer());
+        try {
+            Record record = record(offsetFlushInterval.isZero() ? 100 : 200);
+            emitter.emit(record);
+            assertFalse(isProcessed(record));
+
+            producer.completeNext();
+            await().atMost(10, TimeUnit.SECONDS).until(() -> isProcessed(record));
+        }
+        finally {
+            emitter.close();
+        }
+    }
+
+    private KafkaRecordEmitter emitter(MockProducer<byte[], byte[]> producer, OffsetWatermarks offsetWatermarks) {
+        return new KafkaRecordEmitter(config, producer, offsetWriter, Duration.ofHours(1), Long.MAX_VALUE,
+                config.getKeyConverter(), config.getValueConverter(), new HashSet<>(), config.getCommitLogTransfer(), null, offsetWatermarks);
+    }
+
+    private boolean isProcessed(Record record) {
+        return offsetWriter.isOffsetProcessed(record.getSource().keyspaceTable.name(), record.getSource().offsetPosition.serialize(), false);
+    }
+
+    private Record snapshotRecord(boolean markOffset, String offsetKey) {
+        SourceInfo sourceInfo = new SourceInfo(config, "cluster1", OffsetPosition.defaultOffsetPosition(),
+                new KeyspaceTable(TEST_KEYSPACE_NAME, "cdc_table"), true,
+                Conversions.toInstantFromMicros(System.currentTimeMillis() * 1000));
+        RowData rowData = new RowData(keyValueSchema.rowLayout());
+        rowData.addCell(new CellData("p1", 1, null, PARTITION));
+        return new ChangeRecord(sourceInfo, rowData, keyValueSchema.keySchema(), keyValueSchema.valueSchema(), Record.Operation.INSERT, markOffset, offsetKey);
+    }
+
+    private Record record(int position) {
+        return record(position, "cdc_table");
+    }
+
+    private Record record(int position, String table) {
+        SourceInfo sourceInfo = new SourceInfo(config, "cluster1", new OffsetPosition("CommitLog-6-123.log", position),
+                new KeyspaceTable(TEST_KEYSPACE_NAME, table), false,
+                Conversions.toInstantFromMicros(System.currentTimeMillis() * 1000));
+        RowData rowData = new RowData(keyValueSchema.rowLayout());
+        rowData.addCell(new CellData("p1", position, null, PARTITION));
+        return new ChangeRecord(sourceInfo, rowData, keyValueSchema.keySchema(), keyValueSchema.valueSchema(), Record.Operation.INSERT, true);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static io.debezium.connector.cassandra.CellData.ColumnType.REGULAR;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.cassandra.db.marshal.AbstractType;
+import org.apache.cassandra.db.marshal.Int32Type;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Test;
+
+import io.debezium.connector.cassandra.transforms.type.deserializer.TypeDeserializer;
+
+public class LazyCellDataTest {
+
+    @Test
+    public void testValueIsDeserializedOnceWhenRecorded() {
+        CountingDeserializer deserializer = new CountingDeserializer();
+        CellData cellData = new LazyCellData("col", Int32Type.instance.decompose(42), Int32Type.instance, deserializer, null, REGULAR);
+        assertEquals(0, deserializer.count.get());
+
+        Struct struct = cellData.record(CellData.cellSchema("col", Schema.OPTIONAL_INT32_SCHEMA, true));
+        assertEquals(42, struct.get(CellData.CELL_VALUE_KEY));
+        assertEquals(42, cellData.getValue());
+        assertEquals(1, deserializer.count.get());
+
+        assertEquals(new CellData("col", 42, null, REGULAR), cellData);
+    }
+
+    @Test
+    public void testRemovedCellIsNeverDeserialized() {
+        CountingDeserializer deserializer = new CountingDeserializer();
+        RowData rowData = new RowData();
+        rowData.addCell(new CellData("p1", 1, null, CellData.ColumnType.PARTITION));
+        rowData.addCell(new LazyCellData("col", Int32Type.instance.decompose(42), Int32Type.instance, deserializer, null, REGULAR));
+
+        RowData filtered = rowData.copy();
+        filtered.removeCell("col");
+        filtered.record(SchemaBuilder.struct()
+                .field("p1", CellData.cellSchema("p1", Schema.OPTIONAL_INT32_SCHEMA, true))
+                .field("col", CellData.cellSchema("col", Schema.OPTIONAL_INT32_SCHEMA, true))
+                .build());
+        assertEquals(0, deserializer.count.get());
+    }
+
+    private static class CountingDeserializer implements TypeDeserializer {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Object deserialize(AbstractType<?> abstractType, ByteBuffer bb) {
+            count.incrementAndGet();
+            return abstractType.compose(bb);
+        }
+
+        @Override
+        public SchemaBuilder getSchemaBuilder(AbstractType<?> abstractType) {
+            return SchemaBuilder.int32();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class PrimaryTokenRangesTest {
+
+    @Test
+    public void testPrimaryRanges() {
+        // ring of three nodes with tokens -100, 0, 100, the local node owning 0 and 100
+        long[][] ranges = PrimaryTokenRanges.primaryRanges(Arrays.asList(0L, 100L), Arrays.asList(-100L, 0L, 100L));
+        assertArrayEquals(new long[]{ -100L }, ranges[0]);
+        assertArrayEquals(new long[]{ 100L }, ranges[1]);
+
+        assertFalse(PrimaryTokenRanges.contains(ranges[0], ranges[1], -100L));
+        assertTrue(PrimaryTokenRanges.contains(ranges[0], ranges[1], -99L));
+        assertTrue(PrimaryTokenRanges.contains(ranges[0], ranges[1], 0L));
+        assertTrue(PrimaryTokenRanges.contains(ranges[0], ranges[1], 100L));
+        assertFalse(PrimaryTokenRanges.contains(ranges[0], ranges[1], 101L));
+        assertFalse(PrimaryTokenRanges.contains(ranges[0], ranges[1], Long.MIN_VALUE));
+    }
+
+    @Test
+    public void testWrappingPrimaryRange() {
+        // the lowest token owns the range wrapping around the ring
+        long[][] ranges = PrimaryTokenRanges.primaryRanges(Collections.singletonList(-100L), Arrays.asList(-100L, 0L, 100L));
+        assertArrayEquals(new long[]{ Long.MIN_VALUE, 100L }, ranges[0]);
+        assertArrayEquals(new long[]{ -100L, Long.MAX_VALUE }, ranges[1]);
+
+        assertTrue(PrimaryTokenRanges.contains(ranges[0], ranges[1], -100L));
+        assertTrue(PrimaryTokenRanges.contains(ranges[0], ranges[1], Long.MIN_VALUE + 1));
+        assertTrue(PrimaryTokenRanges.contains(ranges[0], ranges[1], 101L));
+        assertTrue(PrimaryTokenRanges.contains(ranges[0], ranges[1], Long.MAX_VALUE));
+        assertFalse(PrimaryTokenRanges.contains(ranges[0], ranges[1], -99L));
+        assertFalse(PrimaryTokenRanges.contains(ranges[0], ranges[1], 100L));
+    }
+
+    @Test
+    public void testSingleNodeOwnsWholeRing() {
+        long[][] ranges = PrimaryTokenRanges.primaryRanges(Collections.singletonList(42L), Collections.singletonList(42L));
+        assertArrayEquals(new long[]{ Long.MIN_VALUE }, ranges[0]);
+        assertArrayEquals(new long[]{ Long.MAX_VALUE }, ranges[1]);
+        for (long token : new long[]{ Long.MIN_VALUE + 1, -1L, 42L, 43L, Long.MAX_VALUE }) {
+            assertTrue(PrimaryTokenRanges.contains(ranges[0], ranges[1], token));
+        }
+    }
+
+    @Test
+    public void testAllContainsEveryToken() {
+        assertTrue(PrimaryTokenRanges.ALL.contains(Long.MIN_VALUE));
+        assertTrue(PrimaryTokenRanges.ALL.contains(0L));
+        assertTrue(PrimaryTokenRanges.ALL.contains(null));
+        assertNull(PrimaryTokenRanges.ALL.ranges());
+    }
+}
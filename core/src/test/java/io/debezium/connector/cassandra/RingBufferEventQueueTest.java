@@ -0,0 +1,122 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.debezium.connector.cassandra.CassandraConnectorConfig.ChangeEventQueueWaitStrategy;
+
+public class RingBufferEventQueueTest {
+
+    @Test
+    public void testPollDrainsBatchesInOrder() throws Exception {
+        RingBufferEventQueue queue = new RingBufferEventQueue(10, 4, Duration.ofMillis(10), ChangeEventQueueWaitStrategy.PARK);
+        assertEquals(10, queue.totalCapacity());
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Event event = new EOFEvent(new File("CommitLog-7-" + i + ".log"));
+            events.add(event);
+            queue.enqueue(event);
+        }
+        assertEquals(0, queue.remainingCapacity());
+
+        List<Event> polled = new ArrayList<>();
+        List<Event> batch;
+        while (!(batch = queue.poll()).isEmpty()) {
+            assertTrue(batch.size() <= 4);
+            polled.addAll(batch);
+        }
+        assertEquals(events.size(), polled.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertSame(events.get(i), polled.get(i));
+        }
+        assertEquals(10, queue.remainingCapacity());
+    }
+
+    @Test
+    public void testPollReturnsEmptyBatchAfterPollInterval() throws Exception {
+        RingBufferEventQueue queue = new RingBufferEventQueue(8, 8, Duration.ofMillis(50), ChangeEventQueueWaitStrategy.PARK);
+        long start = System.nanoTime();
+        assertTrue(queue.poll().isEmpty());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    public void testParkedConsumerIsSignaledByProducer() throws Exception {
+        RingBufferEventQueue queue = new RingBufferEventQueue(8, 8, Duration.ofMinutes(1), ChangeEventQueueWaitStrategy.PARK);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<Event>> polled = executor.submit(queue::poll);
+            Thread.sleep(100);
+            Event event = new EOFEvent(new File("CommitLog-7-1.log"));
+            queue.enqueue(event);
+            // far less than the poll interval
+            List<Event> events = polled.get(10, TimeUnit.SECONDS);
+            assertEquals(1, events.size());
+            assertSame(event, events.get(0));
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentProducers() throws Exception {
+        for (ChangeEventQueueWaitStrategy waitStrategy : ChangeEventQueueWaitStrategy.values()) {
+            assertConcurrentProducers(waitStrategy);
+        }
+    }
+
+    private static void assertConcurrentProducers(ChangeEventQueueWaitStrategy waitStrategy) throws Exception {
+        int producers = 4;
+        int eventsPerProducer = 10_000;
+        // far smaller than the number of events, so that the producers have to wait for the consumer
+        RingBufferEventQueue queue = new RingBufferEventQueue(16, 5, Duration.ofMillis(100), waitStrategy);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                executor.submit(() -> {
+                    for (int i = 0; i < eventsPerProducer; i++) {
+                        queue.enqueue(new EOFEvent(new File(producer + "-" + i)));
+                    }
+                    return null;
+                });
+            }
+
+            int[] next = new int[producers];
+            int received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received < producers * eventsPerProducer && System.nanoTime() < deadline) {
+                for (Event event : queue.poll()) {
+                    String[] name = ((EOFEvent) event).file.getName().split("-");
+                    int producer = Integer.parseInt(name[0]);
+                    // the events of each producer are received in the order they were enqueued
+                    assertEquals(waitStrategy.name(), next[producer]++, Integer.parseInt(name[1]));
+                    received++;
+                }
+            }
+            assertEquals(waitStrategy.name(), producers * eventsPerProducer, received);
+            assertEquals(queue.totalCapacity(), queue.remainingCapacity());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Test;
+
+public class RowDataTest {
+    private static final Schema ROW_SCHEMA = SchemaBuilder.struct()
+            .field("p1", CellData.cellSchema("p1", Schema.OPTIONAL_INT32_SCHEMA, true))
+            .field("c1", CellData.cellSchema("c1", Schema.OPTIONAL_STRING_SCHEMA, true))
+            .field("v1", CellData.cellSchema("v1", Schema.OPTIONAL_INT32_SCHEMA, true))
+            .field(".range_start", Schema.OPTIONAL_STRING_SCHEMA)
+            .field(".range_end", Schema.OPTIONAL_STRING_SCHEMA)
+            .build();
+    private static final Schema KEY_SCHEMA = SchemaBuilder.struct()
+            .field("p1", Schema.INT32_SCHEMA)
+            .field("c1", Schema.STRING_SCHEMA)
+            .build();
+
+    @Test
+    public void testRowWithLayoutIsRecordedLikeRowWithoutLayout() {
+        RowData.Layout layout = new RowData.Layout(ROW_SCHEMA, Arrays.asList("p1", "c1"));
+        RowData indexed = new RowData(layout);
+        RowData unindexed = new RowData();
+        for (RowData rowData : Arrays.asList(indexed, unindexed)) {
+            rowData.addCell(new CellData("v1", 7, null, CellData.ColumnType.REGULAR));
+            rowData.addCell(new CellData("c1", "a", null, CellData.ColumnType.CLUSTERING));
+            rowData.addCell(new CellData("p1", 1, null, CellData.ColumnType.PARTITION));
+            rowData.addStart("start");
+        }
+
+        assertEquals(unindexed, indexed);
+        assertEquals(unindexed.hashCode(), indexed.hashCode());
+        assertEquals(unindexed.record(ROW_SCHEMA), indexed.record(ROW_SCHEMA));
+        assertEquals(primaryKey(unindexed), primaryKey(indexed));
+
+        Struct struct = indexed.record(ROW_SCHEMA);
+        assertEquals(7, struct.getStruct("v1").get(CellData.CELL_VALUE_KEY));
+        assertEquals("start", struct.get(".range_start"));
+        assertNull(struct.get(".range_end"));
+    }
+
+    @Test
+    public void testRemoveAndCopyCells() {
+        RowData rowData = new RowData(new RowData.Layout(ROW_SCHEMA, Collections.singletonList("p1")));
+        assertFalse(rowData.hasAnyCell());
+
+        rowData.addCell(new CellData("p1", 1, null, CellData.ColumnType.PARTITION));
+        rowData.addCell(new CellData("v1", 7, null, CellData.ColumnType.REGULAR));
+        // columns which are not part of the row schema are never recorded
+        rowData.addCell(new CellData("unknown", 7, null, CellData.ColumnType.REGULAR));
+        assertFalse(rowData.hasCell("unknown"));
+
+        RowData copy = rowData.copy();
+        copy.removeCell("v1");
+        copy.removeCell("v1");
+        assertTrue(rowData.hasCell("v1"));
+        assertFalse(copy.hasCell("v1"));
+        assertTrue(copy.hasAnyCell());
+        assertNull(copy.record(ROW_SCHEMA).get("v1"));
+
+        copy.removeCell("p1");
+        assertFalse(copy.hasAnyCell());
+    }
+
+    @Test
+    public void testSetCellsByOrdinal() {
+        RowData.Layout layout = new RowData.Layout(ROW_SCHEMA, Arrays.asList("p1", "c1"));
+        RowData byName = new RowData(layout);
+        byName.addCell(new CellData("p1", 1, null, CellData.ColumnType.PARTITION));
+        byName.addCell(new CellData("c1", "a", null, CellData.ColumnType.CLUSTERING));
+        byName.addCell(new CellData("v1", 7, null, CellData.ColumnType.REGULAR));
+
+        int[] ordinals = layout.ordinalsOf(Arrays.asList("p1", "c1", "v1", "unknown"));
+        assertEquals(-1, ordinals[3]);
+        RowData byOrdinal = new RowData(layout);
+        byOrdinal.setCell(ordinals[2], new CellData("v1", 7, null, CellData.ColumnType.REGULAR));
+        byOrdinal.setCell(ordinals[1], new CellData("c1", "a", null, CellData.ColumnType.CLUSTERING));
+        byOrdinal.setCell(ordinals[0], new CellData("p1", 1, null, CellData.ColumnType.PARTITION));
+        // columns which are not part of the row schema are never recorded
+        byOrdinal.setCell(ordinals[3], new CellData("unknown", 7, null, CellData.ColumnType.REGULAR));
+
+        assertEquals(byName, byOrdinal);
+        assertEquals(byName.record(ROW_SCHEMA), byOrdinal.record(ROW_SCHEMA));
+        Struct key = primaryKey(byOrdinal);
+        assertEquals(1, key.get("p1"));
+        assertEquals("a", key.get("c1"));
+
+        byOrdinal.removeCell("p1");
+        byOrdinal.removeCell("c1");
+        byOrdinal.removeCell("v1");
+        assertFalse(byOrdinal.hasAnyCell());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSetCellByOrdinalRequiresLayout() {
+        new RowData().setCell(0, new CellData("p1", 1, null, CellData.ColumnType.PARTITION));
+    }
+
+    private static Struct primaryKey(RowData rowData) {
+        Struct key = new Struct(KEY_SCHEMA);
+        rowData.putPrimary(key);
+        return key;
+    }
+}
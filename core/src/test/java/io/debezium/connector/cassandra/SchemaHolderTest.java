@@ -0,0 +1,53 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static io.debezium.connector.cassandra.KeyValueSchema.getPrimaryKeySchemas;
+import static io.debezium.connector.cassandra.RowData.rowSchema;
+import static io.debezium.connector.cassandra.TestUtils.TEST_KEYSPACE_NAME;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.datastax.oss.driver.api.core.type.DataTypes;
+
+import io.debezium.config.Configuration;
+
+public class SchemaHolderTest {
+    private final KeyspaceTable table = new KeyspaceTable(TEST_KEYSPACE_NAME, "cdc_table");
+
+    @Test
+    public void testPlanIsDroppedWhenSchemaChanges() throws Exception {
+        SchemaHolder schemaHolder = new SchemaHolder();
+        schemaHolder.addOrUpdateTableSchema(table, keyValueSchema());
+        Object plan = new Object();
+        schemaHolder.putPlan(table, plan);
+        assertSame(plan, schemaHolder.getPlan(table, Object.class));
+        assertNull(schemaHolder.getPlan(table, String.class));
+
+        schemaHolder.addOrUpdateTableSchema(table, keyValueSchema());
+        assertNull(schemaHolder.getPlan(table, Object.class));
+
+        schemaHolder.putPlan(table, plan);
+        schemaHolder.removeTableSchema(table);
+        assertNull(schemaHolder.getPlan(table, Object.class));
+    }
+
+    private KeyValueSchema keyValueSchema() throws Exception {
+        CassandraConnectorConfig config = new CassandraConnectorConfig(Configuration.from(TestUtils.generateDefaultConfigMap()));
+        return new KeyValueSchema.KeyValueSchemaBuilder()
+                .withKeyspace(table.keyspace)
+                .withTable(table.table)
+                .withKafkaTopicPrefix(config.kafkaTopicPrefix())
+                .withSourceInfoStructMarker(config.getSourceInfoStructMaker())
+                .withRowSchema(rowSchema(singletonList("p1"), singletonList(DataTypes.INT)))
+                .withPrimaryKeyNames(singletonList("p1"))
+                .withPrimaryKeySchemas(getPrimaryKeySchemas(singletonList(DataTypes.INT)))
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+
+public class SnapshotPageIteratorTest {
+    private final List<Integer> requestedPages = new ArrayList<>();
+
+    @Test
+    public void testPagesAreFetchedAhead() {
+        List<Row> rows = rows(5);
+        CompletableFuture<AsyncResultSet> secondPage = new CompletableFuture<>();
+        CompletableFuture<AsyncResultSet> thirdPage = new CompletableFuture<>();
+
+        SnapshotPageIterator iterator = new SnapshotPageIterator(completedPage(0, rows.subList(0, 2), secondPage), 2);
+        assertSame(rows.get(0), iterator.next());
+        // the page after the next one is requested as soon as the next one has arrived
+        assertEquals(Collections.singletonList(1), requestedPages);
+        secondPage.complete(page(1, rows.subList(2, 4), thirdPage));
+        assertEquals(Arrays.asList(1, 2), requestedPages);
+        thirdPage.complete(page(2, rows.subList(4, 5), null));
+
+        List<Row> iterated = new ArrayList<>(Collections.singletonList(rows.get(0)));
+        iterator.forEachRemaining(iterated::add);
+        assertEquals(rows, iterated);
+        assertFalse(iterator.hasNext());
+        assertEquals(Arrays.asList(1, 2), requestedPages);
+    }
+
+    @Test
+    public void testPagesAreFetchedOnDemandWithoutPrefetch() {
+        List<Row> rows = rows(3);
+        CompletableFuture<AsyncResultSet> secondPage = CompletableFuture.completedFuture(page(1, rows.subList(2, 3), null));
+
+        SnapshotPageIterator iterator = new SnapshotPageIterator(completedPage(0, rows.subList(0, 2), secondPage), 0);
+        assertSame(rows.get(0), iterator.next());
+        assertSame(rows.get(1), iterator.next());
+        assertTrue(requestedPages.isEmpty());
+        assertSame(rows.get(2), iterator.next());
+        assertEquals(Collections.singletonList(1), requestedPages);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPageFailureIsRethrown() {
+        CompletableFuture<AsyncResultSet> secondPage = new CompletableFuture<>();
+        secondPage.completeExceptionally(new IllegalStateException("read timeout"));
+        SnapshotPageIterator iterator = new SnapshotPageIterator(completedPage(0, rows(1), secondPage), 1);
+        iterator.next();
+        iterator.next();
+    }
+
+    private static List<Row> rows(int count) {
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(mock(Row.class));
+        }
+        return rows;
+    }
+
+    private CompletableFuture<AsyncResultSet> completedPage(int index, List<Row> rows, CompletableFuture<AsyncResultSet> nextPage) {
+        return CompletableFuture.completedFuture(page(index, rows, nextPage));
+    }
+
+    private AsyncResultSet page(int index, List<Row> rows, CompletableFuture<AsyncResultSet> nextPage) {
+        AsyncResultSet page = mock(AsyncResultSet.class);
+        when(page.currentPage()).thenReturn(rows);
+        when(page.hasMorePages()).thenReturn(nextPage != null);
+        when(page.fetchNextPage()).thenAnswer(invocation -> {
+            requestedPages.add(index + 1);
+            return nextPage;
+        });
+        return page;
+    }
+}
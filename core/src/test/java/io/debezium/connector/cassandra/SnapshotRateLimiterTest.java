@@ -0,0 +1,84 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class SnapshotRateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testTokenBucket() {
+        SnapshotRateLimiter.TokenBucket bucket = SnapshotRateLimiter.TokenBucket.of(10, 0);
+        // a second worth of permits is available straight away
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, bucket.reserve(1, 1.0, 0));
+        }
+        // the next permit has to wait for a tenth of a second
+        assertEquals(SECOND / 10, bucket.reserve(1, 1.0, 0));
+        // once refilled, the debt is paid off
+        assertEquals(0, bucket.reserve(1, 1.0, 2 * SECOND / 10));
+        // the bucket never holds more than a second worth of permits
+        assertEquals(SECOND / 2, bucket.reserve(15, 1.0, 100 * SECOND));
+    }
+
+    @Test
+    public void testTokenBucketAtReducedRate() {
+        SnapshotRateLimiter.TokenBucket bucket = SnapshotRateLimiter.TokenBucket.of(10, 0);
+        bucket.reserve(10, 0.5, 0);
+        assertEquals(SECOND / 5, bucket.reserve(1, 0.5, 0));
+    }
+
+    @Test
+    public void testAdaptToLatency() {
+        AtomicLong latency = new AtomicLong(100);
+        SnapshotRateLimiter limiter = new SnapshotRateLimiter(1000, 0, Collections.emptyMap(), Collections.emptyMap(), latency::get, 50);
+        long now = System.nanoTime();
+
+        limiter.adaptToLatency(now + SECOND);
+        assertEquals(0.5, limiter.rateFactor(), 0.0);
+        // the latency is checked at most once per second
+        limiter.adaptToLatency(now + SECOND + 1);
+        assertEquals(0.5, limiter.rateFactor(), 0.0);
+
+        for (int i = 2; i < 10; i++) {
+            limiter.adaptToLatency(now + i * SECOND);
+        }
+        assertEquals(1.0 / 16, limiter.rateFactor(), 0.0);
+
+        latency.set(10);
+        limiter.adaptToLatency(now + 10 * SECOND);
+        assertEquals(1.0 / 16 + 0.1, limiter.rateFactor(), 1e-9);
+        for (int i = 11; i < 30; i++) {
+            limiter.adaptToLatency(now + i * SECOND);
+        }
+        assertEquals(1.0, limiter.rateFactor(), 0.0);
+    }
+
+    @Test
+    public void testLatencyAdaptationDisabled() {
+        SnapshotRateLimiter limiter = new SnapshotRateLimiter(1000, 0, Collections.emptyMap(), Collections.emptyMap(), () -> 100, 0);
+        limiter.adaptToLatency(System.nanoTime() + SECOND);
+        assertEquals(1.0, limiter.rateFactor(), 0.0);
+    }
+
+    @Test
+    public void testLimitsBytes() {
+        assertFalse(SnapshotRateLimiter.UNLIMITED.forTable("keyspace.table").limitsBytes());
+        SnapshotRateLimiter limiter = new SnapshotRateLimiter(0, 0, Collections.emptyMap(),
+                Collections.singletonMap("keyspace.table", 1000L), () -> -1, 0);
+        assertTrue(limiter.forTable("keyspace.table").limitsBytes());
+        assertFalse(limiter.forTable("keyspace.table2").limitsBytes());
+    }
+}
@@ -527,4 +527,42 @@ public class CassandraTypeDeserializerTest {
         Assert.assertEquals(expectedList, deserializedList);
     }
 
+    @Test
+    public void testNestedCollectionType() {
+        UUID uuid = UUID.randomUUID();
+        Map<String, List<UUID>> sourceMap = new HashMap<>();
+        List<UUID> sourceList = new ArrayList<>();
+        sourceList.add(uuid);
+        sourceMap.put("foo", sourceList);
+        sourceMap.put("bar", new ArrayList<>());
+
+        MapType<String, List<UUID>> mapType = MapType.getInstance(UTF8Type.instance, ListType.getInstance(UUIDType.instance, false), false);
+        Object deserializedMap = CassandraTypeDeserializer.deserialize(mapType, mapType.decompose(sourceMap));
+
+        // the elements of the inner list are formatted as the elements of any list
+        Map<String, List<String>> expectedMap = new HashMap<>();
+        List<String> expectedList = new ArrayList<>();
+        expectedList.add(uuid.toString());
+        expectedMap.put("foo", expectedList);
+        expectedMap.put("bar", new ArrayList<>());
+        Assert.assertEquals(expectedMap, deserializedMap);
+    }
+
+    @Test
+    public void testSchemaIsCachedByType() {
+        MapType<String, List<Integer>> mapType = MapType.getInstance(UTF8Type.instance, ListType.getInstance(Int32Type.instance, false), true);
+        Schema mapSchema = CassandraTypeDeserializer.getSchema(mapType);
+        Assert.assertEquals(CassandraTypeDeserializer.getSchemaBuilder(mapType).build(), mapSchema);
+        Assert.assertSame(mapSchema, CassandraTypeDeserializer.getSchema(mapType));
+
+        // user types of equal definitions share their schema
+        List<FieldIdentifier> fieldIdentifiers = new ArrayList<>();
+        fieldIdentifiers.add(new FieldIdentifier(ByteBuffer.wrap("intField".getBytes(Charset.defaultCharset()))));
+        List<AbstractType<?>> fieldTypes = new ArrayList<>();
+        fieldTypes.add(Int32Type.instance);
+        ByteBuffer typeName = ByteBuffer.wrap("CachedType".getBytes(Charset.defaultCharset()));
+        UserType userType1 = new UserType("barspace", typeName, fieldIdentifiers, fieldTypes, true);
+        UserType userType2 = new UserType("barspace", typeName, fieldIdentifiers, fieldTypes, true);
+        Assert.assertSame(CassandraTypeDeserializer.getSchema(userType1), CassandraTypeDeserializer.getSchema(userType2));
+    }
 }
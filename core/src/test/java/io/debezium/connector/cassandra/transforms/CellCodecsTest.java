@@ -0,0 +1,92 @@
+/*
+ * Copyright Debezium Authors.
+ *
+ * Licensed under the Apache Software License version 2.0, available at http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.debezium.connector.cassandra.transforms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.UUID;
+
+import org.apache.cassandra.db.marshal.AbstractType;
+import org.apache.cassandra.db.marshal.AsciiType;
+import org.apache.cassandra.db.marshal.BooleanType;
+import org.apache.cassandra.db.marshal.CounterColumnType;
+import org.apache.cassandra.db.marshal.DoubleType;
+import org.apache.cassandra.db.marshal.Int32Type;
+import org.apache.cassandra.db.marshal.LongType;
+import org.apache.cassandra.db.marshal.ReversedType;
+import org.apache.cassandra.db.marshal.TimestampType;
+import org.apache.cassandra.db.marshal.UTF8Type;
+import org.apache.cassandra.db.marshal.UUIDType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class CellCodecsTest {
+
+    @BeforeClass
+    public static void beforeClass() {
+        CassandraTypeDeserializer.init((abstractType, bb) -> abstractType.getSerializer().deserialize(bb));
+    }
+
+    @Test
+    public void testPrimitiveCodecsMatchDeserializers() {
+        assertCodecMatchesDeserializer(Int32Type.instance, Int32Type.instance.decompose(-42));
+        assertCodecMatchesDeserializer(LongType.instance, LongType.instance.decompose(Long.MIN_VALUE));
+        assertCodecMatchesDeserializer(CounterColumnType.instance, CounterColumnType.instance.decompose(42L));
+        assertCodecMatchesDeserializer(BooleanType.instance, BooleanType.instance.decompose(true));
+        assertCodecMatchesDeserializer(BooleanType.instance, BooleanType.instance.decompose(false));
+        assertCodecMatchesDeserializer(TimestampType.instance, TimestampType.instance.decompose(new Date(1_600_000_000_123L)));
+        assertCodecMatchesDeserializer(UUIDType.instance, UUIDType.instance.decompose(UUID.randomUUID()));
+        assertCodecMatchesDeserializer(UUIDType.instance, UUIDType.instance.decompose(new UUID(0L, -1L)));
+        assertCodecMatchesDeserializer(UTF8Type.instance, UTF8Type.instance.decompose("\u00e9t\u00e9 \u2603"));
+        assertCodecMatchesDeserializer(UTF8Type.instance, UTF8Type.instance.decompose(""));
+        assertCodecMatchesDeserializer(AsciiType.instance, AsciiType.instance.decompose("ascii"));
+        assertCodecMatchesDeserializer(DoubleType.instance, DoubleType.instance.decompose(1.5d));
+    }
+
+    @Test
+    public void testCodecLeavesBufferUnchanged() {
+        ByteBuffer bb = ByteBuffer.allocate(12);
+        bb.putInt(7).putLong(42L).flip();
+        bb.position(4);
+        assertEquals(42L, CassandraTypeDeserializer.getCodec(LongType.instance).decode(bb));
+        assertEquals(4, bb.position());
+    }
+
+    @Test
+    public void testStringCodecWithDirectBuffer() {
+        ByteBuffer heap = UTF8Type.instance.decompose("direct");
+        ByteBuffer direct = ByteBuffer.allocateDirect(heap.remaining());
+        direct.put(heap.duplicate()).flip();
+        assertEquals("direct", CassandraTypeDeserializer.getCodec(UTF8Type.instance).decode(direct));
+        assertEquals(0, direct.position());
+    }
+
+    @Test
+    public void testEmptyValues() {
+        ByteBuffer empty = ByteBuffer.allocate(0);
+        assertNull(CassandraTypeDeserializer.getCodec(Int32Type.instance).decode(empty));
+        assertNull(CassandraTypeDeserializer.getCodec(LongType.instance).decode(empty));
+        assertNull(CassandraTypeDeserializer.getCodec(BooleanType.instance).decode(empty));
+        assertNull(CassandraTypeDeserializer.getCodec(UUIDType.instance).decode(empty));
+    }
+
+    @Test
+    public void testCodecResolution() {
+        assertSame(CellCodecs.IntCodec.INSTANCE, CassandraTypeDeserializer.getCodec(Int32Type.instance));
+        assertSame(CellCodecs.LongCodec.INSTANCE, CassandraTypeDeserializer.getCodec(ReversedType.getInstance(TimestampType.instance)));
+        assertTrue(CassandraTypeDeserializer.getCodec(DoubleType.instance) instanceof CellCodecs.DeserializerCodec);
+    }
+
+    private static void assertCodecMatchesDeserializer(AbstractType<?> type, ByteBuffer bb) {
+        Object expected = CassandraTypeDeserializer.getTypeDeserializer(type).deserialize(type, bb);
+        assertEquals(expected, CassandraTypeDeserializer.getCodec(type).decode(bb));
+    }
+}